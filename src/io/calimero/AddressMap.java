@@ -0,0 +1,310 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Concurrent map keyed by a 16 bit KNX address, storing values in a direct-indexed array of lazily allocated pages.
+ * Reads are lock-free and do not allocate; updates are atomic per address. Keys returned by iteration are canonical
+ * address instances. Null keys or values are not permitted.
+ *
+ * @param <A> address type
+ * @param <V> value type
+ */
+abstract class AddressMap<A extends KNXAddress, V> extends AbstractMap<A, V> implements ConcurrentMap<A, V> {
+	private static final int PageSize = 256;
+
+	private final AtomicReferenceArray<AtomicReferenceArray<V>> pages = new AtomicReferenceArray<>(0x10000 / PageSize);
+	private final AtomicInteger size = new AtomicInteger();
+
+	private Set<Entry<A, V>> entries;
+
+	AddressMap() {}
+
+	/**
+	 * Returns the value mapped to the raw 16 bit {@code address}.
+	 *
+	 * @param address raw address value in the range 0 &le; value &le; 0xFFFF
+	 * @return the mapped value, or {@code null} if there is no mapping for {@code address}
+	 */
+	public final V get(final int address) {
+		final var page = pages.get(index(address) / PageSize);
+		return page == null ? null : page.get(address % PageSize);
+	}
+
+	@Override
+	public final V get(final Object key) {
+		final int address = rawAddress(key);
+		return address < 0 ? null : get(address);
+	}
+
+	@Override
+	public final boolean containsKey(final Object key) { return get(key) != null; }
+
+	@Override
+	public final V put(final A key, final V value) {
+		Objects.requireNonNull(value);
+		final int address = key.getRawAddress();
+		final V previous = page(address).getAndSet(address % PageSize, value);
+		if (previous == null)
+			size.incrementAndGet();
+		return previous;
+	}
+
+	@Override
+	public final V putIfAbsent(final A key, final V value) {
+		Objects.requireNonNull(value);
+		final int address = key.getRawAddress();
+		final V witness = page(address).compareAndExchange(address % PageSize, null, value);
+		if (witness == null)
+			size.incrementAndGet();
+		return witness;
+	}
+
+	@Override
+	public final V remove(final Object key) {
+		final int address = rawAddress(key);
+		if (address < 0)
+			return null;
+		final var page = pages.get(address / PageSize);
+		if (page == null)
+			return null;
+		final V previous = page.getAndSet(address % PageSize, null);
+		if (previous != null)
+			size.decrementAndGet();
+		return previous;
+	}
+
+	@Override
+	public final boolean remove(final Object key, final Object value) {
+		final int address = rawAddress(key);
+		if (address < 0 || value == null)
+			return false;
+		final var page = pages.get(address / PageSize);
+		if (page == null)
+			return false;
+		final int slot = address % PageSize;
+		for (V current = page.get(slot); current != null && current.equals(value); current = page.get(slot)) {
+			if (page.compareAndSet(slot, current, null)) {
+				size.decrementAndGet();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public final boolean replace(final A key, final V oldValue, final V newValue) {
+		Objects.requireNonNull(oldValue);
+		Objects.requireNonNull(newValue);
+		final int address = key.getRawAddress();
+		final var page = pages.get(index(address) / PageSize);
+		if (page == null)
+			return false;
+		final int slot = address % PageSize;
+		for (V current = page.get(slot); current != null && current.equals(oldValue); current = page.get(slot)) {
+			if (page.compareAndSet(slot, current, newValue))
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public final V replace(final A key, final V value) {
+		Objects.requireNonNull(value);
+		final int address = key.getRawAddress();
+		final var page = pages.get(index(address) / PageSize);
+		if (page == null)
+			return null;
+		final int slot = address % PageSize;
+		for (V current = page.get(slot); current != null; current = page.get(slot)) {
+			if (page.compareAndSet(slot, current, value))
+				return current;
+		}
+		return null;
+	}
+
+	@Override
+	public final int size() { return size.get(); }
+
+	@Override
+	public final boolean isEmpty() { return size() == 0; }
+
+	@Override
+	public final void clear() {
+		for (int i = 0; i < pages.length(); i++) {
+			final var page = pages.get(i);
+			if (page == null)
+				continue;
+			for (int slot = 0; slot < PageSize; slot++)
+				if (page.getAndSet(slot, null) != null)
+					size.decrementAndGet();
+		}
+	}
+
+	@Override
+	public final void forEach(final BiConsumer<? super A, ? super V> action) {
+		Objects.requireNonNull(action);
+		for (int i = 0; i < pages.length(); i++) {
+			final var page = pages.get(i);
+			if (page == null)
+				continue;
+			for (int slot = 0; slot < PageSize; slot++) {
+				final V value = page.get(slot);
+				if (value != null)
+					action.accept(address(i * PageSize + slot), value);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The returned set is a view of this map; its iterator is weakly consistent, i.e., it reflects the
+	 * mappings at some point at or since its creation and never throws {@code ConcurrentModificationException}.
+	 */
+	@Override
+	public final Set<Entry<A, V>> entrySet() {
+		if (entries == null)
+			entries = new EntrySet();
+		return entries;
+	}
+
+	/**
+	 * {@return the canonical address instance for the raw {@code address}}
+	 *
+	 * @param address raw address value
+	 */
+	abstract A address(int address);
+
+	/**
+	 * {@return the raw address of {@code key}, or {@code -1} if {@code key} is not of this map's key type}
+	 *
+	 * @param key key object
+	 */
+	abstract int rawAddress(Object key);
+
+	private AtomicReferenceArray<V> page(final int address) {
+		final int index = index(address) / PageSize;
+		final var page = pages.get(index);
+		if (page != null)
+			return page;
+		final var created = new AtomicReferenceArray<V>(PageSize);
+		final var witness = pages.compareAndExchange(index, null, created);
+		return witness != null ? witness : created;
+	}
+
+	private static int index(final int address) {
+		if ((address & ~0xffff) != 0)
+			throw new KNXIllegalArgumentException("address " + address + " out of range [0..0xFFFF]");
+		return address;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<A, V>> {
+		@Override
+		public Iterator<Entry<A, V>> iterator() { return new EntryIterator(); }
+
+		@Override
+		public int size() { return AddressMap.this.size(); }
+
+		@Override
+		public boolean contains(final Object o) {
+			return o instanceof final Entry<?, ?> e && e.getValue() != null && e.getValue().equals(get(e.getKey()));
+		}
+
+		@Override
+		public boolean remove(final Object o) {
+			return o instanceof final Entry<?, ?> e && AddressMap.this.remove(e.getKey(), e.getValue());
+		}
+
+		@Override
+		public void clear() { AddressMap.this.clear(); }
+	}
+
+	private final class EntryIterator implements Iterator<Entry<A, V>> {
+		private int next;
+		private Entry<A, V> nextEntry;
+		private Entry<A, V> last;
+
+		EntryIterator() { advance(); }
+
+		@Override
+		public boolean hasNext() { return nextEntry != null; }
+
+		@Override
+		public Entry<A, V> next() {
+			if (nextEntry == null)
+				throw new NoSuchElementException();
+			last = nextEntry;
+			advance();
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			if (last == null)
+				throw new IllegalStateException();
+			AddressMap.this.remove(last.getKey(), last.getValue());
+			last = null;
+		}
+
+		private void advance() {
+			nextEntry = null;
+			while (next <= 0xffff) {
+				final var page = pages.get(next / PageSize);
+				if (page == null) {
+					next = (next / PageSize + 1) * PageSize;
+					continue;
+				}
+				final int address = next++;
+				final V value = page.get(address % PageSize);
+				if (value != null) {
+					nextEntry = new SimpleImmutableEntry<>(address(address), value);
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Table of canonical KNX address instances, indexed by the raw 16 bit address. The table is populated lazily in
+ * pages of 256 addresses; lookups of existing instances do not allocate or lock.
+ *
+ * @param <A> address type
+ */
+final class AddressTable<A extends KNXAddress> {
+	private static final int PageSize = 256;
+
+	private final AtomicReferenceArray<AtomicReferenceArray<A>> pages = new AtomicReferenceArray<>(0x10000 / PageSize);
+	private final IntFunction<A> factory;
+
+	AddressTable(final IntFunction<A> factory) { this.factory = factory; }
+
+	/**
+	 * Returns the canonical instance for {@code address}, creating it on first use.
+	 *
+	 * @param address raw address value in the range 0 &le; value &le; 0xFFFF
+	 * @return canonical address instance
+	 */
+	A get(final int address) {
+		// let the factory reject out-of-range values
+		if ((address & ~0xffff) != 0)
+			return factory.apply(address);
+
+		final int index = address / PageSize;
+		var page = pages.get(index);
+		if (page == null) {
+			final var created = new AtomicReferenceArray<A>(PageSize);
+			page = pages.compareAndExchange(index, null, created);
+			if (page == null)
+				page = created;
+		}
+		final int slot = address % PageSize;
+		final var canonical = page.get(slot);
+		if (canonical != null)
+			return canonical;
+		final var created = factory.apply(address);
+		final var existing = page.compareAndExchange(slot, null, created);
+		return existing != null ? existing : created;
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -78,10 +78,23 @@ public final class DataUnitBuilder
 		if (apdu.length < 2)
 			throw new KNXIllegalArgumentException("getting APDU service from [0x" + HexFormat.of().formatHex(apdu)
 					+ "], APCI length < 2");
+		return getAPDUService(apdu[0], apdu[1], apdu.length);
+	}
+
+	/**
+	 * Returns the application layer service of a protocol data unit, using the first two bytes of the APDU.
+	 *
+	 * @param first first APDU byte, containing the high bits of the APCI
+	 * @param second second APDU byte
+	 * @param length length of the APDU, {@code length > 1}
+	 * @return APDU service code
+	 */
+	public static int getAPDUService(final int first, final int second, final int length)
+	{
 		// high 4 bits of APCI
-		final int apci4 = (apdu[0] & 0x03) << 2 | (apdu[1] & 0xC0) >> 6;
+		final int apci4 = (first & 0x03) << 2 | (second & 0xC0) >> 6;
 		// lowest 6 bits of APCI
-		final int apci6 = apdu[1] & 0x3f;
+		final int apci6 = second & 0x3f;
 		// group value codes
 		// group read
 		if (apci4 == 0) {
@@ -104,7 +117,7 @@ public final class DataUnitBuilder
 			return apci4 << 6;
 		else if (apci4 == 7) {
 			// extended memory r/w services use the same 4 MSB as the ADC response code
-			if (apdu.length > 5 || apci6 > 0x30)
+			if (length > 5 || apci6 > 0x30)
 				return apci4 << 6 | apci6;
 			// ADC response code
 			return apci4 << 6;
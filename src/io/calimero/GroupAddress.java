@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -51,16 +51,21 @@ import io.calimero.xml.XmlReader;
  * all in decimal format, using '/' as separator if required.<br>
  * By default, the 3-level preset is used.
  * <p>
+ * The static factory methods return canonical instances, i.e., there is one instance per group address value, which
+ * is created on first use. Use them instead of the constructors to avoid allocating addresses on hot paths.
+ * <p>
  * Note, that the most significant bit of the main group, i.e., bit 15 in the unstructured
  * address, is reserved, but not in use for now. This bit is not checked for, but
  * nevertheless stored and returned by this implementation.
  */
 public final class GroupAddress extends KNXAddress
 {
+	private static final AddressTable<GroupAddress> canonical = new AddressTable<>(GroupAddress::new);
+
 	/**
 	 * The KNX address used for broadcasts.
 	 */
-	public static final GroupAddress Broadcast = new GroupAddress(0);
+	public static final GroupAddress Broadcast = of(0);
 
 	static final String ATTR_GROUP = "group";
 
@@ -72,49 +77,70 @@ public final class GroupAddress extends KNXAddress
 	private static volatile Presentation style = Presentation.ThreeLevelStyle;
 
 	/**
-	 * Returns a new KNX group address using a three-level address representation.
+	 * Returns the canonical KNX group address for a raw (or free-style) 16 Bit address value.
+	 *
+	 * @param address the address value in the range 0 &le; value &le; 0xFFFF
+	 * @return KNX group address
+	 */
+	public static GroupAddress of(final int address) {
+		return canonical.get(address);
+	}
+
+	/**
+	 * Returns the KNX group address using a three-level address representation.
 	 *
 	 * @param mainGroup main group, range 0 &le; value &le; 0x1F
 	 * @param middleGroup middle group, range 0 &le; value &le; 0x7
 	 * @param subGroup sub group, range 0 &le; value &le; 0xFF
-	 * @return new KNX group address
+	 * @return KNX group address
 	 */
 	public static GroupAddress threeLevel(final int mainGroup, final int middleGroup, final int subGroup) {
-		return new GroupAddress(mainGroup, middleGroup, subGroup);
+		return of(address(mainGroup, middleGroup, subGroup));
 	}
 
 	/**
-	 * Returns a new KNX group address using a two-level address representation.
+	 * Returns the KNX group address using a two-level address representation.
 	 *
 	 * @param mainGroup main group, range 0 &le; value &le; 0x1F
 	 * @param subGroup sub group, range 0 &le; value &le; 0x7FF
-	 * @return new KNX group address
+	 * @return KNX group address
 	 */
 	public static GroupAddress twoLevel(final int mainGroup, final int subGroup) {
-		return new GroupAddress(mainGroup, subGroup);
+		return of(address(mainGroup, subGroup));
 	}
 
 	/**
-	 * Returns a new KNX group address using a free-style address representation.
+	 * Returns the KNX group address using a free-style address representation.
 	 *
 	 * @param address the address value in the range 0 &le; value &le; 0xFFFF
-	 * @return new KNX group address
+	 * @return KNX group address
 	 */
 	public static GroupAddress freeStyle(final int address) {
-		return new GroupAddress(address);
+		return of(address);
 	}
 
 	/**
-	 * Returns a new KNX group address from a string {@code address}. The address string can use either
+	 * Returns the KNX group address from a string {@code address}. The address string can use either
 	 * presentation style, i.e., a 2-level, 3-level, or free-style group address. The separator between levels is '/'.
 	 * Examples are "2/1/2" for a 3-level address, or "4354" for a free-style or raw address.
 	 *
 	 * @param address the group address
-	 * @return new KNX group address
+	 * @return KNX group address
 	 * @throws KNXFormatException on wrong address syntax or group address values out of range
 	 */
 	public static GroupAddress from(final String address) throws KNXFormatException {
-		return new GroupAddress(address);
+		return of(parse(address));
+	}
+
+	/**
+	 * Returns the KNX group address read from XML input, see {@link #GroupAddress(XmlReader)}.
+	 *
+	 * @param r a XML reader
+	 * @return KNX group address
+	 * @throws KNXMLException if the xml element is no KNX address or the address couldn't be read in correctly
+	 */
+	public static GroupAddress from(final XmlReader r) throws KNXMLException {
+		return of(parse(r));
 	}
 
 	/**
@@ -295,6 +321,8 @@ public final class GroupAddress extends KNXAddress
 	@Override
 	public boolean equals(final Object obj)
 	{
+		if (this == obj)
+			return true;
 		if (obj instanceof GroupAddress groupAddress)
 			return address == groupAddress.address;
 		return false;
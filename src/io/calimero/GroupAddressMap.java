@@ -0,0 +1,66 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero;
+
+import java.util.Map;
+
+/**
+ * Concurrent map using KNX group addresses as keys, see {@link GroupAddress}. Lookups index directly into an array
+ * by the raw 16 bit address, without hashing, boxing, or locking; use this map instead of a hash-based map for
+ * address lookups on the path of received telegrams.
+ *
+ * @param <V> value type
+ */
+public final class GroupAddressMap<V> extends AddressMap<GroupAddress, V> {
+	/**
+	 * Creates a new, empty map.
+	 */
+	public GroupAddressMap() {}
+
+	/**
+	 * Creates a new map containing the mappings of {@code m}.
+	 *
+	 * @param m map whose mappings are copied into this map, neither keys nor values can be {@code null}
+	 */
+	public GroupAddressMap(final Map<? extends GroupAddress, ? extends V> m) { putAll(m); }
+
+	@Override
+	GroupAddress address(final int address) { return GroupAddress.of(address); }
+
+	@Override
+	int rawAddress(final Object key) { return key instanceof final GroupAddress a ? a.getRawAddress() : -1; }
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -51,6 +51,9 @@ import io.calimero.xml.XmlReader;
  * The combined address levels <i>area</i> and <i>line</i> are referred to as subnetwork
  * address, i.e., and described by the higher 8 bits of the address value.<br>
  * The sometimes used term <i>zone</i> is synonymous with <i>area</i>.
+ * <p>
+ * The static factory methods return canonical instances, i.e., there is one instance per individual address value,
+ * which is created on first use. Use them instead of the constructors to avoid allocating addresses on hot paths.
  *
  * @see GroupAddress
  */
@@ -58,6 +61,54 @@ public final class IndividualAddress extends KNXAddress
 {
 	static final String ATTR_IND = "individual";
 
+	private static final AddressTable<IndividualAddress> canonical = new AddressTable<>(IndividualAddress::new);
+
+	/**
+	 * Returns the canonical KNX individual address for a 16 Bit address value.
+	 *
+	 * @param address the address value in the range 0 &le; value &le; 0xFFFF
+	 * @return KNX individual address
+	 */
+	public static IndividualAddress of(final int address) {
+		return canonical.get(address);
+	}
+
+	/**
+	 * Returns the KNX individual address for the 3-level notation area-, line-, and device-address.
+	 *
+	 * @param area area address value, in the range 0 &le; value &le; 0xF
+	 * @param line line address value, in the range 0 &le; value &le; 0xF
+	 * @param device device address value, in the range 0 &le; value &le; 0xFF
+	 * @return KNX individual address
+	 */
+	public static IndividualAddress of(final int area, final int line, final int device) {
+		return of(address(area, line, device));
+	}
+
+	/**
+	 * Returns the KNX individual address from a string {@code address} representation, see
+	 * {@link #IndividualAddress(String)}.
+	 *
+	 * @param address string containing the KNX address
+	 * @return KNX individual address
+	 * @throws KNXFormatException on unknown address type, wrong address syntax, address values out of range, or wrong
+	 *         separator used
+	 */
+	public static IndividualAddress from(final String address) throws KNXFormatException {
+		return of(parse(address));
+	}
+
+	/**
+	 * Returns the KNX individual address read from XML input, see {@link #IndividualAddress(XmlReader)}.
+	 *
+	 * @param r a XML reader
+	 * @return KNX individual address
+	 * @throws KNXMLException if the XML element is no KNXAddress or the address couldn't be read in correctly
+	 */
+	public static IndividualAddress from(final XmlReader r) throws KNXMLException {
+		return of(parse(r));
+	}
+
 	/**
 	 * Creates a KNX individual address from a 16 Bit address value.
 	 *
@@ -181,6 +232,8 @@ public final class IndividualAddress extends KNXAddress
 	@Override
 	public boolean equals(final Object obj)
 	{
+		if (this == obj)
+			return true;
 		if (obj instanceof IndividualAddress individualAddress)
 			return address == individualAddress.address;
 		return false;
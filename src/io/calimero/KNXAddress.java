@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -116,9 +116,9 @@ public sealed abstract class KNXAddress implements Comparable<KNXAddress>
 		if (r.getEventType() == XmlReader.START_ELEMENT) {
 			final String type = r.getAttributeValue(null, ATTR_TYPE);
 			if (GroupAddress.ATTR_GROUP.equals(type))
-				return new GroupAddress(r);
+				return GroupAddress.from(r);
 			if (IndividualAddress.ATTR_IND.equals(type))
-				return new IndividualAddress(r);
+				return IndividualAddress.from(r);
 
 			try {
 				return create(r.getElementText());
@@ -144,9 +144,9 @@ public sealed abstract class KNXAddress implements Comparable<KNXAddress>
 	public static KNXAddress create(final String address) throws KNXFormatException
 	{
 		if (address.contains("."))
-			return new IndividualAddress(address);
+			return IndividualAddress.from(address);
 		if (address.contains("/"))
-			return new GroupAddress(address);
+			return GroupAddress.from(address);
 		throw new KNXFormatException("could not detect address type of " + address);
 	}
 
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -40,11 +40,10 @@ import static java.lang.System.Logger.Level.ERROR;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import io.calimero.GroupAddress;
+import io.calimero.GroupAddressMap;
 import io.calimero.KNXAddress;
 import io.calimero.KNXFormatException;
 import io.calimero.buffer.Configuration.NetworkFilter;
@@ -91,10 +90,10 @@ import io.calimero.log.LogService;
 public class StateFilter implements NetworkFilter, RequestFilter
 {
 	// contains cross references of datapoints: which datapoint (key, of
-	// type KNXAddress) invalidates/updates which datapoints (value,
+	// type GroupAddress) invalidates/updates which datapoints (value,
 	// of type List with GroupAddress entries)
-	private Map<KNXAddress, List<GroupAddress>> invalidate;
-	private Map<KNXAddress, List<GroupAddress>> update;
+	private GroupAddressMap<List<GroupAddress>> invalidate;
+	private GroupAddressMap<List<GroupAddress>> update;
 
 	// keep a reference to a notifying model used by the change listener
 	private DatapointModel<? extends Datapoint> model;
@@ -290,8 +289,8 @@ public class StateFilter implements NetworkFilter, RequestFilter
 
 	private void createReferences(final DatapointModel<? extends Datapoint> m)
 	{
-		invalidate = new HashMap<>();
-		update = new HashMap<>();
+		invalidate = new GroupAddressMap<>();
+		update = new GroupAddressMap<>();
 		final Collection<? extends Datapoint> c = ((DatapointMap<? extends Datapoint>) m)
 				.getDatapoints();
 		synchronized (c) {
@@ -308,7 +307,7 @@ public class StateFilter implements NetworkFilter, RequestFilter
 		createReferences(update, dp.getAddresses(true), dp.getMainAddress());
 	}
 
-	private static void createReferences(final Map<KNXAddress, List<GroupAddress>> map,
+	private static void createReferences(final GroupAddressMap<List<GroupAddress>> map,
 		final Collection<GroupAddress> forAddr, final GroupAddress toAddr)
 	{
 		for (final GroupAddress ga : forAddr) {
@@ -323,7 +322,7 @@ public class StateFilter implements NetworkFilter, RequestFilter
 		destroyReferences(update, dp.getAddresses(true), dp.getMainAddress());
 	}
 
-	private static void destroyReferences(final Map<KNXAddress, List<GroupAddress>> map,
+	private static void destroyReferences(final GroupAddressMap<List<GroupAddress>> map,
 		final Collection<GroupAddress> forAddr, final GroupAddress toAddr)
 	{
 		for (final GroupAddress ga : forAddr) {
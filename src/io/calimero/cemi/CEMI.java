@@ -1,7 +1,7 @@
 /*
     Calimero 2 - A library for KNX network access
     Copyright (c) 2005 B. Erb
-    Copyright (c) 2006, 2021 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -37,6 +37,8 @@
 
 package io.calimero.cemi;
 
+import java.nio.ByteBuffer;
+
 import io.calimero.ServiceType;
 
 /**
@@ -95,4 +97,14 @@ public interface CEMI extends ServiceType
 	 */
 	@Override
 	byte[] toByteArray();
+
+	/**
+	 * Writes the byte representation of the whole cEMI message structure into {@code buffer}, starting at its current
+	 * position.
+	 *
+	 * @param buffer buffer with at least {@link #getStructLength()} bytes remaining
+	 */
+	default void writeTo(final ByteBuffer buffer) {
+		buffer.put(toByteArray());
+	}
 }
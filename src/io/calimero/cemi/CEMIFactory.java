@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -39,6 +39,7 @@ package io.calimero.cemi;
 import static java.lang.System.Logger.Level.INFO;
 import static java.lang.System.Logger.Level.WARNING;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import io.calimero.DataUnitBuilder;
@@ -116,6 +117,33 @@ public final class CEMIFactory
 		};
 	}
 
+	/**
+	 * Creates a read-only view of the cEMI L-Data frame contained in {@code data}. The frame is neither copied nor
+	 * decoded; the view accesses {@code data} directly.
+	 *
+	 * @param data byte array containing a cEMI L-Data frame
+	 * @param offset start offset of the frame in {@code data}
+	 * @param length length in bytes of the frame in {@code data}
+	 * @return view of the frame
+	 * @throws KNXFormatException if no (complete) cEMI L-Data frame was found
+	 */
+	public static CemiView view(final byte[] data, final int offset, final int length) throws KNXFormatException
+	{
+		return CemiView.wrap(ByteBuffer.wrap(data, offset, length));
+	}
+
+	/**
+	 * Creates a read-only view of the supplied L-Data message; {@link CemiView#toCemi()} of the view returns
+	 * {@code ldata}.
+	 *
+	 * @param ldata L-Data message
+	 * @return view of the message frame
+	 */
+	public static CemiView view(final CEMILData ldata)
+	{
+		return CemiView.of(ldata);
+	}
+
 	private static boolean isLteFrame(final byte[] data, final int offset, final int length) {
 		if (length < 4)
 			return false;
@@ -276,17 +304,16 @@ public final class CEMIFactory
 		final boolean ack = (frame[1] & 0x02) != 0;
 		final boolean c = (frame[1] & 0x01) != 0;
 		final int dst = (frame[4] & 0xff) << 8 | (frame[5] & 0xff);
-		final KNXAddress a = (frame[6] & 0x80) != 0 ? new GroupAddress(dst)
-				: new IndividualAddress(dst);
+		final KNXAddress a = (frame[6] & 0x80) != 0 ? GroupAddress.of(dst) : IndividualAddress.of(dst);
 		final int hops = frame[6] >> 4 & 0x07;
 		final int len = (frame[6] & 0x0f) + 1;
 		final byte[] tpdu = Arrays.copyOfRange(frame, 7, len + 7);
 		final int src = ((frame[2] & 0xff) << 8) | (frame[3] & 0xff);
 
-		if (c) return new CEMILData(mc, new IndividualAddress(src), a, tpdu, p, c);
+		if (c) return new CEMILData(mc, IndividualAddress.of(src), a, tpdu, p, c);
 		// for .ind always create a not repeated frame, otherwise default repetition behavior
 		final boolean repeat = mc != CEMILData.MC_LDATA_IND;
-		return new CEMILData(mc, new IndividualAddress(src), a, tpdu, p, repeat, domainBcast, ack, hops);
+		return new CEMILData(mc, IndividualAddress.of(src), a, tpdu, p, repeat, domainBcast, ack, hops);
 	}
 
 	/**
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2023 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -38,6 +38,7 @@ package io.calimero.cemi;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.HexFormat;
 
 import io.calimero.GroupAddress;
@@ -451,6 +452,20 @@ public class CEMILData implements CEMI
 		return os.toByteArray();
 	}
 
+	@Override
+	public void writeTo(final ByteBuffer buffer)
+	{
+		buffer.put((byte) mc);
+		writeAddInfo(buffer);
+		setCtrlPriority();
+		buffer.put((byte) ctrl1);
+		buffer.put((byte) ctrl2);
+		buffer.putShort((short) source.getRawAddress());
+		buffer.putShort((short) dst.getRawAddress());
+		buffer.put((byte) (data.length - 1));
+		buffer.put(data);
+	}
+
 	@Override
 	public String toString()
 	{
@@ -504,6 +519,11 @@ public class CEMILData implements CEMI
 		os.write(0);
 	}
 
+	void writeAddInfo(final ByteBuffer buffer)
+	{
+		buffer.put((byte) 0);
+	}
+
 	void writePayload(final ByteArrayOutputStream os)
 	{
 		os.write(data.length - 1);
@@ -520,14 +540,12 @@ public class CEMILData implements CEMI
 		ctrl1 = is.read();
 		getCtrlPriority();
 		ctrl2 = is.read();
-		final byte[] addr = new byte[2];
-		is.read(addr, 0, 2);
-		source = new IndividualAddress(addr);
-		is.read(addr, 0, 2);
+		source = IndividualAddress.of((is.read() << 8) | is.read());
+		final int addr = (is.read() << 8) | is.read();
 		if ((ctrl2 & 0x80) != 0)
-			dst = new GroupAddress(addr);
+			dst = GroupAddress.of(addr);
 		else
-			dst = new IndividualAddress(addr);
+			dst = IndividualAddress.of(addr);
 	}
 
 	void readMC(final ByteArrayInputStream is) throws KNXFormatException
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2023 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -38,6 +38,7 @@ package io.calimero.cemi;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -304,6 +305,12 @@ public class CEMILDataEx extends CEMILData implements Cloneable
 		return super.toByteArray();
 	}
 
+	@Override
+	public synchronized void writeTo(final ByteBuffer buffer)
+	{
+		super.writeTo(buffer);
+	}
+
 	@Override
 	public String toString()
 	{
@@ -398,6 +405,21 @@ public class CEMILDataEx extends CEMILData implements Cloneable
 		}
 	}
 
+	@Override
+	void writeAddInfo(final ByteBuffer buffer)
+	{
+		synchronized (addInfo) {
+			buffer.put((byte) getAddInfoLength());
+			addInfo.sort(Comparator.comparingInt(AdditionalInfo::type));
+			for (final var infoField : addInfo) {
+				buffer.put((byte) infoField.type());
+				final byte[] info = infoField.info();
+				buffer.put((byte) info.length);
+				buffer.put(info);
+			}
+		}
+	}
+
 	@Override
 	void writePayload(final ByteArrayOutputStream os)
 	{
@@ -0,0 +1,259 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.cemi;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+import io.calimero.DataUnitBuilder;
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXFormatException;
+import io.calimero.Priority;
+
+/**
+ * Read-only view of a cEMI L-Data frame, backed by the frame bytes. A view decodes fields on access and does not copy
+ * any part of the frame; addresses are provided as raw 16 bit values. Use {@link #toCemi()} to obtain the L-Data
+ * message object, which is created only on request.
+ * <p>
+ * A view does not modify its frame buffer, but reflects any changes made to the frame buffer by its owner. A view can
+ * be shared by threads as long as its owner does not modify the frame buffer.
+ *
+ * @see CEMIFactory#view(byte[], int, int)
+ */
+public final class CemiView {
+	// fixed part of the L-Data frame following the additional info: ctrl1, ctrl2, src, dst, npdu length
+	private static final int Fixed = 7;
+
+	private final ByteBuffer frame;
+	private final int ctrl; // offset of control field 1
+	private final int tpduLength;
+	private volatile CEMILData ldata;
+
+	/**
+	 * Creates a view of the cEMI L-Data frame contained in {@code frame}, starting at the buffer position and ending at
+	 * the buffer limit. The position and limit of {@code frame} are not modified.
+	 *
+	 * @param frame buffer containing a cEMI L-Data frame
+	 * @return new view of the frame
+	 * @throws KNXFormatException if the frame does not contain a (complete) cEMI L-Data frame
+	 */
+	public static CemiView wrap(final ByteBuffer frame) throws KNXFormatException {
+		return new CemiView(frame.slice().asReadOnlyBuffer(), null);
+	}
+
+	static CemiView of(final CEMILData ldata) {
+		try {
+			return new CemiView(ByteBuffer.wrap(ldata.toByteArray()).asReadOnlyBuffer(), ldata);
+		}
+		catch (final KNXFormatException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private CemiView(final ByteBuffer frame, final CEMILData ldata) throws KNXFormatException {
+		final int length = frame.remaining();
+		if (length < 2)
+			throw new KNXFormatException("buffer too short for cEMI L-Data frame", length);
+		final int mc = frame.get(0) & 0xff;
+		if (mc != CEMILData.MC_LDATA_REQ && mc != CEMILData.MC_LDATA_CON && mc != CEMILData.MC_LDATA_IND)
+			throw new KNXFormatException("msg code indicates no L-data frame", mc);
+		ctrl = 2 + (frame.get(1) & 0xff);
+		if (length < ctrl + Fixed)
+			throw new KNXFormatException("buffer too short for cEMI L-Data frame", length);
+		tpduLength = (frame.get(ctrl + Fixed - 1) & 0xff) + 1;
+		if (length < ctrl + Fixed + tpduLength)
+			throw new KNXFormatException("buffer too short for cEMI L-Data TPDU", length);
+
+		this.frame = frame;
+		this.ldata = ldata;
+	}
+
+	/**
+	 * {@return the cEMI message code}
+	 */
+	public int messageCode() { return frame.get(0) & 0xff; }
+
+	/**
+	 * {@return the raw individual address of the source}
+	 */
+	public int source() { return unsigned16(ctrl + 2); }
+
+	/**
+	 * {@return the raw destination address}, use {@link #isGroupDestination()} to distinguish group and individual
+	 * addresses
+	 */
+	public int destination() { return unsigned16(ctrl + 4); }
+
+	/**
+	 * {@return {@code true} if the destination is a group address, {@code false} for an individual address}
+	 */
+	public boolean isGroupDestination() { return (ctrl2() & 0x80) != 0; }
+
+	/**
+	 * {@return the message priority}
+	 */
+	public Priority priority() { return Priority.get(ctrl1() >> 2 & 0x03); }
+
+	/**
+	 * {@return the hop count}
+	 */
+	public int hopCount() { return (ctrl2() & 0x70) >> 4; }
+
+	/**
+	 * Returns whether the frame is a repetition, see {@link CEMILData#isRepetition()}.
+	 *
+	 * @return repeat state as boolean
+	 */
+	public boolean isRepetition() {
+		// ind: flag 0 = repeated frame, 1 = not repeated
+		if (messageCode() == CEMILData.MC_LDATA_IND)
+			return (ctrl1() & 0x20) == 0;
+		// req, (con): flag 0 = do not repeat, 1 = default behavior
+		return (ctrl1() & 0x20) == 0x20;
+	}
+
+	/**
+	 * {@return {@code true} if the frame is a system broadcast, {@code false} otherwise}
+	 */
+	public boolean isSystemBroadcast() { return (ctrl1() & 0x10) == 0; }
+
+	/**
+	 * Returns the confirmation state of an L-Data confirmation, see {@link CEMILData#isPositiveConfirmation()}.
+	 *
+	 * @return {@code true} for no error, {@code false} otherwise
+	 */
+	public boolean isPositiveConfirmation() { return (ctrl1() & 0x01) == 0; }
+
+	/**
+	 * {@return the transport layer protocol control information, i.e., the upper 6 bits of the first TPDU byte}
+	 */
+	public int tpci() { return frame.get(tpdu()) & 0xfc; }
+
+	/**
+	 * Returns the application layer service of the frame, as provided by
+	 * {@link DataUnitBuilder#getAPDUService(byte[])}.
+	 *
+	 * @return APDU service code, or {@code -1} if the TPDU does not contain an APDU
+	 */
+	public int apci() {
+		if (tpduLength < 2)
+			return -1;
+		final int tpdu = tpdu();
+		return DataUnitBuilder.getAPDUService(frame.get(tpdu), frame.get(tpdu + 1), tpduLength);
+	}
+
+	/**
+	 * Returns the lower 6 bits of the APCI, which contain the data of length-optimized services, e.g., a group value
+	 * write or response with a data type of at most 6 bits.
+	 *
+	 * @return 6 bit data, or {@code 0} if the TPDU does not contain an APDU
+	 */
+	public int apciData() { return tpduLength < 2 ? 0 : frame.get(tpdu() + 1) & 0x3f; }
+
+	/**
+	 * {@return a read-only slice of the TPDU, starting with the TPCI}
+	 */
+	public ByteBuffer tpduSlice() { return frame.slice(tpdu(), tpduLength); }
+
+	/**
+	 * Returns the application layer service data unit, i.e., the part of the APDU following the 2 byte APCI; for
+	 * length-optimized services, the data is not part of the ASDU slice, see {@link #apciData()}.
+	 *
+	 * @return read-only slice of the ASDU, might have no remaining bytes
+	 */
+	public ByteBuffer asdu() {
+		final int asdu = Math.min(2, tpduLength);
+		return frame.slice(tpdu() + asdu, tpduLength - asdu);
+	}
+
+	/**
+	 * {@return the length of the TPDU in bytes}
+	 */
+	public int tpduLength() { return tpduLength; }
+
+	/**
+	 * {@return a read-only slice of the complete cEMI frame}
+	 */
+	public ByteBuffer frame() { return frame.slice(0, ctrl + Fixed + tpduLength); }
+
+	/**
+	 * Returns the L-Data message of this frame. The message is created on the first call, and returned on subsequent
+	 * calls.
+	 *
+	 * @return L-Data message
+	 * @throws KNXFormatException on unsupported L-Data frame formats
+	 */
+	public CEMILData toCemi() throws KNXFormatException {
+		var l = ldata;
+		if (l == null) {
+			synchronized (this) {
+				l = ldata;
+				if (l == null) {
+					final int length = ctrl + Fixed + tpduLength;
+					final byte[] data = new byte[length];
+					frame.get(0, data);
+					ldata = l = (CEMILData) CEMIFactory.create(data, 0, length);
+				}
+			}
+		}
+		return l;
+	}
+
+	@Override
+	public String toString() {
+		final int src = source();
+		final int dst = destination();
+		final var to = isGroupDestination() ? GroupAddress.of(dst) : IndividualAddress.of(dst);
+		return IndividualAddress.of(src) + "->" + to + ", " + priority() + " priority, hop count " + hopCount()
+				+ ", tpdu " + HexFormat.ofDelimiter(" ").formatHex(bytes(tpdu(), tpduLength));
+	}
+
+	private int ctrl1() { return frame.get(ctrl) & 0xff; }
+
+	private int ctrl2() { return frame.get(ctrl + 1) & 0xff; }
+
+	private int tpdu() { return ctrl + Fixed; }
+
+	private int unsigned16(final int index) { return (frame.get(index) & 0xff) << 8 | frame.get(index + 1) & 0xff; }
+
+	private byte[] bytes(final int index, final int length) {
+		final byte[] data = new byte[length];
+		frame.get(index, data);
+		return data;
+	}
+}
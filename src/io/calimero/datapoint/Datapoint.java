@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -307,7 +307,7 @@ public abstract class Datapoint
 			throw new KNXMLException("main address already set", r);
 		if (r.getEventType() != XmlReader.START_ELEMENT)
 			r.nextTag();
-		main = new GroupAddress(r);
+		main = GroupAddress.from(r);
 	}
 
 	abstract void doSave(XmlWriter w) throws KNXMLException;
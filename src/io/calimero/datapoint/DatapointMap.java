@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2023 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -38,10 +38,9 @@ package io.calimero.datapoint;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 
 import io.calimero.GroupAddress;
+import io.calimero.GroupAddressMap;
 import io.calimero.KNXIllegalArgumentException;
 import io.calimero.internal.EventListeners;
 import io.calimero.xml.KNXMLException;
@@ -50,6 +49,10 @@ import io.calimero.xml.XmlWriter;
 
 /**
  * A datapoint model storing datapoints with no defined order or hierarchy using a map implementation.
+ * <p>
+ * The map is safe for concurrent use without locking. Loading and saving are weakly consistent: datapoints loaded by
+ * {@link #load(XmlReader)} become visible one by one, and {@link #save(XmlWriter)} writes the datapoints contained in
+ * the map at some point at or since the start of saving.
  *
  * @author B. Malinowsky
  */
@@ -57,7 +60,7 @@ public class DatapointMap<T extends Datapoint> implements DatapointModel<T>, Cha
 {
 	private static final String TAG_DATAPOINTS = "datapoints";
 
-	private final Map<GroupAddress, T> points;
+	private final GroupAddressMap<T> points;
 	private final EventListeners<ChangeListener> listeners = new EventListeners<>();
 
 	private final Class<? extends Datapoint> dpTypeRef;
@@ -72,7 +75,7 @@ public class DatapointMap<T extends Datapoint> implements DatapointModel<T>, Cha
 
 	DatapointMap(final Class<? extends Datapoint> type)
 	{
-		points = Collections.synchronizedMap(new HashMap<>(20));
+		points = new GroupAddressMap<>();
 		dpTypeRef = type;
 	}
 
@@ -88,27 +91,20 @@ public class DatapointMap<T extends Datapoint> implements DatapointModel<T>, Cha
 	 */
 	public DatapointMap(final Collection<T> datapoints)
 	{
-		// not all HashSets put additional capacity in HashSet(Collection) ctor
-		final Map<GroupAddress, T> m = new HashMap<>(Math.max(2 * datapoints.size(), 11));
+		points = new GroupAddressMap<>();
 		for (final T dp : datapoints) {
-			if (m.containsKey(dp.getMainAddress()))
+			if (points.putIfAbsent(dp.getMainAddress(), dp) != null)
 				throw new KNXIllegalArgumentException("duplicate datapoint " + dp.getMainAddress());
-			m.put(dp.getMainAddress(), dp);
 		}
-		points = Collections.synchronizedMap(m);
 		dpTypeRef = Datapoint.class;
 	}
 
 	@Override
 	public void add(final T dp)
 	{
-		synchronized (points) {
-			if (points.containsKey(dp.getMainAddress()))
-				throw new KNXIllegalArgumentException("duplicate datapoint "
-					+ dp.getMainAddress());
-			points.put(dp.getMainAddress(), dp);
-			fireChangeNotification(dp, true);
-		}
+		if (points.putIfAbsent(dp.getMainAddress(), dp) != null)
+			throw new KNXIllegalArgumentException("duplicate datapoint " + dp.getMainAddress());
+		fireChangeNotification(dp, true);
 	}
 
 	@Override
@@ -161,18 +157,15 @@ public class DatapointMap<T extends Datapoint> implements DatapointModel<T>, Cha
 			r.nextTag();
 		if (r.getEventType() != XmlReader.START_ELEMENT || !r.getLocalName().equals(TAG_DATAPOINTS))
 			throw new KNXMLException(TAG_DATAPOINTS + " element not found", r);
-		synchronized (points) {
-			while (r.nextTag() == XmlReader.START_ELEMENT) {
-				final Datapoint dp = Datapoint.create(r);
-				if (points.containsKey(dp.getMainAddress()))
-					throw new KNXMLException("KNX address " + dp.getMainAddress().toString()
-							+ " in datapoint \"" + dp.getName() + "\" already used", r);
-				if (!dpTypeRef.isAssignableFrom(dp.getClass()))
-					throw new KNXMLException("datapoint not of type " + dpTypeRef.getTypeName(), r);
-				@SuppressWarnings("unchecked")
-				final T castDp = (T) dp;
-				points.put(dp.getMainAddress(), castDp);
-			}
+		while (r.nextTag() == XmlReader.START_ELEMENT) {
+			final Datapoint dp = Datapoint.create(r);
+			if (!dpTypeRef.isAssignableFrom(dp.getClass()))
+				throw new KNXMLException("datapoint not of type " + dpTypeRef.getTypeName(), r);
+			@SuppressWarnings("unchecked")
+			final T castDp = (T) dp;
+			if (points.putIfAbsent(dp.getMainAddress(), castDp) != null)
+				throw new KNXMLException("KNX address " + dp.getMainAddress().toString()
+						+ " in datapoint \"" + dp.getName() + "\" already used", r);
 		}
 	}
 
@@ -180,10 +173,8 @@ public class DatapointMap<T extends Datapoint> implements DatapointModel<T>, Cha
 	public void save(final XmlWriter w) throws KNXMLException
 	{
 		w.writeStartElement(TAG_DATAPOINTS);
-		synchronized (points) {
-			for (final T t : points.values())
-				t.save(w);
-		}
+		for (final T t : points.values())
+			t.save(w);
 		w.writeEndElement();
 	}
 
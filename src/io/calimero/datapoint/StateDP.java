@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -301,10 +301,10 @@ public class StateDP extends Datapoint
 					locations.add(r.getElementText());
 				else if (tag.equals(TAG_UPDATING))
 					while (r.nextTag() == XmlReader.START_ELEMENT)
-						updating.add(new GroupAddress(r));
+						updating.add(GroupAddress.from(r));
 				else if (tag.equals(TAG_INVALIDATING))
 					while (r.nextTag() == XmlReader.START_ELEMENT)
-						invalidating.add(new GroupAddress(r));
+						invalidating.add(GroupAddress.from(r));
 				else if (!main) {
 					super.doLoad(r);
 					main = true;
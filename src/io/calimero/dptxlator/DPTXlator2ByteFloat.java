@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -272,12 +272,18 @@ public class DPTXlator2ByteFloat extends DPTXlator
 	private double fromDPT(final int index)
 	{
 		final int i = 2 * index;
+		return decode(data[i] << 8 | data[i + 1]);
+	}
+
+	// raw is the unsigned 16 bit KNX data
+	private static double decode(final int raw)
+	{
 		// DPT bits high byte: MEEEEMMM, low byte: MMMMMMMM
 		// left align all mantissa bits
-		int v = ((data[i] & 0x80) << 24) | ((data[i] & 0x7) << 28) | (data[i + 1] << 20);
+		int v = ((raw & 0x8000) << 16) | ((raw & 0x700) << 20) | ((raw & 0xff) << 20);
 		// normalize
 		v >>= 20;
-		final int exp = (data[i] & 0x78) >> 3;
+		final int exp = (raw & 0x7800) >> 11;
 		return (1 << exp) * v * 0.01;
 	}
 
@@ -287,6 +293,14 @@ public class DPTXlator2ByteFloat extends DPTXlator
 		if (value < min || value > max)
 			throw newException("translation error, value out of range [" + dpt.getLowerValue()
 					+ ".." + dpt.getUpperValue() + "]", Double.toString(value));
+		final int raw = encode(value);
+		dst[2 * index] = ubyte(raw >> 8);
+		dst[2 * index + 1] = ubyte(raw);
+	}
+
+	// returns the unsigned 16 bit KNX data, value has to be in the valid DPT range
+	private static int encode(final double value)
+	{
 		// encoding: value = (0.01*M)*2^E
 		double v = value * 100.0f;
 		int e = 0;
@@ -295,11 +309,10 @@ public class DPTXlator2ByteFloat extends DPTXlator
 		for (; v > 2047.0f; v /= 2)
 			e++;
 		final int m = (int) Math.round(v) & 0x7FF;
-		short msb = (short) (e << 3 | m >> 8);
+		int msb = e << 3 | m >> 8;
 		if (value < 0.0)
 			msb |= 0x80;
-		dst[2 * index] = msb;
-		dst[2 * index + 1] = ubyte(m);
+		return msb << 8 | m & 0xff;
 	}
 
 	@Override
@@ -326,4 +339,36 @@ public class DPTXlator2ByteFloat extends DPTXlator
 		catch (final NumberFormatException e) {}
 		throw newException("limit in valid DPT range", limit);
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase
+	{
+		private final double min;
+		private final double max;
+
+		Codec(final DPT dpt)
+		{
+			super(dpt, 2);
+			min = Double.parseDouble(dpt.getLowerValue());
+			max = Double.parseDouble(dpt.getUpperValue());
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (!(value >= min && value <= max))
+				throw outOfRange(value);
+			putInt16(DPTXlator2ByteFloat.encode(value), dst, offset);
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return decode(uint16(src, offset));
+		}
+	}
 }
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -262,7 +262,11 @@ public class DPTXlator2ByteUnsigned extends DPTXlator
 
 	private double fromDPT(final int index)
 	{
-		final int v = (data[2 * index] << 8) | data[2 * index + 1];
+		return fromDPT(dpt, (data[2 * index] << 8) | data[2 * index + 1]);
+	}
+
+	private static double fromDPT(final DPT dpt, final int v)
+	{
 		if (dpt.equals(DPT_TIMEPERIOD_10))
 			return v * 10;
 		if (dpt.equals(DPT_TIMEPERIOD_100))
@@ -317,17 +321,20 @@ public class DPTXlator2ByteUnsigned extends DPTXlator
 		if (value < 0 || value > max)
 			throw newException("translation error, input value out of range ["
 							+ dpt.getLowerValue() + ".." + dpt.getUpperValue() + "]", Double.toString(value));
-		final int v;
-		if (dpt.equals(DPT_TIMEPERIOD_10))
-			v = (int) Math.round(value / 10);
-		else if (dpt.equals(DPT_TIMEPERIOD_100))
-			v = (int) Math.round(value / 100);
-		else
-			v = (int) value;
+		final int v = toDPT(dpt, value);
 		dst[2 * index] = ubyte(v >> 8);
 		dst[2 * index + 1] = ubyte(v);
 	}
 
+	private static int toDPT(final DPT dpt, final double value)
+	{
+		if (dpt.equals(DPT_TIMEPERIOD_10))
+			return (int) Math.round(value / 10);
+		if (dpt.equals(DPT_TIMEPERIOD_100))
+			return (int) Math.round(value / 100);
+		return (int) value;
+	}
+
 	private double getLimit(final String limit) throws KNXFormatException
 	{
 		try {
@@ -340,4 +347,34 @@ public class DPTXlator2ByteUnsigned extends DPTXlator
 		catch (final NumberFormatException e) {}
 		throw newException("limit not in valid DPT range", limit);
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase
+	{
+		private final int max;
+
+		Codec(final DPT dpt)
+		{
+			super(dpt, 2);
+			max = Integer.parseInt(dpt.getUpperValue());
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (!(value >= 0 && value <= max))
+				throw outOfRange(value);
+			putInt16(toDPT(dpt, value), dst, offset);
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return fromDPT(dpt, uint16(src, offset));
+		}
+	}
 }
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2009, 2023 B. Malinowsky
+    Copyright (c) 2009, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -784,4 +784,37 @@ public class DPTXlator4ByteFloat extends DPTXlator
 		catch (final NumberFormatException e) {}
 		throw newException("limit not in valid DPT range", limit);
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase
+	{
+		private final float min;
+		private final float max;
+
+		Codec(final DPT dpt)
+		{
+			super(dpt, 4);
+			min = Float.parseFloat(dpt.getLowerValue());
+			max = Float.parseFloat(dpt.getUpperValue());
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			final float f = (float) value;
+			if (!(f >= min && f <= max))
+				throw outOfRange(value);
+			putInt32(Float.floatToRawIntBits(f), dst, offset);
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return Float.intBitsToFloat(int32(src, offset));
+		}
+	}
 }
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2009, 2023 B. Malinowsky
+    Copyright (c) 2009, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -273,4 +273,45 @@ public class DPTXlator4ByteSigned extends DPTXlator
 		dst[i + 3] = (short) (value & 0xFF);
 		return dst;
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase
+	{
+		Codec(final DPT dpt)
+		{
+			super(dpt, 4);
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (!(value > Integer.MIN_VALUE - 1d && value < Integer.MAX_VALUE + 1d))
+				throw outOfRange(value);
+			putInt32((int) value, dst, offset);
+		}
+
+		@Override
+		public void encodeLong(final long value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+				throw outOfRange(value);
+			putInt32((int) value, dst, offset);
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return int32(src, offset);
+		}
+
+		@Override
+		public long decodeLong(final byte[] src, final int offset)
+		{
+			return int32(src, offset);
+		}
+	}
 }
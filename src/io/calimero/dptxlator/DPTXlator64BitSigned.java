@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2015, 2023 B. Malinowsky
+    Copyright (c) 2015, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -223,4 +223,45 @@ public class DPTXlator64BitSigned extends DPTXlator
 		dst[i + 7] = (short) (value & 0xFF);
 		return dst;
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase
+	{
+		Codec(final DPT dpt)
+		{
+			super(dpt, 8);
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			// 2^63 is the smallest double not representable as long
+			if (!(value >= Long.MIN_VALUE && value < 0x1p63))
+				throw outOfRange(value);
+			encodeLong((long) value, dst, offset);
+		}
+
+		@Override
+		public void encodeLong(final long value, final byte[] dst, final int offset)
+		{
+			putInt32((int) (value >> 32), dst, offset);
+			putInt32((int) value, dst, offset + 4);
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return decodeLong(src, offset);
+		}
+
+		@Override
+		public long decodeLong(final byte[] src, final int offset)
+		{
+			return (long) int32(src, offset) << 32 | int32(src, offset + 4) & 0xFFFFFFFFL;
+		}
+	}
 }
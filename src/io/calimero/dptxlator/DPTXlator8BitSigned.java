@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2023 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -289,4 +289,45 @@ public class DPTXlator8BitSigned extends DPTXlator
 			throw new KNXFormatException("value out of range [-128 .. 127]", value);
 		return (short) (value & 0xff);
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase
+	{
+		Codec(final DPT dpt)
+		{
+			super(dpt, 1);
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (!(value > -129 && value < 128))
+				throw outOfRange(value);
+			dst[offset] = (byte) value;
+		}
+
+		@Override
+		public void encodeLong(final long value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (value < -128 || value > 127)
+				throw outOfRange(value);
+			dst[offset] = (byte) value;
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return src[offset];
+		}
+
+		@Override
+		public long decodeLong(final byte[] src, final int offset)
+		{
+			return src[offset];
+		}
+	}
 }
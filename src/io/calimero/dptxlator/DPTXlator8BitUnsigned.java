@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2023 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -248,6 +248,11 @@ public class DPTXlator8BitUnsigned extends DPTXlator
 	}
 
 	private double toValue(final short data)
+	{
+		return toValue(dpt, data);
+	}
+
+	private static double toValue(final DPT dpt, final int data)
 	{
 		final double maxPercent = 100.0d;
 		final double maxAngle = 360.0d;
@@ -302,10 +307,45 @@ public class DPTXlator8BitUnsigned extends DPTXlator
 		catch (final NumberFormatException e) {
 			throw newException("parsing upper limit of " + dpt, dpt.getUpperValue());
 		}
+		return (short) scale(dpt, value);
+	}
+
+	private static int scale(final DPT dpt, final double value)
+	{
 		if (dpt.equals(DPT_SCALING))
-			return (short) Math.round(value * 255 / 100);
+			return (int) Math.round(value * 255 / 100);
 		if (dpt.equals(DPT_ANGLE))
-			return (short) Math.round(value * 255 / 360);
-		return (short) value;
+			return (int) Math.round(value * 255 / 360);
+		return (int) value;
+	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase
+	{
+		private final int max;
+
+		Codec(final DPT dpt)
+		{
+			super(dpt, 1);
+			max = Integer.parseInt(dpt.getUpperValue());
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (!(value >= 0 && value <= max))
+				throw outOfRange(value);
+			dst[offset] = (byte) scale(dpt, value);
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return toValue(dpt, src[offset] & 0xff);
+		}
 	}
 }
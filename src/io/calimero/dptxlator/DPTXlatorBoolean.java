@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2022 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -349,4 +349,61 @@ public class DPTXlatorBoolean extends DPTXlator
 	{
 		return data[index] != 0 ? dpt.getUpperValue() : dpt.getLowerValue();
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException
+	{
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	// the boolean value is stored in bit 0, encoding leaves the other bits unchanged
+	private static final class Codec extends DptCodecBase
+	{
+		Codec(final DPT dpt)
+		{
+			super(dpt, 1);
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (value != 0 && value != 1)
+				throw outOfRange(value);
+			encodeBoolean(value == 1, dst, offset);
+		}
+
+		@Override
+		public void encodeLong(final long value, final byte[] dst, final int offset) throws KNXFormatException
+		{
+			if (value != 0 && value != 1)
+				throw outOfRange(value);
+			encodeBoolean(value == 1, dst, offset);
+		}
+
+		@Override
+		public void encodeBoolean(final boolean value, final byte[] dst, final int offset)
+		{
+			if (value)
+				dst[offset] |= 1;
+			else
+				dst[offset] &= ~1;
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset)
+		{
+			return src[offset] & 0x01;
+		}
+
+		@Override
+		public long decodeLong(final byte[] src, final int offset)
+		{
+			return src[offset] & 0x01;
+		}
+
+		@Override
+		public boolean decodeBoolean(final byte[] src, final int offset)
+		{
+			return (src[offset] & 0x01) != 0;
+		}
+	}
 }
@@ -0,0 +1,214 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.dptxlator;
+
+import io.calimero.KNXFormatException;
+
+/**
+ * Stateless codec for encoding java primitives into, and decoding them from, the KNX data of a numeric DPT.
+ * <p>
+ * In contrast to a {@link DPTXlator}, a codec holds no translation items. Values are encoded directly into, and
+ * decoded directly from, a caller-supplied byte array, without intermediate strings or item buffers. Codec instances
+ * are immutable and thread safe, and can be shared for any number of values of the same DPT.
+ * <p>
+ * The numeric values are identical to the ones used by the corresponding translator, e.g., a codec for DPT 5.001
+ * works with scaled values in percent, as does {@link DPTXlator8BitUnsigned#setValue(double)}. Encoding checks the
+ * value range of the DPT and throws a {@link KNXFormatException} for values out of range. Decoding does not check
+ * the data, i.e., all KNX data is decoded according to the DPT encoding.
+ * <p>
+ * Codecs are available for the DPT main numbers 1 (boolean), 5 and 6 (8 Bit unsigned and signed), 7 and 8 (2-byte
+ * unsigned and signed), 9 (2-byte float), 12 and 13 (4-byte unsigned and signed), 14 (4-byte float), and 29 (64 Bit
+ * signed).
+ */
+public interface DptCodec
+{
+	/**
+	 * Returns a codec for the datapoint type {@code dptId}.
+	 *
+	 * @param dptId datapoint type ID, e.g., "9.001"
+	 * @return codec for the DPT
+	 * @throws KNXFormatException on wrong formatted DPT ID, or if there is no codec for that DPT
+	 */
+	static DptCodec of(final String dptId) throws KNXFormatException
+	{
+		final int sep = dptId.indexOf('.');
+		final int main;
+		try {
+			main = Integer.parseInt(dptId, 0, sep < 0 ? dptId.length() : sep, 10);
+		}
+		catch (final NumberFormatException e) {
+			throw new KNXFormatException("wrong DPT ID format", dptId);
+		}
+		return switch (main) {
+			case 1 -> DPTXlatorBoolean.codec(dptId);
+			case 5 -> DPTXlator8BitUnsigned.codec(dptId);
+			case 6 -> DPTXlator8BitSigned.codec(dptId);
+			case 7 -> DPTXlator2ByteUnsigned.codec(dptId);
+			case 8 -> DptXlator2ByteSigned.codec(dptId);
+			case 9 -> DPTXlator2ByteFloat.codec(dptId);
+			case 12 -> DPTXlator4ByteUnsigned.codec(dptId);
+			case 13 -> DPTXlator4ByteSigned.codec(dptId);
+			case 14 -> DPTXlator4ByteFloat.codec(dptId);
+			case 29 -> DPTXlator64BitSigned.codec(dptId);
+			default -> throw new KNXFormatException("no codec for DPT " + dptId, dptId);
+		};
+	}
+
+	/**
+	 * Returns a codec for the datapoint type {@code dpt}, see {@link #of(String)}.
+	 *
+	 * @param dpt datapoint type
+	 * @return codec for the DPT
+	 * @throws KNXFormatException if there is no codec for that DPT
+	 */
+	static DptCodec of(final DPT dpt) throws KNXFormatException
+	{
+		return of(dpt.getID());
+	}
+
+	/**
+	 * {@return the datapoint type of this codec}
+	 */
+	DPT dpt();
+
+	/**
+	 * Returns the number of bytes one value occupies in the KNX data, which is at least 1. Types with a width of less
+	 * than 1 byte occupy the low bits of that byte.
+	 *
+	 * @return size of one encoded value in bytes
+	 */
+	int size();
+
+	/**
+	 * Encodes {@code value} into {@code dst}, starting at {@code offset}.
+	 *
+	 * @param value value in the dimension of the DPT
+	 * @param dst destination array for the KNX data
+	 * @param offset offset into {@code dst}
+	 * @throws KNXFormatException if {@code value} is out of range for the DPT
+	 */
+	void encode(double value, byte[] dst, int offset) throws KNXFormatException;
+
+	/**
+	 * Decodes the value stored in {@code src} at {@code offset}.
+	 *
+	 * @param src source array containing the KNX data
+	 * @param offset offset into {@code src}
+	 * @return value in the dimension of the DPT
+	 */
+	double decodeDouble(byte[] src, int offset);
+
+	/**
+	 * Encodes {@code value} into {@code dst}, starting at {@code offset}; the default implementation encodes the value
+	 * as {@code double}.
+	 *
+	 * @param value value in the dimension of the DPT
+	 * @param dst destination array for the KNX data
+	 * @param offset offset into {@code dst}
+	 * @throws KNXFormatException if {@code value} is out of range for the DPT
+	 */
+	default void encodeLong(final long value, final byte[] dst, final int offset) throws KNXFormatException
+	{
+		encode(value, dst, offset);
+	}
+
+	/**
+	 * Decodes the value stored in {@code src} at {@code offset}; the default implementation returns the decoded
+	 * {@code double} value rounded to the nearest {@code long}.
+	 *
+	 * @param src source array containing the KNX data
+	 * @param offset offset into {@code src}
+	 * @return value in the dimension of the DPT
+	 */
+	default long decodeLong(final byte[] src, final int offset)
+	{
+		return Math.round(decodeDouble(src, offset));
+	}
+
+	/**
+	 * Encodes {@code value} into {@code dst}, starting at {@code offset}, see {@link #encodeLong(long, byte[], int)}.
+	 *
+	 * @param value value in the dimension of the DPT
+	 * @param dst destination array for the KNX data
+	 * @param offset offset into {@code dst}
+	 * @throws KNXFormatException if {@code value} is out of range for the DPT
+	 */
+	default void encodeInt(final int value, final byte[] dst, final int offset) throws KNXFormatException
+	{
+		encodeLong(value, dst, offset);
+	}
+
+	/**
+	 * Decodes the value stored in {@code src} at {@code offset}, see {@link #decodeLong(byte[], int)}.
+	 *
+	 * @param src source array containing the KNX data
+	 * @param offset offset into {@code src}
+	 * @return value in the dimension of the DPT
+	 * @throws ArithmeticException if the decoded value does not fit into an {@code int}
+	 */
+	default int decodeInt(final byte[] src, final int offset)
+	{
+		return Math.toIntExact(decodeLong(src, offset));
+	}
+
+	/**
+	 * Encodes {@code value} into {@code dst}, starting at {@code offset}; {@code true} is encoded as value 1,
+	 * {@code false} as value 0.
+	 *
+	 * @param value boolean value
+	 * @param dst destination array for the KNX data
+	 * @param offset offset into {@code dst}
+	 * @throws KNXFormatException if 0 or 1 are out of range for the DPT
+	 */
+	default void encodeBoolean(final boolean value, final byte[] dst, final int offset) throws KNXFormatException
+	{
+		encodeLong(value ? 1 : 0, dst, offset);
+	}
+
+	/**
+	 * Decodes the value stored in {@code src} at {@code offset} as boolean, with any value other than 0 returning
+	 * {@code true}.
+	 *
+	 * @param src source array containing the KNX data
+	 * @param offset offset into {@code src}
+	 * @return boolean value
+	 */
+	default boolean decodeBoolean(final byte[] src, final int offset)
+	{
+		return decodeDouble(src, offset) != 0;
+	}
+}
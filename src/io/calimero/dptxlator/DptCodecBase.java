@@ -0,0 +1,122 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.dptxlator;
+
+import java.util.Map;
+
+import io.calimero.KNXFormatException;
+
+/**
+ * Base for the codecs provided by the translators of this package.
+ */
+abstract class DptCodecBase implements DptCodec
+{
+	final DPT dpt;
+	private final int size;
+
+	DptCodecBase(final DPT dpt, final int size)
+	{
+		this.dpt = dpt;
+		this.size = size;
+	}
+
+	static DPT lookup(final Map<String, DPT> types, final String dptId) throws KNXFormatException
+	{
+		final DPT dpt = types.get(dptId);
+		if (dpt == null)
+			throw new KNXFormatException("DPT " + dptId + " is not available", dptId);
+		return dpt;
+	}
+
+	@Override
+	public final DPT dpt()
+	{
+		return dpt;
+	}
+
+	@Override
+	public final int size()
+	{
+		return size;
+	}
+
+	@Override
+	public String toString()
+	{
+		return dpt.getID() + " codec";
+	}
+
+	final KNXFormatException outOfRange(final double value)
+	{
+		return outOfRange(Double.toString(value));
+	}
+
+	final KNXFormatException outOfRange(final long value)
+	{
+		return outOfRange(Long.toString(value));
+	}
+
+	private KNXFormatException outOfRange(final String value)
+	{
+		return new KNXFormatException(dpt.getID() + " " + dpt.getDescription()
+				+ ": translation error, value out of range [" + dpt.getLowerValue() + ".." + dpt.getUpperValue()
+				+ "]", value);
+	}
+
+	static int uint16(final byte[] src, final int offset)
+	{
+		return (src[offset] & 0xff) << 8 | src[offset + 1] & 0xff;
+	}
+
+	static void putInt16(final int value, final byte[] dst, final int offset)
+	{
+		dst[offset] = (byte) (value >> 8);
+		dst[offset + 1] = (byte) value;
+	}
+
+	static int int32(final byte[] src, final int offset)
+	{
+		return src[offset] << 24 | (src[offset + 1] & 0xff) << 16 | (src[offset + 2] & 0xff) << 8
+				| src[offset + 3] & 0xff;
+	}
+
+	static void putInt32(final int value, final byte[] dst, final int offset)
+	{
+		putInt16(value >> 16, dst, offset);
+		putInt16(value, dst, offset + 2);
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2021, 2023 B. Malinowsky
+    Copyright (c) 2021, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -244,7 +244,10 @@ public class DptXlator2ByteSigned extends DPTXlator
 	}
 
 	private double fromDPT(final int index) {
-		final int v = (short) ((data[2 * index] << 8) | data[2 * index + 1]);
+		return fromDPT(dpt, (short) ((data[2 * index] << 8) | data[2 * index + 1]));
+	}
+
+	private static double fromDPT(final DPT dpt, final int v) {
 		if (dpt.equals(DptDeltaTime10))
 			return v * 10;
 		else if (dpt.equals(DptDeltaTime100))
@@ -297,19 +300,21 @@ public class DptXlator2ByteSigned extends DPTXlator
 		if (value < min || value > max)
 			throw newException("translation error, input value out of range [" + dpt.getLowerValue() + ".."
 					+ dpt.getUpperValue() + "]", Double.toString(value));
-		final int v;
-		if (dpt.equals(DptDeltaTime10))
-			v = (int) Math.round(value / 10);
-		else if (dpt.equals(DptDeltaTime100))
-			v = (int) Math.round(value / 100);
-		else if (dpt.equals(DptPercent))
-			v = (int) Math.round(value * 100);
-		else
-			v = (int) value;
+		final int v = toDPT(dpt, value);
 		dst[2 * index] = ubyte(v >> 8);
 		dst[2 * index + 1] = ubyte(v);
 	}
 
+	private static int toDPT(final DPT dpt, final double value) {
+		if (dpt.equals(DptDeltaTime10))
+			return (int) Math.round(value / 10);
+		if (dpt.equals(DptDeltaTime100))
+			return (int) Math.round(value / 100);
+		if (dpt.equals(DptPercent))
+			return (int) Math.round(value * 100);
+		return (int) value;
+	}
+
 	private double getLimit(final String limit) throws KNXFormatException {
 		try {
 			final double d = Double.parseDouble(limit);
@@ -322,4 +327,31 @@ public class DptXlator2ByteSigned extends DPTXlator
 		catch (final NumberFormatException e) {}
 		throw newException("limit not in valid DPT range", limit);
 	}
+
+	static DptCodec codec(final String dptId) throws KNXFormatException {
+		return new Codec(DptCodecBase.lookup(types, dptId));
+	}
+
+	private static final class Codec extends DptCodecBase {
+		private final double min;
+		private final double max;
+
+		Codec(final DPT dpt) {
+			super(dpt, 2);
+			min = Double.parseDouble(dpt.getLowerValue());
+			max = Double.parseDouble(dpt.getUpperValue());
+		}
+
+		@Override
+		public void encode(final double value, final byte[] dst, final int offset) throws KNXFormatException {
+			if (!(value >= min && value <= max))
+				throw outOfRange(value);
+			putInt16(toDPT(dpt, value), dst, offset);
+		}
+
+		@Override
+		public double decodeDouble(final byte[] src, final int offset) {
+			return fromDPT(dpt, (short) uint16(src, offset));
+		}
+	}
 }
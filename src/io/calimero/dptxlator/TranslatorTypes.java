@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -41,14 +41,20 @@ import static java.lang.System.Logger.Level.TRACE;
 import static java.lang.System.Logger.Level.WARNING;
 import static java.util.Collections.emptyList;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.calimero.KNXException;
 import io.calimero.KNXFormatException;
@@ -69,6 +75,10 @@ import io.calimero.KnxRuntimeException;
  * A datapoint type identifier (DPT ID or dptId for short), stands for one particular datapoint type. The preferred -
  * but not enforced - way of naming a dptId is using the expression "<i>main number</i>.<i>sub number</i>".<br>
  * In short, a datapoint type has a dptId and standardizes one combination of format, encoding, range and unit.
+ * <p>
+ * Translators are created through a {@link Factory}, which is resolved once per DPT and cached. For frequent
+ * translations, e.g., one per received datapoint value, {@link Factory#lease()} provides pooled translator instances
+ * instead of creating a new translator each time.
  *
  * @author B. Malinowsky
  * @see DPTXlator
@@ -197,9 +207,13 @@ public final class TranslatorTypes
 	 */
 	public static class MainType
 	{
+		private static final MethodType constructorType = MethodType.methodType(DPTXlator.class, String.class);
+
 		private final Class<? extends DPTXlator> xlator;
 		private final String desc;
 		private final int main;
+		// translator constructor(String dptId), resolved on first use
+		private volatile MethodHandle constructor;
 
 		/**
 		 * Creates a new main number to translator mapping.
@@ -255,21 +269,35 @@ public final class TranslatorTypes
 		 */
 		public DPTXlator createTranslator(final String dptId) throws KNXException
 		{
+			final MethodHandle ctor = constructor();
 			try {
-				return xlator.getConstructor(String.class).newInstance(dptId);
+				return (DPTXlator) ctor.invokeExact(dptId);
+			}
+			catch (final KNXFormatException | Error e) {
+				// forward exception of translator constructor, errors are not a translator init failure
+				throw e;
+			}
+			catch (final Throwable t) {
+				// throw generic message, any other (runtime) exception of the constructor is the cause
+				throw new KNXFormatException("failed to init translator", dptId, t);
 			}
-			catch (final InvocationTargetException e) {
-				// try to forward encapsulated target exception
-				if (e.getTargetException() instanceof KNXFormatException)
-					throw (KNXFormatException) e.getTargetException();
-				// throw generic message
-				throw new KNXFormatException("failed to init translator", dptId);
+		}
+
+		private MethodHandle constructor() throws KNXException
+		{
+			MethodHandle ctor = constructor;
+			if (ctor != null)
+				return ctor;
+			try {
+				ctor = MethodHandles.publicLookup().findConstructor(xlator, MethodType.methodType(void.class, String.class))
+						.asType(constructorType);
+				constructor = ctor;
+				return ctor;
 			}
 			catch (final NoSuchMethodException e) {
 				throw new KnxRuntimeException("interface specification error, no public constructor(String dptId)");
 			}
-			catch (final Exception e) {
-				// for SecurityException, InstantiationException, IllegalAccessException
+			catch (final IllegalAccessException | SecurityException e) {
 				throw new KNXException("failed to create translator", e);
 			}
 		}
@@ -324,7 +352,149 @@ public final class TranslatorTypes
 		}
 	}
 
-	private static final Map<Integer, MainType> map = Collections.synchronizedMap(new HashMap<>());
+	/**
+	 * Creates translators for one specific datapoint type. Factories are immutable and thread safe, and cached by
+	 * {@link TranslatorTypes}; use {@link TranslatorTypes#factory(String)} or {@link TranslatorTypes#factory(int, int)}
+	 * to obtain a factory.
+	 */
+	public static final class Factory
+	{
+		private static final int MaxPooled = 8;
+
+		private final MainType type;
+		private final String dptId;
+		private final boolean appendUnit;
+
+		private final Queue<DPTXlator> pool = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger pooled = new AtomicInteger();
+
+		private Factory(final MainType type, final String dptId, final boolean appendUnit)
+		{
+			this.type = type;
+			this.dptId = dptId;
+			this.appendUnit = appendUnit;
+		}
+
+		/**
+		 * {@return the main type of the translators created by this factory}
+		 */
+		public MainType mainType()
+		{
+			return type;
+		}
+
+		/**
+		 * {@return the datapoint type ID of the translators created by this factory}
+		 */
+		public String dptId()
+		{
+			return dptId;
+		}
+
+		/**
+		 * Creates a new translator.
+		 *
+		 * @return the new {@link DPTXlator} object
+		 * @throws KNXException if creation failed (see {@link MainType#createTranslator(String)})
+		 */
+		public DPTXlator create() throws KNXException
+		{
+			final DPTXlator t = type.createTranslator(dptId);
+			t.setAppendUnit(appendUnit);
+			return t;
+		}
+
+		/**
+		 * Leases a translator from the pool of this factory, or creates a new one if no pooled translator is
+		 * available. The translator is exclusively owned by the caller until the lease is closed, after which the
+		 * translator must not be used anymore.
+		 * <p>
+		 * A leased translator might contain the translation items of a previous lease; set the data or value before
+		 * reading items from it.
+		 *
+		 * @return translator lease, use it in a try-with-resources statement
+		 * @throws KNXException if translator creation failed (see {@link MainType#createTranslator(String)})
+		 */
+		public Lease lease() throws KNXException
+		{
+			final DPTXlator t = pool.poll();
+			if (t == null)
+				return new Lease(this, create());
+			pooled.decrementAndGet();
+			t.setAppendUnit(appendUnit);
+			return new Lease(this, t);
+		}
+
+		private void release(final DPTXlator t)
+		{
+			if (pooled.incrementAndGet() <= MaxPooled)
+				pool.offer(t);
+			else
+				pooled.decrementAndGet();
+		}
+
+		private boolean isCurrent(final int mainNumber)
+		{
+			return (mainNumber == 0 || mainNumber == type.getMainNumber()) && map.get(type.getMainNumber()) == type;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "translator factory for DPT " + dptId;
+		}
+	}
+
+	/**
+	 * Exclusive use of a pooled translator, see {@link Factory#lease()}. Closing the lease returns the translator to
+	 * the pool. A lease is not thread safe.
+	 */
+	public static final class Lease implements AutoCloseable
+	{
+		private final Factory factory;
+		private DPTXlator translator;
+
+		private Lease(final Factory factory, final DPTXlator translator)
+		{
+			this.factory = factory;
+			this.translator = translator;
+		}
+
+		/**
+		 * {@return the leased translator}
+		 *
+		 * @throws IllegalStateException if this lease is closed
+		 */
+		public DPTXlator translator()
+		{
+			if (translator == null)
+				throw new IllegalStateException("translator lease closed");
+			return translator;
+		}
+
+		/**
+		 * Returns the translator to the pool; closing an already closed lease has no effect.
+		 */
+		@Override
+		public void close()
+		{
+			if (translator != null) {
+				factory.release(translator);
+				translator = null;
+			}
+		}
+	}
+
+	private static final Map<Integer, MainType> map = new ConcurrentHashMap<>();
+
+	private record IdKey(int mainNumber, String dptId) {}
+
+	// factories are validated against the current main type mapping on lookup
+	// factories requested by DPT ID, keyed by the requested main number (0 if inferred from the DPT ID) and DPT ID
+	private static final Map<IdKey, Factory> factoriesById = new ConcurrentHashMap<>();
+	private static final Map<Integer, Factory> factoriesByNumber = new ConcurrentHashMap<>();
+	// factories of the first sub type of a main type, requested without DPT ID
+	private static final Map<Integer, Factory> factoriesByMain = new ConcurrentHashMap<>();
 
 	private static final String[] builtinXlators = {
 			"DptXlator16BitSet",
@@ -543,6 +713,79 @@ public final class TranslatorTypes
 	 */
 	public static DPTXlator createTranslator(final int mainNumber, final String dptId) throws KNXException
 	{
+		return factory(mainNumber, dptId).create();
+	}
+
+	/**
+	 * Returns the translator factory for the given datapoint type ID, see {@link #createTranslator(String, byte...)}.
+	 * Factories are cached, i.e., subsequent calls with the same DPT return the same factory, as long as the main type
+	 * mapping of that DPT does not change.
+	 *
+	 * @param dptId datapoint type ID, formatted as {@code <main number>.<sub number>} with sub
+	 *        numbers &lt; 100 zero-padded to 3 digits, e.g. "1.001"
+	 * @return the translator factory
+	 * @throws KNXException if no matching DPT translator is available or creation failed (see
+	 *         {@link MainType#createTranslator(String)})
+	 */
+	public static Factory factory(final String dptId) throws KNXException
+	{
+		return factory(0, dptId);
+	}
+
+	/**
+	 * Returns the translator factory for the given datapoint type main/sub number, see
+	 * {@link #createTranslator(int, int, byte...)}. Factories are cached, i.e., subsequent calls with the same DPT
+	 * return the same factory, as long as the main type mapping of that DPT does not change.
+	 *
+	 * @param mainNumber datapoint type main number, 0 &lt; mainNumber
+	 * @param subNumber datapoint type sub number selecting a particular kind of value translation; use 0 to request any
+	 *        type ID of that translator (in that case, appending the physical unit for string values is disabled)
+	 * @return the translator factory
+	 * @throws KNXException if no matching DPT translator is available or creation failed (see
+	 *         {@link MainType#createTranslator(String)})
+	 */
+	public static Factory factory(final int mainNumber, final int subNumber) throws KNXException
+	{
+		final Integer key = mainNumber << 16 | subNumber & 0xffff;
+		final Factory cached = factoriesByNumber.get(key);
+		if (cached != null && cached.isCurrent(mainNumber))
+			return cached;
+
+		final MainType type = map.get(mainNumber);
+		if (type == null)
+			throw new KNXException("no DPT translator available for main number " + mainNumber);
+
+		final boolean withSub = subNumber != 0;
+		final String id = withSub ? String.format("%d.%03d", mainNumber, subNumber)
+				: type.getSubTypes().keySet().iterator().next();
+		final Factory f = newFactory(type, id, withSub);
+		factoriesByNumber.put(key, f);
+		return f;
+	}
+
+	/**
+	 * Returns the translator factory for the given datapoint type ID, see {@link #createTranslator(int, String)}.
+	 * Factories are cached, i.e., subsequent calls with the same DPT return the same factory, as long as the main type
+	 * mapping of that DPT does not change.
+	 *
+	 * @param mainNumber data type main number, number &ge; 0; use 0 to infer translator type from {@code dptId}
+	 *        argument only
+	 * @param dptId datapoint type ID for selecting a particular kind of value translation
+	 * @return the translator factory
+	 * @throws KNXException on main type not found or creation failed (refer to
+	 *         {@link MainType#createTranslator(String)})
+	 */
+	public static Factory factory(final int mainNumber, final String dptId) throws KNXException
+	{
+		final boolean withId = dptId != null && !dptId.isEmpty();
+		final var key = withId ? new IdKey(mainNumber, dptId) : null;
+		Factory cached = withId ? factoriesById.get(key) : factoriesByMain.get(mainNumber);
+		// a factory with the main number inferred from the DPT ID also serves requests stating that main number
+		if (cached == null && withId && mainNumber != 0)
+			cached = factoriesById.get(new IdKey(0, dptId));
+		if (cached != null && cached.isCurrent(mainNumber))
+			return cached;
+
 		int main = 0;
 		try {
 			main = getMainNumber(mainNumber, dptId);
@@ -552,8 +795,22 @@ public final class TranslatorTypes
 		if (type == null)
 			throw new KNXException("no DPT translator available for main number " + main + " (ID " + dptId + ")");
 
-		final String id = dptId != null && !dptId.isEmpty() ? dptId : type.getSubTypes().keySet().iterator().next();
-		return type.createTranslator(id);
+		final String id = withId ? dptId : type.getSubTypes().keySet().iterator().next();
+		final Factory f = newFactory(type, id, true);
+		if (withId)
+			factoriesById.put(key, f);
+		else
+			factoriesByMain.put(main, f);
+		return f;
+	}
+
+	// only returns factories able to create a translator, the created translator is pooled
+	private static Factory newFactory(final MainType type, final String dptId, final boolean appendUnit)
+		throws KNXException
+	{
+		final Factory f = new Factory(type, dptId, appendUnit);
+		f.release(f.create());
+		return f;
 	}
 
 	/**
@@ -570,15 +827,7 @@ public final class TranslatorTypes
 	public static DPTXlator createTranslator(final int mainNumber, final int subNumber, final byte... data)
 		throws KNXException
 	{
-		final MainType type = map.get(mainNumber);
-		if (type == null)
-			throw new KNXException("no DPT translator available for main number " + mainNumber);
-
-		final boolean withSub = subNumber != 0;
-		final String id = withSub ? String.format("%d.%03d", mainNumber, subNumber)
-				: type.getSubTypes().keySet().iterator().next();
-		final DPTXlator t = type.createTranslator(id);
-		t.setAppendUnit(withSub);
+		final DPTXlator t = factory(mainNumber, subNumber).create();
 		if (data.length > 0)
 			t.setData(data);
 		return t;
@@ -0,0 +1,247 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Bounded in-memory cache of keys derived from passwords, e.g., using PBKDF2. Entries are identified by a keyed hash
+ * of (password, salt), neither password nor salt are retained. The least recently used entry is evicted once the cache
+ * is full; evicted and cleared keys are overwritten with zeros.
+ * <p>
+ * Concurrent requests for the same (password, salt) run the derivation only once, other requesters wait for its
+ * result.
+ */
+public final class DerivedKeyCache {
+	/**
+	 * Derives a key from a password and salt.
+	 */
+	@FunctionalInterface
+	public interface Derivation {
+		/**
+		 * Derives a key; implementations must not modify {@code password} or {@code salt}.
+		 *
+		 * @param password password
+		 * @param salt salt
+		 * @return derived key
+		 * @throws GeneralSecurityException on unavailable algorithms or invalid key specifications
+		 */
+		byte[] derive(char[] password, byte[] salt) throws GeneralSecurityException;
+	}
+
+	private static final DerivedKeyCache shared = new DerivedKeyCache(64);
+
+	private static final class Entry {
+		final CountDownLatch derived = new CountDownLatch(1);
+		byte[] key; // guarded by lock, null while derivation is in progress
+	}
+
+	private final int capacity;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<ByteBuffer, Entry> entries;
+	private final Mac mac; // guarded by lock
+
+
+	/**
+	 * {@return the cache shared by all password-based key derivations of this library}
+	 */
+	public static DerivedKeyCache shared() { return shared; }
+
+	/**
+	 * Creates a new derived key cache.
+	 *
+	 * @param capacity maximum number of cached keys, {@code capacity > 0}
+	 */
+	public DerivedKeyCache(final int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("derived key cache capacity " + capacity + " <= 0");
+		this.capacity = capacity;
+		entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, Entry> eldest) {
+				if (size() <= DerivedKeyCache.this.capacity)
+					return false;
+				zeroize(eldest.getValue());
+				return true;
+			}
+		};
+
+		final byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+		try {
+			mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+		}
+		catch (final GeneralSecurityException e) {
+			throw new IllegalStateException("HmacSHA256", e);
+		}
+		finally {
+			Arrays.fill(secret, (byte) 0);
+		}
+	}
+
+	/**
+	 * Returns the key derived from {@code password} and {@code salt}, running {@code derivation} only if the key is
+	 * not cached. This method does not modify {@code password} or {@code salt}.
+	 *
+	 * @param password password
+	 * @param salt salt
+	 * @param derivation key derivation function, used on cache misses
+	 * @return a copy of the derived key
+	 * @throws GeneralSecurityException if {@code derivation} fails
+	 */
+	public byte[] derive(final char[] password, final byte[] salt, final Derivation derivation)
+			throws GeneralSecurityException {
+		final var id = id(password, salt);
+		while (true) {
+			final Entry entry;
+			final boolean derive;
+			lock.lock();
+			try {
+				final var cached = entries.get(id);
+				if (cached != null && cached.key != null)
+					return cached.key.clone();
+				derive = cached == null;
+				entry = derive ? new Entry() : cached;
+				if (derive)
+					entries.put(id, entry);
+			}
+			finally {
+				lock.unlock();
+			}
+
+			if (derive)
+				return derive(id, entry, password, salt, derivation);
+			try {
+				entry.derived.await();
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return derivation.derive(password, salt);
+			}
+			// the entry might have been evicted or its derivation failed in the meantime, so look it up again
+		}
+	}
+
+	/**
+	 * Removes all cached keys, overwriting them with zeros.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			entries.values().forEach(DerivedKeyCache::zeroize);
+			entries.clear();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@return the number of cached keys, including keys currently being derived}
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return entries.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private byte[] derive(final ByteBuffer id, final Entry entry, final char[] password, final byte[] salt,
+			final Derivation derivation) throws GeneralSecurityException {
+		boolean derived = false;
+		try {
+			final byte[] key = derivation.derive(password, salt);
+			derived = true;
+			lock.lock();
+			try {
+				if (entries.get(id) == entry)
+					entry.key = key.clone();
+			}
+			finally {
+				lock.unlock();
+			}
+			return key;
+		}
+		finally {
+			if (!derived) {
+				lock.lock();
+				try {
+					entries.remove(id, entry);
+				}
+				finally {
+					lock.unlock();
+				}
+			}
+			entry.derived.countDown();
+		}
+	}
+
+	private ByteBuffer id(final char[] password, final byte[] salt) {
+		final var input = ByteBuffer.allocate(4 + salt.length + 2 * password.length);
+		input.putInt(salt.length).put(salt);
+		for (final char c : password)
+			input.putChar(c);
+		lock.lock();
+		try {
+			return ByteBuffer.wrap(mac.doFinal(input.array()));
+		}
+		finally {
+			lock.unlock();
+			Arrays.fill(input.array(), (byte) 0);
+		}
+	}
+
+	private static void zeroize(final Entry entry) {
+		if (entry.key != null)
+			Arrays.fill(entry.key, (byte) 0);
+		entry.key = null;
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2021, 2024 B. Malinowsky
+    Copyright (c) 2021, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -42,20 +42,58 @@ import static java.lang.System.Logger.Level.WARNING;
 
 import java.lang.System.Logger;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.function.Consumer;
+
+/**
+ * Dispatches custom events to annotated listener methods. Each annotated method is compiled once per listener class
+ * into an invoker factory, which creates invokers bound to a listener instance, and an event is dispatched to all
+ * listener methods accepting the event type or one of its supertypes. The invokers per event class are cached in a
+ * dispatch table.
+ */
 class EventDispatcher<T extends Annotation> {
 	private static final Lookup lookup = MethodHandles.lookup();
+	private static final MethodType consumerType = MethodType.methodType(void.class, Object.class);
+	private static final MethodType factoryType = MethodType.methodType(Consumer.class, Object.class);
+	private static final MethodHandle boundInvoker;
+	static {
+		try {
+			boundInvoker = lookup.findStatic(EventDispatcher.class, "boundInvoker",
+					MethodType.methodType(Consumer.class, MethodHandle.class, Object.class));
+		}
+		catch (final ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
 
-	private record ListenerMH(Object listener, MethodHandle mh) {}
+	// listener class -> (listener method -> invoker factory); the lambda metafactory spins a new hidden class on each
+	// call, therefore we create the factory once per listener class and method, and only bind the listener instance
+	private static final ClassValue<Map<Method, MethodHandle>> invokerFactories = new ClassValue<>() {
+		@Override
+		protected Map<Method, MethodHandle> computeValue(final Class<?> type) { return new ConcurrentHashMap<>(); }
+	};
 
+	record ListenerMH(Object listener, Consumer<Object> invoker) {}
+
+	// registered event type -> listener invokers
 	final Map<Class<?>, Set<ListenerMH>> customEvents = new ConcurrentHashMap<>();
+	// event class -> invokers of all matching registered event types, replaced on any registration change
+	private volatile Map<Class<?>, ListenerMH[]> dispatchTable = new ConcurrentHashMap<>();
 	private final Class<T> eventAnnotation;
 	private final Logger logger;
 
@@ -66,28 +104,49 @@ class EventDispatcher<T extends Annotation> {
 
 	void register(final Class<?> eventType) {
 		customEvents.put(eventType, ConcurrentHashMap.newKeySet());
+		dispatchTable = new ConcurrentHashMap<>();
 	}
 
-	// TODO we currently register events multiple times if method also exists as annotated default method on interface
 	void registerCustomEvents(final Object listener) {
-		// check default methods on implemented interfaces
-		for (final var iface : listener.getClass().getInterfaces())
-			for (final var method : iface.getDeclaredMethods())
-				inspectMethodForEvent(method, listener);
-		// check normal methods on classes
-		for (final var method : listener.getClass().getDeclaredMethods())
-			inspectMethodForEvent(method, listener);
+		for (final var method : annotatedMethods(listener.getClass()))
+			registerMethod(method, listener);
+		dispatchTable = new ConcurrentHashMap<>();
 	}
 
 	void unregisterCustomEvents(final Object listener) {
 		for (final var set : customEvents.values()) {
 			set.removeIf(lmh -> listener.equals(lmh.listener));
 		}
+		dispatchTable = new ConcurrentHashMap<>();
 	}
 
-	private void inspectMethodForEvent(final Method method, final Object listener) {
-		if (method.getAnnotation(eventAnnotation) == null)
-			return;
+	// collects annotated methods of the listener class, its superclasses and interfaces (e.g., default methods);
+	// a method overridden in a subtype is only collected once
+	private List<Method> annotatedMethods(final Class<?> listenerClass) {
+		final Map<String, Method> methods = new LinkedHashMap<>();
+		final Set<Class<?>> visited = new HashSet<>();
+		final var types = new ArrayDeque<Class<?>>();
+		types.add(listenerClass);
+		while (!types.isEmpty()) {
+			final var type = types.remove();
+			if (type == Object.class || !visited.add(type))
+				continue;
+			for (final var method : type.getDeclaredMethods()) {
+				if (method.isSynthetic() || method.isBridge() || Modifier.isStatic(method.getModifiers()))
+					continue;
+				if (method.getAnnotation(eventAnnotation) == null)
+					continue;
+				final var key = method.getName() + List.of(method.getParameterTypes());
+				methods.putIfAbsent(key, method);
+			}
+			if (type.getSuperclass() != null)
+				types.add(type.getSuperclass());
+			types.addAll(List.of(type.getInterfaces()));
+		}
+		return new ArrayList<>(methods.values());
+	}
+
+	private void registerMethod(final Method method, final Object listener) {
 		final var paramTypes = method.getParameterTypes();
 		if (paramTypes.length != 1) {
 			logger.log(WARNING, "cannot register {0}: parameter count not 1", method);
@@ -99,30 +158,86 @@ class EventDispatcher<T extends Annotation> {
 			return;
 		}
 		try {
-			Lookup privateLookup = lookup;
-			try {
-				privateLookup = MethodHandles.privateLookupIn(listener.getClass(), lookup);
-			}
-			catch (final IllegalAccessException ok) {
-				// module which contains listener does not permit access (reads/opens directives)
-			}
-			final var boundMethod = privateLookup.unreflect(method).bindTo(listener);
-			customEvents.get(paramType).add(new ListenerMH(listener, boundMethod));
+			customEvents.get(paramType).add(new ListenerMH(listener, invoker(method, listener)));
 			logger.log(TRACE, "registered {0}", method);
 		}
-		catch (final Exception e) {
+		catch (final Throwable e) {
 			logger.log(WARNING, "failed to register " + method, e);
 		}
 	}
 
+	private static Consumer<Object> invoker(final Method method, final Object listener) throws Throwable {
+		final var factories = invokerFactories.get(listener.getClass());
+		var factory = factories.get(method);
+		if (factory == null) {
+			final var created = invokerFactory(method, listener.getClass());
+			factory = factories.putIfAbsent(method, created);
+			if (factory == null)
+				factory = created;
+		}
+		@SuppressWarnings("unchecked")
+		final var consumer = (Consumer<Object>) factory.invokeExact(listener);
+		return consumer;
+	}
+
+	// creates a factory of consumers invoking the listener method directly, or falls back to a type-adapted method
+	// handle if the listener class does not grant us full privilege access; the factory is of type (Object)Consumer
+	private static MethodHandle invokerFactory(final Method method, final Class<?> listenerClass) throws Throwable {
+		Lookup privateLookup = lookup;
+		try {
+			privateLookup = MethodHandles.privateLookupIn(listenerClass, lookup);
+		}
+		catch (final IllegalAccessException ok) {
+			// module which contains listener does not permit access (reads/opens directives)
+		}
+		final MethodHandle mh = privateLookup.unreflect(method);
+
+		if (privateLookup.hasFullPrivilegeAccess()) {
+			try {
+				final var site = LambdaMetafactory.metafactory(privateLookup, "accept",
+						MethodType.methodType(Consumer.class, listenerClass), consumerType, mh,
+						MethodType.methodType(void.class, method.getParameterTypes()[0]));
+				return site.getTarget().asType(factoryType);
+			}
+			catch (final LambdaConversionException | RuntimeException | LinkageError e) {
+				// fall back to method handle
+			}
+		}
+		return boundInvoker.bindTo(mh.asType(mh.type().changeParameterType(0, Object.class)));
+	}
+
+	private static Consumer<Object> boundInvoker(final MethodHandle mh, final Object listener) {
+		final MethodHandle bound = mh.bindTo(listener).asType(consumerType);
+		return event -> {
+			try {
+				bound.invokeExact(event);
+			}
+			catch (RuntimeException | Error e) {
+				throw e;
+			}
+			catch (final Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		};
+	}
+
 	void dispatchCustomEvent(final Object event) {
-		customEvents.getOrDefault(event.getClass(), Set.of()).forEach(lmh -> {
+		for (final var lmh : dispatchTable.computeIfAbsent(event.getClass(), this::resolve)) {
 			try {
-				lmh.mh.invoke(event);
+				lmh.invoker.accept(event);
 			}
 			catch (final Throwable e) {
 				logger.log(WARNING, "invoking custom event", e);
 			}
+		}
+	}
+
+	private ListenerMH[] resolve(final Class<?> eventClass) {
+		final var invokers = new ArrayList<ListenerMH>();
+		customEvents.forEach((type, set) -> {
+			if (type.isAssignableFrom(eventClass))
+				invokers.addAll(set);
 		});
+		return invokers.toArray(ListenerMH[]::new);
 	}
 }
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -39,8 +39,12 @@ package io.calimero.internal;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.lang.annotation.Annotation;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
@@ -52,15 +56,43 @@ import io.calimero.log.LogService;
  * <p>
  * The assumption for implementation of this class is that iterating over event listeners is the predominant operation,
  * adding and removing listeners not.
+ * <p>
+ * By default, events are fired to all listeners sequentially by the calling thread. In
+ * {@link DispatchMode#Isolated} mode, each listener gets its own bounded event queue, which is drained on the shared
+ * executor; this way, a slow listener does not delay event delivery to other listeners.
  *
  * @author B. Malinowsky
  */
 public class EventListeners<T>
 {
+	/** Event dispatch mode. */
+	public enum DispatchMode {
+		/** Fire events to all listeners one after another by the calling thread. */
+		Sequential,
+		/** Queue events per listener, and fire each listener by its own task. */
+		Isolated
+	}
+
+	/**
+	 * Event delivery statistics of a listener in isolated dispatch mode.
+	 *
+	 * @param delivered number of delivered events
+	 * @param dropped number of events dropped because of a full listener queue
+	 * @param queueDepth current number of queued events
+	 * @param maxLatency maximum time from firing an event until the listener returned
+	 * @param averageLatency average time from firing an event until the listener returned
+	 * @param lag time the most recently delivered event waited in the queue
+	 */
+	public record ListenerStatistics(long delivered, long dropped, int queueDepth, Duration maxLatency,
+		Duration averageLatency, Duration lag) {}
+
 	private final CopyOnWriteArrayList<T> listeners = new CopyOnWriteArrayList<>();
 	private final Logger logger;
 	private final EventDispatcher<?> customEvents;
 
+	private volatile DispatchMode mode = DispatchMode.Sequential;
+	private final Map<T, IsolatedListener<T>> isolated = new ConcurrentHashMap<>();
+
 
 	/**
 	 * Creates a new event listeners container object.
@@ -97,14 +129,17 @@ public class EventListeners<T>
 	{
 		if (listeners.remove(l))
 			customEvents.unregisterCustomEvents(l);
+		isolated.remove(l);
 	}
 
 	/**
-	 * Removes all event listeners from this container.
+	 * Removes all event listeners from this container. In isolated dispatch mode, events already queued for a listener
+	 * are still delivered.
 	 */
 	public void removeAll()
 	{
 		listeners.clear();
+		isolated.clear();
 	}
 
 	/**
@@ -119,8 +154,46 @@ public class EventListeners<T>
 		return Collections.unmodifiableList(listeners);
 	}
 
+	/**
+	 * Sets the dispatch mode used for firing events.
+	 *
+	 * @param mode dispatch mode
+	 */
+	public void dispatchMode(final DispatchMode mode) { this.mode = mode; }
+
+	public DispatchMode dispatchMode() { return mode; }
+
+	/**
+	 * Returns the event delivery statistics of listeners in isolated dispatch mode.
+	 *
+	 * @return map of listener to its statistics, empty map if no events were dispatched in isolated mode
+	 */
+	public Map<T, ListenerStatistics> statistics() {
+		final var stats = new HashMap<T, ListenerStatistics>();
+		isolated.forEach((l, il) -> stats.put(l, il.statistics()));
+		return stats;
+	}
+
 	public void fire(final Consumer<? super T> c)
 	{
+		fire(c, false);
+	}
+
+	/**
+	 * Fires a terminal event, like a close event. In isolated dispatch mode, a terminal event is never dropped because
+	 * of a full listener queue, but delivered after all queued events.
+	 *
+	 * @param c event
+	 */
+	public void fireTerminal(final Consumer<? super T> c) { fire(c, true); }
+
+	private void fire(final Consumer<? super T> c, final boolean terminal)
+	{
+		if (mode == DispatchMode.Isolated) {
+			for (final T l : listeners)
+				isolated.computeIfAbsent(l, k -> new IsolatedListener<>(k, this, logger)).add(c, terminal);
+			return;
+		}
 		for (final T l : listeners) {
 			try {
 				c.accept(l);
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2020, 2023 B. Malinowsky
+    Copyright (c) 2020, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -36,6 +36,12 @@
 
 package io.calimero.internal;
 
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -45,15 +51,28 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import io.calimero.log.LogService;
+
 
 /**
  * Access to executors using daemon threads.
+ * <p>
+ * Setting the system property {@code io.calimero.virtualThreads} (empty or {@code true}) runs all tasks, including the
+ * long-running receiver loops and heartbeat monitors, on virtual threads. This requires a Java runtime with virtual
+ * thread support (Java 21+), otherwise platform threads are used.
  */
 public final class Executor {
 	private static final String idleThreadName = "Calimero idle thread";
 
+	private static final String virtualThreadsKey = "io.calimero.virtualThreads";
+	private static final ThreadFactory virtualThreadFactory =
+			virtualThreadFactory(System.getProperty(virtualThreadsKey));
+
+	// set on threads running an event loop, which must never block
+	private static final ThreadLocal<Boolean> eventLoop = new ThreadLocal<>();
+
 	private static final ThreadFactory threadFactory = r -> {
-		final Thread t = new Thread(r, idleThreadName);
+		final Thread t = newThread(r, idleThreadName);
 		t.setDaemon(true);
 		return t;
 	};
@@ -70,8 +89,11 @@ public final class Executor {
 		};
 		executor = Executors.unconfigurableExecutorService(se);
 
-		// STPE acts as a fixed-sized pool using corePoolSize threads and an unbounded queue
-		final var stpe = new ScheduledThreadPoolExecutor(10, threadFactory) {
+		// STPE acts as a fixed-sized pool using corePoolSize threads and an unbounded queue; virtual core threads
+		// are cheap, so we allow more of them to not have long-running scheduled tasks (e.g., reconnects) wait on
+		// each other
+		final int corePoolSize = virtualThreads() ? 256 : 10;
+		final var stpe = new ScheduledThreadPoolExecutor(corePoolSize, threadFactory) {
 			@Override
 			protected void afterExecute(final Runnable r, final Throwable t) {
 				Thread.currentThread().setName(idleThreadName);
@@ -86,13 +108,93 @@ public final class Executor {
 	public static void execute(final Runnable task) { executor.execute(task); }
 
 	public static Thread execute(final Runnable task, final String name) {
-		final var thread = new Thread(task, name);
-		thread.setDaemon(true);
+		final var thread = threadFactory(name).newThread(task);
 		thread.start();
 		return thread;
 	}
 
+	/**
+	 * Runs the event loop {@code loop} on a new daemon thread. Code executed on that thread must not block, see
+	 * {@link #onEventLoop()}.
+	 *
+	 * @param loop event loop
+	 * @param name thread name, for diagnostics
+	 * @return the started thread
+	 */
+	public static Thread executeEventLoop(final Runnable loop, final String name) {
+		return execute(() -> {
+			eventLoop.set(Boolean.TRUE);
+			loop.run();
+		}, name);
+	}
+
+	/**
+	 * {@return {@code true} if the current thread runs an event loop started by {@link #executeEventLoop}, and must
+	 * therefore not block}
+	 */
+	public static boolean onEventLoop() { return eventLoop.get() != null; }
+
+	/**
+	 * Returns a thread factory creating daemon threads with the supplied name, using virtual threads if enabled.
+	 *
+	 * @param name thread name, for diagnostics
+	 * @return thread factory
+	 */
+	public static ThreadFactory threadFactory(final String name) {
+		return r -> {
+			final Thread t = newThread(r, name);
+			t.setDaemon(true);
+			return t;
+		};
+	}
+
+	/**
+	 * @return {@code true} if tasks are run on virtual threads, {@code false} if platform threads are used
+	 */
+	public static boolean virtualThreads() { return virtualThreadFactory != null; }
+
 	public static ExecutorService executor() { return executor; }
 
 	public static ScheduledExecutorService scheduledExecutor() { return scheduledExecutor; }
+
+	private static Thread newThread(final Runnable r, final String name) {
+		return newThread(virtualThreadFactory, r, name);
+	}
+
+	// uses platform threads if virtual is null
+	static Thread newThread(final ThreadFactory virtual, final Runnable r, final String name) {
+		if (virtual == null)
+			return new Thread(r, name);
+		final Thread t = virtual.newThread(r);
+		t.setName(name);
+		return t;
+	}
+
+	// virtual threads are not part of the Java 17 API, we look them up at runtime
+	static ThreadFactory virtualThreadFactory(final String prop) {
+		final var key = virtualThreadsKey;
+		final var logger = LogService.getLogger("io.calimero");
+		try {
+			if (!((prop != null && prop.isEmpty()) || Boolean.parseBoolean(prop)))
+				return null;
+
+			final var lookup = MethodHandles.publicLookup();
+			final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			final Class<?> ofVirtualType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			final MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual",
+					MethodType.methodType(ofVirtualType));
+			final MethodHandle factory = lookup.findVirtual(builderType, "factory",
+					MethodType.methodType(ThreadFactory.class));
+			final var tf = (ThreadFactory) factory.invoke(ofVirtual.invoke());
+			logger.log(INFO, "using {0}", key);
+			return tf;
+		}
+		catch (final ReflectiveOperationException e) {
+			logger.log(WARNING, "{0} requires Java 21 or later, using platform threads", key);
+		}
+		catch (final Throwable t) {
+			logger.log(WARNING, "on checking property " + key, t);
+		}
+		return null;
+	}
 }
@@ -0,0 +1,162 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
+
+import java.lang.System.Logger;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import io.calimero.internal.EventListeners.ListenerStatistics;
+
+/**
+ * Delivers events to a single listener using its own bounded queue, drained by a serial task on the shared executor.
+ * A slow listener only delays its own events. If the queue is full, events are dropped, except for terminal events
+ * (e.g., link closed), which are delivered after all queued events.
+ */
+final class IsolatedListener<T> implements Runnable {
+	private static final int capacity = 1024;
+	private static final long slowThreshold = Duration.ofMillis(100).toNanos();
+	private static final long logInterval = Duration.ofSeconds(10).toNanos();
+
+	private record Event<T>(Consumer<? super T> consumer, long enqueued) {}
+
+	private final T listener;
+	private final EventListeners<T> owner;
+	private final Logger logger;
+	private final RingBuffer<Event<T>> queue = new RingBuffer<>(capacity);
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	// terminal event which did not fit into the queue
+	private final AtomicReference<Event<T>> terminal = new AtomicReference<>();
+
+	// written by the draining task only
+	private volatile long delivered;
+	private volatile long totalLatency;
+	private volatile long maxLatency;
+	private volatile long lag;
+	private volatile long lastSlowLog = System.nanoTime() - logInterval;
+
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile long lastDropLog = System.nanoTime() - logInterval;
+
+	IsolatedListener(final T listener, final EventListeners<T> owner, final Logger logger) {
+		this.listener = listener;
+		this.owner = owner;
+		this.logger = logger;
+	}
+
+	void add(final Consumer<? super T> c, final boolean terminal) {
+		final long now = System.nanoTime();
+		final var event = new Event<T>(c, now);
+		if (!queue.offer(event) && !(terminal && this.terminal.compareAndSet(null, event))) {
+			final long n = dropped.incrementAndGet();
+			if (now - lastDropLog >= logInterval) {
+				lastDropLog = now;
+				logger.log(WARNING, "event queue of listener {0} full, dropped {1} events", listener, n);
+			}
+			return;
+		}
+		if (scheduled.compareAndSet(false, true))
+			Executor.execute(this);
+	}
+
+	@Override
+	public void run() {
+		final var thread = Thread.currentThread();
+		final String name = thread.getName();
+		thread.setName("Calimero event listener " + listener.getClass().getSimpleName());
+		try {
+			drain();
+		}
+		finally {
+			thread.setName(name);
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			var event = queue.poll();
+			if (event == null)
+				event = terminal.getAndSet(null);
+			if (event == null) {
+				scheduled.set(false);
+				// recheck, an event might have been added after our poll but before we reset the flag
+				if ((queue.isEmpty() && terminal.get() == null) || !scheduled.compareAndSet(false, true))
+					return;
+				continue;
+			}
+			deliver(event);
+		}
+	}
+
+	private void deliver(final Event<T> event) {
+		final long start = System.nanoTime();
+		try {
+			event.consumer().accept(listener);
+		}
+		catch (final RuntimeException rte) {
+			owner.remove(listener);
+			logger.log(ERROR, "removed event listener", rte);
+		}
+		final long end = System.nanoTime();
+
+		final long latency = end - event.enqueued();
+		delivered++;
+		totalLatency += latency;
+		if (latency > maxLatency)
+			maxLatency = latency;
+		lag = start - event.enqueued();
+
+		final long processing = end - start;
+		if (processing > slowThreshold && end - lastSlowLog >= logInterval) {
+			lastSlowLog = end;
+			logger.log(WARNING, "slow event listener {0}: took {1} ms, {2} events queued (lag {3} ms)", listener,
+					processing / 1_000_000, queue.size(), lag / 1_000_000);
+		}
+	}
+
+	ListenerStatistics statistics() {
+		final long n = delivered;
+		return new ListenerStatistics(n, dropped.get(), queue.size(), Duration.ofNanos(maxLatency),
+				Duration.ofNanos(n == 0 ? 0 : totalLatency / n), Duration.ofNanos(lag));
+	}
+}
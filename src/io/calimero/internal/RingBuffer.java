@@ -0,0 +1,138 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free queue backed by a ring buffer with a fixed, power-of-two capacity. Any number of threads might
+ * offer and poll concurrently; the predominant use is multiple producers and a single consumer. Offer and poll do not
+ * allocate.
+ *
+ * @param <E> element type
+ */
+public final class RingBuffer<E> {
+	private final Object[] buffer;
+	// slot sequence numbers, used to hand over a slot between producer and consumer
+	private final AtomicLongArray sequence;
+	private final int mask;
+
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong head = new AtomicLong();
+
+
+	/**
+	 * Creates a new ring buffer.
+	 *
+	 * @param capacity requested capacity, rounded up to the next power of two, {@code capacity > 0}
+	 */
+	public RingBuffer(final int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30)
+			throw new IllegalArgumentException("ring buffer capacity " + capacity + " out of range [1..2^30]");
+		final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		buffer = new Object[size];
+		sequence = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++)
+			sequence.set(i, i);
+		mask = size - 1;
+	}
+
+	/**
+	 * Inserts {@code e} at the tail of this queue, if there is space available.
+	 *
+	 * @param e element, not {@code null}
+	 * @return {@code true} if {@code e} was added, {@code false} if this queue is full
+	 */
+	public boolean offer(final E e) {
+		while (true) {
+			final long pos = tail.get();
+			final int index = (int) pos & mask;
+			final long dif = sequence.get(index) - pos;
+			if (dif == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					buffer[index] = e;
+					sequence.set(index, pos + 1);
+					return true;
+				}
+			}
+			else if (dif < 0)
+				return false;
+		}
+	}
+
+	/**
+	 * Retrieves and removes the head of this queue.
+	 *
+	 * @return head element, or {@code null} if this queue is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		while (true) {
+			final long pos = head.get();
+			final int index = (int) pos & mask;
+			final long dif = sequence.get(index) - (pos + 1);
+			if (dif == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					final E e = (E) buffer[index];
+					buffer[index] = null;
+					sequence.set(index, pos + mask + 1);
+					return e;
+				}
+			}
+			else if (dif < 0)
+				return null;
+		}
+	}
+
+	/**
+	 * @return current number of elements, only an estimate if there are concurrent modifications
+	 */
+	public int size() {
+		final long size = tail.get() - head.get();
+		return (int) Math.max(0, Math.min(size, capacity()));
+	}
+
+	public boolean isEmpty() { return size() == 0; }
+
+	public int capacity() { return mask + 1; }
+
+	/**
+	 * @return total number of elements added to this queue since its creation
+	 */
+	public long added() { return tail.get(); }
+}
@@ -0,0 +1,223 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timer wheel for coarse-grained timeouts, like connection heartbeats, keep-alives, and response timeouts.
+ * Scheduling and canceling a timeout are O(1) operations, and a wheel with any number of pending timeouts is driven by
+ * a single periodic tick task on the {@link Executor#scheduledExecutor()}. The tick task only runs while timeouts are
+ * pending.
+ * <p>
+ * Timeouts expire with tick resolution, i.e., up to one tick late. Tasks of expired timeouts are run on the
+ * {@link Executor#executor()}, a task might therefore block without delaying the wheel.
+ */
+public final class TimerWheel {
+	private static final TimerWheel shared = new TimerWheel(Duration.ofMillis(100), 512, System::nanoTime,
+			Executor::execute, Executor.scheduledExecutor());
+
+	private final long tickNanos;
+	private final int mask;
+	private final LongSupplier clock;
+	private final java.util.concurrent.Executor dispatcher;
+	private final ScheduledExecutorService scheduler;
+	private final long start;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	// each slot holds a doubly-linked list of timeouts, the slot head is a sentinel
+	private final Timeout[] wheel;
+	private long tick;
+	private int pending;
+	private Future<?> ticker;
+
+	/**
+	 * A pending task on the timer wheel.
+	 */
+	public static final class Timeout {
+		private final TimerWheel wheel;
+		private final Runnable task;
+		private final long deadline; // [ticks]
+		private Timeout prev;
+		private Timeout next;
+
+		private Timeout(final TimerWheel wheel, final Runnable task, final long deadline) {
+			this.wheel = wheel;
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Cancels this timeout, if not expired yet.
+		 *
+		 * @return {@code true} if this timeout got canceled, {@code false} if it expired or got canceled before
+		 */
+		public boolean cancel() { return wheel.cancel(this); }
+	}
+
+	/**
+	 * {@return the timer wheel shared by all connections, using a tick duration of 100 ms}
+	 */
+	public static TimerWheel shared() { return shared; }
+
+	TimerWheel(final Duration tickDuration, final int slots, final LongSupplier clock,
+			final java.util.concurrent.Executor dispatcher, final ScheduledExecutorService scheduler) {
+		if (Integer.bitCount(slots) != 1)
+			throw new IllegalArgumentException("number of slots " + slots + " is not a power of two");
+		tickNanos = tickDuration.toNanos();
+		mask = slots - 1;
+		this.clock = clock;
+		this.dispatcher = dispatcher;
+		this.scheduler = scheduler;
+		start = clock.getAsLong();
+		wheel = new Timeout[slots];
+		for (int i = 0; i < slots; i++) {
+			final var sentinel = new Timeout(this, null, 0);
+			sentinel.prev = sentinel;
+			sentinel.next = sentinel;
+			wheel[i] = sentinel;
+		}
+	}
+
+	/**
+	 * Schedules {@code task} to run after {@code delay}.
+	 *
+	 * @param task task to run on expiry of the timeout
+	 * @param delay delay, a delay shorter than the tick duration expires with the next tick
+	 * @return the scheduled timeout
+	 */
+	public Timeout schedule(final Runnable task, final Duration delay) {
+		final long elapsed = clock.getAsLong() - start;
+		lock.lock();
+		try {
+			// an idle wheel does not tick, catch up with the current time
+			if (pending == 0)
+				tick = Math.max(tick, elapsed / tickNanos);
+			final long deadline = Math.max(tick + 1, (elapsed + delay.toNanos() + tickNanos - 1) / tickNanos);
+			final var timeout = new Timeout(this, task, deadline);
+			final var head = wheel[(int) deadline & mask];
+			timeout.prev = head.prev;
+			timeout.next = head;
+			head.prev.next = timeout;
+			head.prev = timeout;
+			if (pending++ == 0)
+				startTicker();
+			return timeout;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@return the number of pending timeouts}
+	 */
+	public int pending() {
+		lock.lock();
+		try {
+			return pending;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// advances the wheel up to the current time, and dispatches the tasks of expired timeouts
+	void advance() {
+		final List<Runnable> expired = new ArrayList<>();
+		final long now = (clock.getAsLong() - start) / tickNanos;
+		lock.lock();
+		try {
+			while (tick < now && pending > 0) {
+				tick++;
+				final var head = wheel[(int) tick & mask];
+				for (var timeout = head.next; timeout != head;) {
+					final var next = timeout.next;
+					if (timeout.deadline <= tick) {
+						unlink(timeout);
+						expired.add(timeout.task);
+					}
+					timeout = next;
+				}
+			}
+			tick = Math.max(tick, now);
+			if (pending == 0 && ticker != null) {
+				ticker.cancel(false);
+				ticker = null;
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		expired.forEach(dispatcher::execute);
+	}
+
+	private boolean cancel(final Timeout timeout) {
+		lock.lock();
+		try {
+			if (timeout.next == null)
+				return false;
+			unlink(timeout);
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void unlink(final Timeout timeout) {
+		timeout.prev.next = timeout.next;
+		timeout.next.prev = timeout.prev;
+		timeout.prev = null;
+		timeout.next = null;
+		pending--;
+	}
+
+	private void startTicker() {
+		// without scheduler, the wheel is advanced manually
+		if (ticker == null && scheduler != null)
+			ticker = scheduler.scheduleAtFixedRate(this::advance, tickNanos, tickNanos,
+					TimeUnit.NANOSECONDS);
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2010, 2024 B. Malinowsky
+    Copyright (c) 2010, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -44,8 +44,8 @@ import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
-import java.util.Arrays;
 
 /**
  * @author B. Malinowsky
@@ -71,6 +71,11 @@ public abstract class UdpSocketLooper
 	private final boolean closeSocket;
 	private volatile boolean quit;
 
+	// receive state reused for every datagram, only accessed by the looping thread
+	private DatagramPacket packet;
+	private ByteBuffer buffer;
+	private InetSocketAddress lastSource;
+
 
 	/**
 	 * Creates a socket looper for the supplied UDP socket and timeout parameters.
@@ -157,13 +162,40 @@ public abstract class UdpSocketLooper
 	}
 
 	protected void receive(final byte[] buf) throws IOException {
-		Arrays.fill(buf, (byte) 0);
-		final DatagramPacket p = new DatagramPacket(buf, buf.length);
+		DatagramPacket p = packet;
+		if (p == null || p.getData() != buf)
+			packet = p = new DatagramPacket(buf, buf.length);
+		else
+			p.setLength(buf.length);
 		s.receive(p);
 		// weird jdk 17/18 behavior if socket got closed
 		if (p.getLength() == 0)
 			return;
-		onReceive((InetSocketAddress) p.getSocketAddress(), buf, p.getOffset(), p.getLength());
+		onReceive(source(p), buf, p.getOffset(), p.getLength());
+	}
+
+	/**
+	 * Returns a byte buffer wrapping {@code buf} for receiving from a datagram channel; the buffer is reused as long as
+	 * the same array is supplied, and is cleared before return.
+	 *
+	 * @param buf receive buffer of this looper
+	 * @return byte buffer backed by {@code buf}
+	 */
+	protected final ByteBuffer buffer(final byte[] buf) {
+		ByteBuffer bb = buffer;
+		if (bb == null || bb.array() != buf)
+			buffer = bb = ByteBuffer.wrap(buf);
+		return bb.clear();
+	}
+
+	// datagrams mostly originate from the same sender, so avoid a new socket address per datagram
+	private InetSocketAddress source(final DatagramPacket p) {
+		final var cached = lastSource;
+		if (cached != null && cached.getPort() == p.getPort() && cached.getAddress().equals(p.getAddress()))
+			return cached;
+		final var source = (InetSocketAddress) p.getSocketAddress();
+		lastSource = source;
+		return source;
 	}
 
 	/**
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2010, 2025 B. Malinowsky
+    Copyright (c) 2010, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -49,9 +49,11 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.ReentrantLock;
 
 import io.calimero.CloseEvent;
@@ -62,7 +64,7 @@ import io.calimero.KNXIllegalArgumentException;
 import io.calimero.KNXInvalidResponseException;
 import io.calimero.KNXRemoteException;
 import io.calimero.KNXTimeoutException;
-import io.calimero.internal.Executor;
+import io.calimero.internal.TimerWheel;
 import io.calimero.knxnetip.servicetype.ConnectRequest;
 import io.calimero.knxnetip.servicetype.ConnectResponse;
 import io.calimero.knxnetip.servicetype.ConnectionstateRequest;
@@ -105,7 +107,7 @@ public abstract class ClientConnection extends ConnectionBase
 	public static final int UNKNOWN_ERROR = -1;
 
 	// request to confirmation timeout
-	private static final int CONFIRMATION_TIMEOUT = 3;
+	static final int CONFIRMATION_TIMEOUT = 3;
 
 
 	private final HeartbeatMonitor heartbeat = new HeartbeatMonitor();
@@ -178,7 +180,7 @@ public abstract class ClientConnection extends ConnectionBase
 		try {
 			final boolean changed = waitForStateChange(CLOSED, CONNECT_REQ_TIMEOUT);
 			if (state == OK) {
-				Executor.execute(heartbeat, "KNXnet/IP heartbeat monitor");
+				heartbeat.start();
 
 				String optionalConnectionInfo = "";
 				if (tunnelingAddress != null)
@@ -246,7 +248,7 @@ public abstract class ClientConnection extends ConnectionBase
 		final InetSocketAddress local = stream ? localEP : Net.matchRemoteEndpoint(localEP, serverCtrlEP, useNAT);
 		try {
 			if (!stream) {
-				socket = new DatagramSocket(local);
+				socket = newSocket(local);
 				ctrlSocket = socket;
 			}
 
@@ -272,7 +274,7 @@ public abstract class ClientConnection extends ConnectionBase
 		try {
 			final boolean changed = waitForStateChange(CLOSED, CONNECT_REQ_TIMEOUT);
 			if (state == OK) {
-				Executor.execute(heartbeat, "KNXnet/IP heartbeat monitor");
+				heartbeat.start();
 
 				String optionalConnectionInfo = "";
 				if (tunnelingAddress != null)
@@ -299,6 +301,20 @@ public abstract class ClientConnection extends ConnectionBase
 		}
 	}
 
+	// the datagram reactor requires a socket with associated channel
+	private static DatagramSocket newSocket(final InetSocketAddress local) throws IOException {
+		if (!DatagramReactor.enabled())
+			return new DatagramSocket(local);
+		final var dc = DatagramChannel.open(StandardProtocolFamily.INET);
+		try {
+			return dc.bind(local).socket();
+		}
+		catch (final IOException e) {
+			dc.close();
+			throw e;
+		}
+	}
+
 	@Override
 	protected void send(final byte[] packet, final InetSocketAddress dst) throws IOException {
 		if (stream)
@@ -307,6 +323,14 @@ public abstract class ClientConnection extends ConnectionBase
 			super.send(packet, dst);
 	}
 
+	@Override
+	protected void send(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
+		if (stream)
+			super.send(packet, dst);
+		else
+			sendDatagram(packet, dst);
+	}
+
 	@Override
 	protected void cleanup(final int initiator, final String reason, final Level level,
 		final Throwable t)
@@ -502,93 +526,132 @@ public abstract class ClientConnection extends ConnectionBase
 			socket.close();
 	}
 
-	private final class HeartbeatMonitor implements Runnable
+	// Heartbeat state machine driven by the shared timer wheel: request -> response or timeout -> next request
+	private final class HeartbeatMonitor
 	{
 		// client SHALL wait 10 seconds for a connection-state response from server
-		private static final int CONNECTIONSTATE_REQ_TIMEOUT = 10;
-		private static final int HEARTBEAT_INTERVAL = 60;
+		private static final Duration connectionstateRequestTimeout = Duration.ofSeconds(10);
+		private static final Duration heartbeatInterval = Duration.ofSeconds(60);
 		private static final int MAX_REQUEST_ATTEMPTS = 4;
 
 		private static final Duration repetitionInterval = Duration.ofMillis(1000);
 
-		private volatile boolean stop;
-		private volatile Thread thread;
 		private final ReentrantLock lock = new ReentrantLock();
-		private final Condition received = lock.newCondition();
-
-		private ConnectionstateResponse response;
-
-		@Override
-		public void run()
+		private boolean stop;
+		private byte[] request;
+		private TimerWheel.Timeout timeout;
+		// number of the request we currently await a response for, 0 if none
+		private int awaiting;
+		private int requests;
+		private int attempt;
+
+		void start()
 		{
-			thread = Thread.currentThread();
 			final var hpai = stream ? HPAI.Tcp : useNat ? HPAI.Nat : new HPAI(HPAI.IPV4_UDP, localSocketAddress());
-			final byte[] buf = PacketHelper.toPacket(protocolVersion(), new ConnectionstateRequest(channelId, hpai));
+			request = PacketHelper.toPacket(protocolVersion(), new ConnectionstateRequest(channelId, hpai));
+			// jitter the phase, so that heartbeats of connections established together don't synchronize
+			final long phase = ThreadLocalRandom.current().nextLong(heartbeatInterval.toMillis() / 4);
+			schedule(this::sendRequest, heartbeatInterval.minusMillis(phase));
+		}
+
+		void quit()
+		{
+			lock.lock();
 			try {
-				while (!stop) {
-					Thread.sleep(HEARTBEAT_INTERVAL * 1000);
-
-					ConnectionstateResponse res = null;
-					int i = 0;
-					for (; i < MAX_REQUEST_ATTEMPTS; i++) {
-						logger.log(TRACE, "sending connection-state request, attempt " + (i + 1));
-						lock.lock();
-						response = null;
-						try {
-							send(buf, ctrlEndpt);
-							received.await(CONNECTIONSTATE_REQ_TIMEOUT, TimeUnit.SECONDS);
-							res = response;
-						}
-						finally {
-							lock.unlock();
-						}
-						// check if there was a response (or timeout)
-						if (res != null) {
-							if (res.getStatus() == ErrorCodes.NO_ERROR)
-								break;
-							logger.log(INFO, "connection-state response (channel {0}): {1}", channelId, res.getStatusString());
-							Thread.sleep(repetitionInterval.toMillis());
-						}
-					}
-					// disconnect after max attempts
-					if (i == MAX_REQUEST_ATTEMPTS) {
-						final String reason = res != null ? res.getStatusString() : "no heartbeat response";
-						close(CloseEvent.INTERNAL, reason, WARNING, null);
-						break;
-					}
+				stop = true;
+				if (timeout != null)
+					timeout.cancel();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		void setResponse(final ConnectionstateResponse res) {
+			lock.lock();
+			try {
+				if (stop || awaiting == 0)
+					return;
+				awaiting = 0;
+				timeout.cancel();
+				if (res.getStatus() == ErrorCodes.NO_ERROR) {
+					attempt = 0;
+					schedule(this::sendRequest, heartbeatInterval);
+					return;
 				}
 			}
-			catch (final InterruptedException e) {
-				// simply let this thread exit
+			finally {
+				lock.unlock();
+			}
+			logger.log(INFO, "connection-state response (channel {0}): {1}", channelId, res.getStatusString());
+			retry(repetitionInterval, res.getStatusString());
+		}
+
+		private void sendRequest()
+		{
+			final int n;
+			lock.lock();
+			try {
+				if (stop)
+					return;
+				n = ++attempt;
+				final int req = ++requests;
+				awaiting = req;
+				// schedule timeout before sending, a response might arrive before send returns
+				timeout = TimerWheel.shared().schedule(() -> responseTimeout(req), connectionstateRequestTimeout);
+			}
+			finally {
+				lock.unlock();
+			}
+			logger.log(TRACE, "sending connection-state request, attempt " + n);
+			try {
+				send(request, ctrlEndpt);
 			}
 			catch (final IOException e) {
+				quit();
 				close(CloseEvent.INTERNAL, "heartbeat communication failure", ERROR, e);
 			}
 		}
 
-		void quit()
+		private void responseTimeout(final int req)
 		{
-			stop = true;
-			final var t = thread;
-			if (t == null)
-				return;
-			t.interrupt();
-			if (Thread.currentThread() == t)
-				return;
+			lock.lock();
 			try {
-				t.join();
+				if (stop || awaiting != req)
+					return;
+				awaiting = 0;
 			}
-			catch (final InterruptedException e) {
-				Thread.currentThread().interrupt();
+			finally {
+				lock.unlock();
 			}
+			retry(Duration.ZERO, "no heartbeat response");
 		}
 
-		void setResponse(final ConnectionstateResponse res) {
+		private void retry(final Duration delay, final String reason)
+		{
 			lock.lock();
 			try {
-				response = res;
-				received.signal();
-			} finally {
+				if (attempt < MAX_REQUEST_ATTEMPTS) {
+					schedule(this::sendRequest, delay);
+					return;
+				}
+				stop = true;
+			}
+			finally {
+				lock.unlock();
+			}
+			// disconnect after max attempts
+			close(CloseEvent.INTERNAL, reason, WARNING, null);
+		}
+
+		private void schedule(final Runnable task, final Duration delay)
+		{
+			lock.lock();
+			try {
+				if (!stop)
+					timeout = TimerWheel.shared().schedule(task, delay);
+			}
+			finally {
 				lock.unlock();
 			}
 		}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2010, 2025 B. Malinowsky
+    Copyright (c) 2010, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -37,6 +37,7 @@
 package io.calimero.knxnetip;
 
 import static io.calimero.knxnetip.KNXnetIPConnection.BlockingMode.NonBlocking;
+import static io.calimero.knxnetip.KNXnetIPConnection.BlockingMode.WaitForCon;
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 import static java.lang.System.Logger.Level.TRACE;
@@ -52,15 +53,24 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.HexFormat;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import io.calimero.CloseEvent;
 import io.calimero.FrameEvent;
 import io.calimero.KNXAckTimeoutException;
+import io.calimero.KNXException;
 import io.calimero.KNXFormatException;
+import io.calimero.KNXIllegalArgumentException;
 import io.calimero.KNXListener;
 import io.calimero.KNXTimeoutException;
 import io.calimero.cemi.CEMI;
@@ -70,8 +80,7 @@ import io.calimero.knxnetip.servicetype.DisconnectRequest;
 import io.calimero.knxnetip.servicetype.ErrorCodes;
 import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
 import io.calimero.knxnetip.servicetype.PacketHelper;
-import io.calimero.knxnetip.servicetype.RoutingIndication;
-import io.calimero.knxnetip.servicetype.ServiceRequest;
+import io.calimero.knxnetip.servicetype.PacketHelper.PacketBuffer;
 import io.calimero.knxnetip.util.HPAI;
 
 /**
@@ -147,9 +156,23 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 	private int seqRcv;
 	private int seqSend;
 
-	private final Semaphore sendWaitQueue = new Semaphore();
+	// arranges blocking sends into line, also used by subtypes sending frames without waiting for their confirmation
+	final Semaphore sendWaitQueue = new Semaphore();
+
+	private static final byte[] noData = {};
+	// datagram packet reused for sending over sockets without channel, guarded by sendPacketLock
+	private final DatagramPacket sendPacket = new DatagramPacket(noData, 0);
+	private final ReentrantLock sendPacketLock = new ReentrantLock();
 	private boolean inBlockingSend;
 
+	private record QueuedSend(CEMI frame, BlockingMode mode, CompletableFuture<Void> result) {}
+
+	private static final int DefaultSendQueueLimit = 1000;
+	private final Queue<QueuedSend> sendQueue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queuedSends = new AtomicInteger();
+	private final AtomicBoolean drainingSendQueue = new AtomicBoolean();
+	private volatile int sendQueueLimit = DefaultSendQueueLimit;
+
 	/**
 	 * Base constructor to assign the supplied arguments.
 	 *
@@ -212,6 +235,7 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 		}
 		// arrange into line depending on blocking mode
 		sendWaitQueue.acquire(mode != NonBlocking);
+		PacketBuffer packet = null;
 		lock.lock();
 		try {
 			if (mode == NonBlocking && state != OK && state != ACK_ERROR) {
@@ -226,22 +250,21 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 				}
 				updateState = mode == NonBlocking;
 				inBlockingSend = mode != NonBlocking;
-				final byte[] buf;
 				if (serviceRequest == KNXnetIPHeader.ROUTING_IND)
-					buf = PacketHelper.toPacket(new RoutingIndication(frame));
+					packet = PacketHelper.routingIndication(frame);
 				else
-					buf = PacketHelper.toPacket(new ServiceRequest<>(serviceRequest, channelId, getSeqSend(), frame));
+					packet = PacketHelper.serviceRequest(serviceRequest, channelId, getSeqSend(), frame);
 				keepForCon = frame;
 				int attempt = 0;
 				for (; attempt < maxSendAttempts; ++attempt) {
 					if (logger.isLoggable(TRACE))
 						if (serviceRequest == KNXnetIPHeader.ROUTING_IND)
-							logger.log(TRACE, "sending cEMI frame, {0} {1}", mode, HexFormat.ofDelimiter(" ").formatHex(buf));
+							logger.log(TRACE, "sending cEMI frame, {0} {1}", mode, HexFormat.ofDelimiter(" ").formatHex(packet.toByteArray()));
 						else
 							logger.log(TRACE, "sending cEMI frame seq {0}, {1}, attempt {2} (channel {3}) {4}", getSeqSend(), mode,
-									(attempt + 1), channelId, HexFormat.ofDelimiter(" ").formatHex(buf));
+									(attempt + 1), channelId, HexFormat.ofDelimiter(" ").formatHex(packet.toByteArray()));
 
-					send(buf, dataEndpt);
+					send(packet.buffer(), dataEndpt);
 					// shortcut for routing, don't switch into 'ack-pending'
 					if (serviceRequest == KNXnetIPHeader.ROUTING_IND)
 						return;
@@ -281,6 +304,8 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 				throw new KNXConnectionClosedException("connection closed", e);
 			}
 			finally {
+				if (packet != null)
+					packet.release();
 				updateState = true;
 				setState(internalState);
 				inBlockingSend = false;
@@ -294,12 +319,200 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 		}
 	}
 
-	protected void send(final byte[] packet, final InetSocketAddress dst) throws IOException {
-		final DatagramPacket p = new DatagramPacket(packet, packet.length, dst);
-		if (dst.equals(dataEndpt))
-			socket.send(p);
+	/**
+	 * Sends a cEMI frame asynchronously, waiting for a cEMI confirmation if supported by the connection type. Same as
+	 * {@code sendAsync(frame, BlockingMode.WaitForCon)}.
+	 *
+	 * @param frame cEMI message to send
+	 * @return future completed after the frame was sent and got confirmed
+	 * @see #sendAsync(CEMI, BlockingMode)
+	 */
+	public CompletableFuture<Void> sendAsync(final CEMI frame) {
+		return sendAsync(frame, WaitForCon);
+	}
+
+	/**
+	 * Sends a cEMI frame asynchronously. The frame is put into the send queue of this connection, which is processed
+	 * in FIFO order by the connection; the calling thread is never blocked. The returned future completes according to
+	 * {@code mode}, i.e., after receiving the service acknowledgment or the cEMI confirmation, with the same
+	 * exceptions as {@link #send(CEMI, BlockingMode)} otherwise.
+	 * <p>
+	 * A future of a queued frame can be cancelled, the frame is then removed from the queue and no longer counts
+	 * against the send queue limit. Cancelling does not abort a frame which is already being sent. If the send queue
+	 * limit is reached, the returned future fails with {@link IllegalStateException}; on a closed connection, it fails
+	 * with {@link KNXConnectionClosedException}.
+	 * Dependent actions not using the async methods of the returned future execute on the thread processing the send
+	 * queue and delay subsequent sends.
+	 *
+	 * @param frame cEMI message to send
+	 * @param mode blocking mode used to complete the future, either {@link BlockingMode#WaitForAck} or
+	 *        {@link BlockingMode#WaitForCon}
+	 * @return future completed after the frame was sent and, depending on {@code mode}, got acknowledged or confirmed
+	 */
+	public CompletableFuture<Void> sendAsync(final CEMI frame, final BlockingMode mode) {
+		if (mode == NonBlocking)
+			throw new KNXIllegalArgumentException("asynchronous send requires blocking mode " + WaitForCon + " or "
+					+ BlockingMode.WaitForAck);
+		if (state == CLOSED)
+			return CompletableFuture.failedFuture(
+					new KNXConnectionClosedException("send attempt on closed connection"));
+		final int limit = sendQueueLimit;
+		if (queuedSends.incrementAndGet() > limit) {
+			queuedSends.decrementAndGet();
+			return CompletableFuture.failedFuture(
+					new IllegalStateException("send queue limit of " + limit + " reached"));
+		}
+		final var result = new CompletableFuture<Void>();
+		final var queued = new QueuedSend(frame, mode, result);
+		sendQueue.add(queued);
+		// remove a cancelled frame from the queue, so it no longer counts against the queue limit
+		result.whenComplete((__, ___) -> {
+			if (result.isCancelled() && sendQueue.remove(queued))
+				queuedSends.decrementAndGet();
+		});
+		// connection might have been closed after our state check and before we queued the frame
+		if (state == CLOSED)
+			cancelQueuedSends();
 		else
-			ctrlSocket.send(p);
+			drainSendQueue();
+		return result;
+	}
+
+	/**
+	 * Sets the maximum number of frames in the send queue used by {@link #sendAsync(CEMI, BlockingMode)}. Lowering the
+	 * limit does not affect frames already queued.
+	 *
+	 * @param limit send queue limit, {@code limit > 0}
+	 */
+	public final void sendQueueLimit(final int limit) {
+		if (limit <= 0)
+			throw new KNXIllegalArgumentException("send queue limit " + limit + " <= 0");
+		sendQueueLimit = limit;
+	}
+
+	/**
+	 * {@return the maximum number of frames in the send queue}
+	 */
+	public final int sendQueueLimit() { return sendQueueLimit; }
+
+	/**
+	 * {@return the number of frames currently in the send queue}
+	 */
+	public final int queuedSends() { return queuedSends.get(); }
+
+	private void drainSendQueue() {
+		if (!sendQueue.isEmpty() && drainingSendQueue.compareAndSet(false, true))
+			Executor.execute(this::processSendQueue);
+	}
+
+	private void processSendQueue() {
+		try {
+			for (var queued = sendQueue.poll(); queued != null && state != CLOSED; queued = sendQueue.poll()) {
+				queuedSends.decrementAndGet();
+				// skip sends cancelled while we polled them
+				if (queued.result().isDone())
+					continue;
+				try {
+					sendQueued(queued.frame(), queued.mode(), queued.result());
+				}
+				catch (final InterruptedException e) {
+					queued.result().completeExceptionally(e);
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		finally {
+			drainingSendQueue.set(false);
+		}
+		if (state == CLOSED)
+			cancelQueuedSends();
+		else
+			// pick up frames queued after we stopped polling
+			drainSendQueue();
+	}
+
+	/**
+	 * Sends a frame taken from the send queue and completes {@code result} accordingly; subtypes can complete
+	 * {@code result} after this method returned.
+	 *
+	 * @param frame cEMI frame to send
+	 * @param mode blocking mode requested for the frame
+	 * @param result future to complete
+	 * @throws InterruptedException on interrupted thread, {@code result} is completed by the caller
+	 */
+	void sendQueued(final CEMI frame, final BlockingMode mode, final CompletableFuture<Void> result)
+			throws InterruptedException {
+		try {
+			send(frame, mode);
+			result.complete(null);
+		}
+		catch (KNXException | RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	private void cancelQueuedSends() {
+		for (var queued = sendQueue.poll(); queued != null; queued = sendQueue.poll()) {
+			queuedSends.decrementAndGet();
+			queued.result().completeExceptionally(new KNXConnectionClosedException("connection closed"));
+		}
+	}
+
+	protected void send(final byte[] packet, final InetSocketAddress dst) throws IOException {
+		sendDatagram(ByteBuffer.wrap(packet), dst);
+	}
+
+	/**
+	 * Sends the remaining content of {@code packet}; used for sending cEMI frames from pooled packet buffers.
+	 * This implementation copies the packet and sends it using {@link #send(byte[], InetSocketAddress)}, subtypes
+	 * not altering the packet before sending can override it to avoid that copy.
+	 *
+	 * @param packet KNXnet/IP packet
+	 * @param dst destination
+	 * @throws IOException on I/O error
+	 */
+	protected void send(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
+		send(toArray(packet), dst);
+	}
+
+	static byte[] toArray(final ByteBuffer packet) {
+		final byte[] copy = new byte[packet.remaining()];
+		packet.get(copy);
+		return copy;
+	}
+
+	final void sendDatagram(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
+		final DatagramSocket s = dst.equals(dataEndpt) ? socket : ctrlSocket;
+		// a channel registered with the datagram reactor is in non-blocking mode
+		final var dc = s.getChannel();
+		if (dc != null) {
+			DatagramReactor.send(dc, packet, dst);
+			return;
+		}
+		final byte[] data;
+		final int offset;
+		final int length = packet.remaining();
+		if (packet.hasArray()) {
+			data = packet.array();
+			offset = packet.arrayOffset() + packet.position();
+		}
+		else {
+			data = new byte[length];
+			packet.get(data);
+			offset = 0;
+		}
+		sendPacketLock.lock();
+		try {
+			sendPacket.setData(data, offset, length);
+			sendPacket.setSocketAddress(dst);
+			s.send(sendPacket);
+		}
+		finally {
+			// don't keep a reference to a pooled buffer
+			sendPacket.setData(noData);
+			sendPacketLock.unlock();
+		}
 	}
 
 	@Override
@@ -471,6 +684,11 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 	 */
 	protected void close(final int initiator, final String reason, final Level level, final Throwable t)
 	{
+		// closing waits for the disconnect response, which is received by the very same event loop
+		if (Executor.onEventLoop()) {
+			Executor.execute(() -> close(initiator, reason, level, t));
+			return;
+		}
 		synchronized (this) {
 			if (closing > 0)
 				return;
@@ -532,6 +750,7 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 	protected void cleanup(final int initiator, final String reason, final Level level, final Throwable t)
 	{
 		setStateNotify(CLOSED);
+		cancelQueuedSends();
 		fireConnectionClosed(initiator, reason);
 		listeners.removeAll();
 	}
@@ -564,7 +783,7 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 	{
 		if (receiver == null) {
 			final ReceiverLoop looper = new ReceiverLoop(this, socket, 0x200);
-			Executor.execute(looper, "KNXnet/IP receiver");
+			looper.start(socket.getChannel(), "KNXnet/IP receiver");
 			receiver = looper;
 		}
 	}
@@ -615,22 +834,24 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 	private void fireConnectionClosed(final int initiator, final String reason)
 	{
 		final CloseEvent ce = new CloseEvent(this, initiator, reason);
-		listeners.fire(l -> l.connectionClosed(ce));
+		listeners.fireTerminal(l -> l.connectionClosed(ce));
 	}
 
 	// a semaphore with fair use behavior (FIFO)
 	// acquire and its associated release don't have to be invoked by same thread
-	private static final class Semaphore
+	static final class Semaphore
 	{
 		private static final class Node
 		{
 			Node next;
-			boolean blocked;
+			volatile boolean blocked;
+			final Thread waiter;
 
 			Node(final Node n)
 			{
 				next = n;
 				blocked = true;
+				waiter = Thread.currentThread();
 			}
 		}
 
@@ -662,14 +883,11 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 				}
 				n = enqueue();
 			}
-			synchronized (n) {
-				while (n.blocked)
-					try {
-						n.wait();
-					}
-					catch (final InterruptedException e) {
-						interrupted = true;
-					}
+			// park instead of monitor wait, which would pin the carrier of a virtual thread
+			while (n.blocked) {
+				LockSupport.park(this);
+				if (Thread.interrupted())
+					interrupted = true;
 			}
 			synchronized (this) {
 				dequeue();
@@ -707,11 +925,10 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 
 		private void notifyNext()
 		{
-			if (tail != null)
-				synchronized (tail) {
-					tail.blocked = false;
-					tail.notify();
-				}
+			if (tail != null) {
+				tail.blocked = false;
+				LockSupport.unpark(tail.waiter);
+			}
 		}
 
 		private void dequeue()
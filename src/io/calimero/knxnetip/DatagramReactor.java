@@ -0,0 +1,286 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import io.calimero.internal.Executor;
+import io.calimero.log.LogService;
+
+/**
+ * Shared reactor for receiving datagrams of KNXnet/IP UDP endpoints. All registered datagram channels are multiplexed
+ * on a small, fixed number of selector threads, and received datagrams are dispatched to the handler of the
+ * owning endpoint on the selector thread. Handlers must therefore not block.
+ * <p>
+ * The reactor is used if the system property {@code io.calimero.knxnetip.reactor} is set; the number of selector
+ * threads can be set using {@code io.calimero.knxnetip.reactor.threads}.
+ */
+final class DatagramReactor {
+
+	/**
+	 * Handler of received datagrams.
+	 */
+	interface Handler {
+		void onReceive(InetSocketAddress source, byte[] data, int offset, int length) throws IOException;
+
+		/**
+		 * Invoked on receive error, or if the reactor stopped serving the channel; the channel is not selected
+		 * anymore.
+		 *
+		 * @param e I/O error
+		 */
+		void onError(IOException e);
+	}
+
+	/**
+	 * Registration of a channel; closing it stops receiving datagrams for that channel.
+	 */
+	interface Registration extends AutoCloseable {
+		@Override
+		void close();
+	}
+
+	private static final String key = "io.calimero.knxnetip.reactor";
+	private static final Logger logger = LogService.getLogger("io.calimero.knxnetip");
+
+	private static final int maxDatagramSize = 0x10000;
+	// max. datagrams received from one channel before serving other channels
+	private static final int maxBatch = 16;
+
+	private static final boolean enabled;
+	private static final int threads;
+	static {
+		boolean value = false;
+		int n = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+		try {
+			final String prop = System.getProperty(key);
+			value = (prop != null && prop.isEmpty()) || Boolean.parseBoolean(prop);
+			final String threadsProp = System.getProperty(key + ".threads");
+			if (threadsProp != null)
+				n = Math.max(1, Integer.parseUnsignedInt(threadsProp));
+			if (value)
+				logger.log(INFO, "using {0} with {1} selector threads", key, n);
+		}
+		catch (final RuntimeException e) {
+			logger.log(WARNING, "on checking property " + key, e);
+		}
+		enabled = value;
+		threads = n;
+	}
+
+	private static final class Holder {
+		static final DatagramReactor shared = new DatagramReactor(threads);
+	}
+
+	final SelectorLoop[] loops;
+	private final AtomicInteger next = new AtomicInteger();
+
+
+	static boolean enabled() { return enabled; }
+
+	static DatagramReactor shared() { return Holder.shared; }
+
+	/**
+	 * Sends a datagram over a channel which might be in non-blocking mode.
+	 *
+	 * @param dc datagram channel
+	 * @param packet datagram data
+	 * @param dst destination
+	 * @throws IOException on I/O error
+	 */
+	static void send(final DatagramChannel dc, final ByteBuffer packet, final SocketAddress dst) throws IOException {
+		// non-blocking send returns 0 if there is no space in the socket send buffer, which is rare for udp
+		while (dc.send(packet, dst) == 0) {
+			if (Thread.currentThread().isInterrupted())
+				throw new ClosedChannelException();
+			LockSupport.parkNanos(100_000);
+		}
+	}
+
+	DatagramReactor(final int threads) {
+		loops = new SelectorLoop[threads];
+		for (int i = 0; i < threads; i++) {
+			try {
+				loops[i] = new SelectorLoop();
+			}
+			catch (final IOException e) {
+				throw new UncheckedIOException("open selector", e);
+			}
+			Executor.executeEventLoop(loops[i], "KNXnet/IP reactor " + (i + 1));
+		}
+	}
+
+	/**
+	 * Registers a datagram channel for receiving datagrams; the channel is put into non-blocking mode.
+	 *
+	 * @param dc datagram channel
+	 * @param handler handler for received datagrams
+	 * @return registration, close it to stop receiving
+	 * @throws IOException on error registering the channel, or if the reactor stopped
+	 */
+	Registration register(final DatagramChannel dc, final Handler handler) throws IOException {
+		final int start = next.getAndIncrement();
+		SelectorLoop loop = null;
+		for (int i = 0; i < loops.length && loop == null; i++) {
+			final var candidate = loops[Math.floorMod(start + i, loops.length)];
+			if (!candidate.stopped)
+				loop = candidate;
+		}
+		if (loop == null)
+			throw new IOException("datagram reactor stopped");
+
+		dc.configureBlocking(false);
+		final SelectionKey selectionKey;
+		try {
+			synchronized (loop) {
+				if (loop.stopped)
+					throw new IOException("datagram reactor stopped");
+				selectionKey = dc.register(loop.selector, SelectionKey.OP_READ, handler);
+				loop.registered.add(selectionKey);
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			if (dc.isOpen())
+				dc.configureBlocking(true);
+			if (e instanceof ClosedSelectorException)
+				throw new IOException("datagram reactor stopped", e);
+			throw e;
+		}
+		final var selectorLoop = loop;
+		selectorLoop.selector.wakeup();
+		return () -> {
+			selectorLoop.registered.remove(selectionKey);
+			selectionKey.cancel();
+			// deregister now, a closed channel is only released after deregistration
+			selectorLoop.selector.wakeup();
+		};
+	}
+
+	static final class SelectorLoop implements Runnable {
+		final Selector selector;
+		// set while holding the lock of this loop, once the loop stopped selecting
+		volatile boolean stopped;
+		// keys of registered channels, the selector key set is not accessible anymore after closing the selector
+		final Set<SelectionKey> registered = ConcurrentHashMap.newKeySet();
+		private final ByteBuffer buffer = ByteBuffer.allocate(maxDatagramSize);
+
+		SelectorLoop() throws IOException {
+			selector = Selector.open();
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true)
+					selector.select(this::receive);
+			}
+			catch (IOException | ClosedSelectorException e) {
+				logger.log(ERROR, "datagram reactor stopped", e);
+				stop(e instanceof final IOException ioe ? ioe : new IOException("selector closed", e));
+			}
+		}
+
+		// no registered channel is served anymore, notify all handlers so their endpoints can close
+		private void stop(final IOException cause) {
+			final List<SelectionKey> keys;
+			synchronized (this) {
+				stopped = true;
+				keys = List.copyOf(registered);
+				registered.clear();
+			}
+			for (final var key : keys) {
+				key.cancel();
+				try {
+					((Handler) key.attachment()).onError(cause);
+				}
+				catch (final RuntimeException e) {
+					logger.log(WARNING, "notifying handler of " + key.channel(), e);
+				}
+			}
+			try {
+				selector.close();
+			}
+			catch (final IOException ignore) {}
+		}
+
+		private void receive(final SelectionKey key) {
+			final var dc = (DatagramChannel) key.channel();
+			final var handler = (Handler) key.attachment();
+			try {
+				for (int i = 0; i < maxBatch; i++) {
+					buffer.clear();
+					final var source = dc.receive(buffer);
+					if (source == null)
+						break;
+					buffer.flip();
+					handler.onReceive((InetSocketAddress) source, buffer.array(), 0, buffer.limit());
+				}
+			}
+			catch (final ClosedChannelException e) {
+				registered.remove(key);
+				key.cancel();
+			}
+			catch (final IOException e) {
+				registered.remove(key);
+				key.cancel();
+				handler.onError(e);
+			}
+			catch (final RuntimeException e) {
+				logger.log(WARNING, "dispatching datagram from " + dc, e);
+			}
+		}
+	}
+}
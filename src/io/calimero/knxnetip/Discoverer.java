@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -63,8 +63,10 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -72,7 +74,10 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import io.calimero.KNXException;
@@ -82,6 +87,7 @@ import io.calimero.KNXInvalidResponseException;
 import io.calimero.KNXTimeoutException;
 import io.calimero.KnxRuntimeException;
 import io.calimero.internal.Executor;
+import io.calimero.internal.TimerWheel;
 import io.calimero.internal.UdpSocketLooper;
 import io.calimero.knxnetip.StreamConnection.SecureSession;
 import io.calimero.knxnetip.servicetype.DescriptionRequest;
@@ -165,10 +171,20 @@ public class Discoverer
 
 
 	private volatile Duration timeout = Duration.ofSeconds(10);
+	private volatile Duration timeToLive = Duration.ZERO;
 
-	private final List<ReceiverLoop> receivers = Collections.synchronizedList(new ArrayList<>());
+	private final List<SearchReceiver> receivers = Collections.synchronizedList(new ArrayList<>());
 	private final List<Result<SearchResponse>> responses = Collections.synchronizedList(new ArrayList<>());
 
+	// recent responses by server control endpoint and local address, shared by all discoverers
+	private static final int MaxCachedEndpoints = 256;
+	private static final Map<CacheKey, Cached<SearchResponse>> searchCache = new ConcurrentHashMap<>();
+	private static final Map<CacheKey, Cached<DescriptionResponse>> descriptionCache = new ConcurrentHashMap<>();
+
+	private record CacheKey(InetSocketAddress controlEndpoint, InetAddress localAddress) {}
+
+	private record Cached<T>(T response, long timestamp) {}
+
 
 	/**
 	 * Discoverer result, either containing a {@link SearchResponse} or {@link DescriptionResponse}.
@@ -313,20 +329,73 @@ public class Discoverer
 		return this;
 	}
 
+	/**
+	 * Sets the maximum age of cached responses used to answer subsequent unicast searches and description requests;
+	 * the default of {@link Duration#ZERO} disables answering from the cache.
+	 * <p>
+	 * Search and description responses received by any discoverer are cached per server control endpoint. A unicast
+	 * search without search parameters (see {@link #search(InetSocketAddress, Srp...)}) and a description request
+	 * (see {@link #getDescription(InetSocketAddress, int)}) return a cached response not older than
+	 * {@code timeToLive}, without sending a request to the server.
+	 *
+	 * @param timeToLive maximum age of a cached response, {@code timeToLive ≥ 0}
+	 * @return this discoverer
+	 */
+	public Discoverer cacheTimeToLive(final Duration timeToLive) {
+		if (timeToLive.isNegative())
+			throw new KNXIllegalArgumentException("time to live < 0");
+		this.timeToLive = timeToLive;
+		return this;
+	}
+
 	private CompletableFuture<List<Result<SearchResponse>>> search(final Duration timeout) {
-		return searchAsync(timeout);
+		return searchAsync(timeout, __ -> {});
 	}
 
 	public CompletableFuture<List<Result<SearchResponse>>> search(final Srp... searchParameters) {
-		return searchAsync(timeout(), searchParameters);
+		return searchAsync(timeout(), __ -> {}, searchParameters);
+	}
+
+	/**
+	 * Returns a publisher of search results, using a search on all network interfaces. Each subscription starts a new
+	 * search, which publishes every distinct search result as it arrives, and completes after the discoverer timeout.
+	 * A search result is dropped if the subscriber's buffer is full. Canceling the subscription stops the search with
+	 * the next received response.
+	 *
+	 * @param searchParameters optional search parameters for an extended search
+	 * @return publisher of search results
+	 * @see #timeout(Duration)
+	 */
+	public Flow.Publisher<Result<SearchResponse>> searchPublisher(final Srp... searchParameters) {
+		return subscriber -> {
+			final var publisher = new SubmissionPublisher<Result<SearchResponse>>(executor, Flow.defaultBufferSize());
+			publisher.subscribe(subscriber);
+			final var search = new AtomicReference<CompletableFuture<?>>();
+			search.set(searchAsync(timeout(), r -> {
+				if (publisher.hasSubscribers())
+					publisher.offer(r, (s, dropped) -> false);
+				else
+					Optional.ofNullable(search.get()).ifPresent(cf -> cf.cancel(false));
+			}, searchParameters));
+			search.get().whenComplete((__, t) -> {
+				if (t == null || t instanceof CancellationException)
+					publisher.close();
+				else
+					publisher.closeExceptionally(t);
+			});
+		};
 	}
 
 	// extended unicast search to server control endpoint
 	public CompletableFuture<Result<SearchResponse>> search(final InetSocketAddress serverControlEndpoint,
 			final Srp... searchParameters) throws KNXException {
-
 		final InetAddress addr = nat ? host : host != null ? host
 				: Net.onSameSubnet(serverControlEndpoint.getAddress()).orElseGet(Discoverer::localHost);
+		if (searchParameters.length == 0) {
+			final var cached = cached(searchCache, serverControlEndpoint, addr);
+			if (cached.isPresent())
+				return CompletableFuture.completedFuture(cached.get());
+		}
 		try {
 			final var dc = newChannel(new InetSocketAddress(addr, port));
 			// create a new socket address with host, since the socket might
@@ -339,7 +408,7 @@ public class Discoverer
 
 			final byte[] request = PacketHelper.toPacket(new SearchRequest(res, searchParameters));
 			dc.send(ByteBuffer.wrap(request), serverControlEndpoint);
-			return receiveAsync(dc, serverControlEndpoint, timeout());
+			return receiveAsync(dc, serverControlEndpoint, addr, timeout());
 		}
 		catch (final IOException e) {
 			throw new KNXException("search request to " + hostPort(serverControlEndpoint) + " failed on " + addr, e);
@@ -427,7 +496,8 @@ public class Discoverer
 		// use any assigned (IPv4) address of netif, otherwise, use host
 		final InetAddress addr = l.stream().filter(ia -> nat || ia instanceof Inet4Address && !ia.isAnyLocalAddress()).findFirst().orElse(host(null));
 
-		final CompletableFuture<Void> cf = search(addr, localPort, ni, Duration.ofSeconds(timeout), responses::add);
+		// responses are collected by the search receiver
+		final CompletableFuture<Void> cf = search(addr, localPort, ni, Duration.ofSeconds(timeout), __ -> {});
 		if (wait) {
 			try {
 				cf.get();
@@ -476,7 +546,7 @@ public class Discoverer
 	}
 
 	private CompletableFuture<List<Result<SearchResponse>>> searchAsync(final Duration timeout,
-			final Srp... searchParameters) {
+			final Consumer<Result<SearchResponse>> notifyResponse, final Srp... searchParameters) {
 		if (timeout.isNegative())
 			throw new KNXIllegalArgumentException("timeout has to be >= 0");
 		final NetworkInterface[] nifs;
@@ -490,6 +560,10 @@ public class Discoverer
 		boolean lo = false;
 		final List<CompletableFuture<Void>> cfs = new ArrayList<>();
 		final Set<Result<SearchResponse>> responses = ConcurrentHashMap.newKeySet();
+		final Consumer<Result<SearchResponse>> distinct = r -> {
+			if (responses.add(r))
+				notifyResponse.accept(r);
+		};
 		for (final NetworkInterface ni : nifs) {
 			try {
 				if (!ni.isUp())
@@ -505,7 +579,7 @@ public class Discoverer
 				else
 					try {
 						if (!(lo && a.isLoopbackAddress())) {
-							cfs.add(search(a, port, ni, timeout, responses::add, searchParameters));
+							cfs.add(search(a, port, ni, timeout, distinct, searchParameters));
 						}
 						if (a.isLoopbackAddress()) {
 							lo = true;
@@ -542,12 +616,10 @@ public class Discoverer
 	 */
 	public final void stopSearch()
 	{
-		final ReceiverLoop[] loopers = receivers
-				.toArray(new ReceiverLoop[0]);
-		for (final ReceiverLoop loop : loopers) {
-			loop.quit();
-		}
-		receivers.removeAll(Arrays.asList(loopers));
+		final SearchReceiver[] searches = receivers.toArray(new SearchReceiver[0]);
+		for (final SearchReceiver search : searches)
+			search.quit();
+		receivers.removeAll(Arrays.asList(searches));
 	}
 
 	/**
@@ -600,10 +672,12 @@ public class Discoverer
 			throws KNXException {
 		if (timeout <= 0 || timeout >= Integer.MAX_VALUE / 1000)
 			throw new KNXIllegalArgumentException("timeout out of range");
-
 		final var localhost = host(server.getAddress());
 		final var bind = new InetSocketAddress(nat ? null : Net.onSameSubnet(server.getAddress()).orElse(localhost),
 				port);
+		final var cached = cached(descriptionCache, server, bind.getAddress());
+		if (cached.isPresent())
+			return cached.get();
 		try (var dc = newChannel(bind)) {
 			final var local = (InetSocketAddress) dc.getLocalAddress();
 			final byte[] buf = PacketHelper.toPacket(nat ? DescriptionRequest.Nat : new DescriptionRequest(local));
@@ -612,8 +686,10 @@ public class Discoverer
 			looper.loop();
 			if (looper.thrown != null)
 				throw looper.thrown;
-			if (looper.res != null)
+			if (looper.res != null) {
+				cache(descriptionCache, server, bind.getAddress(), looper.res);
 				return new Result<>(looper.res, NetworkInterface.getByInetAddress(local.getAddress()), local, server);
+			}
 		}
 		catch (final IOException e) {
 			throw new KNXException("network failure on getting description from " + hostPort(server), e);
@@ -675,7 +751,9 @@ public class Discoverer
 				channel.send(ByteBuffer.wrap(std), dst);
 			}
 
-			return receiveAsync(channel, localEndpoint, timeout, nifName + localAddr.getHostAddress(), notifyResponse);
+			final var receiver = new SearchReceiver(channel, localEndpoint, notifyResponse);
+			receiver.start(timeout, nifName + localEndpoint);
+			return receiver.done;
 		}
 		catch (IOException | RuntimeException e) {
 			throw new KNXException("search request to " + SYSTEM_SETUP_MULTICAST.getHostAddress() + " failed on "
@@ -707,21 +785,9 @@ public class Discoverer
 
 	private static final ExecutorService executor = Executor.executor();
 
-	private CompletableFuture<Void> receiveAsync(final DatagramChannel dc, final InetSocketAddress localEndpoint,
-		final Duration timeout, final String name, final Consumer< Result<SearchResponse>> notifyResponse) throws IOException
-	{
-		final ReceiverLoop looper = new ReceiverLoop(dc, localEndpoint, 512, timeout, name
-				+ ":" + ((InetSocketAddress) dc.getLocalAddress()).getPort(), notifyResponse);
-		final CompletableFuture<Void> cf = CompletableFuture.runAsync(looper, executor);
-		cf.exceptionally(t -> {
-			looper.quit();
-			return null;
-		});
-		return cf;
-	}
-
 	private CompletableFuture<Result<SearchResponse>> receiveAsync(final DatagramChannel dc,
-			final InetSocketAddress serverCtrlEndpoint, final Duration timeout) throws IOException {
+			final InetSocketAddress serverCtrlEndpoint, final InetAddress localAddress, final Duration timeout)
+			throws IOException {
 
 		final ReceiverLoop looper = new ReceiverLoop(dc, 512, timeout.plusSeconds(1), serverCtrlEndpoint);
 		final InetSocketAddress local = (InetSocketAddress) dc.getLocalAddress();
@@ -732,7 +798,10 @@ public class Discoverer
 			netif = NetworkInterface.getByInetAddress(local.getAddress());
 
 		final var cf = CompletableFuture.runAsync(looper, executor)
-				.thenApply(__ -> new Result<>(looper.sr, netif, local, serverCtrlEndpoint))
+				.thenApply(__ -> {
+					cache(searchCache, serverCtrlEndpoint, localAddress, looper.sr);
+					return new Result<>(looper.sr, netif, local, serverCtrlEndpoint);
+				})
 				.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
 		cf.exceptionally(t -> {
 			looper.quit();
@@ -741,60 +810,181 @@ public class Discoverer
 		return cf;
 	}
 
-	private final class ReceiverLoop extends UdpSocketLooper implements Runnable
+	// a cached response is returned in a new result with the local endpoint of this discoverer
+	private <T> Optional<Result<T>> cached(final Map<CacheKey, Cached<T>> cache,
+			final InetSocketAddress controlEndpoint, final InetAddress localAddress) {
+		final long ttl = timeToLive.toNanos();
+		if (ttl == 0)
+			return Optional.empty();
+		final var cached = cache.get(new CacheKey(controlEndpoint, localAddress));
+		if (cached == null || System.nanoTime() - cached.timestamp() > ttl)
+			return Optional.empty();
+		logger.log(TRACE, "use cached response of {0}", hostPort(controlEndpoint));
+		final var local = new InetSocketAddress(localAddress, port);
+		return Optional.of(new Result<>(cached.response(), netif(localAddress), local, controlEndpoint));
+	}
+
+	private static NetworkInterface netif(final InetAddress localAddress) {
+		try {
+			if (localAddress == null || localAddress.isAnyLocalAddress())
+				return Net.defaultNetif();
+			return NetworkInterface.getByInetAddress(localAddress);
+		}
+		catch (final SocketException e) {
+			return null;
+		}
+	}
+
+	private static <T> void cache(final Map<CacheKey, Cached<T>> cache, final InetSocketAddress controlEndpoint,
+			final InetAddress localAddress, final T response) {
+		if (response == null)
+			return;
+		cache.put(new CacheKey(controlEndpoint, localAddress), new Cached<>(response, System.nanoTime()));
+		// evict the least recently received response
+		if (cache.size() > MaxCachedEndpoints)
+			cache.entrySet().stream().min(Comparator.comparingLong(e -> e.getValue().timestamp()))
+					.ifPresent(e -> cache.remove(e.getKey(), e.getValue()));
+	}
+
+	// the control endpoint of a response received via NAT is the source of the response
+	private static InetSocketAddress controlEndpoint(final SearchResponse response, final InetSocketAddress source) {
+		final var endpoint = response.getControlEndpoint().endpoint();
+		return endpoint.getAddress().isAnyLocalAddress() || endpoint.getPort() == 0 ? source : endpoint;
+	}
+
+	// receives search responses of a multicast search, either on the shared datagram reactor if enabled, or by its own
+	// receiver thread
+	private final class SearchReceiver implements DatagramReactor.Handler
 	{
 		private final DatagramChannel dc;
-		private final boolean multicast;
-		private final InetSocketAddress server;
 		private final NetworkInterface nif;
-
 		// we want this address to return it in a search result even if the socket was not bound
 		private final InetSocketAddress localEndpoint;
-
-		// used for description looper
-		private DescriptionResponse res;
-		private SearchResponse sr;
-		private KNXInvalidResponseException thrown;
-		private final String id;
-
-		private final Selector selector;
-		private final Duration timeout;
-
 		private final Consumer<Result<SearchResponse>> notifyResponse;
 
-		// use for search looper
-		// timeout in milliseconds
-		ReceiverLoop(final DatagramChannel dc, final InetSocketAddress localEndpoint, final int receiveBufferSize,
-				final Duration timeout, final String name, final Consumer< Result<SearchResponse>> notifyResponse)
-						throws IOException {
-			super(null, false, receiveBufferSize, 0, (int) timeout.toMillis());
+		final CompletableFuture<Void> done = new CompletableFuture<>();
+		private DatagramReactor.Registration registration;
+		private TimerWheel.Timeout timeout;
+		private volatile Selector selector;
 
+		SearchReceiver(final DatagramChannel dc, final InetSocketAddress localEndpoint,
+				final Consumer<Result<SearchResponse>> notifyResponse) throws IOException {
 			this.dc = dc;
 			final var mcastIf = dc.getOption(StandardSocketOptions.IP_MULTICAST_IF);
 			nif = mcastIf == null ? Net.defaultNetif() : mcastIf;
 			this.localEndpoint = localEndpoint;
-			multicast = true;
-			server = null;
-			id = name;
-
-			selector = Selector.open();
-			dc.register(selector, SelectionKey.OP_READ);
-
-			this.timeout = timeout;
 			this.notifyResponse = notifyResponse;
+		}
 
+		// timeout of zero searches until stopped
+		void start(final Duration timeout, final String name) throws IOException {
+			if (DatagramReactor.enabled())
+				registration = DatagramReactor.shared().register(dc, this);
 			receivers.add(this);
+			// also runs on cancellation of the search
+			done.whenComplete((__, ___) -> close());
+			if (!timeout.isZero())
+				this.timeout = TimerWheel.shared().schedule(this::quit, timeout);
+			if (registration == null)
+				executor.execute(() -> receive(name));
+		}
+
+		private void receive(final String name) {
+			Thread.currentThread().setName("Discoverer " + name);
+			final byte[] buf = new byte[512];
+			final var buffer = ByteBuffer.wrap(buf);
+			try (var selector = Selector.open()) {
+				this.selector = selector;
+				dc.register(selector, SelectionKey.OP_READ);
+				while (!done.isDone()) {
+					if (selector.select() == 0)
+						continue;
+					selector.selectedKeys().clear();
+					for (var source = dc.receive(buffer.clear()); source != null; source = dc.receive(buffer.clear()))
+						onReceive((InetSocketAddress) source, buf, 0, buffer.position());
+				}
+			}
+			catch (final IOException e) {
+				if (!done.isDone())
+					onError(e);
+			}
+		}
+
+		@Override
+		public void onReceive(final InetSocketAddress source, final byte[] data, final int offset, final int length)
+		{
+			try {
+				final KNXnetIPHeader h = new KNXnetIPHeader(data, offset);
+				final int svc = h.getServiceType();
+				if (h.getTotalLength() > length)
+					logger.log(WARNING, "ignore received packet from {0}, packet size {1} > buffer size {2}", source,
+							h.getTotalLength(), length);
+				else if (svc == KNXnetIPHeader.SEARCH_RES || svc == KNXnetIPHeader.SearchResponse) {
+					// if our search is still running, add response if not already added
+					synchronized (receivers) {
+						if (receivers.contains(this)) {
+							final var response = SearchResponse.from(h, data, offset + h.getStructLength());
+							final Result<SearchResponse> r = new Result<>(response, nif, localEndpoint, source);
+							cache(searchCache, controlEndpoint(response, source), localEndpoint.getAddress(), response);
+							notifyResponse.accept(r);
+							if (!responses.contains(r))
+								responses.add(r);
+						}
+					}
+				}
+			}
+			catch (final KNXFormatException e) {
+				logger.log(INFO, "ignore received packet from {0}, {1}", source, e.getMessage());
+			}
+			catch (final RuntimeException e) {
+				logger.log(WARNING, "error parsing received packet from " + source, e);
+			}
+		}
+
+		@Override
+		public void onError(final IOException e) {
+			logger.log(ERROR, "while waiting for response", e);
+			quit();
 		}
 
-		// unicast search to specific server endpoint, and descrption request
+		void quit() { done.complete(null); }
+
+		private void close() {
+			receivers.remove(this);
+			if (timeout != null)
+				timeout.cancel();
+			if (registration != null)
+				registration.close();
+			final var s = selector;
+			if (s != null)
+				s.wakeup();
+			try {
+				dc.close();
+			}
+			catch (final IOException ignore) {}
+			logger.log(TRACE, "stopped search on {0}", hostPort(localEndpoint));
+		}
+	}
+
+	// unicast search to specific server endpoint, and description request
+	private final class ReceiverLoop extends UdpSocketLooper implements Runnable
+	{
+		private final DatagramChannel dc;
+		private final InetSocketAddress server;
+
+		private DescriptionResponse res;
+		private SearchResponse sr;
+		private KNXInvalidResponseException thrown;
+		private final String id;
+
+		private final Selector selector;
+		private final Duration timeout;
+
 		ReceiverLoop(final DatagramChannel dc, final int receiveBufferSize, final Duration timeout,
 				final InetSocketAddress queriedServer) throws IOException {
 			super(null, true, receiveBufferSize, 0, (int) timeout.toMillis());
 
 			this.dc = dc;
-			nif = null;
-			localEndpoint = null;
-			multicast = false;
 			server = queriedServer;
 			id = "" + dc.getLocalAddress();
 
@@ -802,8 +992,6 @@ public class Discoverer
 			dc.register(selector, SelectionKey.OP_READ);
 
 			this.timeout = timeout;
-
-			notifyResponse = null;
 		}
 
 		@Override
@@ -818,7 +1006,6 @@ public class Discoverer
 			}
 			finally {
 				logger.log(TRACE, "stopped on " + id);
-				receivers.remove(this);
 			}
 		}
 
@@ -832,19 +1019,7 @@ public class Discoverer
 				if (h.getTotalLength() > length)
 					logger.log(WARNING, "ignore received packet from {0}, packet size {1} > buffer size {2}", source,
 							h.getTotalLength(), length);
-				else if (multicast && (svc == KNXnetIPHeader.SEARCH_RES || svc == KNXnetIPHeader.SearchResponse)) {
-					// if our search is still running, add response if not already added
-					synchronized (receivers) {
-						if (receivers.contains(this)) {
-							final var response = SearchResponse.from(h, data, offset + h.getStructLength());
-							final Result<SearchResponse> r = new Result<>(response, nif, localEndpoint, source);
-							notifyResponse.accept(r);
-							if (!responses.contains(r))
-								responses.add(r);
-						}
-					}
-				}
-				else if (!multicast && svc == KNXnetIPHeader.DESCRIPTION_RES) {
+				else if (svc == KNXnetIPHeader.DESCRIPTION_RES) {
 					if (source.equals(server)) {
 						try {
 							res = new DescriptionResponse(data, offset + h.getStructLength(), bodyLen);
@@ -858,7 +1033,7 @@ public class Discoverer
 						}
 					}
 				}
-				else if (!multicast && svc == KNXnetIPHeader.SearchResponse) {
+				else if (svc == KNXnetIPHeader.SearchResponse) {
 					if (source.equals(server)) {
 						try {
 							sr = SearchResponse.from(h, data, offset + h.getStructLength());
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2021, 2024 B. Malinowsky
+    Copyright (c) 2021, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -203,8 +203,7 @@ public class DiscovererTcp {
 		protected void send(final byte[] packet, final InetSocketAddress dst) throws IOException {
 			var send = packet;
 			if (session != null)
-				send = SecureConnection.newSecurePacket(session.id(), session.nextSendSeq(), session.serialNumber(), 0,
-						packet, session.secretKey);
+				send = session.wrap(packet);
 			super.send(send, dst);
 		}
 
@@ -123,7 +123,9 @@ public interface KNXnetIPConnection extends Connection<CEMI>
 	 * context of the calling thread. Any lengthy processing tasks have to be avoided
 	 * during the notification, and should be moved to dedicated own worker thread.
 	 * Otherwise subsequent listener invocations will suffer from time delays since the
-	 * receiver can not move on.
+	 * receiver can not move on. With the shared datagram reactor, the receiver is shared by
+	 * several connections, and a listener must not block at all; network links hand off
+	 * received frames to their own event notifier, and notify link listeners from there.
 	 *
 	 * @param l the listener to add
 	 */
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -56,16 +56,9 @@ import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HexFormat;
-import java.util.Iterator;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 
 import io.calimero.CloseEvent;
@@ -78,7 +71,6 @@ import io.calimero.KNXTimeoutException;
 import io.calimero.KnxRuntimeException;
 import io.calimero.cemi.CEMI;
 import io.calimero.cemi.CEMILData;
-import io.calimero.internal.Executor;
 import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
 import io.calimero.knxnetip.servicetype.PacketHelper;
 import io.calimero.knxnetip.servicetype.RoutingBusy;
@@ -150,30 +142,27 @@ public class KNXnetIPRouting extends ConnectionBase
 	private DatagramChannel dcSysBcast;
 
 	private volatile boolean loopbackEnabled;
-	// This list is used for multicast packets that are looped back in loopback mode. If loopback
-	// mode is enabled, sent packets are buffered, and subsequently discarded when received again
-	// shortly after (and also removed from this buffer again).
-	// This list holds cEMI frames, but basically only the byte array representations are required.
-	private final List<CEMILData> loopbackFrames = new ArrayList<>();
+	// Used for multicast packets that are looped back in loopback mode. If loopback mode is enabled,
+	// the cEMI data of sent packets is recorded, and subsequently discarded when received again
+	// shortly after (and also removed from the filter again). At most maxLoopbackQueueSize sent
+	// frames are awaited at the same time, each one for at most loopbackTimeout.
 	private static final int maxLoopbackQueueSize = 20;
+	private static final Duration loopbackTimeout = Duration.ofSeconds(2);
+	private final LoopbackFilter loopbackFrames = new LoopbackFilter(maxLoopbackQueueSize, loopbackTimeout);
 
 	private volatile BiFunction<KNXnetIPHeader, ByteBuffer, SearchResponse> searchRequestCallback;
 
-	// KNX IP routing busy flow control
+	// datagram rate limit and KNX IP routing busy flow control
+	private volatile RoutingFlowControl flowControl;
 
-	private static final Duration randomWaitScale = Duration.ofMillis(50);
-	private static final Duration throttleScale = Duration.ofMillis(100);
-	private Instant currentWaitUntil = Instant.EPOCH;
-	private volatile Instant pauseSendingUntil = Instant.EPOCH;
-	private volatile Instant throttleUntil = Instant.EPOCH;
-	private Instant lastRoutingBusy = Instant.EPOCH;
-	private final AtomicInteger routingBusyCounter = new AtomicInteger();
-	private volatile Future<?> decrementBusyCounter = CompletableFuture.completedFuture(null);
-
-	private long datagramCount;
-	private long countStart = System.nanoTime();
-
-	private long lastTx;
+	/**
+	 * Snapshot of routing flow control metrics.
+	 *
+	 * @param currentRate number of datagrams sent during the last second
+	 * @param queueDepth number of datagrams waiting to be sent due to rate limit or routing flow control
+	 * @param busyCounter current routing busy counter, 0 if no routing busy flow control is active
+	 */
+	public record FlowControlMetrics(int currentRate, int queueDepth, int busyCounter) {}
 
 
 	/**
@@ -216,39 +205,83 @@ public class KNXnetIPRouting extends ConnectionBase
 
 	/**
 	 * Sends a cEMI frame to the joined multicast group.
+	 * <p>
+	 * This method does not block for the datagram rate limit or routing flow control: if sending is not permitted
+	 * at the time of the call, the frame is queued and sent as soon as possible, preserving the order of sent frames.
+	 * Use {@link #sendAsync(CEMI)} to get notified when the frame was actually sent.
 	 *
 	 * @param frame cEMI message to send
 	 * @param mode arbitrary value, does not influence behavior, since routing is always a
 	 *        unconfirmed, nonblocking service
+	 * @throws IllegalStateException if the send queue is full, the frame is not sent
 	 */
 	@Override
 	public void send(final CEMI frame, final BlockingMode mode) throws KNXConnectionClosedException
 	{
+		final var result = submit(frame);
+		if (!result.isCompletedExceptionally())
+			return;
+		try {
+			result.join();
+		}
+		catch (final CompletionException e) {
+			if (e.getCause() instanceof final KNXConnectionClosedException closed)
+				throw closed;
+			if (e.getCause() instanceof final RuntimeException rte)
+				throw rte;
+			throw new IllegalStateException("sending " + frame, e.getCause());
+		}
+	}
+
+	/**
+	 * {@return a snapshot of the current datagram rate and routing flow control metrics}
+	 */
+	public final FlowControlMetrics flowControlMetrics() {
+		final var fc = flowControl;
+		return fc != null ? fc.metrics() : new FlowControlMetrics(0, 0, 0);
+	}
+
+	@Override
+	void sendQueued(final CEMI frame, final BlockingMode mode, final CompletableFuture<Void> result) {
+		try {
+			submit(frame).whenComplete((__, t) -> {
+				if (t != null)
+					result.completeExceptionally(t);
+				else
+					result.complete(null);
+			});
+		}
+		catch (final RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	private CompletableFuture<Void> submit(final CEMI frame) {
 		if (frame.getMessageCode() != CEMILData.MC_LDATA_IND)
 			throw new KNXIllegalArgumentException("cEMI frame is not an L-Data.ind");
+		// filter IP system broadcasts and always send them unsecured, and not subject to routing flow control
+		final boolean sbc = RoutingSystemBroadcast.validSystemBroadcast(frame);
+		return flowControl.submit(() -> transmit(frame, sbc), !sbc);
+	}
+
+	private void transmit(final CEMI frame, final boolean systemBroadcast) throws KNXConnectionClosedException {
+		if (loopbackEnabled) {
+			final byte[] data = frame.toByteArray();
+			loopbackFrames.add(data, 0, data.length);
+			logger.log(TRACE, "add to multicast loopback frame buffer: {0}", frame);
+		}
 		try {
-			if (loopbackEnabled) {
-				synchronized (loopbackFrames) {
-					loopbackFrames.add((CEMILData) frame);
-				}
-				logger.log(TRACE, "add to multicast loopback frame buffer: {0}", frame);
-			}
-			checkLastTx();
-			// filter IP system broadcasts and always send them unsecured
-			if (RoutingSystemBroadcast.validSystemBroadcast(frame)) {
+			if (systemBroadcast) {
 				final var buf = ByteBuffer.wrap(PacketHelper.toPacket(new RoutingSystemBroadcast(frame)));
-				final InetSocketAddress dst = new InetSocketAddress(systemBroadcast, DEFAULT_PORT);
-				enforceDatagramRateLimit();
+				final InetSocketAddress dst = new InetSocketAddress(KNXnetIPRouting.systemBroadcast, DEFAULT_PORT);
 				logger.log(TRACE, "sending cEMI frame, SBC {0} {1}", NonBlocking, HexFormat.ofDelimiter(" ").formatHex(buf.array()));
 				if (dcSysBcast != null)
-					dcSysBcast.send(buf, dst);
+					DatagramReactor.send(dcSysBcast, buf, dst);
 				else
-					dc.send(buf, dst);
+					DatagramReactor.send(dc, buf, dst);
 			}
-			else {
-				applyRoutingFlowControl();
+			else
 				super.send(frame, NonBlocking);
-			}
 
 			// we always succeed...
 			setState(OK);
@@ -379,6 +412,7 @@ public class KNXnetIPRouting extends ConnectionBase
 			dc = newChannel();
 			dcSysBcast = !multicast.equals(systemBroadcast) ? newChannel() : null;
 			logger = LogService.getLogger("io.calimero.knxnetip." + name());
+			flowControl = new RoutingFlowControl(logger, this::fireRateLimit);
 
 			var setNetif = netIf;
 			if (setNetif != null) {
@@ -411,11 +445,11 @@ public class KNXnetIPRouting extends ConnectionBase
 		}
 
 		if (startReceiver)
-			startChannelReceiver(new ChannelReceiver(this, dc), "KNXnet/IP receiver");
+			new ChannelReceiver(this, dc).start(dc, "KNXnet/IP receiver");
 		if (dcSysBcast != null) {
 			final var sysBcastLooper = new ChannelReceiver(this, dcSysBcast) {
 				@Override
-				protected void onReceive(final InetSocketAddress source, final byte[] data, final int offset,
+				public void onReceive(final InetSocketAddress source, final byte[] data, final int offset,
 						final int length) {
 					try {
 						final KNXnetIPHeader h = new KNXnetIPHeader(data, offset);
@@ -434,7 +468,7 @@ public class KNXnetIPRouting extends ConnectionBase
 					}
 				}
 			};
-			startChannelReceiver(sysBcastLooper, "KNX IP system broadcast receiver");
+			sysBcastLooper.start(dcSysBcast, "KNX IP system broadcast receiver");
 		}
 		setState(OK);
 	}
@@ -446,10 +480,6 @@ public class KNXnetIPRouting extends ConnectionBase
 				.setOption(StandardSocketOptions.IP_MULTICAST_TTL, 64);
 	}
 
-	private static void startChannelReceiver(final ReceiverLoop looper, final String name) {
-		Executor.execute(looper, name);
-	}
-
 	private static class ChannelReceiver extends ReceiverLoop {
 		private final DatagramChannel dc;
 
@@ -463,7 +493,7 @@ public class KNXnetIPRouting extends ConnectionBase
 
 		@Override
 		protected void receive(final byte[] buf) throws IOException {
-			final ByteBuffer buffer = ByteBuffer.wrap(buf);
+			final ByteBuffer buffer = buffer(buf);
 			final var source = dc.receive(buffer);
 			buffer.flip();
 			onReceive((InetSocketAddress) source, buf, buffer.position(), buffer.remaining());
@@ -479,12 +509,11 @@ public class KNXnetIPRouting extends ConnectionBase
 		if (h.getVersion() != KNXNETIP_VERSION_10)
 			close(CloseEvent.INTERNAL, "protocol version changed", ERROR, null);
 		else if (svc == KNXnetIPHeader.ROUTING_IND) {
-			final RoutingIndication ind = new RoutingIndication(data, offset, h.getTotalLength()
-					- h.getStructLength());
-			final CEMI frame = ind.getCEMI();
-			if (discardLoopbackFrame(frame))
+			final int length = h.getTotalLength() - h.getStructLength();
+			if (discardLoopbackFrame(data, offset, length))
 				return true;
-			fireFrameReceived(frame);
+			final RoutingIndication ind = new RoutingIndication(data, offset, length);
+			fireFrameReceived(ind.getCEMI());
 		}
 		else if (svc == KNXnetIPHeader.ROUTING_LOST_MSG) {
 			final RoutingLostMessage lost = new RoutingLostMessage(data, offset);
@@ -548,6 +577,9 @@ public class KNXnetIPRouting extends ConnectionBase
 
 		closeSilently(dc, null);
 		closeSilently(dcSysBcast, null);
+		final var fc = flowControl;
+		if (fc != null)
+			fc.close();
 
 		cleanup(initiator, reason, level, t);
 	}
@@ -591,7 +623,12 @@ public class KNXnetIPRouting extends ConnectionBase
 
 	@Override
 	protected void send(final byte[] packet, final InetSocketAddress dst) throws IOException {
-		dc.send(ByteBuffer.wrap(packet), dst);
+		send(ByteBuffer.wrap(packet), dst);
+	}
+
+	@Override
+	protected void send(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
+		DatagramReactor.send(dc, packet, dst);
 	}
 
 	private boolean systemBroadcast(final KNXnetIPHeader h, final byte[] data, final int offset)
@@ -599,11 +636,11 @@ public class KNXnetIPRouting extends ConnectionBase
 
 		final int svc = h.getServiceType();
 		if (svc == KNXnetIPHeader.RoutingSystemBroadcast) {
-			final RoutingSystemBroadcast ind = new RoutingSystemBroadcast(data, offset,
-					h.getTotalLength() - h.getStructLength());
-			final CEMI frame = ind.cemi();
-			if (discardLoopbackFrame(frame))
+			final int length = h.getTotalLength() - h.getStructLength();
+			if (discardLoopbackFrame(data, offset, length))
 				return true;
+			final RoutingSystemBroadcast ind = new RoutingSystemBroadcast(data, offset, length);
+			final CEMI frame = ind.cemi();
 			final FrameEvent fe = new FrameEvent(this, frame, true);
 			listeners.fire(l -> l.frameReceived(fe));
 			return true;
@@ -637,40 +674,13 @@ public class KNXnetIPRouting extends ConnectionBase
 		});
 	}
 
-	private boolean discardLoopbackFrame(final CEMI frame)
+	private boolean discardLoopbackFrame(final byte[] data, final int offset, final int length)
 	{
-		if (!loopbackEnabled)
+		if (!loopbackEnabled || !loopbackFrames.discard(data, offset, length))
 			return false;
-		final byte[] a = frame.toByteArray();
-		synchronized (loopbackFrames) {
-			for (final Iterator<CEMILData> i = loopbackFrames.iterator(); i.hasNext();) {
-				if (Arrays.equals(a, i.next().toByteArray())) {
-					i.remove();
-					logger.log(TRACE, "discard multicast loopback cEMI frame: {0}", frame);
-					return true;
-				}
-				// remove oldest entry if exceeding max. loopback queue size
-				if (loopbackFrames.size() > maxLoopbackQueueSize)
-					i.remove();
-			}
-		}
-		return false;
-	}
-
-	private void checkLastTx() throws InterruptedException {
-		lock.lock();
-		try {
-			final long now = System.nanoTime();
-			final long diff = now - lastTx;
-			if (diff < 5_000_000) {
-				final long millis = Math.round((5_000_000 - diff) / 1_000_000d);
-				Thread.sleep(millis);
-			}
-			lastTx = now;
-		}
-		finally {
-			lock.unlock();
-		}
+		logger.log(TRACE, () -> "discard multicast loopback cEMI frame: "
+				+ HexFormat.ofDelimiter(" ").formatHex(data, offset, offset + length));
+		return true;
 	}
 
 	private void updateRoutingFlowControl(final RoutingBusy busy, final InetSocketAddress sender) {
@@ -678,44 +688,8 @@ public class KNXnetIPRouting extends ConnectionBase
 		if (sentByUs(sender))
 			return;
 
-		// setup timing for routing busy flow control
-		final Instant now = Instant.now();
-		final Instant waitUntil = now.plus(busy.waitTime());
-		Level level = TRACE;
-		boolean update = false;
-		if (waitUntil.isAfter(currentWaitUntil)) {
-			currentWaitUntil = waitUntil;
-			level = DEBUG;
-			update = true;
-		}
-		logger.log(level, "device {0} sent {1}", Net.hostPort(sender), busy);
-
-		// increment random wait scaling iff >= 10 ms have passed since the last counted routing busy
-		if (now.isAfter(lastRoutingBusy.plusMillis(10))) {
-			lastRoutingBusy = now;
-			routingBusyCounter.incrementAndGet();
-			update = true;
-		}
-
-		if (!update)
-			return;
-
-		final double rand = Math.random();
-		final long randomWait = Math.round(rand * routingBusyCounter.get() * randomWaitScale.toMillis());
-
-		// invariant on instants: throttle >= pause sending >= current wait
-		pauseSendingUntil = currentWaitUntil.plusMillis(randomWait);
-		final long throttle = routingBusyCounter.get() * throttleScale.toMillis();
-		throttleUntil = pauseSendingUntil.plusMillis(throttle);
-
-		final long continueIn = Duration.between(now, pauseSendingUntil).toMillis();
-		logger.log(DEBUG, "set routing busy counter = {0}, random wait = {1} ms, continue sending in {2} ms, throttle {3} ms",
-				routingBusyCounter, randomWait, continueIn, throttle);
-
-		final long initialDelay = Duration.between(now, throttleUntil).toMillis() + 5;
-		decrementBusyCounter.cancel(false);
-		decrementBusyCounter = Executor.scheduledExecutor().scheduleAtFixedRate(this::decrementBusyCounter,
-				initialDelay, 5, TimeUnit.MILLISECONDS);
+		final boolean update = flowControl.routingBusy(busy.waitTime());
+		logger.log(update ? DEBUG : TRACE, "device {0} sent {1}", Net.hostPort(sender), busy);
 	}
 
 	private boolean sentByUs(final InetSocketAddress sender) {
@@ -733,61 +707,6 @@ public class KNXnetIPRouting extends ConnectionBase
 		return netif.inetAddresses().anyMatch(sender.getAddress()::equals);
 	}
 
-	private void decrementBusyCounter() {
-		// decrement iff counter > 0, otherwise cancel decrementing
-		if (routingBusyCounter.accumulateAndGet(0, (v, u) -> v > 0 ? --v : v) == 0)
-			decrementBusyCounter.cancel(false);
-	}
-
-	// check whether we have to slow down or pause sending due to routing flow control
-	private void applyRoutingFlowControl() throws InterruptedException {
-		enforceDatagramRateLimit();
-
-		if (routingBusyCounter.get() == 0)
-			return;
-
-		// we have to loop because a new arrival of routing busy might update timings
-		while (true) {
-			final Instant now = Instant.now();
-			final long sleep = Duration.between(now, pauseSendingUntil).toMillis();
-			if (sleep > 0) {
-				logger.log(DEBUG, "applying routing flow control for {0}, wait {1} ms ...",
-						getRemoteAddress().getAddress().getHostAddress(), sleep);
-				Thread.sleep(sleep);
-			}
-			else if (now.isBefore(throttleUntil)) {
-				Thread.sleep(5);
-				break;
-			}
-			else
-				break;
-		}
-	}
-
-	private void enforceDatagramRateLimit() throws InterruptedException {
-		lock.lock();
-		try {
-			final long now = System.nanoTime();
-			final long diff = now - countStart;
-			if (diff >= 1_000_000_000) {
-				countStart = now;
-				datagramCount = 1;
-				return;
-			}
-			if (++datagramCount > MaxDatagramsPerSecond) {
-				final long remaining = 1_000 - diff / 1_000_000;
-				if (remaining > 0) {
-					fireRateLimit();
-					logger.log(DEBUG, "reached max. datagrams/second, wait {0} ms ...", remaining);
-					Thread.sleep(remaining);
-				}
-			}
-		}
-		finally {
-			lock.unlock();
-		}
-	}
-
 	private static long toLong(final InetAddress addr)
 	{
 		// we assume 4 byte Internet address for multicast
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -36,6 +36,7 @@
 
 package io.calimero.knxnetip;
 
+import static io.calimero.knxnetip.KNXnetIPConnection.BlockingMode.WaitForCon;
 import static io.calimero.knxnetip.KNXnetIPTunnel.TunnelingLayer.BusMonitorLayer;
 import static io.calimero.knxnetip.KNXnetIPTunnel.TunnelingLayer.RawLayer;
 import static java.lang.System.Logger.Level.DEBUG;
@@ -46,17 +47,26 @@ import static java.lang.System.Logger.Level.WARNING;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.lang.System.Logger.Level;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import io.calimero.CloseEvent;
 import io.calimero.IndividualAddress;
 import io.calimero.KNXAckTimeoutException;
+import io.calimero.KNXAddress;
 import io.calimero.KNXException;
 import io.calimero.KNXFormatException;
 import io.calimero.KNXIllegalArgumentException;
@@ -68,6 +78,7 @@ import io.calimero.cemi.CEMI;
 import io.calimero.cemi.CEMIBusMon;
 import io.calimero.cemi.CEMILData;
 import io.calimero.cemi.CEMILDataEx;
+import io.calimero.internal.TimerWheel;
 import io.calimero.knxnetip.servicetype.ErrorCodes;
 import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
 import io.calimero.knxnetip.servicetype.PacketHelper;
@@ -134,6 +145,44 @@ public class KNXnetIPTunnel extends ClientConnection
 
 	private final TunnelingLayer layer;
 
+	// pipelined cEMI confirmations, only used with stream connections; keeps the frame fields matched against a .con
+	private static final class PendingCon {
+		final KNXAddress dst;
+		// null if assigned by the server
+		final IndividualAddress src;
+		final int hopCount;
+		final byte[] tpdu;
+		final CompletableFuture<Void> result;
+		volatile TimerWheel.Timeout timeout;
+		// guarded by pipelineLock, set by whoever completes the result
+		boolean claimed;
+
+		PendingCon(final CEMILData frame, final CompletableFuture<Void> result) {
+			dst = frame.getDestination();
+			src = frame.getSource().getRawAddress() == 0 ? null : frame.getSource();
+			hopCount = frame.getHopCount();
+			tpdu = frame.getPayload();
+			this.result = result;
+		}
+
+		// we could get a .con with its hop count already decremented by 1 (eibd does that)
+		boolean isConfirmedBy(final CEMILData con, final byte[] conTpdu) {
+			final int hops = con.getHopCount();
+			return dst.equals(con.getDestination()) && (src == null || src.equals(con.getSource()))
+					&& (hops == hopCount || hops == hopCount - 1) && Arrays.equals(tpdu, conTpdu);
+		}
+
+		@Override
+		public String toString() { return "frame to " + dst; }
+	}
+
+	private volatile int confirmationWindow = 1;
+	// timeout of a pipelined cEMI confirmation, adjustable for testing
+	volatile Duration confirmationTimeout = Duration.ofSeconds(CONFIRMATION_TIMEOUT);
+	private final ReentrantLock pipelineLock = new ReentrantLock();
+	private final Condition windowAvailable = pipelineLock.newCondition();
+	private final Deque<PendingCon> pendingCons = new ArrayDeque<>();
+
 
 	public static KNXnetIPTunnel newTcpTunnel(final TunnelingLayer knxLayer, final StreamConnection connection,
 			final IndividualAddress tunnelingAddress) throws KNXException, InterruptedException {
@@ -217,6 +266,91 @@ public class KNXnetIPTunnel extends ClientConnection
 		super.send(frame, mode);
 	}
 
+	/**
+	 * Sets the maximum number of frames, sent using {@link #sendAsync(CEMI, BlockingMode)} with blocking mode
+	 * {@link BlockingMode#WaitForCon}, which are allowed to wait for their cEMI confirmation at the same time.
+	 * With a window greater than 1, frames are sent without waiting for the confirmation of previous frames
+	 * (pipelining), and received confirmations are matched in order to the pending frames. Pipelining is only used
+	 * with TCP and Unix domain socket connections; a UDP tunnel requires a service acknowledgment for every tunneling
+	 * request, and therefore ignores this setting.
+	 *
+	 * @param window number of frames with pending confirmation, {@code 0 < window <= 255}; 1 disables pipelining
+	 *        (default)
+	 */
+	public final void confirmationWindow(final int window) {
+		if (window < 1 || window > 255)
+			throw new KNXIllegalArgumentException("confirmation window " + window + " out of range [1..255]");
+		pipelineLock.lock();
+		try {
+			confirmationWindow = window;
+			windowAvailable.signalAll();
+		}
+		finally {
+			pipelineLock.unlock();
+		}
+	}
+
+	/**
+	 * {@return the maximum number of frames allowed to wait for their cEMI confirmation at the same time}
+	 */
+	public final int confirmationWindow() { return confirmationWindow; }
+
+	@Override
+	void sendQueued(final CEMI frame, final BlockingMode mode, final CompletableFuture<Void> result)
+			throws InterruptedException {
+		if (!stream || confirmationWindow == 1 || mode != WaitForCon || layer == BusMonitorLayer
+				|| !(frame instanceof final CEMILData ldata)) {
+			super.sendQueued(frame, mode, result);
+			return;
+		}
+
+		final var pending = new PendingCon(ldata, result);
+		final int inFlight;
+		pipelineLock.lock();
+		try {
+			while (pendingCons.size() >= confirmationWindow && state != CLOSED)
+				windowAvailable.await();
+			if (state == CLOSED) {
+				result.completeExceptionally(new KNXConnectionClosedException("send attempt on closed connection"));
+				return;
+			}
+			pendingCons.add(pending);
+			inFlight = pendingCons.size();
+		}
+		finally {
+			pipelineLock.unlock();
+		}
+
+		// get in line with blocking sends, which keep their place until they are confirmed
+		sendWaitQueue.acquire(true);
+		lock.lock();
+		try (var packet = PacketHelper.serviceRequest(serviceRequest, channelId, getSeqSend(), frame)) {
+			// same state checks as a blocking send
+			if (state == CLOSED || closing > 0)
+				throw new KNXConnectionClosedException("send attempt on closed connection");
+			if (state < 0)
+				throw new IllegalStateException("in error state, send aborted");
+			logger.log(TRACE, "sending cEMI frame (pipelined, {0} pending) {1}", inFlight, frame);
+			send(packet.buffer(), dataEndpt);
+			pending.timeout = TimerWheel.shared().schedule(() -> confirmationTimeout(pending), confirmationTimeout);
+		}
+		catch (IOException | KNXConnectionClosedException | RuntimeException e) {
+			final boolean claimed = claim(pending);
+			if (e instanceof IOException) {
+				close(CloseEvent.INTERNAL, "communication failure", ERROR, e);
+				if (claimed)
+					result.completeExceptionally(new KNXConnectionClosedException("connection closed", e));
+			}
+			else if (claimed)
+				result.completeExceptionally(e);
+			release(pending);
+		}
+		finally {
+			lock.unlock();
+			sendWaitQueue.release(true);
+		}
+	}
+
 	// sends a tunneling feature-get service
 	public void send(final InterfaceFeature feature) throws KNXConnectionClosedException, KNXTimeoutException,
 			InterruptedException {
@@ -401,36 +535,20 @@ public class KNXnetIPTunnel extends ClientConnection
 			// TODO move notification to after we know it's a valid .con (we should keep it out of the lock, though)
 			fireFrameReceived(cemi);
 
+			// a blocking send waits for its .con first, pipelined frames still pending in the meantime don't take it
 			lock.lock();
 			try {
 				final CEMILData ldata = (CEMILData) keepForCon;
-				if (ldata != null && internalState == CEMI_CON_PENDING) {
-					// check if address was set by server
-					final boolean emptySrc = ldata.getSource().getRawAddress() == 0;
-					final List<Integer> types = additionalInfoTypesOf(ldata);
-					final byte[] sent = unifyLData(ldata, emptySrc, types);
-					final byte[] recv = unifyLData(cemi, emptySrc, types);
-					if (Arrays.equals(recv, sent)) {
-						keepForCon = null;
-						setStateNotify(OK);
-					}
-					else {
-						// we could get a .con with its hop count already decremented by 1 (eibd does that)
-						// decrement hop count of sent for comparison
-						final int sendCount = ldata.getHopCount() - 1;
-						sent[3] = (byte) ((sent[3] & (0x8f)) | (sendCount << 4));
-						if (Arrays.equals(recv, sent)) {
-							keepForCon = null;
-							setStateNotify(OK);
-							logger.log(INFO, "received L_Data.con with hop count decremented by 1 (sent {0}, got {2})",
-									sendCount + 1, sendCount);
-						}
-					}
+				if (ldata != null && internalState == CEMI_CON_PENDING && isConfirmationOf(cemi, ldata)) {
+					keepForCon = null;
+					setStateNotify(OK);
+					return true;
 				}
 			}
 			finally {
 				lock.unlock();
 			}
+			confirmPipelined((CEMILData) cemi);
 		}
 		else if (mc == CEMILData.MC_LDATA_REQ)
 			logger.log(WARNING, "received L-Data request - ignore {0}", cemi);
@@ -452,6 +570,119 @@ public class KNXnetIPTunnel extends ClientConnection
 		}
 	}
 
+	@Override
+	protected void cleanup(final int initiator, final String reason, final Level level, final Throwable t) {
+		super.cleanup(initiator, reason, level, t);
+		final List<PendingCon> pending;
+		pipelineLock.lock();
+		try {
+			pending = new ArrayList<>();
+			for (final var p : pendingCons)
+				if (!p.claimed) {
+					p.claimed = true;
+					pending.add(p);
+				}
+			pendingCons.clear();
+			windowAvailable.signalAll();
+		}
+		finally {
+			pipelineLock.unlock();
+		}
+		for (final var p : pending) {
+			cancelTimeout(p);
+			p.result.completeExceptionally(new KNXConnectionClosedException("connection closed"));
+		}
+	}
+
+	// matches a received L-Data.con in order to the pending frames
+	private boolean confirmPipelined(final CEMILData con) {
+		PendingCon confirmed = null;
+		final byte[] tpdu = con.getPayload();
+		pipelineLock.lock();
+		try {
+			for (final var pending : pendingCons) {
+				if (!pending.claimed && pending.isConfirmedBy(con, tpdu)) {
+					pending.claimed = true;
+					confirmed = pending;
+					break;
+				}
+			}
+		}
+		finally {
+			pipelineLock.unlock();
+		}
+		if (confirmed == null)
+			return false;
+		cancelTimeout(confirmed);
+		if (con.isPositiveConfirmation())
+			confirmed.result.complete(null);
+		else
+			confirmed.result.completeExceptionally(new KNXRemoteException("negative confirmation for " + confirmed));
+		release(confirmed);
+		return true;
+	}
+
+	private void confirmationTimeout(final PendingCon pending) {
+		if (claim(pending)) {
+			logger.log(WARNING, "response timeout waiting for confirmation of {0}", pending);
+			final var e = new KNXTimeoutException("no confirmation reply received for " + pending);
+			pending.result.completeExceptionally(e);
+			release(pending);
+		}
+	}
+
+	// claims a pending frame for completing its result; the frame keeps its window slot until released, so a waiting
+	// sender never overtakes the completion of the result
+	private boolean claim(final PendingCon pending) {
+		pipelineLock.lock();
+		try {
+			if (pending.claimed || !pendingCons.contains(pending))
+				return false;
+			pending.claimed = true;
+			return true;
+		}
+		finally {
+			pipelineLock.unlock();
+		}
+	}
+
+	private void release(final PendingCon pending) {
+		pipelineLock.lock();
+		try {
+			if (pendingCons.remove(pending))
+				windowAvailable.signal();
+		}
+		finally {
+			pipelineLock.unlock();
+		}
+	}
+
+	private static void cancelTimeout(final PendingCon pending) {
+		final var timeout = pending.timeout;
+		if (timeout != null)
+			timeout.cancel();
+	}
+
+	private boolean isConfirmationOf(final CEMI con, final CEMILData sent) {
+		// check if address was set by server
+		final boolean emptySrc = sent.getSource().getRawAddress() == 0;
+		final List<Integer> types = additionalInfoTypesOf(sent);
+		final byte[] expected = unifyLData(sent, emptySrc, types);
+		final byte[] recv = unifyLData(con, emptySrc, types);
+		if (Arrays.equals(recv, expected))
+			return true;
+		// we could get a .con with its hop count already decremented by 1 (eibd does that)
+		// decrement hop count of sent for comparison
+		final int sendCount = sent.getHopCount() - 1;
+		expected[3] = (byte) ((expected[3] & (0x8f)) | (sendCount << 4));
+		if (Arrays.equals(recv, expected)) {
+			logger.log(INFO, "received L_Data.con with hop count decremented by 1 (sent {0}, got {1})",
+					sendCount + 1, sendCount);
+			return true;
+		}
+		return false;
+	}
+
 	private static List<Integer> additionalInfoTypesOf(final CEMILData ldata)
 	{
 		if (ldata instanceof final CEMILDataEx ext)
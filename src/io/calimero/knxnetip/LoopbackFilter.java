@@ -0,0 +1,199 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Detects multicast datagrams looped back to the sending socket. Sent datagrams are recorded by a 64 bit fingerprint
+ * of their data in a primitive open-addressing hash table, and removed again when received, when the table reaches
+ * its maximum size (oldest entry first), or after a timeout. Lookup does not allocate.
+ * <p>
+ * A received datagram with the same data as a recorded one is considered a loopback, even if it was sent by another
+ * device; each recorded datagram suppresses at most one received datagram.
+ */
+final class LoopbackFilter {
+	private static final long Empty = 0;
+
+	private final int maxSize;
+	private final long timeout;
+	private final LongSupplier clock;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	// linear probing, no tombstones; a fingerprint of Empty marks a free slot
+	private final long[] fingerprints;
+	private final long[] inserted;
+	private int size;
+
+	/**
+	 * Creates a new loopback filter.
+	 *
+	 * @param maxSize maximum number of recorded datagrams
+	 * @param timeout time after which a recorded datagram is no longer considered for loopback detection
+	 */
+	LoopbackFilter(final int maxSize, final Duration timeout) {
+		this(maxSize, timeout, System::nanoTime);
+	}
+
+	LoopbackFilter(final int maxSize, final Duration timeout, final LongSupplier clock) {
+		if (maxSize < 1)
+			throw new IllegalArgumentException("max. size " + maxSize + " < 1");
+		this.maxSize = maxSize;
+		this.timeout = timeout.toNanos();
+		this.clock = clock;
+		// keep load factor <= 0.5
+		final int capacity = Integer.highestOneBit(maxSize * 2 - 1) << 1;
+		fingerprints = new long[capacity];
+		inserted = new long[capacity];
+	}
+
+	/**
+	 * Records sent datagram data.
+	 *
+	 * @param data datagram data
+	 * @param offset start offset in {@code data}
+	 * @param length length of datagram data
+	 */
+	void add(final byte[] data, final int offset, final int length) {
+		final long fingerprint = fingerprint(data, offset, length);
+		lock.lock();
+		try {
+			final long now = clock.getAsLong();
+			if (size == maxSize)
+				removeOldest();
+			int slot = index(fingerprint);
+			while (fingerprints[slot] != Empty)
+				slot = next(slot);
+			fingerprints[slot] = fingerprint;
+			inserted[slot] = now;
+			size++;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Checks whether received datagram data matches a recorded sent datagram; a matching record is removed.
+	 *
+	 * @param data datagram data
+	 * @param offset start offset in {@code data}
+	 * @param length length of datagram data
+	 * @return {@code true} if the received data is a loopback of a recorded datagram, {@code false} otherwise
+	 */
+	boolean discard(final byte[] data, final int offset, final int length) {
+		final long fingerprint = fingerprint(data, offset, length);
+		lock.lock();
+		try {
+			if (size == 0)
+				return false;
+			final long now = clock.getAsLong();
+			boolean found = false;
+			for (int slot = index(fingerprint); fingerprints[slot] != Empty;) {
+				if (now - inserted[slot] >= timeout) {
+					remove(slot);
+					continue;
+				}
+				if (fingerprints[slot] == fingerprint) {
+					remove(slot);
+					found = true;
+					break;
+				}
+				slot = next(slot);
+			}
+			return found;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	int size() {
+		lock.lock();
+		try {
+			return size;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// FNV-1a with a final avalanche step, never returns Empty
+	static long fingerprint(final byte[] data, final int offset, final int length) {
+		long h = 0xcbf29ce484222325L ^ length;
+		for (int i = offset; i < offset + length; i++) {
+			h ^= data[i] & 0xff;
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return h == Empty ? 1 : h;
+	}
+
+	private void removeOldest() {
+		int oldest = -1;
+		for (int slot = 0; slot < fingerprints.length; slot++)
+			if (fingerprints[slot] != Empty && (oldest == -1 || inserted[slot] - inserted[oldest] < 0))
+				oldest = slot;
+		remove(oldest);
+	}
+
+	// backward shift deletion, keeps probe sequences intact without tombstones
+	private void remove(final int slot) {
+		int free = slot;
+		for (int i = next(free); fingerprints[i] != Empty; i = next(i)) {
+			final int home = index(fingerprints[i]);
+			// move entry i into the free slot if its home is not cyclically within (free, i]
+			if (((i - home) & mask()) >= ((i - free) & mask())) {
+				fingerprints[free] = fingerprints[i];
+				inserted[free] = inserted[i];
+				free = i;
+			}
+		}
+		fingerprints[free] = Empty;
+		size--;
+	}
+
+	private int index(final long fingerprint) { return (int) fingerprint & mask(); }
+
+	private int next(final int slot) { return (slot + 1) & mask(); }
+
+	private int mask() { return fingerprints.length - 1; }
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2010, 2022 B. Malinowsky
+    Copyright (c) 2010, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -44,17 +44,21 @@ import java.io.IOException;
 import java.lang.System.Logger;
 import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
 
 import io.calimero.CloseEvent;
 import io.calimero.KNXFormatException;
+import io.calimero.internal.Executor;
 import io.calimero.internal.UdpSocketLooper;
 import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
 
-class ReceiverLoop extends UdpSocketLooper implements Runnable
+class ReceiverLoop extends UdpSocketLooper implements Runnable, DatagramReactor.Handler
 {
 	private final ConnectionBase conn;
 	private final Logger logger;
 
+	private volatile DatagramReactor.Registration registration;
+
 	// precondition: an initialized logger instance in ConnectionBase
 	ReceiverLoop(final ConnectionBase connection, final DatagramSocket socket,
 		final int receiveBufferSize)
@@ -81,8 +85,42 @@ class ReceiverLoop extends UdpSocketLooper implements Runnable
 		}
 	}
 
+	/**
+	 * Starts receiving, either by registering the channel with the shared datagram reactor if enabled, or by running
+	 * this loop in its own thread.
+	 *
+	 * @param dc datagram channel to receive from, might be {@code null} if the socket has no associated channel
+	 * @param name thread name
+	 */
+	void start(final DatagramChannel dc, final String name) {
+		if (dc != null && DatagramReactor.enabled()) {
+			try {
+				registration = DatagramReactor.shared().register(dc, this);
+				return;
+			}
+			catch (final IOException e) {
+				logger.log(WARNING, "failed to register with datagram reactor, use receiver thread", e);
+			}
+		}
+		Executor.execute(this, name);
+	}
+
+	@Override
+	public void onError(final IOException e) {
+		// runs on the reactor thread, close must not block it
+		Executor.execute(() -> conn.close(CloseEvent.INTERNAL, "receiver communication failure", ERROR, e));
+	}
+
+	@Override
+	public void quit() {
+		final var r = registration;
+		if (r != null)
+			r.close();
+		super.quit();
+	}
+
 	@Override
-	protected void onReceive(final InetSocketAddress source, final byte[] data,
+	public void onReceive(final InetSocketAddress source, final byte[] data,
 		final int offset, final int length) throws IOException
 	{
 		try {
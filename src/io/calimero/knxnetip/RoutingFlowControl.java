@@ -0,0 +1,363 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import java.lang.System.Logger;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+import io.calimero.KNXException;
+import io.calimero.internal.Executor;
+import io.calimero.knxnetip.KNXnetIPRouting.FlowControlMetrics;
+
+/**
+ * Paces KNX IP routing datagrams without blocking the sending thread. Datagrams are sent immediately if the rate
+ * limit and routing flow control permit, otherwise they are queued and sent by a scheduled task in submission order.
+ * <p>
+ * The datagram rate is limited to {@value KNXnetIPRouting#MaxDatagramsPerSecond} datagrams within any sliding window
+ * of one second; consecutive datagrams are separated by at least 5 ms. On receiving a routing busy notification,
+ * sending of flow-controlled datagrams is paused for the requested wait time plus a random wait time, and throttled
+ * afterward; both scale with the routing busy counter, which is decremented every 5 ms after the throttle period
+ * elapsed.
+ */
+final class RoutingFlowControl {
+
+	/**
+	 * A datagram transmission submitted for sending.
+	 */
+	@FunctionalInterface
+	interface Transmission {
+		void transmit() throws KNXException;
+	}
+
+	static final int QueueLimit = 1000;
+
+	private static final long MinInterval = 5_000_000;
+	private static final long RandomWaitScale = 50_000_000;
+	private static final long ThrottleScale = 100_000_000;
+	private static final long BusyCounterDecrement = 5_000_000;
+	private static final long CountedBusyInterval = 10_000_000;
+	private static final long OneSecond = 1_000_000_000;
+
+	private record Pending(Transmission transmission, boolean flowControlled, CompletableFuture<Void> result) {}
+
+	private final Logger logger;
+	private final Runnable rateLimitReached;
+	private final LongSupplier clock;
+	private final DoubleSupplier random;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Deque<Pending> queue = new ArrayDeque<>();
+	private ScheduledFuture<?> scheduledDrain;
+	private boolean draining;
+	private boolean closed;
+
+	// sliding window rate limit: send times of the last max. datagrams per second, txIndex points to the oldest
+	private final long[] txTimes = new long[KNXnetIPRouting.MaxDatagramsPerSecond];
+	private int txIndex;
+	private long lastTx;
+	private boolean rateLimited;
+
+	// routing busy flow control, invariant on instants: throttle >= pause sending >= current wait
+	private long currentWaitUntil;
+	private long pauseUntil;
+	private long throttleUntil;
+	private long lastBusy;
+	private int busyCounter;
+
+
+	RoutingFlowControl(final Logger logger, final Runnable rateLimitReached) {
+		this(logger, rateLimitReached, System::nanoTime, Math::random);
+	}
+
+	RoutingFlowControl(final Logger logger, final Runnable rateLimitReached, final LongSupplier clock,
+			final DoubleSupplier random) {
+		this.logger = logger;
+		this.rateLimitReached = rateLimitReached;
+		this.clock = clock;
+		this.random = random;
+
+		final long now = clock.getAsLong();
+		lastTx = now - MinInterval;
+		currentWaitUntil = now;
+		pauseUntil = now;
+		throttleUntil = now;
+		lastBusy = now - CountedBusyInterval - 1;
+		Arrays.fill(txTimes, now - OneSecond);
+	}
+
+	/**
+	 * Submits a datagram transmission; the transmission is executed immediately in the calling thread if permitted,
+	 * or queued otherwise.
+	 *
+	 * @param transmission the transmission to execute
+	 * @param flowControlled {@code true} if the transmission is subject to routing busy flow control (in addition to
+	 *        the rate limit), {@code false} otherwise
+	 * @return future completed after the transmission was executed; the future fails with
+	 *         {@link KNXConnectionClosedException} if flow control got closed, or with {@link IllegalStateException}
+	 *         if the send queue limit is reached
+	 */
+	CompletableFuture<Void> submit(final Transmission transmission, final boolean flowControlled) {
+		final var pending = new Pending(transmission, flowControlled, new CompletableFuture<>());
+		boolean notify = false;
+		lock.lock();
+		try {
+			if (closed) {
+				pending.result.completeExceptionally(new KNXConnectionClosedException("connection closed"));
+				return pending.result;
+			}
+			final long now = clock.getAsLong();
+			notify = checkRateLimit(now, queue.size());
+			if (!queue.isEmpty()) {
+				if (queue.size() >= QueueLimit)
+					pending.result.completeExceptionally(
+							new IllegalStateException("routing send queue limit of " + QueueLimit + " reached"));
+				else
+					queue.add(pending);
+				return pending.result;
+			}
+			final long delay = delay(now, flowControlled);
+			if (delay > 0) {
+				queue.add(pending);
+				schedule(now, delay);
+				return pending.result;
+			}
+			transmitted(now);
+		}
+		finally {
+			lock.unlock();
+			if (notify)
+				rateLimitReached.run();
+		}
+		transmit(pending);
+		return pending.result;
+	}
+
+	/**
+	 * Updates flow control timings for a received routing busy notification.
+	 *
+	 * @param waitTime wait time requested by the routing busy notification
+	 * @return {@code true} if the timings got updated, {@code false} if the notification did not change flow control
+	 */
+	boolean routingBusy(final Duration waitTime) {
+		lock.lock();
+		try {
+			final long now = clock.getAsLong();
+			final int counter = busyCounter(now);
+			boolean update = false;
+			final long waitUntil = now + waitTime.toNanos();
+			if (waitUntil - currentWaitUntil > 0) {
+				currentWaitUntil = waitUntil;
+				update = true;
+			}
+			// increment random wait scaling iff >= 10 ms have passed since the last counted routing busy
+			boolean counted = false;
+			if (now - lastBusy > CountedBusyInterval) {
+				lastBusy = now;
+				counted = true;
+				update = true;
+			}
+			if (!update)
+				return false;
+
+			busyCounter = counter + (counted ? 1 : 0);
+			final long randomWait = Math.round(random.getAsDouble() * busyCounter * RandomWaitScale);
+			pauseUntil = currentWaitUntil + randomWait;
+			final long throttle = busyCounter * ThrottleScale;
+			throttleUntil = pauseUntil + throttle;
+
+			logger.log(DEBUG, "set routing busy counter = {0}, random wait = {1} ms, continue sending in {2} ms, throttle {3} ms",
+					busyCounter, millis(randomWait), millis(pauseUntil - now), millis(throttle));
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	FlowControlMetrics metrics() {
+		lock.lock();
+		try {
+			final long now = clock.getAsLong();
+			int rate = 0;
+			for (final long t : txTimes)
+				if (now - t < OneSecond)
+					rate++;
+			return new FlowControlMetrics(rate, queue.size(), busyCounter(now));
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Closes flow control, queued transmissions are completed with {@link KNXConnectionClosedException}.
+	 */
+	void close() {
+		final List<Pending> discarded;
+		lock.lock();
+		try {
+			closed = true;
+			if (scheduledDrain != null)
+				scheduledDrain.cancel(false);
+			discarded = new ArrayList<>(queue);
+			queue.clear();
+		}
+		finally {
+			lock.unlock();
+		}
+		for (final var pending : discarded)
+			pending.result.completeExceptionally(new KNXConnectionClosedException("connection closed"));
+	}
+
+	private void drain() {
+		lock.lock();
+		try {
+			scheduledDrain = null;
+			if (draining)
+				return;
+			draining = true;
+		}
+		finally {
+			lock.unlock();
+		}
+
+		while (true) {
+			final Pending next;
+			lock.lock();
+			try {
+				next = queue.peek();
+				if (closed || next == null) {
+					draining = false;
+					return;
+				}
+				final long now = clock.getAsLong();
+				final long delay = delay(now, next.flowControlled);
+				if (delay > 0) {
+					schedule(now, delay);
+					draining = false;
+					return;
+				}
+				queue.poll();
+				transmitted(now);
+			}
+			finally {
+				lock.unlock();
+			}
+			transmit(next);
+		}
+	}
+
+	private void schedule(final long now, final long delay) {
+		if (scheduledDrain != null) {
+			if (scheduledDrain.getDelay(TimeUnit.NANOSECONDS) <= delay)
+				return;
+			scheduledDrain.cancel(false);
+		}
+		if (now - pauseUntil < 0)
+			logger.log(DEBUG, "applying routing flow control, wait {0} ms ...", millis(pauseUntil - now));
+		scheduledDrain = Executor.scheduledExecutor().schedule(this::drain, delay, TimeUnit.NANOSECONDS);
+	}
+
+	private static void transmit(final Pending pending) {
+		try {
+			pending.transmission.transmit();
+			pending.result.complete(null);
+		}
+		catch (KNXException | RuntimeException e) {
+			pending.result.completeExceptionally(e);
+		}
+	}
+
+	// nanoseconds until the next datagram is permitted
+	private long delay(final long now, final boolean flowControlled) {
+		// the oldest datagram of the window has to leave the window first
+		long delay = txTimes[txIndex] + OneSecond - now;
+		long interval = MinInterval;
+		if (flowControlled) {
+			delay = Math.max(delay, pauseUntil - now);
+			if (now - throttleUntil < 0)
+				interval += MinInterval;
+		}
+		return Math.max(0, Math.max(delay, lastTx + interval - now));
+	}
+
+	// returns true on transition to rate limited sending, i.e., a datagram submitted after 'queued' datagrams does not
+	// fit into the current window; limited state is left on a submission which is neither queued nor limited
+	private boolean checkRateLimit(final long now, final int queued) {
+		final boolean limited = queued >= txTimes.length
+				|| now - txTimes[(txIndex + queued) % txTimes.length] < OneSecond;
+		if (!limited) {
+			if (queued == 0)
+				rateLimited = false;
+			return false;
+		}
+		if (rateLimited)
+			return false;
+		rateLimited = true;
+		logger.log(DEBUG, "reached max. datagrams/second, pacing datagrams ...");
+		return true;
+	}
+
+	private void transmitted(final long now) {
+		lastTx = now;
+		txTimes[txIndex] = now;
+		txIndex = (txIndex + 1) % txTimes.length;
+	}
+
+	private int busyCounter(final long now) {
+		final long decrementStart = throttleUntil + BusyCounterDecrement;
+		if (now - decrementStart < 0)
+			return busyCounter;
+		final long decrements = 1 + (now - decrementStart) / BusyCounterDecrement;
+		return (int) Math.max(0, busyCounter - decrements);
+	}
+
+	private static long millis(final long nanos) { return TimeUnit.NANOSECONDS.toMillis(nanos); }
+}
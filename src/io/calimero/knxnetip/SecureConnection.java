@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2018, 2024 B. Malinowsky
+    Copyright (c) 2018, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -36,7 +36,6 @@
 
 package io.calimero.knxnetip;
 
-import java.io.ByteArrayOutputStream;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -59,11 +58,9 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.HexFormat;
 
-import javax.crypto.Cipher;
 import javax.crypto.KeyAgreement;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -72,6 +69,7 @@ import io.calimero.KNXException;
 import io.calimero.KNXFormatException;
 import io.calimero.KNXIllegalArgumentException;
 import io.calimero.SerialNumber;
+import io.calimero.internal.DerivedKeyCache;
 import io.calimero.knxnetip.KNXnetIPTunnel.TunnelingLayer;
 import io.calimero.knxnetip.StreamConnection.SecureSession;
 import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
@@ -174,6 +172,9 @@ public final class SecureConnection {
 	/**
 	 * Creates the hash value for the given password using PBKDF2 with the HMAC-SHA256 hash function. Before returning,
 	 * this method fills the {@code password} array with zeros.
+	 * <p>
+	 * Derived hash values are kept in a bounded in-memory cache, repeated calls with the same password (e.g., when
+	 * re-establishing secure sessions) do not run PBKDF2 again; see {@link #clearDerivedKeys()}.
 	 *
 	 * @param password input user password interpreted using the US-ASCII character encoding, the replacement for
 	 *        unknown or non-printable characters is '?'
@@ -198,6 +199,12 @@ public final class SecureConnection {
 		return pbkdf2WithHmacSha256(password, salt);
 	}
 
+	/**
+	 * Removes all password hashes and derived keys kept in memory, overwriting them with zeros. This includes hashes
+	 * of user passwords, device authentication passwords, and keyring passwords.
+	 */
+	public static void clearDerivedKeys() { DerivedKeyCache.shared().clear(); }
+
 	private static byte[] pbkdf2WithHmacSha256(final char[] password, final byte[] salt) {
 		for (int i = 0; i < password.length; i++) {
 			final char c = password[i];
@@ -205,13 +212,8 @@ public final class SecureConnection {
 				password[i] = '?';
 		}
 
-		final int iterations = 65_536;
-		final int keyLength = 16 * 8;
 		try {
-			final SecretKeyFactory skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-			final PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
-			final SecretKey key = skf.generateSecret(spec);
-			return key.getEncoded();
+			return DerivedKeyCache.shared().derive(password, salt, SecureConnection::pbkdf2);
 		}
 		catch (final GeneralSecurityException e) {
 			// NoSuchAlgorithmException or InvalidKeySpecException, both imply a setup/programming error
@@ -222,124 +224,72 @@ public final class SecureConnection {
 		}
 	}
 
+	private static byte[] pbkdf2(final char[] password, final byte[] salt) throws GeneralSecurityException {
+		final int iterations = 65_536;
+		final int keyLength = 16 * 8;
+		final SecretKeyFactory skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+		final PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
+		try {
+			final SecretKey key = skf.generateSecret(spec);
+			return key.getEncoded();
+		}
+		finally {
+			spec.clearPassword();
+		}
+	}
+
 	// for multicast, the session = 0
 	// seq: for unicast connections: monotonically increasing counter of sender.
 	// seq: for multicasts, timestamp [ms]
 	// msg tag: for unicasts, tag is 0
 	public static byte[] newSecurePacket(final long sessionId, final long seq, final SerialNumber sno, final int msgTag,
 		final byte[] knxipPacket, final Key secretKey) {
-		if (seq < 0 || seq > 0xffff_ffff_ffffL)
-			throw new KNXIllegalArgumentException(
-					"sequence / group counter " + seq + " out of range [0..0xffffffffffff]");
-		if (msgTag < 0 || msgTag > 0xffff)
-			throw new KNXIllegalArgumentException("message tag " + msgTag + " out of range [0..0xffff]");
-
-		final int svcLength = 2 + 6 + 6 + 2 + knxipPacket.length + macSize;
-		final KNXnetIPHeader header = new KNXnetIPHeader(KNXnetIPHeader.SecureWrapper, svcLength);
-
-		final ByteBuffer buffer = ByteBuffer.allocate(header.getTotalLength());
-		buffer.put(header.toByteArray());
-		buffer.putShort((short) sessionId);
-		buffer.putShort((short) (seq >> 32));
-		buffer.putInt((int) seq);
-		buffer.put(sno.array());
-		buffer.putShort((short) msgTag);
-		buffer.put(knxipPacket);
-
-		final byte[] secInfo = securityInfo(buffer.array(), header.getStructLength() + 2, knxipPacket.length);
-		final byte[] mac = cbcMac(buffer.array(), 0, buffer.position(), secretKey, secInfo);
-		buffer.put(mac);
-		encrypt(buffer.array(), header.getStructLength() + 2 + 6 + 6 + 2, secretKey,
-				securityInfo(buffer.array(), 8, 0xff00));
+		final ByteBuffer buffer = ByteBuffer.allocate(securePacketLength(knxipPacket.length));
+		newSecurePacket(sessionId, seq, sno, msgTag, ByteBuffer.wrap(knxipPacket), secretKey, buffer);
 		return buffer.array();
 	}
 
-	public static Object[] unwrap(final KNXnetIPHeader h, final byte[] data, final int offset, final Key secretKey)
-		throws KNXFormatException {
-		if ((h.getServiceType() & SecureSvc) != SecureSvc)
-			throw new KNXIllegalArgumentException("not a secure service type");
-
-		final int total = h.getTotalLength();
-		final int hdrLength = h.getStructLength();
-		final int minLength = hdrLength + 2 + 6 + 6 + 2 + hdrLength + macSize;
-		if (total < minLength)
-			throw new KNXFormatException("secure packet length < required minimum length " + minLength, total);
-
-		final ByteBuffer buffer = ByteBuffer.wrap(data, offset, total - hdrLength);
-
-		final int sid = buffer.getShort() & 0xffff;
-		final long seq = uint48(buffer);
-		final var sno = SerialNumber.of(uint48(buffer));
-		final int tag = buffer.getShort() & 0xffff;
-
-		final ByteBuffer dec = decrypt(buffer, secretKey, securityInfo(data, offset + 2, 0xff00));
-
-		final byte[] knxipPacket = new byte[total - minLength + hdrLength];
-		dec.get(knxipPacket);
-		final byte[] mac = new byte[macSize];
-		dec.get(mac);
+	static int securePacketLength(final int knxipPacketLength) {
+		return 6 + 2 + 6 + 6 + 2 + knxipPacketLength + macSize;
+	}
 
-		final byte[] frame = Arrays.copyOfRange(data, offset - hdrLength, offset - hdrLength + total);
-		System.arraycopy(knxipPacket, 0, frame, hdrLength + 2 + 6 + 6 + 2, knxipPacket.length);
-		cbcMacVerify(frame, 0, total - macSize, secretKey, securityInfo(data, offset + 2, knxipPacket.length), mac);
+	// writes the secure wrapper for the remaining bytes of knxipPacket into out, which is required to be a buffer
+	// with accessible array, array offset 0, and position 0; returns out flipped for reading
+	static ByteBuffer newSecurePacket(final long sessionId, final long seq, final SerialNumber sno, final int msgTag,
+			final ByteBuffer knxipPacket, final Key secretKey, final ByteBuffer out) {
+		return new SessionCipher(secretKey).wrap(sessionId, seq, sno, msgTag, knxipPacket, out);
+	}
 
-		return new Object[] { sid, seq, sno, tag, knxipPacket };
+	public static Object[] unwrap(final KNXnetIPHeader h, final byte[] data, final int offset, final Key secretKey)
+		throws KNXFormatException {
+		// session cipher decrypts in place, keep data unmodified
+		return new SessionCipher(secretKey).unwrap(h, data.clone(), offset);
 	}
 
 	public static void encrypt(final byte[] data, final int offset, final Key secretKey, final byte[] secInfo) {
-		try {
-			final ByteBuffer encrypt = ByteBuffer.wrap(data, offset, data.length - offset);
-			final ByteBuffer result = cipher(encrypt, secretKey, secInfo);
-			System.arraycopy(result.array(), 0, data, offset, result.remaining());
-		}
-		catch (final GeneralSecurityException e) {
-			throw new KnxSecureException("encrypting error", e);
-		}
+		new SessionCipher(secretKey).encrypt(data, offset, data.length - offset, secInfo);
 	}
 
 	static ByteBuffer decrypt(final ByteBuffer buffer, final Key secretKey, final byte[] secInfo) {
-		try {
-			return cipher(buffer, secretKey, secInfo);
-		}
-		catch (final GeneralSecurityException e) {
-			throw new KnxSecureException("decrypting error", e);
-		}
+		return decrypt(buffer, new SessionCipher(secretKey), secInfo);
 	}
 
-	private static ByteBuffer cipher(final ByteBuffer buffer, final Key secretKey, final byte[] secInfo)
-		throws GeneralSecurityException {
-		final int blocks = (buffer.remaining() + 0xf) >> 4;
-		final byte[] cipher = cipherStream(blocks, secretKey, secInfo);
-
-		final ByteBuffer result = ByteBuffer.allocate(buffer.remaining());
-		if (blocks > 1) {
-			for (int i = 0; result.remaining() > macSize; i++)
-				result.put((byte) (buffer.get() ^ cipher[macSize + i]));
-		}
-		for (int i = 0; result.hasRemaining(); i++)
-			result.put((byte) (buffer.get() ^ cipher[i]));
-		return result.flip();
+	static ByteBuffer decrypt(final ByteBuffer buffer, final SessionCipher cipher, final byte[] secInfo) {
+		final byte[] decrypted = new byte[buffer.remaining()];
+		buffer.get(decrypted);
+		cipher.encrypt(decrypted, 0, decrypted.length, secInfo);
+		return ByteBuffer.wrap(decrypted);
 	}
 
-	private static byte[] cipherStream(final int blocks, final Key secretKey, final byte[] secInfo)
-		throws GeneralSecurityException {
-		final Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
-		cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-
-		final int blockSize = 16;
-		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		for (int i = 0; i < blocks; i++) {
-			final byte[] output = cipher.update(secInfo);
-			baos.write(output, 0, blockSize);
-			++secInfo[15];
-		}
-		return baos.toByteArray();
+	static void cbcMacVerify(final byte[] data, final int offset, final int length, final Key secretKey,
+		final byte[] secInfo, final byte[] verifyAgainst) {
+		cbcMacVerify(new SessionCipher(secretKey), data, offset, length, secInfo, verifyAgainst);
 	}
 
-	static void cbcMacVerify(final byte[] data, final int offset, final int length, final Key secretKey,
+	static void cbcMacVerify(final SessionCipher cipher, final byte[] data, final int offset, final int length,
 		final byte[] secInfo, final byte[] verifyAgainst) {
-		final byte[] mac = cbcMac(data, offset, length, secretKey, secInfo);
-		final boolean authenticated = Arrays.equals(mac, verifyAgainst);
+		final byte[] mac = cipher.cbcMac(data, offset, length, secInfo);
+		final boolean authenticated = MessageDigest.isEqual(mac, verifyAgainst);
 		if (!authenticated) {
 			final String packet = HexFormat.ofDelimiter(" ").formatHex(data, offset, offset + length);
 			throw new KnxSecureException("authentication failed for " + packet);
@@ -348,39 +298,7 @@ public final class SecureConnection {
 
 	static byte[] cbcMac(final byte[] data, final int offset, final int length, final Key secretKey,
 		final byte[] secInfo) {
-		final byte[] log = Arrays.copyOfRange(data, offset, offset + length);
-		final byte[] hdr = Arrays.copyOfRange(data, offset, offset + 6);
-
-		final int packetOffset = hdr.length + 2 + 6 + 6 + 2;
-		byte[] session = new byte[0];
-		byte[] frame = new byte[0];
-		if (length > packetOffset) {
-			session = Arrays.copyOfRange(data, offset + 6, offset + 8);
-			frame = Arrays.copyOfRange(data, offset + packetOffset, offset + length);
-		}
-
-		try {
-			final Cipher cipher = Cipher.getInstance("AES/CBC/NoPadding");
-			final IvParameterSpec ivSpec = new IvParameterSpec(new byte[16]);
-			cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivSpec);
-
-			cipher.update(secInfo);
-
-			final byte[] lenBuf = { 0, (byte) (hdr.length + session.length) };
-			cipher.update(lenBuf);
-			cipher.update(hdr);
-			cipher.update(session);
-
-			final int checkLength = 16 + 2 + 6 + session.length + frame.length;
-			final byte[] padded = Arrays.copyOfRange(frame, 0, frame.length + 15 - (checkLength + 15) % 16);
-			final byte[] result = cipher.doFinal(padded);
-
-			final byte[] mac = Arrays.copyOfRange(result, result.length - macSize, result.length);
-			return mac;
-		}
-		catch (final GeneralSecurityException e) {
-			throw new KnxSecureException("calculating CBC-MAC of " + HexFormat.ofDelimiter(" ").formatHex(log), e);
-		}
+		return new SessionCipher(secretKey).cbcMac(data, offset, length, secInfo);
 	}
 
 	static byte[] securityInfo(final byte[] data, final int offset, final int lengthInfo) {
@@ -454,10 +372,4 @@ public final class SecureConnection {
 			array[array.length - 1 - i] = b;
 		}
 	}
-
-	private static long uint48(final ByteBuffer buffer) {
-		long l = (buffer.getShort() & 0xffffL) << 32;
-		l |= buffer.getInt() & 0xffffffffL;
-		return l;
-	}
 }
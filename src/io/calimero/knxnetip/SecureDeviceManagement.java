@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2018, 2024 B. Malinowsky
+    Copyright (c) 2018, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -75,8 +75,7 @@ final class SecureDeviceManagement extends KNXnetIPDevMgmt {
 
 	@Override
 	protected void send(final byte[] packet, final InetSocketAddress dst) throws IOException {
-		final byte[] wrapped = SecureConnection.newSecurePacket(session.id(), session.nextSendSeq(),
-				session.serialNumber(), 0, packet, session.secretKey);
+		final byte[] wrapped = session.wrap(packet);
 		super.send(wrapped, dst);
 	}
 }
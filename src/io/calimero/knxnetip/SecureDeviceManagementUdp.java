@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2018, 2022 B. Malinowsky
+    Copyright (c) 2018, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -43,6 +43,7 @@ import static io.calimero.knxnetip.Net.hostPort;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import io.calimero.KNXException;
 import io.calimero.KNXFormatException;
@@ -78,6 +79,11 @@ final class SecureDeviceManagementUdp extends KNXnetIPDevMgmt {
 		super.send(wrapped, dst);
 	}
 
+	@Override
+	protected void send(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
+		send(toArray(packet), dst);
+	}
+
 	@Override
 	protected boolean handleServiceType(final KNXnetIPHeader h, final byte[] data, final int offset,
 			final InetAddress src, final int port) throws KNXFormatException, IOException {
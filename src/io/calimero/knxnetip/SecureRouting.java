@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2018, 2023 B. Malinowsky
+    Copyright (c) 2018, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -51,7 +51,6 @@ import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
-import java.security.Key;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HexFormat;
@@ -69,6 +68,7 @@ import io.calimero.KNXIllegalArgumentException;
 import io.calimero.SerialNumber;
 import io.calimero.internal.Executor;
 import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import io.calimero.knxnetip.servicetype.PacketHelper;
 import io.calimero.secure.KnxSecureException;
 
 public final class SecureRouting extends KNXnetIPRouting {
@@ -76,7 +76,7 @@ public final class SecureRouting extends KNXnetIPRouting {
 	private static final int SecureGroupSync = 0x0955;
 
 	private final SerialNumber sno;
-	private final Key secretKey;
+	private final SessionCipher cipher;
 
 	private static final double syncLatencyFraction = 0.102d;
 	private final int mcastLatencyTolerance; // [ms]
@@ -114,7 +114,7 @@ public final class SecureRouting extends KNXnetIPRouting {
 		super(mcGroup);
 
 		sno = deriveSerialNumber(netif);
-		secretKey = SecureConnection.createSecretKey(groupKey);
+		cipher = new SessionCipher(SecureConnection.createSecretKey(groupKey));
 		final int latTolMs = (int) latencyTolerance.toMillis();
 		if (latTolMs <= 0 || latTolMs > 8000)
 			throw new KNXIllegalArgumentException(
@@ -162,9 +162,16 @@ public final class SecureRouting extends KNXnetIPRouting {
 
 	@Override
 	protected void send(final byte[] packet, final InetSocketAddress dst) throws IOException {
+		send(ByteBuffer.wrap(packet), dst);
+	}
+
+	@Override
+	protected void send(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
 		final int tag = routingCount.getAndIncrement() % 0x10000;
-		final byte[] wrapped = newSecurePacket(timestamp(), tag, packet);
-		channel().send(ByteBuffer.wrap(wrapped), dst);
+		try (var wrapped = PacketHelper.allocate(SecureConnection.securePacketLength(packet.remaining()), false)) {
+			cipher.wrap(0, timestamp(), sno, tag, packet, wrapped.buffer());
+			super.send(wrapped.buffer(), dst);
+		}
 		scheduleGroupSync(periodicNotifyDelay());
 	}
 
@@ -339,7 +346,7 @@ public final class SecureRouting extends KNXnetIPRouting {
 			// schedule next sync before send to maintain happens-before with sync rcv
 			becomeTimeKeeper();
 			scheduleGroupSync(periodicNotifyDelay());
-			channel().send(ByteBuffer.wrap(sync), dataEndpt);
+			DatagramReactor.send(channel(), ByteBuffer.wrap(sync), dataEndpt);
 		}
 		catch (IOException | RuntimeException e) {
 			if (!channel().isOpen()) {
@@ -364,17 +371,8 @@ public final class SecureRouting extends KNXnetIPRouting {
 		return ThreadLocalRandom.current().nextInt(min, max + 1);
 	}
 
-	private byte[] newSecurePacket(final long seq, final int msgTag, final byte[] knxipPacket) {
-		return SecureConnection.newSecurePacket(0, seq, sno, msgTag, knxipPacket, secretKey);
-	}
-
 	private Object[] unwrap(final KNXnetIPHeader h, final byte[] data, final int offset) throws KNXFormatException {
-		return unwrap(h, data, offset, 0, secretKey);
-	}
-
-	private Object[] unwrap(final KNXnetIPHeader h, final byte[] data, final int offset, final int sessionId,
-			final Key secretKey) throws KNXFormatException {
-		final Object[] fields = SecureConnection.unwrap(h, data, offset, secretKey);
+		final Object[] fields = cipher.unwrap(h, data, offset);
 
 		final int sid = (int) fields[0];
 		if (sid != 0)
@@ -427,22 +425,22 @@ public final class SecureRouting extends KNXnetIPRouting {
 		final ByteBuffer mac = decrypt(buffer, securityInfo(data, offset, 0xff00));
 
 		final byte[] secInfo = securityInfo(buffer.array(), 6, 0);
-		SecureConnection.cbcMacVerify(data, offset - h.getStructLength(), h.getTotalLength() - SecureConnection.macSize,
-				secretKey, secInfo, mac.array());
+		SecureConnection.cbcMacVerify(cipher, data, offset - h.getStructLength(),
+				h.getTotalLength() - SecureConnection.macSize, secInfo, mac.array());
 		logger.log(TRACE, "received group sync timestamp {0} ms (S/N {1}, tag {2})", timestamp, HexFormat.of().formatHex(sn), msgTag);
 		return new Object[] { timestamp, SerialNumber.from(sn), msgTag };
 	}
 
 	private void encrypt(final byte[] data, final int offset, final byte[] secInfo) {
-		SecureConnection.encrypt(data, offset, secretKey, secInfo);
+		cipher.encrypt(data, offset, data.length - offset, secInfo);
 	}
 
 	private ByteBuffer decrypt(final ByteBuffer buffer, final byte[] secInfo) {
-		return SecureConnection.decrypt(buffer, secretKey, secInfo);
+		return SecureConnection.decrypt(buffer, cipher, secInfo);
 	}
 
 	private byte[] cbcMac(final byte[] data, final int offset, final int length, final byte[] secInfo) {
-		return SecureConnection.cbcMac(data, offset, length, secretKey, secInfo);
+		return cipher.cbcMac(data, offset, length, secInfo);
 	}
 
 	private static long uint48(final ByteBuffer buffer) {
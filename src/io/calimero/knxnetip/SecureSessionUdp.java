@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2018, 2024 B. Malinowsky
+    Copyright (c) 2018, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -87,7 +87,7 @@ final class SecureSessionUdp {
 	private final SecureSession session;
 	private final Logger logger;
 
-	private Key secretKey;
+	private SessionCipher cipher;
 	private PrivateKey privateKey;
 	private final byte[] publicKey = new byte[SecureConnection.keyLength];
 
@@ -186,7 +186,7 @@ final class SecureSessionUdp {
 
 		final byte[] sharedSecret = SecureConnection.keyAgreement(privateKey, serverPublicKey);
 		final byte[] sessionKey = SecureConnection.sessionKey(sharedSecret);
-		secretKey = SecureConnection.createSecretKey(sessionKey);
+		cipher = new SessionCipher(SecureConnection.createSecretKey(sessionKey));
 
 		final boolean skipDeviceAuth = Arrays.equals(session.deviceAuthKey().getEncoded(), new byte[16]);
 		if (skipDeviceAuth) {
@@ -248,12 +248,11 @@ final class SecureSessionUdp {
 	}
 
 	byte[] newSecurePacket(final byte[] knxipPacket) {
-		return SecureConnection.newSecurePacket(sessionId, session.nextSendSeq(), session.serialNumber(), 0,
-				knxipPacket, secretKey);
+		return cipher.wrap(sessionId, session.nextSendSeq(), session.serialNumber(), 0, knxipPacket);
 	}
 
 	Object[] unwrap(final KNXnetIPHeader h, final byte[] data, final int offset) throws KNXFormatException {
-		final Object[] fields = SecureConnection.unwrap(h, data, offset, secretKey);
+		final Object[] fields = cipher.unwrap(h, data, offset);
 
 		final int sid = (int) fields[0];
 		if (sid != sessionId)
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2018, 2022 B. Malinowsky
+    Copyright (c) 2018, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -42,6 +42,7 @@ import java.io.IOException;
 import java.lang.System.Logger.Level;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import io.calimero.IndividualAddress;
 import io.calimero.KNXException;
@@ -83,6 +84,11 @@ final class SecureTunnelUdp extends KNXnetIPTunnel {
 		super.send(wrapped, dst);
 	}
 
+	@Override
+	protected void send(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
+		send(toArray(packet), dst);
+	}
+
 	@Override
 	protected boolean handleServiceType(final KNXnetIPHeader h, final byte[] data, final int offset,
 			final InetAddress src, final int port) throws KNXFormatException, IOException {
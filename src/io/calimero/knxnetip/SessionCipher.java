@@ -0,0 +1,313 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static io.calimero.knxnetip.SecureConnection.macSize;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.crypto.Cipher;
+
+import io.calimero.KNXFormatException;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.SerialNumber;
+import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import io.calimero.secure.KnxSecureException;
+
+/**
+ * AES-128 CCM as used by KNX IP Secure, for one key. Authentication uses CBC-MAC, encryption uses counter mode with
+ * the KNX counter increment (only the least significant counter byte is incremented). Both are computed on AES block
+ * encryptions of one ECB cipher.
+ * <p>
+ * Initialized ciphers are pooled and reused, so wrapping or unwrapping a packet neither looks up a cipher provider
+ * nor expands the key. A session cipher is thread-safe; concurrent invocations use separate ciphers of the pool.
+ * Encryption and decryption are done in place in the supplied buffers.
+ */
+final class SessionCipher {
+	private static final int blockSize = 16;
+	// secure wrapper fields preceding the encapsulated packet: session ID, sequence, serial number, message tag
+	private static final int wrapperFields = 2 + 6 + 6 + 2;
+
+	private final Key key;
+	private final Queue<Engine> engines = new ConcurrentLinkedQueue<>();
+
+	// ECB cipher with scratch blocks, confined to one thread while acquired
+	private static final class Engine {
+		final Cipher ecb;
+		final byte[] secInfo = new byte[blockSize];
+		final byte[] counter = new byte[blockSize];
+		final byte[] keystream = new byte[blockSize];
+		final byte[] mac = new byte[blockSize];
+		int macBytes;
+
+		Engine(final Key key) throws GeneralSecurityException {
+			ecb = Cipher.getInstance("AES/ECB/NoPadding");
+			ecb.init(Cipher.ENCRYPT_MODE, key);
+		}
+
+		void encryptBlock(final byte[] block) {
+			try {
+				ecb.update(block, 0, blockSize, block, 0);
+			}
+			catch (final GeneralSecurityException e) {
+				throw new KnxSecureException("AES block encryption", e);
+			}
+		}
+
+		void macInit() {
+			Arrays.fill(mac, (byte) 0);
+			macBytes = 0;
+		}
+
+		void macUpdate(final byte[] data, final int offset, final int length) {
+			for (int i = offset; i < offset + length; i++) {
+				mac[macBytes++] ^= data[i];
+				if (macBytes == blockSize) {
+					encryptBlock(mac);
+					macBytes = 0;
+				}
+			}
+		}
+
+		// pads the last block with zeros
+		byte[] macFinal() {
+			if (macBytes > 0) {
+				encryptBlock(mac);
+				macBytes = 0;
+			}
+			return mac;
+		}
+	}
+
+	SessionCipher(final Key key) {
+		this.key = key;
+		// fail early on unsupported key
+		release(acquire());
+	}
+
+	/**
+	 * Writes the secure wrapper for the remaining bytes of {@code knxipPacket} into {@code out}, which is required to
+	 * be a buffer with accessible array, array offset 0, and position 0.
+	 *
+	 * @return {@code out}, flipped for reading
+	 */
+	ByteBuffer wrap(final long sessionId, final long seq, final SerialNumber sno, final int msgTag,
+			final ByteBuffer knxipPacket, final ByteBuffer out) {
+		if (seq < 0 || seq > 0xffff_ffff_ffffL)
+			throw new KNXIllegalArgumentException(
+					"sequence / group counter " + seq + " out of range [0..0xffffffffffff]");
+		if (msgTag < 0 || msgTag > 0xffff)
+			throw new KNXIllegalArgumentException("message tag " + msgTag + " out of range [0..0xffff]");
+
+		final int packetLength = knxipPacket.remaining();
+		final int svcLength = wrapperFields + packetLength + macSize;
+		final KNXnetIPHeader header = new KNXnetIPHeader(KNXnetIPHeader.SecureWrapper, svcLength);
+		final int hdrLength = header.getStructLength();
+
+		final byte[] data = out.array();
+		out.put(header.toByteArray());
+		out.putShort((short) sessionId);
+		out.putShort((short) (seq >> 32));
+		out.putInt((int) seq);
+		out.put(sno.array());
+		out.putShort((short) msgTag);
+		out.put(knxipPacket);
+
+		final var engine = acquire();
+		try {
+			securityInfo(engine, data, hdrLength + 2, packetLength);
+			out.put(cbcMac(engine, data, 0, out.position()), 0, macSize);
+			final int encrypted = hdrLength + wrapperFields;
+			securityInfo(engine, data, 8, 0xff00);
+			ctr(engine, data, encrypted, out.position() - encrypted);
+		}
+		finally {
+			release(engine);
+		}
+		return out.flip();
+	}
+
+	byte[] wrap(final long sessionId, final long seq, final SerialNumber sno, final int msgTag,
+			final byte[] knxipPacket) {
+		final ByteBuffer buffer = ByteBuffer.allocate(SecureConnection.securePacketLength(knxipPacket.length));
+		wrap(sessionId, seq, sno, msgTag, ByteBuffer.wrap(knxipPacket), buffer);
+		return buffer.array();
+	}
+
+	/**
+	 * Unwraps the secure wrapper contained in {@code data}; the encapsulated packet and MAC are decrypted in place.
+	 *
+	 * @return session ID, sequence, serial number, message tag, and a copy of the encapsulated KNXnet/IP packet
+	 */
+	Object[] unwrap(final KNXnetIPHeader h, final byte[] data, final int offset) throws KNXFormatException {
+		if ((h.getServiceType() & SecureConnection.SecureSvc) != SecureConnection.SecureSvc)
+			throw new KNXIllegalArgumentException("not a secure service type");
+
+		final int total = h.getTotalLength();
+		final int hdrLength = h.getStructLength();
+		final int minLength = hdrLength + wrapperFields + hdrLength + macSize;
+		if (total < minLength)
+			throw new KNXFormatException("secure packet length < required minimum length " + minLength, total);
+
+		final ByteBuffer buffer = ByteBuffer.wrap(data, offset, total - hdrLength);
+		final int sid = buffer.getShort() & 0xffff;
+		final long seq = uint48(buffer);
+		final var sno = SerialNumber.of(uint48(buffer));
+		final int tag = buffer.getShort() & 0xffff;
+
+		final int encrypted = offset + wrapperFields;
+		final int packetLength = total - hdrLength - wrapperFields - macSize;
+		final int frameStart = offset - hdrLength;
+		final var engine = acquire();
+		try {
+			securityInfo(engine, data, offset + 2, 0xff00);
+			ctr(engine, data, encrypted, packetLength + macSize);
+
+			securityInfo(engine, data, offset + 2, packetLength);
+			final byte[] mac = cbcMac(engine, data, frameStart, total - macSize);
+			final byte[] received = Arrays.copyOfRange(data, encrypted + packetLength, encrypted + packetLength + macSize);
+			if (!MessageDigest.isEqual(mac, received)) {
+				final String packet = HexFormat.ofDelimiter(" ").formatHex(data, frameStart, frameStart + total - macSize);
+				throw new KnxSecureException("authentication failed for " + packet);
+			}
+		}
+		finally {
+			release(engine);
+		}
+		final byte[] knxipPacket = Arrays.copyOfRange(data, encrypted, encrypted + packetLength);
+		return new Object[] { sid, seq, sno, tag, knxipPacket };
+	}
+
+	/**
+	 * Encrypts or decrypts {@code length} bytes of {@code data} in place, using counter mode initialized with
+	 * {@code secInfo}. The last 16 bytes are treated as MAC and use the first counter block.
+	 */
+	void encrypt(final byte[] data, final int offset, final int length, final byte[] secInfo) {
+		final var engine = acquire();
+		try {
+			System.arraycopy(secInfo, 0, engine.secInfo, 0, blockSize);
+			ctr(engine, data, offset, length);
+		}
+		finally {
+			release(engine);
+		}
+	}
+
+	byte[] cbcMac(final byte[] data, final int offset, final int length, final byte[] secInfo) {
+		final var engine = acquire();
+		try {
+			System.arraycopy(secInfo, 0, engine.secInfo, 0, blockSize);
+			return cbcMac(engine, data, offset, length).clone();
+		}
+		finally {
+			release(engine);
+		}
+	}
+
+	private Engine acquire() {
+		final var engine = engines.poll();
+		if (engine != null)
+			return engine;
+		try {
+			return new Engine(key);
+		}
+		catch (final GeneralSecurityException e) {
+			throw new KnxSecureException("initializing AES cipher", e);
+		}
+	}
+
+	private void release(final Engine engine) { engines.offer(engine); }
+
+	// MAC input: security info | length of associated data | header | session ID | encapsulated packet
+	private static byte[] cbcMac(final Engine engine, final byte[] data, final int offset, final int length) {
+		final int hdrLength = 6;
+		final int packetOffset = hdrLength + wrapperFields;
+		final int sessionLength = length > packetOffset ? 2 : 0;
+
+		engine.macInit();
+		engine.macUpdate(engine.secInfo, 0, blockSize);
+		final byte[] lengthInfo = { 0, (byte) (hdrLength + sessionLength) };
+		engine.macUpdate(lengthInfo, 0, 2);
+		engine.macUpdate(data, offset, hdrLength);
+		engine.macUpdate(data, offset + hdrLength, sessionLength);
+		if (length > packetOffset)
+			engine.macUpdate(data, offset + packetOffset, length - packetOffset);
+		return engine.macFinal();
+	}
+
+	private static void ctr(final Engine engine, final byte[] data, final int offset, final int length) {
+		System.arraycopy(engine.secInfo, 0, engine.counter, 0, blockSize);
+		// the first counter block is used for the MAC, which is located after the payload
+		final int payload = Math.max(0, length - macSize);
+		nextKeystreamBlock(engine);
+		xor(data, offset + payload, length - payload, engine.keystream);
+		for (int i = 0; i < payload; i += blockSize) {
+			nextKeystreamBlock(engine);
+			xor(data, offset + i, Math.min(blockSize, payload - i), engine.keystream);
+		}
+	}
+
+	private static void nextKeystreamBlock(final Engine engine) {
+		System.arraycopy(engine.counter, 0, engine.keystream, 0, blockSize);
+		engine.encryptBlock(engine.keystream);
+		++engine.counter[15];
+	}
+
+	private static void xor(final byte[] data, final int offset, final int length, final byte[] keystream) {
+		for (int i = 0; i < length; i++)
+			data[offset + i] ^= keystream[i];
+	}
+
+	private static void securityInfo(final Engine engine, final byte[] data, final int offset, final int lengthInfo) {
+		System.arraycopy(data, offset, engine.secInfo, 0, blockSize);
+		engine.secInfo[14] = (byte) (lengthInfo >> 8);
+		engine.secInfo[15] = (byte) lengthInfo;
+	}
+
+	private static long uint48(final ByteBuffer buffer) {
+		long l = (buffer.getShort() & 0xffffL) << 32;
+		l |= buffer.getInt() & 0xffffffffL;
+		return l;
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2019, 2024 B. Malinowsky
+    Copyright (c) 2019, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -66,11 +66,11 @@ import java.util.Collections;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -84,6 +84,7 @@ import io.calimero.KNXIllegalArgumentException;
 import io.calimero.KNXTimeoutException;
 import io.calimero.SerialNumber;
 import io.calimero.internal.Executor;
+import io.calimero.internal.TimerWheel;
 import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
 import io.calimero.knxnetip.servicetype.PacketHelper;
 import io.calimero.knxnetip.util.HPAI;
@@ -109,8 +110,15 @@ public sealed abstract class StreamConnection implements Closeable
 	private final List<ClientConnection> ongoingConnectRequests = Collections.synchronizedList(new ArrayList<>());
 
 	private final Lock sessionRequestLock = new ReentrantLock();
+	// guards connect, we don't use a monitor to not pin the carrier of a virtual thread during blocking connect
+	final Lock connectLock = new ReentrantLock();
 	private volatile SecureSession inSessionRequestStage;
 
+	private static final int HeaderSize = 6;
+	private static final int InitialRcvBufferSize = 512;
+	// frames exceeding this size are skipped
+	private static final int MaxFrameSize = 0x2000;
+
 
 
 	/**
@@ -163,19 +171,22 @@ public sealed abstract class StreamConnection implements Closeable
 		private int sessionId;
 		private volatile SessionState sessionState = SessionState.Idle;
 		private volatile int sessionStatus = Setup;
-		Key secretKey;
+		private SessionCipher cipher;
 
 		private final AtomicLong sendSeq = new AtomicLong();
 		private final AtomicLong rcvSeq = new AtomicLong();
 
-		// assign dummy to have it initialized
-		private Future<?> keepAliveFuture = CompletableFuture.completedFuture(Void.TYPE);
+		private volatile TimerWheel.Timeout keepAlive;
 
 		// communication channel ID -> secured connection
 		final Map<Integer, ClientConnection> securedConnections = new ConcurrentHashMap<>();
 		// we expect fifo processing by the server with multiple ongoing connect requests
 		private final List<ClientConnection> ongoingConnectRequests = Collections.synchronizedList(new ArrayList<>());
 
+		// a lock instead of a monitor, to not pin the carrier if waiting on a virtual thread
+		private final ReentrantLock statusLock = new ReentrantLock();
+		private final Condition statusChanged = statusLock.newCondition();
+
 		private final Logger logger;
 
 
@@ -220,7 +231,9 @@ public sealed abstract class StreamConnection implements Closeable
 				return;
 
 			sessionState = SessionState.Idle;
-			keepAliveFuture.cancel(false);
+			final var ka = keepAlive;
+			if (ka != null)
+				ka.cancel();
 			securedConnections.values().forEach(c -> c.close(initiator, reason, Level.DEBUG, null));
 			securedConnections.clear();
 			conn.sessions.remove(sessionId);
@@ -302,9 +315,9 @@ public sealed abstract class StreamConnection implements Closeable
 				if (sessionState == SessionState.Idle)
 					throw new KNXTimeoutException("timeout establishing secure session with " + socketName);
 
-				final var delay = keepAliveInvterval.toMillis();
-				keepAliveFuture = Executor.scheduledExecutor().scheduleWithFixedDelay(this::sendKeepAlive, delay, delay,
-						TimeUnit.MILLISECONDS);
+				// jitter the phase, so that keep-alives of sessions established together don't synchronize
+				final long phase = ThreadLocalRandom.current().nextLong(keepAliveInvterval.toMillis() / 4);
+				keepAlive = TimerWheel.shared().schedule(this::sendKeepAlive, keepAliveInvterval.minusMillis(phase));
 			}
 			catch (final GeneralSecurityException e) {
 				throw new KnxSecureException("error creating key pair for " + socketName, e);
@@ -337,20 +350,34 @@ public sealed abstract class StreamConnection implements Closeable
 			long end = System.nanoTime() / 1_000_000 + sessionSetupTimeout;
 			long remaining = sessionSetupTimeout;
 			boolean inAuth = false;
-			while (remaining > 0 && sessionState != SessionState.Authenticated && sessionStatus == Setup) {
-				synchronized (this) {
-					wait(remaining);
-				}
-				remaining = end - System.nanoTime() / 1_000_000;
-				if (sessionState == SessionState.Unauthenticated && !inAuth) {
-					inAuth = true;
-					end = end - remaining + sessionSetupTimeout;
+			statusLock.lock();
+			try {
+				while (remaining > 0 && sessionState != SessionState.Authenticated && sessionStatus == Setup) {
+					statusChanged.await(remaining, TimeUnit.MILLISECONDS);
+					remaining = end - System.nanoTime() / 1_000_000;
+					if (sessionState == SessionState.Unauthenticated && !inAuth) {
+						inAuth = true;
+						end = end - remaining + sessionSetupTimeout;
+					}
 				}
 			}
+			finally {
+				statusLock.unlock();
+			}
 			if (remaining <= 0)
 				throw new KNXTimeoutException("timeout establishing secure session with " + socketName(conn.server));
 		}
 
+		private void signalStatusChanged() {
+			statusLock.lock();
+			try {
+				statusChanged.signalAll();
+			}
+			finally {
+				statusLock.unlock();
+			}
+		}
+
 		boolean acceptServiceType(final KNXnetIPHeader h, final byte[] data, final int offset, final int length)
 				throws KNXFormatException {
 			final int svc = h.getServiceType();
@@ -378,9 +405,7 @@ public sealed abstract class StreamConnection implements Closeable
 					sessionStatus = AuthFailed;
 					logger.log(ERROR, "negotiating session key failed", e);
 				}
-				synchronized (this) {
-					notifyAll();
-				}
+				signalStatusChanged();
 			}
 			else if (svc == SecureWrapper) {
 				final byte[] packet = unwrap(h, data, offset);
@@ -396,9 +421,7 @@ public sealed abstract class StreamConnection implements Closeable
 
 						logger.log(sessionStatus == AuthSuccess ? DEBUG : ERROR, "{0} {1}",
 								SecureConnection.statusMsg(sessionStatus), this);
-						synchronized (this) {
-							notifyAll();
-						}
+						signalStatusChanged();
 					}
 					else if (sessionStatus == Timeout || sessionStatus == Unauthenticated) {
 						logger.log(ERROR, "{0} {1}", SecureConnection.statusMsg(sessionStatus), this);
@@ -456,9 +479,15 @@ public sealed abstract class StreamConnection implements Closeable
 		}
 
 		private void sendKeepAlive() {
+			if (sessionState == SessionState.Idle)
+				return;
 			try {
 				logger.log(TRACE, "sending keep-alive");
 				conn.send(newStatusInfo(sessionId, nextSendSeq(), KeepAlive));
+				keepAlive = TimerWheel.shared().schedule(this::sendKeepAlive, keepAliveInvterval);
+				// session might have been closed concurrently
+				if (sessionState == SessionState.Idle)
+					keepAlive.cancel();
 			}
 			catch (final IOException e) {
 				if (sessionState == SessionState.Authenticated && !conn.streamClosed()) {
@@ -473,12 +502,12 @@ public sealed abstract class StreamConnection implements Closeable
 			return conn.socketName(addr);
 		}
 
-		private byte[] wrap(final byte[] plainPacket) {
-			return SecureConnection.newSecurePacket(sessionId, nextSendSeq(), sno, 0, plainPacket, secretKey);
+		byte[] wrap(final byte[] plainPacket) {
+			return cipher.wrap(sessionId, nextSendSeq(), sno, 0, plainPacket);
 		}
 
 		private byte[] unwrap(final KNXnetIPHeader h, final byte[] data, final int offset) throws KNXFormatException {
-			final Object[] fields = SecureConnection.unwrap(h, data, offset, secretKey);
+			final Object[] fields = cipher.unwrap(h, data, offset);
 
 			final int sid = (int) fields[0];
 			if (sid != sessionId)
@@ -518,7 +547,7 @@ public sealed abstract class StreamConnection implements Closeable
 			final byte[] sharedSecret = SecureConnection.keyAgreement(privateKey, serverPublicKey);
 			final byte[] sessionKey = SecureConnection.sessionKey(sharedSecret);
 			synchronized (this) {
-				secretKey = SecureConnection.createSecretKey(sessionKey);
+				cipher = new SessionCipher(SecureConnection.createSecretKey(sessionKey));
 			}
 
 			conn.sessions.put(sessionId, this);
@@ -578,7 +607,7 @@ public sealed abstract class StreamConnection implements Closeable
 			packet.put(new KNXnetIPHeader(SecureSessionStatus, 2).toByteArray());
 			packet.put((byte) status);
 			final int msgTag = 0;
-			return SecureConnection.newSecurePacket(sessionId, seq, sno, msgTag, packet.array(), secretKey);
+			return cipher.wrap(sessionId, seq, sno, msgTag, packet.array());
 		}
 
 		private byte[] cbcMacSimple(final Key secretKey, final byte[] data, final int offset, final int length) {
@@ -678,52 +707,56 @@ public sealed abstract class StreamConnection implements Closeable
 	abstract String socketName(SocketAddress addr);
 
 	void runReceiveLoop() {
-		final int rcvBufferSize = 512;
-		final byte[] data = new byte[rcvBufferSize];
-		int offset = 0;
+		// contains received data in [0, position)
+		ByteBuffer buffer = ByteBuffer.allocate(InitialRcvBufferSize);
+		// remaining bytes to discard of a frame exceeding the max. frame size
+		int skip = 0;
 
 		int initiator = CloseEvent.USER_REQUEST;
 		String reason = "user request";
 		try {
 			while (!streamClosed()) {
-				if (offset >= 6) {
-					try {
-						final var header = new KNXnetIPHeader(data, 0);
-						if (header.getTotalLength() <= offset) {
-							final int length = header.getTotalLength() - header.getStructLength();
-							final int leftover = offset - header.getTotalLength();
-							offset = leftover;
-
-							if (header.isSecure())
-								dispatchToSession(header, data, header.getStructLength(), length);
-							else
-								dispatchToConnection(header, data, header.getStructLength());
-
-							if (leftover > 0) {
-								System.arraycopy(data, header.getTotalLength(), data, 0, leftover);
-								continue;
-							}
-						}
-						// skip bodies which do not fit into rcv buffer
-						else if (header.getTotalLength() > rcvBufferSize) {
-							int skip = header.getTotalLength() - offset;
-							while (skip-- > 0 && read(new byte[1], 0) != -1);
-							offset = 0;
-						}
-					}
-					catch (KNXFormatException | KnxSecureException e) {
-						logger.log(WARNING, "received invalid frame", e);
-						offset = 0;
-					}
-				}
-
-				final int read = read(data, offset);
+				final int read = read(buffer);
 				if (read == -1) {
 					initiator = CloseEvent.SERVER_REQUEST;
 					reason = "server request";
 					return;
 				}
-				offset += read;
+
+				buffer.flip();
+				if (skip > 0) {
+					final int skipped = Math.min(skip, buffer.remaining());
+					buffer.position(buffer.position() + skipped);
+					skip -= skipped;
+				}
+				// dispatch all complete frames directly from the receive buffer
+				while (buffer.remaining() >= HeaderSize) {
+					final int start = buffer.position();
+					final int totalLength = buffer.getShort(start + 4) & 0xffff;
+					if (buffer.remaining() < totalLength) {
+						if (totalLength > MaxFrameSize) {
+							logger.log(WARNING, "skip frame with length {0} exceeding max. frame size", totalLength);
+							skip = totalLength - buffer.remaining();
+							buffer.position(buffer.limit());
+						}
+						break;
+					}
+					if (!dispatch(buffer.array(), start))
+						buffer.position(buffer.limit());
+					else
+						buffer.position(start + totalLength);
+				}
+
+				// keep partial frame, and grow buffer if the frame will not fit
+				if (buffer.remaining() >= HeaderSize) {
+					final int totalLength = buffer.getShort(buffer.position() + 4) & 0xffff;
+					if (totalLength > buffer.capacity()) {
+						final int capacity = Math.min(MaxFrameSize, Integer.highestOneBit(totalLength - 1) << 1);
+						buffer = ByteBuffer.allocate(capacity).put(buffer);
+						continue;
+					}
+				}
+				buffer.compact();
 			}
 		}
 		catch (final InterruptedIOException e) {
@@ -741,7 +774,38 @@ public sealed abstract class StreamConnection implements Closeable
 		}
 	}
 
-	abstract int read(byte[] data, int offset) throws IOException;
+	// returns false if the frame header is invalid, i.e., the stream has to be resynchronized
+	private boolean dispatch(final byte[] data, final int offset) throws IOException {
+		final KNXnetIPHeader header;
+		try {
+			header = KNXnetIPHeader.from(data, offset);
+		}
+		catch (final KNXFormatException e) {
+			logger.log(WARNING, "received invalid frame", e);
+			return false;
+		}
+		try {
+			final int bodyOffset = offset + header.getStructLength();
+			final int length = header.getTotalLength() - header.getStructLength();
+			if (header.isSecure())
+				dispatchToSession(header, data, bodyOffset, length);
+			else
+				dispatchToConnection(header, data, bodyOffset);
+		}
+		catch (KNXFormatException | KnxSecureException e) {
+			logger.log(WARNING, "received invalid frame", e);
+		}
+		return true;
+	}
+
+	/**
+	 * Reads available data from the stream into {@code buffer}, blocking until at least one byte is available.
+	 *
+	 * @param buffer receive buffer
+	 * @return number of bytes read, or -1 on end-of-stream
+	 * @throws IOException on I/O error
+	 */
+	abstract int read(ByteBuffer buffer) throws IOException;
 
 	private void dispatchToSession(final KNXnetIPHeader header, final byte[] data, final int offset, final int length)
 			throws KNXFormatException {
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2019, 2024 B. Malinowsky
+    Copyright (c) 2019, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -42,9 +42,12 @@ import java.net.NetworkInterface;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.time.Duration;
 import java.util.Arrays;
 
+import io.calimero.CloseEvent;
 import io.calimero.KNXException;
 import io.calimero.KnxRuntimeException;
 import io.calimero.SerialNumber;
@@ -56,11 +59,15 @@ public final class TcpConnection extends StreamConnection {
 
 	// pseudo connection, so we can still run with udp
 	static final TcpConnection Udp = new TcpConnection(new InetSocketAddress(0));
+	static {
+		// pseudo connection is never connected, release the channel
+		Udp.close(CloseEvent.INTERNAL, "UDP");
+	}
 
 	private static final Duration connectionTimeout = Duration.ofMillis(5000);
 
 	private volatile InetSocketAddress localEndpoint;
-	private final Socket socket;
+	private final SocketChannel channel;
 
 
 	/**
@@ -86,7 +93,12 @@ public final class TcpConnection extends StreamConnection {
 
 	private TcpConnection(final InetSocketAddress server) {
 		super(server);
-		socket = new Socket();
+		try {
+			channel = SocketChannel.open();
+		}
+		catch (final IOException e) {
+			throw new KnxRuntimeException("opening socket channel", e);
+		}
 		localEndpoint = new InetSocketAddress(0);
 	}
 
@@ -95,9 +107,9 @@ public final class TcpConnection extends StreamConnection {
 		InetSocketAddress bind = null;
 		try {
 			bind = Net.matchRemoteEndpoint(local, server, false);
-			socket.bind(bind);
+			channel.bind(bind);
 			// socket returns any-local after socket is closed, so keep actual address after bind
-			localEndpoint = (InetSocketAddress) socket.getLocalSocketAddress();
+			localEndpoint = (InetSocketAddress) channel.getLocalAddress();
 		}
 		catch (final KNXException e) {
 			throw new KnxRuntimeException("no local host address available", e.getCause());
@@ -145,10 +157,11 @@ public final class TcpConnection extends StreamConnection {
 
 	InetSocketAddress localEndpoint() { return localEndpoint; }
 
-	Socket socket() { return socket; }
+	Socket socket() { return channel.socket(); }
 
 	@Override
 	public String toString() {
+		final var socket = channel.socket();
 		final var state = socket.isClosed() ? "closed"
 				: socket.isConnected() ? "connected" : socket.isBound() ? "bound" : "unbound";
 		return socketName(localEndpoint) + "<=>" + socketName(server()) + " (" + state +")";
@@ -160,17 +173,24 @@ public final class TcpConnection extends StreamConnection {
 	}
 
 	void send(final byte[] data) throws IOException {
-		final var os = socket.getOutputStream();
-		os.write(data);
-		os.flush();
+		final var buffer = ByteBuffer.wrap(data);
+		while (buffer.hasRemaining())
+			channel.write(buffer);
 	}
 
 	@Override
-	public synchronized void connect() throws IOException {
-		if (!socket.isConnected()) {
-			socket.connect(server(), (int) connectionTimeout.toMillis());
-			localEndpoint = (InetSocketAddress) socket.getLocalSocketAddress();
-			startReceiver();
+	public void connect() throws IOException {
+		connectLock.lock();
+		try {
+			if (!channel.isConnected()) {
+				// use socket adapter for connect timeout
+				channel.socket().connect(server(), (int) connectionTimeout.toMillis());
+				localEndpoint = (InetSocketAddress) channel.getLocalAddress();
+				startReceiver();
+			}
+		}
+		finally {
+			connectLock.unlock();
 		}
 	}
 
@@ -179,8 +199,8 @@ public final class TcpConnection extends StreamConnection {
 
 	@Override
 	public boolean isConnected() {
-		final var connected = socket.isConnected();
-		if (socket.isClosed())
+		final var connected = channel.isConnected();
+		if (!channel.isOpen())
 			return false;
 		return connected;
 	}
@@ -189,18 +209,18 @@ public final class TcpConnection extends StreamConnection {
 	void close(final int initiator, final String reason) {
 		super.close(initiator, reason);
 		try {
-			socket.close();
+			channel.close();
 		}
 		catch (final IOException ignore) {}
 	}
 
 	@Override
 	boolean streamClosed() {
-		return socket.isClosed();
+		return !channel.isOpen();
 	}
 
 	@Override
-	int read(final byte[] data, final int offset) throws IOException {
-		return socket.getInputStream().read(data, offset, data.length - offset);
+	int read(final ByteBuffer buffer) throws IOException {
+		return channel.read(buffer);
 	}
 }
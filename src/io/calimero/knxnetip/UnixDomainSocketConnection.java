@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2024, 2024 B. Malinowsky
+    Copyright (c) 2024, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -62,11 +62,17 @@ public final class UnixDomainSocketConnection extends StreamConnection {
 	}
 
 	@Override
-	public synchronized void connect() throws IOException {
-		if (isConnected())
-			return;
-		channel.connect(server());
-		startReceiver();
+	public void connect() throws IOException {
+		connectLock.lock();
+		try {
+			if (isConnected())
+				return;
+			channel.connect(server());
+			startReceiver();
+		}
+		finally {
+			connectLock.unlock();
+		}
 	}
 
 	@Override
@@ -103,7 +109,5 @@ public final class UnixDomainSocketConnection extends StreamConnection {
 	boolean streamClosed() { return !channel.isOpen(); }
 
 	@Override
-	int read(final byte[] data, final int offset) throws IOException {
-		return channel.read(ByteBuffer.wrap(data, offset, data.length - offset));
-	}
+	int read(final ByteBuffer buffer) throws IOException { return channel.read(buffer); }
 }
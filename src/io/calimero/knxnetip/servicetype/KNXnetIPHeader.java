@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -37,7 +37,6 @@
 package io.calimero.knxnetip.servicetype;
 
 import java.io.ByteArrayOutputStream;
-import java.nio.ByteBuffer;
 
 import io.calimero.KNXFormatException;
 import io.calimero.KNXIllegalArgumentException;
@@ -197,17 +196,16 @@ public class KNXnetIPHeader
 
 
 	public static KNXnetIPHeader from(final byte[] frame, final int offset) throws KNXFormatException {
-		final var buf = ByteBuffer.wrap(frame, offset, frame.length);
-		if (buf.remaining() < HEADER_SIZE_10)
+		if (frame.length - offset < HEADER_SIZE_10)
 			throw new KNXFormatException("buffer too short for KNXnet/IP header");
 
-		final int headersize = buf.get() & 0xFF;
+		final int headersize = frame[offset] & 0xFF;
 		if (headersize != HEADER_SIZE_10)
 			throw new KNXFormatException("unsupported header size, expected " + HEADER_SIZE_10, headersize);
 
-		final int version = buf.get() & 0xFF;
-		final int service = buf.getShort() & 0xffff;
-		final int totalsize = buf.getShort() & 0xffff;
+		final int version = frame[offset + 1] & 0xFF;
+		final int service = (frame[offset + 2] & 0xff) << 8 | frame[offset + 3] & 0xff;
+		final int totalsize = (frame[offset + 4] & 0xff) << 8 | frame[offset + 5] & 0xff;
 		return new KNXnetIPHeader(service, version, totalsize - HEADER_SIZE_10);
 	}
 
@@ -391,7 +389,7 @@ public class KNXnetIPHeader
 		};
 	}
 
-	private static int version(final int serviceType) {
+	static int version(final int serviceType) {
 		return serviceType == ObjectServerRequest || serviceType == ObjectServerAck ? 0x20 : KNXNETIP_VERSION_10;
 	}
 }
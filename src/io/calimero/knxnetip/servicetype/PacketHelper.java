@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2023 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -36,11 +36,18 @@
 
 package io.calimero.knxnetip.servicetype;
 
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.calimero.KNXIllegalArgumentException;
+import io.calimero.cemi.CEMI;
+import io.calimero.internal.RingBuffer;
 import io.calimero.knxnetip.util.HPAI;
+import io.calimero.log.LogService;
 
 /**
  * Little helpers to handle KNXnet/IP packets and service types.
@@ -49,6 +56,107 @@ import io.calimero.knxnetip.util.HPAI;
  */
 public final class PacketHelper
 {
+	/**
+	 * Packet buffer, either taken from a pool of reusable buffers or allocated for a single packet. A packet buffer is
+	 * reference counted and returned to its pool when the last reference got released; it must not be accessed
+	 * afterwards.
+	 */
+	public static final class PacketBuffer implements AutoCloseable {
+		private final ByteBuffer buffer;
+		private final RingBuffer<PacketBuffer> pool;
+		private final AtomicInteger refCount = new AtomicInteger();
+
+		private PacketBuffer(final ByteBuffer buffer, final RingBuffer<PacketBuffer> pool) {
+			this.buffer = buffer;
+			this.pool = pool;
+		}
+
+		/**
+		 * Returns the byte buffer of this packet. For a packet created by one of the {@code PacketHelper} methods, the
+		 * buffer is rewound to the start of the packet and its limit is the packet end; the same buffer instance is
+		 * returned on every call.
+		 *
+		 * @return byte buffer
+		 */
+		public ByteBuffer buffer() { return buffer.rewind(); }
+
+		/**
+		 * {@return the packet length, i.e., the limit of the packet buffer}
+		 */
+		public int length() { return buffer.limit(); }
+
+		/**
+		 * {@return a copy of the packet data}
+		 */
+		public byte[] toByteArray() {
+			final byte[] packet = new byte[buffer.limit()];
+			buffer.get(0, packet);
+			return packet;
+		}
+
+		/**
+		 * Acquires another reference to this packet buffer, which has to be released separately.
+		 *
+		 * @return this packet buffer
+		 */
+		public PacketBuffer retain() {
+			int refs;
+			do {
+				refs = refCount.get();
+				if (refs == 0)
+					throw new IllegalStateException("packet buffer already released");
+			}
+			while (!refCount.compareAndSet(refs, refs + 1));
+			return this;
+		}
+
+		/**
+		 * Releases a reference to this packet buffer; releasing the last reference returns the buffer to its pool.
+		 */
+		public void release() {
+			int refs;
+			do {
+				refs = refCount.get();
+				if (refs == 0)
+					throw new IllegalStateException("packet buffer already released");
+			}
+			while (!refCount.compareAndSet(refs, refs - 1));
+			if (refs == 1 && pool != null)
+				pool.offer(this);
+		}
+
+		/**
+		 * Same as {@link #release()}.
+		 */
+		@Override
+		public void close() { release(); }
+	}
+
+	private static final int HeaderSize = 6;
+	private static final int ConnHeaderSize = 4;
+
+	// fits any (extended) cEMI frame with KNXnet/IP headers and KNX IP Secure wrapper
+	private static final int PooledBufferSize = 512;
+	private static final int PoolCapacity = 64;
+	private static final RingBuffer<PacketBuffer> heapPool = new RingBuffer<>(PoolCapacity);
+	private static final RingBuffer<PacketBuffer> directPool = new RingBuffer<>(PoolCapacity);
+
+	private static final boolean directBuffers;
+	static {
+		final String key = "io.calimero.knxnetip.directBuffers";
+		boolean direct = false;
+		try {
+			final String prop = System.getProperty(key);
+			direct = (prop != null && prop.isEmpty()) || Boolean.parseBoolean(prop);
+			if (direct)
+				LogService.getLogger("io.calimero.knxnetip").log(INFO, "using {0}", key);
+		}
+		catch (final RuntimeException e) {
+			LogService.getLogger("io.calimero.knxnetip").log(WARNING, "on checking property " + key, e);
+		}
+		directBuffers = direct;
+	}
+
 	private PacketHelper() {}
 
 	/**
@@ -74,6 +182,109 @@ public final class PacketHelper
 		return type.toByteArray(os);
 	}
 
+	/**
+	 * Creates a KNXnet/IP service request packet, e.g., a tunneling request, containing the specified cEMI frame; the
+	 * packet is written directly into a pooled packet buffer. This method is equivalent to
+	 * {@code toPacket(new ServiceRequest<>(serviceType, channelId, seq, frame))}.
+	 *
+	 * @param serviceType service request type identifier, 0 &lt;= type &lt;= 0xFFFF
+	 * @param channelId channel ID of communication this request belongs to, 0 &lt;= id &lt;= 255
+	 * @param seq the sending sequence number of the communication channel, 0 &lt;= number &lt;= 255
+	 * @param frame cEMI frame carried with the request
+	 * @return packet buffer, release it after use
+	 */
+	public static PacketBuffer serviceRequest(final int serviceType, final int channelId, final int seq,
+			final CEMI frame) {
+		if (serviceType < 0 || serviceType > 0xffff)
+			throw new KNXIllegalArgumentException("service request out of range [0..0xffff]");
+		if (channelId < 0 || channelId > 0xff)
+			throw new KNXIllegalArgumentException("channel ID out of range [0..0xff]");
+		if (seq < 0 || seq > 0xff)
+			throw new KNXIllegalArgumentException("sequence number out of range [0..0xff]");
+
+		final int svcLength = ConnHeaderSize + frame.getStructLength();
+		final PacketBuffer packet = allocate(HeaderSize + svcLength);
+		try {
+			final ByteBuffer buffer = packet.buffer;
+			putHeader(buffer, serviceType, svcLength);
+			buffer.put((byte) ConnHeaderSize).put((byte) channelId).put((byte) seq).put((byte) 0);
+			frame.writeTo(buffer);
+			buffer.flip();
+			return packet;
+		}
+		catch (final RuntimeException e) {
+			packet.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates a KNXnet/IP routing indication packet containing the specified cEMI frame; the packet is written directly
+	 * into a pooled packet buffer. This method is equivalent to {@code toPacket(new RoutingIndication(frame))}.
+	 *
+	 * @param frame cEMI frame to be routed
+	 * @return packet buffer, release it after use
+	 */
+	public static PacketBuffer routingIndication(final CEMI frame) {
+		final int svcLength = frame.getStructLength();
+		final PacketBuffer packet = allocate(HeaderSize + svcLength);
+		try {
+			final ByteBuffer buffer = packet.buffer;
+			putHeader(buffer, KNXnetIPHeader.ROUTING_IND, svcLength);
+			frame.writeTo(buffer);
+			buffer.flip();
+			return packet;
+		}
+		catch (final RuntimeException e) {
+			packet.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns a packet buffer with at least {@code capacity} bytes, ready for writing; the buffer limit is set to
+	 * {@code capacity}. Small buffers are taken from a pool, which uses direct byte buffers if the system property
+	 * {@code io.calimero.knxnetip.directBuffers} is set.
+	 *
+	 * @param capacity required capacity in bytes
+	 * @return packet buffer with a reference count of 1, release it after use
+	 */
+	public static PacketBuffer allocate(final int capacity) {
+		return allocate(capacity, directBuffers);
+	}
+
+	/**
+	 * Returns a packet buffer with at least {@code capacity} bytes, ready for writing; the buffer limit is set to
+	 * {@code capacity}.
+	 *
+	 * @param capacity required capacity in bytes
+	 * @param direct {@code true} to return a direct buffer, {@code false} for a buffer backed by an accessible array
+	 *        (with an array offset of 0)
+	 * @return packet buffer with a reference count of 1, release it after use
+	 */
+	public static PacketBuffer allocate(final int capacity, final boolean direct) {
+		if (capacity < 0)
+			throw new KNXIllegalArgumentException("negative packet buffer capacity " + capacity);
+		PacketBuffer packet;
+		if (capacity > PooledBufferSize)
+			packet = new PacketBuffer(direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity), null);
+		else {
+			final var pool = direct ? directPool : heapPool;
+			packet = pool.poll();
+			if (packet == null)
+				packet = new PacketBuffer(direct ? ByteBuffer.allocateDirect(PooledBufferSize)
+						: ByteBuffer.allocate(PooledBufferSize), pool);
+		}
+		packet.buffer.clear().limit(capacity);
+		packet.refCount.set(1);
+		return packet;
+	}
+
+	private static void putHeader(final ByteBuffer buffer, final int serviceType, final int svcLength) {
+		buffer.put((byte) HeaderSize).put((byte) KNXnetIPHeader.version(serviceType)).putShort((short) serviceType)
+				.putShort((short) (HeaderSize + svcLength));
+	}
+
 	private static final int SecureSessionRequest = 0x0951;
 	private static final int keyLength = 32;
 
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2015, 2024 B. Malinowsky
+    Copyright (c) 2015, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -47,9 +47,11 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.HexFormat;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.calimero.CloseEvent;
 import io.calimero.FrameEvent;
@@ -68,6 +70,7 @@ import io.calimero.cemi.CEMIFactory;
 import io.calimero.cemi.CEMILData;
 import io.calimero.cemi.CEMILDataEx;
 import io.calimero.cemi.CemiTData;
+import io.calimero.cemi.CemiView;
 import io.calimero.cemi.RFMediumInfo;
 import io.calimero.link.medium.KNXMediumSettings;
 import io.calimero.link.medium.PLSettings;
@@ -127,6 +130,11 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 
 	private CEMIDevMgmt devMgmt;
 
+	// max. number of distinct frames remembered for duplicate detection
+	private static final int MaxDuplicateFilterSize = 256;
+	private volatile DuplicateFilter duplicateFilter;
+	private final AtomicLong suppressedDuplicates = new AtomicLong();
+
 
 	private static final MethodHandle baosServiceFactory_MH;
 	static {
@@ -143,6 +151,9 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 
 	private final class LinkNotifier extends EventNotifier<NetworkLinkListener>
 	{
+		// subtypes overriding onReceive might decode messages which differ from the received frame bytes
+		private final boolean defaultOnReceive = !overridesOnReceive(AbstractLink.this.getClass());
+
 		private static final int PeiIdentifyCon = 0xa8;
 		private static final int BaosMainService = 0xf0;
 
@@ -204,11 +215,29 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 					return;
 				final int mc = cemi.getMessageCode();
 				if (mc == CEMILData.MC_LDATA_IND) {
-					addEvent(l -> l.indication(new FrameEvent(source, ldata)));
+					final var filter = duplicateFilter;
+					if (filter != null && filter.isDuplicate(ldata)) {
+						suppressedDuplicates.incrementAndGet();
+						logger.log(TRACE, "suppress duplicate indication {0}", ldata);
+						return;
+					}
+					final var view = hasViewListener() ? view(frame, ldata) : null;
+					addEvent(l -> {
+						if (l instanceof final CemiViewListener viewListener)
+							viewListener.indication(view != null ? view : CEMIFactory.view(ldata));
+						else
+							l.indication(new FrameEvent(source, ldata));
+					}, ldata.getDestination());
 					logger.log(DEBUG, "indication {0}", ldata);
 				}
 				else if (mc == CEMILData.MC_LDATA_CON) {
-					addEvent(l -> l.confirmation(new FrameEvent(source, ldata)));
+					final var view = hasViewListener() ? view(frame, ldata) : null;
+					addEvent(l -> {
+						if (l instanceof final CemiViewListener viewListener)
+							viewListener.confirmation(view != null ? view : CEMIFactory.view(ldata));
+						else
+							l.confirmation(new FrameEvent(source, ldata));
+					});
 					if (ldata.isPositiveConfirmation())
 						logger.log(DEBUG, "confirmation of {0}", ldata.getDestination());
 					else
@@ -237,6 +266,28 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 			super.connectionClosed(e);
 		}
 
+		// view of the received cEMI frame bytes, if ldata was decoded from them, otherwise a view of the encoded ldata
+		private CemiView view(final byte[] frame, final CEMILData ldata) {
+			if (cEMI && frame != null && defaultOnReceive) {
+				try {
+					return CEMIFactory.view(frame, 0, frame.length);
+				}
+				catch (final KNXFormatException ignore) {}
+			}
+			return CEMIFactory.view(ldata);
+		}
+
+		private static boolean overridesOnReceive(final Class<?> type) {
+			for (Class<?> c = type; c != AbstractLink.class; c = c.getSuperclass()) {
+				try {
+					c.getDeclaredMethod("onReceive", FrameEvent.class);
+					return true;
+				}
+				catch (final NoSuchMethodException e) {}
+			}
+			return false;
+		}
+
 		private static String initiator(final int initiator) {
 			return switch (initiator) {
 				case CloseEvent.USER_REQUEST -> "link owner";
@@ -323,6 +374,33 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 		return hopCount;
 	}
 
+	/**
+	 * Sets the time window for suppressing duplicate L-Data indications. With duplicate suppression enabled, a
+	 * received indication with the same source, destination, and TPDU as an indication received within the time
+	 * window is not dispatched to link listeners. This is useful on installations with redundant couplers or
+	 * several KNX IP routers, where the same telegram is received more than once.
+	 * <p>
+	 * Note that a device intentionally sending the same telegram repeatedly within the time window will also be
+	 * subject to suppression.
+	 *
+	 * @param window time window, use {@link Duration#ZERO} to disable duplicate suppression (default)
+	 */
+	public final void suppressDuplicates(final Duration window)
+	{
+		if (window.isNegative())
+			throw new KNXIllegalArgumentException("negative time window " + window);
+		duplicateFilter = window.isZero() ? null : new DuplicateFilter(window, MaxDuplicateFilterSize);
+		logger.log(DEBUG, "duplicate suppression {0}", window.isZero() ? "disabled" : "window " + window.toMillis() + " ms");
+	}
+
+	/**
+	 * {@return the number of received L-Data indications suppressed as duplicates}
+	 */
+	public final long suppressedDuplicates()
+	{
+		return suppressedDuplicates.get();
+	}
+
 	@Override
 	public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
 		throws KNXTimeoutException, KNXLinkClosedException
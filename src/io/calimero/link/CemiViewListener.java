@@ -0,0 +1,64 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import io.calimero.FrameEvent;
+import io.calimero.cemi.CemiView;
+
+/**
+ * Network link listener which receives L-Data indications and confirmations as read-only {@link CemiView}s instead of
+ * frame events. A view provides the frame fields without creating a cEMI message object for the listener; if the
+ * listener requires the message, it is obtained by {@link CemiView#toCemi()}.
+ * <p>
+ * A view is valid only during the listener method invocation, and is shared with other view listeners of the same
+ * link. Indications other than L-Data, e.g., cEMI T-Data, are delivered using {@link #indication(FrameEvent)}.
+ */
+public interface CemiViewListener extends NetworkLinkListener {
+	/**
+	 * Invoked on arrival of a new L-Data indication from the KNX network.
+	 *
+	 * @param frame view of the L-Data frame
+	 */
+	void indication(CemiView frame);
+
+	/**
+	 * Invoked to indicate the L-Data confirmation to a preceding request to the KNX network.
+	 *
+	 * @param frame view of the L-Data frame
+	 */
+	default void confirmation(final CemiView frame) {}
+}
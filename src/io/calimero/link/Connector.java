@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2015, 2024 B. Malinowsky
+    Copyright (c) 2015, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -38,6 +38,7 @@ package io.calimero.link;
 
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.INFO;
 import static java.lang.System.Logger.Level.WARNING;
 
 import java.lang.System.Logger;
@@ -48,6 +49,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 import io.calimero.CloseEvent;
@@ -89,6 +92,8 @@ public final class Connector
 
 	private volatile Consumer<Boolean> connectionStatusChanged = __ -> {};
 
+	private TSupplier<? extends KNXNetworkLink> standby;
+
 	public Connector() {}
 
 	// copy ctor
@@ -101,6 +106,7 @@ public final class Connector
 		this.internalError = rhs.internalError;
 		this.maxAttempts = rhs.maxAttempts;
 		this.connectionStatusChanged = rhs.connectionStatusChanged;
+		this.standby = rhs.standby;
 	}
 
 	// on successful connection, the attempts are reset to maxAttempts
@@ -137,6 +143,24 @@ public final class Connector
 		return this;
 	}
 
+	/**
+	 * Keeps a pre-established standby link for network links created by this connector. The standby link is created
+	 * using {@code creator} after the network link connected, and can use the same or an alternate endpoint. If the
+	 * network link closes, the standby link takes over immediately, keeping all registered link listeners; frames
+	 * whose send failed because the link closed are sent again over the standby link. A new standby link is created
+	 * afterwards, failed attempts are repeated using the reconnect delay. If no standby link is available, the
+	 * connector reconnects as configured.
+	 * <p>
+	 * The standby link does not notify any link listeners before it takes over.
+	 *
+	 * @param creator supplies the standby network link, {@code null} for no standby link (the default)
+	 * @return this connector
+	 */
+	public Connector warmStandby(final TSupplier<? extends KNXNetworkLink> creator) {
+		standby = creator;
+		return this;
+	}
+
 	/**
 	 * Returns a new KNXNetworkLink with the specified behavior for (re-)connection to the KNX network.
 	 *
@@ -169,6 +193,11 @@ public final class Connector
 	public static final class Link<T extends AutoCloseable>
 			implements KNXNetworkLink, KNXNetworkMonitor, NetworkLinkListener
 	{
+		@FunctionalInterface
+		private interface Request {
+			void send(KNXNetworkLink link) throws KNXTimeoutException, KNXLinkClosedException;
+		}
+
 		private volatile T impl;
 		private final List<LinkListener> listeners = new CopyOnWriteArrayList<>();
 		private volatile KNXMediumSettings settings;
@@ -184,7 +213,17 @@ public final class Connector
 		private volatile boolean closed;
 		private volatile Future<?> f = CompletableFuture.completedFuture(Void.TYPE);
 		private final AtomicBoolean connecting = new AtomicBoolean();
-		private final Object lock = new Object();
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition connected = lock.newCondition();
+
+		// warm standby, only used for network links
+		private volatile KNXNetworkLink standby;
+		private volatile Future<?> standbyTask = CompletableFuture.completedFuture(Void.TYPE);
+		private final AtomicBoolean creatingStandby = new AtomicBoolean();
+		private final NetworkLinkListener standbyListener = new NetworkLinkListener() {
+			@Override
+			public void linkClosed(final CloseEvent e) { standbyClosed(); }
+		};
 
 		private Link(final TSupplier<? extends T> creator, final Connector options)
 			throws KNXException, InterruptedException
@@ -291,21 +330,21 @@ public final class Connector
 		public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
 			throws KNXTimeoutException, KNXLinkClosedException
 		{
-			link().sendRequest(dst, p, nsdu);
+			send(link -> link.sendRequest(dst, p, nsdu));
 		}
 
 		@Override
 		public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
 			throws KNXTimeoutException, KNXLinkClosedException
 		{
-			link().sendRequestWait(dst, p, nsdu);
+			send(link -> link.sendRequestWait(dst, p, nsdu));
 		}
 
 		@Override
 		public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException,
 			KNXLinkClosedException
 		{
-			link().send(msg, waitForCon);
+			send(link -> link.send(msg, waitForCon));
 		}
 
 		@Override
@@ -328,8 +367,20 @@ public final class Connector
 		@Override
 		public void close()
 		{
-			closed = true;
+			final KNXNetworkLink link;
+			// a standby link being established is either taken here or closed by its creator
+			lock.lock();
+			try {
+				closed = true;
+				link = standby;
+			}
+			finally {
+				lock.unlock();
+			}
 			f.cancel(true);
+			standbyTask.cancel(true);
+			if (link != null)
+				link.close();
 			try {
 				if (impl != null)
 					impl.close();
@@ -340,7 +391,12 @@ public final class Connector
 		@Override
 		public void linkClosed(final CloseEvent e)
 		{
+			// with a standby link, we might have switched over already and this event is from the previous link
+			if (connector.standby != null && targetOpen())
+				return;
 			connector.connectionStatusChanged.accept(false);
+			if (impl instanceof final KNXNetworkLink link && failover(link))
+				return;
 			if ((e.getInitiator() == CloseEvent.INTERNAL && connector.internalError)
 					|| (e.getInitiator() == CloseEvent.SERVER_REQUEST && connector.serverError))
 				scheduleConnect(connector.maxAttempts);
@@ -352,11 +408,27 @@ public final class Connector
 			return v != null ? v.toString() : "link connecting...";
 		}
 
+		private void send(final Request request) throws KNXTimeoutException, KNXLinkClosedException
+		{
+			final KNXNetworkLink link = link();
+			try {
+				request.send(link);
+			}
+			catch (final KNXLinkClosedException e) {
+				// link closed while sending, replay the frame over the standby link
+				if (!failover(link))
+					throw e;
+				request.send((KNXNetworkLink) impl);
+			}
+		}
+
 		// only called for network link send
 		private KNXNetworkLink link() throws KNXLinkClosedException
 		{
 			try {
 				final KNXNetworkLink l = (KNXNetworkLink) impl;
+				if (l != null && !l.isOpen() && failover(l))
+					return (KNXNetworkLink) impl;
 				// ??? should immediate connects here also count for scheduled connects, and
 				// increment the attempt counter?
 				return (KNXNetworkLink) (l == null ? connect()
@@ -442,23 +514,33 @@ public final class Connector
 						listeners.forEach(monitor::addMonitorListener);
 					}
 					impl = t;
+					if (t instanceof KNXNetworkLink)
+						scheduleStandby(0);
 				}
 				catch (final KNXRemoteException e) {
 					throw new KNXLinkClosedException(e.getMessage(), e);
 				}
 				finally {
 					connecting.set(false);
-					synchronized (lock) {
-						lock.notifyAll();
+					lock.lock();
+					try {
+						connected.signalAll();
+					}
+					finally {
+						lock.unlock();
 					}
 				}
 				connector.connectionStatusChanged.accept(true);
 			}
 			else {
 				// if a connection attempt is active, we use that one
-				synchronized (lock) {
+				lock.lock();
+				try {
 					while (connecting.get())
-						lock.wait();
+						connected.await();
+				}
+				finally {
+					lock.unlock();
 				}
 				if (!targetOpen())
 					throw new KNXLinkClosedException("ongoing connect attempt we waited for failed");
@@ -466,6 +548,88 @@ public final class Connector
 			return impl;
 		}
 
+		// replaces the failed network link with the standby link, returns true if an open link is in place afterwards
+		@SuppressWarnings("unchecked")
+		private boolean failover(final KNXNetworkLink failed)
+		{
+			final KNXNetworkLink link;
+			lock.lock();
+			try {
+				if (impl != failed)
+					return targetOpen();
+				link = standby;
+				if (link == null || !link.isOpen() || closed)
+					return false;
+				standby = null;
+				link.removeLinkListener(standbyListener);
+				link.setKNXMedium(settings);
+				link.setHopCount(hopCount);
+				link.addLinkListener(this);
+				if (link instanceof final AbstractLink<?> abstractLink)
+					abstractLink.wrappedByConnector = true;
+				listeners.forEach(l -> link.addLinkListener((NetworkLinkListener) l));
+				impl = (T) link;
+			}
+			finally {
+				lock.unlock();
+			}
+			logger().log(INFO, "{0} closed, switched over to standby link", failed);
+			connector.connectionStatusChanged.accept(true);
+			scheduleStandby(0);
+			return true;
+		}
+
+		private void scheduleStandby(final long delay)
+		{
+			if (connector.standby == null || closed || standby != null || !creatingStandby.compareAndSet(false, true))
+				return;
+			standbyTask = Executor.scheduledExecutor().schedule(this::createStandby, delay, TimeUnit.MILLISECONDS);
+		}
+
+		private void createStandby()
+		{
+			KNXNetworkLink link = null;
+			try {
+				link = connector.standby.get();
+			}
+			catch (KNXException | RuntimeException e) {
+				logger().log(WARNING, "establishing standby link: {0}", e.getMessage());
+			}
+			catch (final InterruptedException e) {
+				return;
+			}
+			finally {
+				lock.lock();
+				try {
+					if (link != null && !closed) {
+						link.addLinkListener(standbyListener);
+						standby = link;
+						logger().log(DEBUG, "standby link {0} established", link);
+					}
+				}
+				finally {
+					lock.unlock();
+				}
+				creatingStandby.set(false);
+			}
+			if (link == null)
+				scheduleStandby(connector.reconnectDelay);
+			else if (closed)
+				link.close();
+			else if (!link.isOpen())
+				standbyClosed();
+		}
+
+		private void standbyClosed()
+		{
+			final var link = standby;
+			if (link == null || link.isOpen())
+				return;
+			standby = null;
+			logger().log(DEBUG, "standby link {0} closed", link);
+			scheduleStandby(connector.reconnectDelay);
+		}
+
 		private boolean targetOpen()
 		{
 			final T t = impl;
@@ -0,0 +1,185 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import io.calimero.GroupAddress;
+import io.calimero.cemi.CEMILData;
+
+/**
+ * Detects duplicate L-Data frames received within a time window, e.g., repetitions or copies of the same telegram
+ * forwarded by several routers. Frames are identified by a 64 bit fingerprint of source, destination and TPDU;
+ * fingerprints are kept in a primitive open-addressing hash set, and expire in order of reception.
+ * <p>
+ * The repeat flag and the hop count are not part of the fingerprint, because a repetition, or a copy forwarded on
+ * another path, differs from the original in exactly those fields. The time window is measured from the first
+ * reception of a frame, i.e., duplicates do not extend the window.
+ */
+final class DuplicateFilter {
+	private static final long Empty = 0;
+
+	private final long window;
+	private final LongSupplier clock;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	// hash set of fingerprints, linear probing without tombstones
+	private final long[] table;
+	// fingerprints and reception times in order of reception
+	private final long[] fingerprints;
+	private final long[] received;
+	private int head;
+	private int size;
+
+	/**
+	 * Creates a new duplicate filter.
+	 *
+	 * @param window time window for detecting duplicates
+	 * @param maxSize maximum number of frames remembered within the time window
+	 */
+	DuplicateFilter(final Duration window, final int maxSize) {
+		this(window, maxSize, System::nanoTime);
+	}
+
+	DuplicateFilter(final Duration window, final int maxSize, final LongSupplier clock) {
+		if (window.isNegative() || window.isZero())
+			throw new IllegalArgumentException("time window " + window + " <= 0");
+		if (maxSize < 1)
+			throw new IllegalArgumentException("max. size " + maxSize + " < 1");
+		this.window = window.toNanos();
+		this.clock = clock;
+		fingerprints = new long[maxSize];
+		received = new long[maxSize];
+		// keep load factor <= 0.5
+		table = new long[Integer.highestOneBit(maxSize * 2 - 1) << 1];
+	}
+
+	/**
+	 * Checks whether the frame is a duplicate of a frame received within the time window, and remembers the frame
+	 * otherwise.
+	 *
+	 * @param ldata received frame
+	 * @return {@code true} if the frame is a duplicate, {@code false} otherwise
+	 */
+	boolean isDuplicate(final CEMILData ldata) {
+		final long fingerprint = fingerprint(ldata);
+		lock.lock();
+		try {
+			final long now = clock.getAsLong();
+			expire(now);
+			if (contains(fingerprint))
+				return true;
+			if (size == fingerprints.length)
+				removeOldest();
+			add(fingerprint, now);
+			return false;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	static long fingerprint(final CEMILData ldata) {
+		final var dst = ldata.getDestination();
+		long h = 0xcbf29ce484222325L;
+		h = (h ^ ldata.getSource().getRawAddress()) * 0x100000001b3L;
+		h = (h ^ dst.getRawAddress()) * 0x100000001b3L;
+		h = (h ^ (dst instanceof GroupAddress ? 1 : 0)) * 0x100000001b3L;
+		for (final byte b : ldata.getPayload())
+			h = (h ^ (b & 0xff)) * 0x100000001b3L;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return h == Empty ? 1 : h;
+	}
+
+	private void expire(final long now) {
+		while (size > 0 && now - received[head] >= window)
+			removeOldest();
+	}
+
+	private void removeOldest() {
+		remove(fingerprints[head]);
+		head = (head + 1) % fingerprints.length;
+		size--;
+	}
+
+	private void add(final long fingerprint, final long now) {
+		final int tail = (head + size) % fingerprints.length;
+		fingerprints[tail] = fingerprint;
+		received[tail] = now;
+		size++;
+
+		int slot = index(fingerprint);
+		while (table[slot] != Empty)
+			slot = next(slot);
+		table[slot] = fingerprint;
+	}
+
+	private boolean contains(final long fingerprint) {
+		for (int slot = index(fingerprint); table[slot] != Empty; slot = next(slot))
+			if (table[slot] == fingerprint)
+				return true;
+		return false;
+	}
+
+	// backward shift deletion, keeps probe sequences intact without tombstones
+	private void remove(final long fingerprint) {
+		int free = index(fingerprint);
+		while (table[free] != fingerprint) {
+			if (table[free] == Empty)
+				return;
+			free = next(free);
+		}
+		for (int i = next(free); table[i] != Empty; i = next(i)) {
+			final int home = index(table[i]);
+			if (((i - home) & mask()) >= ((i - free) & mask())) {
+				table[free] = table[i];
+				free = i;
+			}
+		}
+		table[free] = Empty;
+	}
+
+	private int index(final long fingerprint) { return (int) fingerprint & mask(); }
+
+	private int next(final int slot) { return (slot + 1) & mask(); }
+
+	private int mask() { return table.length - 1; }
+}
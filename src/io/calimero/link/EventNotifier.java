@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2022 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -36,36 +36,160 @@
 
 package io.calimero.link;
 
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+
 import java.lang.System.Logger;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 import io.calimero.CloseEvent;
 import io.calimero.FrameEvent;
+import io.calimero.KNXAddress;
 import io.calimero.KNXListener;
 import io.calimero.internal.EventListeners;
+import io.calimero.internal.EventListeners.DispatchMode;
+import io.calimero.internal.Executor;
+import io.calimero.internal.RingBuffer;
+import io.calimero.log.LogService;
 
 /**
  * Threaded event notifier for network link and monitor.
+ * <p>
+ * Events are queued in a bounded, lock-free queue, and dispatched to the listeners by the notifier thread. The
+ * behavior on a full queue is set by the {@link OverflowPolicy}; the default policy blocks the producer and drops
+ * events only if the producer must not block, the other policies are lossy. The default queue capacity and overflow
+ * policy can be set using the system properties
+ * {@code io.calimero.link.notifier.capacity} and {@code io.calimero.link.notifier.overflowPolicy}. Setting the
+ * system property {@code io.calimero.link.notifier.isolateListeners} dispatches events to each listener in isolation
+ * (see {@link EventListeners.DispatchMode#Isolated}), so one slow listener does not stall the other listeners.
  *
  * @author B. Malinowsky
  */
 public abstract class EventNotifier<T extends LinkListener> extends Thread implements KNXListener
 {
+	/**
+	 * Policy applied when adding an event to a full event queue.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Block the producer until there is space in the queue (default). A producer running on an event loop thread
+		 * (e.g., the KNXnet/IP datagram reactor) is never blocked, the oldest queued event is dropped instead.
+		 */
+		Block,
+		/** Drop the oldest queued event to make space for the new event. */
+		DropOldest,
+		/** Drop the new event. */
+		DropNewest,
+		/**
+		 * If the queue is full, a new indication replaces the last queued, not yet dispatched indication with the
+		 * same destination address; if there is no such indication, the new indication is dropped. Other events are
+		 * dropped if the queue is full.
+		 */
+		CoalesceByDestination
+	}
+
+	/**
+	 * Event queue statistics.
+	 *
+	 * @param queued total number of queued events
+	 * @param dropped total number of dropped events
+	 * @param coalesced total number of events coalesced with a queued event
+	 * @param depth current queue depth
+	 * @param maxDepth maximum queue depth observed
+	 */
+	public record Statistics(long queued, long dropped, long coalesced, int depth, int maxDepth) {}
+
+
+	private static final int defaultCapacity;
+	private static final OverflowPolicy defaultPolicy;
+	private static final DispatchMode defaultDispatchMode;
+	static {
+		final String pkg = "io.calimero.link";
+		final var logger = LogService.getLogger(pkg);
+		final int maxCapacity = 1 << 30;
+		int capacity = 4096;
+		final String capacityKey = pkg + ".notifier.capacity";
+		try {
+			final String prop = System.getProperty(capacityKey);
+			if (prop != null) {
+				final int value = Integer.parseInt(prop);
+				if (value > 0 && value <= maxCapacity) {
+					capacity = value;
+					logger.log(INFO, "using {0} of {1}", capacityKey, capacity);
+				}
+				else
+					logger.log(WARNING, "{0} of {1} out of range [1..{2}], use default {3}", capacityKey, value,
+							maxCapacity, capacity);
+			}
+		}
+		catch (final RuntimeException e) {
+			logger.log(WARNING, "on checking property " + capacityKey, e);
+		}
+		defaultCapacity = capacity;
+
+		OverflowPolicy policy = OverflowPolicy.Block;
+		final String policyKey = pkg + ".notifier.overflowPolicy";
+		try {
+			final String prop = System.getProperty(policyKey);
+			if (prop != null) {
+				policy = OverflowPolicy.valueOf(prop);
+				logger.log(INFO, "using {0} {1}", policyKey, policy);
+			}
+		}
+		catch (final RuntimeException e) {
+			logger.log(WARNING, "on checking property " + policyKey, e);
+		}
+		defaultPolicy = policy;
+
+		boolean isolate = false;
+		final String isolateKey = pkg + ".notifier.isolateListeners";
+		try {
+			final String prop = System.getProperty(isolateKey);
+			isolate = (prop != null && prop.isEmpty()) || Boolean.parseBoolean(prop);
+			if (isolate)
+				logger.log(INFO, "using {0}", isolateKey);
+		}
+		catch (final RuntimeException e) {
+			logger.log(WARNING, "on checking property " + isolateKey, e);
+		}
+		defaultDispatchMode = isolate ? DispatchMode.Isolated : DispatchMode.Sequential;
+	}
+
 	final Logger logger;
 	final Object source;
 
 	private final EventListeners<T> listeners = new EventListeners<>(LinkEvent.class);
 
-	private final Deque<Consumer<? super T>> events = new ArrayDeque<>();
+	// queued events are either a consumer or a coalescing indication
+	private final RingBuffer<Object> events;
+	private volatile OverflowPolicy policy = defaultPolicy;
+	// destination -> last queued indication, only used with coalescing
+	private final Map<KNXAddress, Coalescing<T>> lastQueued = new ConcurrentHashMap<>();
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+	private final AtomicInteger maxDepth = new AtomicInteger();
+	private volatile boolean overflow;
+
+	private volatile Consumer<? super T> closeEvent;
+	private volatile boolean waiting;
 	private volatile boolean running = true;
+	// updated on listener changes, so receivers don't scan the listeners for every frame
+	private volatile boolean viewListener;
 
 	EventNotifier(final Object source, final Logger logger)
 	{
 		super("Calimero link notifier");
 		this.logger = logger;
 		this.source = source;
+		events = new RingBuffer<>(defaultCapacity);
+		listeners.dispatchMode(defaultDispatchMode);
 		setDaemon(true);
 	}
 
@@ -74,34 +198,46 @@ public abstract class EventNotifier<T extends LinkListener> extends Thread imple
 	{
 		try {
 			while (running) {
-				final Consumer<? super T> c;
-				synchronized (events) {
-					while (events.isEmpty())
-						events.wait();
-					c = events.remove();
-				}
-				if (c instanceof CustomEventConsumer)
-					fireCustomEvent(c);
+				final Object e = events.poll();
+				if (e == null)
+					awaitEvent();
 				else
-					fire(c);
+					dispatch(e);
 			}
 		}
-		catch (final InterruptedException e) {}
 		finally {
+			// clear any pending interrupt, so listeners won't see it
+			Thread.interrupted();
 			drainEvents();
 		}
 	}
 
+	private void awaitEvent() {
+		waiting = true;
+		if (running && events.isEmpty())
+			LockSupport.park(this);
+		waiting = false;
+	}
+
 	private void drainEvents() {
-		while (true) {
-			final Consumer<? super T> c;
-			synchronized (events) {
-				if (events.isEmpty())
-					return;
-				c = events.remove();
-			}
-			fire(c);
+		for (var e = events.poll(); e != null; e = events.poll())
+			dispatch(e);
+		final var close = closeEvent;
+		if (close != null)
+			listeners.fireTerminal(close);
+	}
+
+	private void dispatch(final Object e) {
+		if (e instanceof Coalescing) {
+			// an indication dispatched once can no longer be replaced
+			final var event = coalescing(e).event.getAndSet(null);
+			if (event != null)
+				fire(event);
 		}
+		else if (e instanceof CustomEventConsumer)
+			fireCustomEvent(consumer(e));
+		else
+			fire(consumer(e));
 	}
 
 	@Override
@@ -110,7 +246,8 @@ public abstract class EventNotifier<T extends LinkListener> extends Thread imple
 	@Override
 	public void connectionClosed(final CloseEvent e)
 	{
-		addEvent(l -> l.linkClosed(new CloseEvent(source, e.getInitiator(), e.getReason())));
+		// the close event is never dropped, and fired after all queued events
+		closeEvent = l -> l.linkClosed(new CloseEvent(source, e.getInitiator(), e.getReason()));
 		quit();
 	}
 
@@ -123,8 +260,35 @@ public abstract class EventNotifier<T extends LinkListener> extends Thread imple
 		listeners.registerEventType(eventType);
 	}
 
+	/**
+	 * Sets the policy applied when adding an event to a full event queue.
+	 *
+	 * @param policy overflow policy
+	 */
+	public void overflowPolicy(final OverflowPolicy policy) { this.policy = policy; }
+
+	public OverflowPolicy overflowPolicy() { return policy; }
+
+	public Statistics statistics() {
+		return new Statistics(events.added(), dropped.get(), coalesced.get(), events.size(), maxDepth.get());
+	}
+
 	private interface CustomEventConsumer<T> extends Consumer<T> {}
 
+	// queued indication of a destination, which is replaced on coalescing while not yet dispatched (event != null)
+	private static final class Coalescing<T> {
+		final AtomicReference<Consumer<? super T>> event;
+
+		Coalescing(final Consumer<? super T> event) { this.event = new AtomicReference<>(event); }
+
+		boolean replace(final Consumer<? super T> with) {
+			for (var current = event.get(); current != null; current = event.get())
+				if (event.compareAndSet(current, with))
+					return true;
+			return false;
+		}
+	}
+
 	public void dispatchCustomEvent(final Object event) {
 		final CustomEventConsumer<T> cec = __ -> listeners.dispatchCustomEvent(event);
 		addEvent(cec);
@@ -132,22 +296,122 @@ public abstract class EventNotifier<T extends LinkListener> extends Thread imple
 
 	final void addEvent(final Consumer<? super T> c)
 	{
-		synchronized (events) {
-			events.add(c);
-			events.notify();
+		addEvent(c, null);
+	}
+
+	/**
+	 * Adds an event, using the destination {@code dst} to coalesce indications.
+	 *
+	 * @param c event
+	 * @param dst destination address of the indication, or {@code null} if the event cannot be coalesced
+	 */
+	final void addEvent(final Consumer<? super T> c, final KNXAddress dst)
+	{
+		final var policy = this.policy;
+		if (policy == OverflowPolicy.CoalesceByDestination && dst != null) {
+			coalesce(c, dst);
+			return;
+		}
+
+		int attempt = 0;
+		while (!events.offer(c)) {
+			onOverflow();
+			if (!running) {
+				dropped.incrementAndGet();
+				return;
+			}
+			switch (policy) {
+				case Block -> {
+					// don't block ourselves, an event loop, or an interrupted producer
+					if (currentThread() == this || Executor.onEventLoop() || currentThread().isInterrupted())
+						dropOldest();
+					else
+						backoff(attempt++);
+				}
+				case DropOldest -> dropOldest();
+				case DropNewest, CoalesceByDestination -> {
+					dropped.incrementAndGet();
+					return;
+				}
+			}
+		}
+		queued();
+	}
+
+	// coalesces only on a full queue, so no indication is lost while the queue has room
+	private void coalesce(final Consumer<? super T> c, final KNXAddress dst) {
+		final var indication = new Coalescing<T>(c);
+		if (events.offer(indication)) {
+			lastQueued.put(dst, indication);
+			queued();
+			return;
 		}
+		onOverflow();
+		final var last = lastQueued.get(dst);
+		if (last != null && last.replace(c))
+			coalesced.incrementAndGet();
+		else
+			dropped.incrementAndGet();
+	}
+
+	private void queued() {
+		if (overflow)
+			overflow = false;
+
+		final int depth = events.size();
+		if (depth > maxDepth.get())
+			maxDepth.accumulateAndGet(depth, Math::max);
+		if (waiting)
+			LockSupport.unpark(this);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Coalescing<T> coalescing(final Object e) { return (Coalescing<T>) e; }
+
+	@SuppressWarnings("unchecked")
+	private Consumer<? super T> consumer(final Object e) { return (Consumer<? super T>) e; }
+
+	private void dropOldest() {
+		final var oldest = events.poll();
+		if (oldest instanceof Coalescing ? coalescing(oldest).event.getAndSet(null) != null : oldest != null)
+			dropped.incrementAndGet();
+	}
+
+	private void onOverflow() {
+		if (!overflow) {
+			overflow = true;
+			logger.log(WARNING, "event queue full ({0} events), apply overflow policy {1}", events.capacity(), policy);
+		}
+	}
+
+	private static void backoff(final int attempt) {
+		if (attempt < 100)
+			Thread.onSpinWait();
+		else
+			LockSupport.parkNanos(100_000);
 	}
 
 	final void addListener(final T l)
 	{
-		listeners.add(l);
+		synchronized (listeners) {
+			listeners.add(l);
+			viewListener = listeners.listeners().stream().anyMatch(CemiViewListener.class::isInstance);
+		}
 	}
 
 	final void removeListener(final T l)
 	{
-		listeners.remove(l);
+		synchronized (listeners) {
+			listeners.remove(l);
+			viewListener = listeners.listeners().stream().anyMatch(CemiViewListener.class::isInstance);
+		}
 	}
 
+	/**
+	 * {@return {@code true} if a {@link CemiViewListener} is registered, {@code false} otherwise}
+	 */
+	final boolean hasViewListener() { return viewListener; }
+
 	final void quit()
 	{
 		running = false;
@@ -0,0 +1,222 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import java.lang.System.Logger;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.calimero.KNXException;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.internal.Executor;
+import io.calimero.link.Connector.TSupplier;
+import io.calimero.log.LogService;
+
+/**
+ * Establishes a network link by racing connection attempts to several, prioritized endpoints ("happy eyeballs").
+ * Endpoints are supplied as link creators, e.g., for KNXnet/IP tunneling over UDP, TCP, or KNX IP Secure to redundant
+ * KNXnet/IP servers. Attempts start in order of priority, staggered by a delay; an attempt starts early if an already
+ * running attempt fails. The first link established wins: attempts still in progress are cancelled by interrupting
+ * them, links of attempts that succeed nevertheless are closed again, and attempts which did not start yet are skipped.
+ * <p>
+ * Use {@link #creator(Duration, List)} to combine parallel connect with the reconnect logic of
+ * {@link Connector}, e.g., {@code new Connector().newLink(ParallelConnector.creator(...))}.
+ */
+public final class ParallelConnector {
+	/** Default delay between the start of two consecutive connection attempts. */
+	public static final Duration DefaultStagger = Duration.ofMillis(250);
+
+	private static final Logger logger = LogService.getLogger("io.calimero.link.ParallelConnector");
+
+	private final List<? extends TSupplier<? extends KNXNetworkLink>> candidates;
+	private final long staggerNanos;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private final Exception[] failures;
+	private final Thread[] running;
+	private int started;
+	private int finished;
+	private long nextStart;
+	private KNXNetworkLink winner;
+	private boolean done;
+
+	/**
+	 * Returns a link creator which races the supplied link creators on every invocation, for use with
+	 * {@link Connector#newLink(TSupplier)}.
+	 *
+	 * @param stagger delay between the start of two consecutive connection attempts
+	 * @param candidates link creators in order of priority
+	 * @return link creator
+	 */
+	public static TSupplier<KNXNetworkLink> creator(final Duration stagger,
+			final List<? extends TSupplier<? extends KNXNetworkLink>> candidates) {
+		final var list = List.copyOf(candidates);
+		validate(stagger, list);
+		return () -> newLink(stagger, list);
+	}
+
+	/**
+	 * Races connection attempts using the supplied link creators, and returns the first link established.
+	 *
+	 * @param stagger delay between the start of two consecutive connection attempts
+	 * @param candidates link creators in order of priority, each creator returns a link in open state
+	 * @return the first network link established, in open state
+	 * @throws KNXException if all connection attempts failed, the failure of the attempt with the highest priority is
+	 *         the cause, other failures are added as suppressed exceptions
+	 * @throws InterruptedException on interrupted thread while waiting for the connection attempts
+	 */
+	public static KNXNetworkLink newLink(final Duration stagger,
+			final List<? extends TSupplier<? extends KNXNetworkLink>> candidates)
+			throws KNXException, InterruptedException {
+		validate(stagger, candidates);
+		return new ParallelConnector(stagger, candidates).race();
+	}
+
+	private static void validate(final Duration stagger, final List<?> candidates) {
+		if (candidates.isEmpty())
+			throw new KNXIllegalArgumentException("no link creators supplied");
+		if (stagger.isNegative())
+			throw new KNXIllegalArgumentException("negative stagger delay " + stagger);
+	}
+
+	private ParallelConnector(final Duration stagger,
+			final List<? extends TSupplier<? extends KNXNetworkLink>> candidates) {
+		this.candidates = candidates;
+		staggerNanos = stagger.toNanos();
+		failures = new Exception[candidates.size()];
+		running = new Thread[candidates.size()];
+	}
+
+	private KNXNetworkLink race() throws KNXException, InterruptedException {
+		final int attempts = candidates.size();
+		KNXNetworkLink link = null;
+		lock.lock();
+		try {
+			nextStart = System.nanoTime();
+			while (winner == null && finished < attempts) {
+				final long delay = nextStart - System.nanoTime();
+				if (started < attempts && delay <= 0) {
+					start(started++);
+					nextStart = System.nanoTime() + staggerNanos;
+				}
+				else if (started < attempts)
+					changed.awaitNanos(delay);
+				else
+					changed.await();
+			}
+			link = winner;
+		}
+		finally {
+			done = true;
+			// on interruption, we might have missed an established link
+			final var missed = link == null ? winner : null;
+			cancelRunning();
+			lock.unlock();
+			if (missed != null)
+				missed.close();
+		}
+		if (link != null)
+			return link;
+
+		final var e = new KNXException("no connection established, all " + attempts + " attempts failed", failures[0]);
+		for (int i = 1; i < failures.length; i++)
+			if (failures[i] != null)
+				e.addSuppressed(failures[i]);
+		throw e;
+	}
+
+	// precondition: lock is held
+	private void start(final int attempt) {
+		running[attempt] = Executor.execute(() -> connect(attempt), "Parallel connect attempt " + (attempt + 1));
+	}
+
+	// precondition: lock is held
+	private void cancelRunning() {
+		for (final var thread : running)
+			if (thread != null)
+				thread.interrupt();
+	}
+
+	private void connect(final int attempt) {
+		KNXNetworkLink link = null;
+		Exception failure = null;
+		try {
+			link = candidates.get(attempt).get();
+			if (link == null)
+				failure = new KNXException("link creator of connection attempt " + (attempt + 1) + " returned no link");
+		}
+		catch (KNXException | RuntimeException e) {
+			failure = e;
+		}
+		catch (final InterruptedException e) {
+			failure = e;
+			Thread.currentThread().interrupt();
+		}
+
+		boolean superseded = false;
+		lock.lock();
+		try {
+			finished++;
+			running[attempt] = null;
+			if (link == null) {
+				failures[attempt] = failure;
+				// start next attempt right away
+				nextStart = System.nanoTime();
+			}
+			else if (winner == null && !done)
+				winner = link;
+			else
+				superseded = true;
+			changed.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+
+		if (link == null)
+			logger.log(DEBUG, "connection attempt {0} failed: {1}", attempt + 1, failure.getMessage());
+		else if (superseded) {
+			logger.log(DEBUG, "close {0}, connection attempt {1} was superseded", link, attempt + 1);
+			link.close();
+		}
+	}
+}
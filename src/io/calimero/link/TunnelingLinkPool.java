@@ -0,0 +1,423 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import java.lang.System.Logger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.KNXException;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMIFactory;
+import io.calimero.cemi.CEMILData;
+import io.calimero.cemi.CemiView;
+import io.calimero.knxnetip.StreamConnection;
+import io.calimero.knxnetip.StreamConnection.SecureSession;
+import io.calimero.link.Connector.TSupplier;
+import io.calimero.link.medium.KNXMediumSettings;
+import io.calimero.log.LogService;
+
+/**
+ * Network link which pools several KNXnet/IP tunneling connections, established over one TCP connection or secure
+ * session, and presents them as one KNX network link. A single tunnel allows only one outstanding frame; a pool
+ * spreads outgoing frames across its tunnels to increase throughput towards the KNX network.
+ * <p>
+ * Frames to the same destination keep their order: as long as frames to a destination are in transit, subsequent
+ * frames to that destination use the same tunnel. Otherwise, a frame is sent over the tunnel with the least frames in
+ * transit.<br>
+ * Indications received over the tunnels are merged, and delivered to the pool listeners by one event notifier, like
+ * with any other network link. Copies of an indication received on several tunnels are delivered only once, and frames
+ * sent by a tunnel of the pool (which the server forwards to its other tunnels) are not delivered at all.
+ * <p>
+ * Each tunnel of the pool requests any free tunneling address from the server, the device address of the medium
+ * settings supplied to a pool factory is not used for the tunnels.
+ */
+public final class TunnelingLinkPool implements KNXNetworkLink {
+	private static final int MaxTunnels = Integer.SIZE;
+
+	// time window for treating a received copy of an indication as duplicate
+	private static final long DuplicateWindow = TimeUnit.SECONDS.toNanos(1);
+	private static final int MaxIndications = 256;
+
+	private final List<KNXNetworkLink> links;
+	private volatile KNXMediumSettings settings;
+	private final PoolNotifier notifier;
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	// routing of outgoing frames, destination address or null (system broadcast) -> route
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<KNXAddress, Route> routes = new HashMap<>();
+	private final int[] inTransit;
+	private int next;
+
+	private static final class Route {
+		int tunnel;
+		int pending;
+
+		Route(final int tunnel) { this.tunnel = tunnel; }
+	}
+
+	// recently received indications, fingerprint -> received
+	private final ReentrantLock indicationLock = new ReentrantLock();
+	private final Map<Long, Received> indications = new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Long, Received> eldest) {
+			return size() > MaxIndications;
+		}
+	};
+
+	private static final class Received {
+		// bit set of tunnels which received a copy
+		int tunnels;
+		final long timestamp;
+
+		Received(final int tunnels, final long timestamp) {
+			this.tunnels = tunnels;
+			this.timestamp = timestamp;
+		}
+	}
+
+	/**
+	 * Creates a new pool of KNXnet/IP tunneling v2 links over TCP to a remote KNXnet/IP server endpoint.
+	 *
+	 * @param connection a TCP connection to the server (if the connection state is not connected, link setup will
+	 *        establish the connection); closing the pool will not close the TCP connection
+	 * @param tunnels number of tunneling connections to establish, {@code 0 < tunnels <= 32}
+	 * @param settings medium settings defining KNX medium specifics for communication
+	 * @return the pooled network link in open state
+	 * @throws KNXException on failure establishing any of the tunnels
+	 * @throws InterruptedException on interrupted thread while establishing the tunnels
+	 */
+	public static TunnelingLinkPool newTunnelingLinkPool(final StreamConnection connection, final int tunnels,
+			final KNXMediumSettings settings) throws KNXException, InterruptedException {
+		return open(tunnels, settings,
+				() -> KNXNetworkLinkIP.newTunnelingLink(connection, anyTunnelingAddress(settings)));
+	}
+
+	/**
+	 * Creates a new pool of KNX IP secure tunneling links over TCP to a remote KNXnet/IP server endpoint.
+	 *
+	 * @param session a secure session for the server (session state is allowed to be not authenticated);
+	 *        closing the pool will not close the session
+	 * @param tunnels number of tunneling connections to establish, {@code 0 < tunnels <= 32}
+	 * @param settings medium settings defining KNX medium specifics for communication
+	 * @return the pooled network link in open state
+	 * @throws KNXException on failure establishing any of the tunnels
+	 * @throws InterruptedException on interrupted thread while establishing the tunnels
+	 */
+	public static TunnelingLinkPool newSecureTunnelingLinkPool(final SecureSession session, final int tunnels,
+			final KNXMediumSettings settings) throws KNXException, InterruptedException {
+		return open(tunnels, settings,
+				() -> KNXNetworkLinkIP.newSecureTunnelingLink(session, anyTunnelingAddress(settings)));
+	}
+
+	private static TunnelingLinkPool open(final int tunnels, final KNXMediumSettings settings,
+			final TSupplier<? extends KNXNetworkLink> creator) throws KNXException, InterruptedException {
+		checkTunnels(tunnels);
+		final List<KNXNetworkLink> links = new ArrayList<>(tunnels);
+		try {
+			for (int i = 0; i < tunnels; i++)
+				links.add(creator.get());
+		}
+		catch (KNXException | InterruptedException | RuntimeException e) {
+			links.forEach(KNXNetworkLink::close);
+			throw e;
+		}
+		return new TunnelingLinkPool(links, settings);
+	}
+
+	private static KNXMediumSettings anyTunnelingAddress(final KNXMediumSettings settings) {
+		return KNXMediumSettings.create(settings.getMedium(), KNXMediumSettings.BackboneRouter);
+	}
+
+	private static void checkTunnels(final int tunnels) {
+		if (tunnels < 1 || tunnels > MaxTunnels)
+			throw new KNXIllegalArgumentException("number of tunnels " + tunnels + " not in [1, " + MaxTunnels + "]");
+	}
+
+	TunnelingLinkPool(final List<? extends KNXNetworkLink> links, final KNXMediumSettings settings) {
+		checkTunnels(links.size());
+		this.links = List.copyOf(links);
+		this.settings = settings;
+		inTransit = new int[links.size()];
+		notifier = new PoolNotifier(LogService.getLogger("io.calimero.link." + getName()));
+		notifier.start();
+		for (int i = 0; i < links.size(); i++)
+			links.get(i).addLinkListener(new TunnelListener(i));
+	}
+
+	/**
+	 * {@return the number of tunnels in this pool}
+	 */
+	public int tunnels() { return links.size(); }
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings) {
+		// keep the tunneling address assigned to each tunnel
+		for (final var link : links)
+			link.setKNXMedium(KNXMediumSettings.create(settings.getMedium(), link.getKNXMedium().getDeviceAddress()));
+		this.settings = settings;
+	}
+
+	@Override
+	public KNXMediumSettings getKNXMedium() { return settings; }
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l) { notifier.addListener(l); }
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l) { notifier.removeListener(l); }
+
+	@Override
+	public void setHopCount(final int count) {
+		for (final var link : links)
+			link.setHopCount(count);
+	}
+
+	@Override
+	public int getHopCount() { return links.get(0).getHopCount(); }
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
+			throws KNXTimeoutException, KNXLinkClosedException {
+		final int tunnel = acquire(dst);
+		try {
+			links.get(tunnel).sendRequest(dst, p, nsdu);
+		}
+		finally {
+			release(dst, tunnel);
+		}
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
+			throws KNXTimeoutException, KNXLinkClosedException {
+		final int tunnel = acquire(dst);
+		try {
+			links.get(tunnel).sendRequestWait(dst, p, nsdu);
+		}
+		finally {
+			release(dst, tunnel);
+		}
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException, KNXLinkClosedException {
+		final var dst = msg.getDestination();
+		final int tunnel = acquire(dst);
+		try {
+			links.get(tunnel).send(msg, waitForCon);
+		}
+		finally {
+			release(dst, tunnel);
+		}
+	}
+
+	@Override
+	public String getName() { return "pool " + links.get(0).getName(); }
+
+	@Override
+	public boolean isOpen() { return !closed.get(); }
+
+	@Override
+	public void close() {
+		// set under the routing lock, so no send acquires a tunnel after we start closing them
+		lock.lock();
+		try {
+			if (!closed.compareAndSet(false, true))
+				return;
+		}
+		finally {
+			lock.unlock();
+		}
+		for (final var link : links)
+			link.close();
+		notifier.connectionClosed(new CloseEvent(this, CloseEvent.USER_REQUEST, "user request"));
+	}
+
+	@Override
+	public String toString() { return getName() + " (" + links.size() + " tunnels)"; }
+
+	private int acquire(final KNXAddress dst) throws KNXLinkClosedException {
+		lock.lock();
+		try {
+			if (closed.get())
+				throw new KNXLinkClosedException("link closed");
+			var route = routes.get(dst);
+			if (route == null) {
+				route = new Route(leastInTransit());
+				routes.put(dst, route);
+			}
+			// frames in transit over a closed tunnel fail anyway, don't keep subsequent frames on it
+			else if (!links.get(route.tunnel).isOpen())
+				route.tunnel = leastInTransit();
+			route.pending++;
+			inTransit[route.tunnel]++;
+			return route.tunnel;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void release(final KNXAddress dst, final int tunnel) {
+		lock.lock();
+		try {
+			final var route = routes.get(dst);
+			inTransit[tunnel]--;
+			if (--route.pending == 0)
+				routes.remove(dst);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// rotate the start index, so that tunnels with equal load get used in turn
+	private int leastInTransit() throws KNXLinkClosedException {
+		int tunnel = -1;
+		for (int i = 0; i < inTransit.length; i++) {
+			final int candidate = (next + i) % inTransit.length;
+			if (links.get(candidate).isOpen() && (tunnel == -1 || inTransit[candidate] < inTransit[tunnel]))
+				tunnel = candidate;
+		}
+		if (tunnel == -1)
+			throw new KNXLinkClosedException("all tunnels closed");
+		next = (tunnel + 1) % inTransit.length;
+		return tunnel;
+	}
+
+	private boolean sentByPool(final IndividualAddress src) {
+		for (final var link : links)
+			if (src.equals(link.getKNXMedium().getDeviceAddress()))
+				return true;
+		return false;
+	}
+
+	// A copy of an indication is a duplicate if it arrives on a tunnel which did not yet receive that indication.
+	// Receiving it again on the same tunnel means the indication got sent anew.
+	private boolean isDuplicate(final CEMILData ldata, final int tunnel) {
+		final long fingerprint = DuplicateFilter.fingerprint(ldata);
+		final int bit = 1 << tunnel;
+		final long now = System.nanoTime();
+		indicationLock.lock();
+		try {
+			final var received = indications.get(fingerprint);
+			if (received != null && now - received.timestamp < DuplicateWindow && (received.tunnels & bit) == 0) {
+				received.tunnels |= bit;
+				return true;
+			}
+			indications.remove(fingerprint);
+			indications.put(fingerprint, new Received(bit, now));
+			return false;
+		}
+		finally {
+			indicationLock.unlock();
+		}
+	}
+
+	private static CemiView view(final CemiView view, final CEMILData ldata) {
+		return view != null ? view : CEMIFactory.view(ldata);
+	}
+
+	// the pool receives the events of its tunnels as link listener, not as connection listener
+	private final class PoolNotifier extends EventNotifier<NetworkLinkListener> {
+		PoolNotifier(final Logger logger) { super(TunnelingLinkPool.this, logger); }
+
+		@Override
+		public void frameReceived(final FrameEvent e) {}
+	}
+
+	// events of all tunnels are funneled into the pool notifier, so pool listeners are notified serially
+	private final class TunnelListener implements NetworkLinkListener {
+		private final int tunnel;
+
+		TunnelListener(final int tunnel) { this.tunnel = tunnel; }
+
+		@Override
+		public void indication(final FrameEvent e) {
+			if (!(e.getFrame() instanceof final CEMILData ldata)) {
+				notifier.addEvent(l -> l.indication(e));
+				return;
+			}
+			if (sentByPool(ldata.getSource()) || isDuplicate(ldata, tunnel))
+				return;
+			final var view = notifier.hasViewListener() ? CEMIFactory.view(ldata) : null;
+			notifier.addEvent(l -> {
+				if (l instanceof final CemiViewListener viewListener)
+					viewListener.indication(view(view, ldata));
+				else
+					l.indication(e);
+			}, ldata.getDestination());
+		}
+
+		@Override
+		public void confirmation(final FrameEvent e) {
+			if (!(e.getFrame() instanceof final CEMILData ldata)) {
+				notifier.addEvent(l -> l.confirmation(e));
+				return;
+			}
+			final var view = notifier.hasViewListener() ? CEMIFactory.view(ldata) : null;
+			notifier.addEvent(l -> {
+				if (l instanceof final CemiViewListener viewListener)
+					viewListener.confirmation(view(view, ldata));
+				else
+					l.confirmation(e);
+			});
+		}
+
+		@Override
+		public void linkClosed(final CloseEvent e) {
+			if (links.stream().anyMatch(KNXNetworkLink::isOpen))
+				return;
+			if (closed.compareAndSet(false, true))
+				notifier.connectionClosed(e);
+		}
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -247,7 +247,7 @@ public abstract class RawFrameBase implements RawFrame
 			is.read(doa, 0, 2);
 		}
 
-		src = new IndividualAddress((is.read() << 8) | is.read());
+		src = IndividualAddress.of((is.read() << 8) | is.read());
 		final int addr = (is.read() << 8) | is.read();
 		final int npci = is.read();
 		final int len;
@@ -266,7 +266,7 @@ public abstract class RawFrameBase implements RawFrame
 
 	void setDestination(final int addr, final boolean group)
 	{
-		dst = group ? new GroupAddress(addr) : new IndividualAddress(addr);
+		dst = group ? GroupAddress.of(addr) : IndividualAddress.of(addr);
 	}
 
 	int readCtrlEx(final ByteArrayInputStream is)
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -44,9 +44,7 @@ import static java.lang.System.Logger.Level.WARNING;
 
 import java.lang.System.Logger;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.HexFormat;
-import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -56,6 +54,7 @@ import io.calimero.DataUnitBuilder;
 import io.calimero.DetachEvent;
 import io.calimero.FrameEvent;
 import io.calimero.GroupAddress;
+import io.calimero.GroupAddressMap;
 import io.calimero.KNXException;
 import io.calimero.KNXFormatException;
 import io.calimero.KNXIllegalArgumentException;
@@ -75,6 +74,7 @@ import io.calimero.dptxlator.DPTXlator4ByteFloat;
 import io.calimero.dptxlator.DPTXlator8BitUnsigned;
 import io.calimero.dptxlator.DPTXlatorBoolean;
 import io.calimero.dptxlator.DPTXlatorString;
+import io.calimero.dptxlator.DptCodec;
 import io.calimero.dptxlator.TranslatorTypes;
 import io.calimero.internal.EventListeners;
 import io.calimero.link.KNXLinkClosedException;
@@ -109,9 +109,10 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 				// Note: even if this is a read response we have waited for,
 				// we nevertheless notify the listeners about it (we do *not* discard it)
 				if (svc == GROUP_RESPONSE) {
-					synchronized (indications) {
-						if (indications.replace((GroupAddress) f.getDestination(), e) != null)
+					if (indications.replace((GroupAddress) f.getDestination(), e) != null) {
+						synchronized (indications) {
 							indications.notifyAll();
+						}
 					}
 				}
 				// notify listeners
@@ -157,9 +158,9 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 	private final boolean useGoDiagnostics;
 	private final EventListeners<ProcessListener> listeners = new EventListeners<>();
 
-	private final Map<GroupAddress, FrameEvent> indications = new HashMap<>();
+	private final GroupAddressMap<FrameEvent> indications = new GroupAddressMap<>();
 	private static final FrameEvent NoResponse = new FrameEvent(ProcessCommunicatorImpl.class, (CEMI) null);
-	private final Map<GroupAddress, AtomicInteger> readers = new HashMap<>();
+	private final GroupAddressMap<AtomicInteger> readers = new GroupAddressMap<>();
 
 	private volatile Priority priority = Priority.LOW;
 	private volatile Duration responseTimeout = Duration.ofSeconds(5);
@@ -266,9 +267,7 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 		KNXLinkClosedException, KNXFormatException, InterruptedException
 	{
 		final byte[] apdu = readFromGroup(dst, priority, 0, 0);
-		final DPTXlatorBoolean t = new DPTXlatorBoolean(DPTXlatorBoolean.DPT_BOOL);
-		extractGroupASDU(apdu, t);
-		return t.getValueBoolean();
+		return DptCodec.of(DPTXlatorBoolean.DPT_BOOL).decodeBoolean(apdu, 1);
 	}
 
 	@Override
@@ -343,10 +342,9 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 	public double readFloat(final GroupAddress dst) throws KNXTimeoutException, KNXRemoteException,
 		KNXLinkClosedException, KNXFormatException, InterruptedException {
 		final byte[] apdu = readFromGroup(dst, priority, 2, 4);
-		final DPTXlator t = apdu.length == 6 ? new DPTXlator4ByteFloat(DPTXlator4ByteFloat.DPT_TEMPERATURE_DIFFERENCE)
-				: new DPTXlator2ByteFloat(DPTXlator2ByteFloat.DPT_RAIN_AMOUNT);
-		extractGroupASDU(apdu, t);
-		return t.getNumericValue();
+		final var codec = DptCodec.of(apdu.length == 6 ? DPTXlator4ByteFloat.DPT_TEMPERATURE_DIFFERENCE
+				: DPTXlator2ByteFloat.DPT_RAIN_AMOUNT);
+		return codec.decodeDouble(apdu, 2);
 	}
 
 	@Override
@@ -387,17 +385,21 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 		final byte[] apdu = readFromGroup(dp.getMainAddress(), dp.getPriority(), 0, 14);
 		if (dp.getDPT() == null)
 			return HexFormat.ofDelimiter(" ").formatHex(DataUnitBuilder.extractASDU(apdu));
-		final DPTXlator t = TranslatorTypes.createTranslator(dp.getMainNumber(), dp.getDPT());
-		extractGroupASDU(apdu, t);
-		return t.getValue();
+		try (var lease = TranslatorTypes.factory(dp.getMainNumber(), dp.getDPT()).lease()) {
+			final DPTXlator t = lease.translator();
+			extractGroupASDU(apdu, t);
+			return t.getValue();
+		}
 	}
 
 	@Override
 	public void write(final Datapoint dp, final String value) throws KNXException
 	{
-		final DPTXlator t = TranslatorTypes.createTranslator(dp.getMainNumber(), dp.getDPT());
-		t.setValue(value);
-		write(dp.getMainAddress(), dp.getPriority(), t);
+		try (var lease = TranslatorTypes.factory(dp.getMainNumber(), dp.getDPT()).lease()) {
+			final DPTXlator t = lease.translator();
+			t.setValue(value);
+			write(dp.getMainAddress(), dp.getPriority(), t);
+		}
 	}
 
 	@Override
@@ -413,9 +415,11 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 				l = (l << 8) + (apdu[i] & 0xff);
 			return l;
 		}
-		final DPTXlator t = TranslatorTypes.createTranslator(dp.getMainNumber(), dp.getDPT());
-		extractGroupASDU(apdu, t);
-		return t.getNumericValue();
+		try (var lease = TranslatorTypes.factory(dp.getMainNumber(), dp.getDPT()).lease()) {
+			final DPTXlator t = lease.translator();
+			extractGroupASDU(apdu, t);
+			return t.getNumericValue();
+		}
 	}
 
 	@Override
@@ -467,9 +471,10 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 		}
 		finally {
 			synchronized (indications) {
-				final boolean none = readers.get(dst).decrementAndGet() == 0;
-				readers.compute(dst, (k, v) -> none ? null : v);
-				indications.compute(dst, (k, v) -> none ? null : v);
+				if (readers.get(dst).decrementAndGet() == 0) {
+					readers.remove(dst);
+					indications.remove(dst);
+				}
 			}
 		}
 	}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2022 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -205,9 +205,11 @@ public interface ProcessListener extends EventListener
 	 */
 	static String asString(final ProcessEvent e, final int dptMainNumber, final String dptID) throws KNXException
 	{
-		final DPTXlator t = TranslatorTypes.createTranslator(dptMainNumber, dptID);
-		t.setData(e.getASDU());
-		return t.getValue();
+		try (var lease = TranslatorTypes.factory(dptMainNumber, dptID).lease()) {
+			final DPTXlator t = lease.translator();
+			t.setData(e.getASDU());
+			return t.getValue();
+		}
 	}
 
 	/**
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2019, 2024 B. Malinowsky
+    Copyright (c) 2019, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -57,6 +57,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,9 +76,11 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import io.calimero.GroupAddress;
+import io.calimero.GroupAddressMap;
 import io.calimero.IndividualAddress;
 import io.calimero.KNXFormatException;
 import io.calimero.KNXIllegalArgumentException;
+import io.calimero.internal.DerivedKeyCache;
 import io.calimero.knxnetip.SecureConnection;
 import io.calimero.log.LogService;
 import io.calimero.secure.Keyring.Interface.Type;
@@ -436,7 +439,7 @@ public final class Keyring {
 			boolean inGroupAddresses = false;
 
 			final Map<IndividualAddress, List<Interface>> interfaces = new HashMap<>();
-			final Map<GroupAddress, byte[]> groups = new HashMap<>();
+			final var groups = new GroupAddressMap<byte[]>();
 			final Map<IndividualAddress, Device> devices = new HashMap<>();
 
 			for (reader.next(); reader.getEventType() != XmlReader.END_DOCUMENT; reader.next()) {
@@ -444,7 +447,7 @@ public final class Keyring {
 
 				if (reader.getEventType() != XmlReader.START_ELEMENT) {
 					if (event == XmlReader.END_ELEMENT && "Interface".equals(reader.getLocalName()) && iface != null) {
-						iface.groups = Map.copyOf(iface.groups);
+						iface.groups = Collections.unmodifiableMap(iface.groups);
 						logger.log(TRACE, "add {0}", iface);
 						iface = null;
 					}
@@ -473,9 +476,9 @@ public final class Keyring {
 					final var type = reader.getAttributeValue(null, "Type"); // { Backbone, Tunneling, USB }
 					// rest is optional
 					String attr = reader.getAttributeValue(null, "Host");
-					final var host = attr != null ? new IndividualAddress(attr) : new IndividualAddress(0);
+					final var host = attr != null ? IndividualAddress.from(attr) : IndividualAddress.of(0);
 					attr = reader.getAttributeValue(null, "IndividualAddress");
-					final var addr = attr != null ? new IndividualAddress(attr) : new IndividualAddress(0);
+					final var addr = attr != null ? IndividualAddress.from(attr) : IndividualAddress.of(0);
 					final var user = readAttribute(reader, "UserID", Integer::parseInt, 0);
 					final var pwd = readAttribute(reader, "Password", Keyring::decode, null);
 					final var auth = readAttribute(reader, "Authentication", Keyring::decode, null);
@@ -485,25 +488,25 @@ public final class Keyring {
 
 				}
 				else if (iface != null && "Group".equals(name)) { // [0, *]
-					final var addr = new GroupAddress(reader.getAttributeValue(null, "Address"));
+					final var addr = GroupAddress.from(reader.getAttributeValue(null, "Address"));
 
 					final var senders = reader.getAttributeValue(null, "Senders"); // optional, (empty) list of addresses
 					final var list = new ArrayList<IndividualAddress>();
 					if (senders != null) {
 						final Matcher matcher = Pattern.compile("[^\\s]+").matcher(senders);
 						while (matcher.find())
-							list.add(new IndividualAddress(matcher.group()));
+							list.add(IndividualAddress.from(matcher.group()));
 					}
 
 					if (iface.groups.isEmpty())
-						iface.groups = new HashMap<>();
+						iface.groups = new GroupAddressMap<>();
 					iface.groups.put(addr, Set.of(list.toArray(new IndividualAddress[0])));
 				}
 				else if ("Devices".equals(name)) {
 					inDevices = true;
 				}
 				else if (inDevices && "Device".equals(name)) { // [0, *]
-					final var addr = new IndividualAddress(reader.getAttributeValue(null, "IndividualAddress"));
+					final var addr = IndividualAddress.from(reader.getAttributeValue(null, "IndividualAddress"));
 					// rest is optional
 					final var toolkey = readAttribute(reader, "ToolKey", Keyring::decode, null);
 					final var seq = readAttribute(reader, "SequenceNumber", Long::parseLong, (long) 0);
@@ -518,7 +521,7 @@ public final class Keyring {
 					inGroupAddresses = true;
 				}
 				else if (inGroupAddresses && "Group".equals(name)) { // [0, *]
-					final var addr = new GroupAddress(reader.getAttributeValue(null, "Address"));
+					final var addr = GroupAddress.from(reader.getAttributeValue(null, "Address"));
 					final var key = decode(reader.getAttributeValue(null, "Key"));
 					groups.put(addr, key);
 				}
@@ -527,7 +530,7 @@ public final class Keyring {
 			}
 
 			this.interfaces = Map.copyOf(interfaces);
-			this.groups = Map.copyOf(groups);
+			this.groups = Collections.unmodifiableMap(groups);
 			this.devices = Map.copyOf(devices);
 		}
 		catch (KNXFormatException | UnknownHostException e) {
@@ -565,6 +568,26 @@ public final class Keyring {
 
 	public Map<IndividualAddress, List<Interface>> interfaces() { return interfaces; }
 
+	/**
+	 * Decrypts all interfaces which have a user password and device authentication code set, deriving their keys up
+	 * front. Use this method before (re-)establishing many secure sessions, e.g., after a network outage: the returned
+	 * interfaces carry the derived keys required by
+	 * {@link io.calimero.knxnetip.StreamConnection#newSecureSession(DecryptedInterface)}, and derived keys are kept in
+	 * a bounded in-memory cache, so later calls to {@link Interface#decrypt(char[])} are cheap as well.
+	 *
+	 * @param keyringPwd keyring password
+	 * @return interfaces with decrypted keys, mapped to the host they belong to
+	 * @throws KnxSecureException if decryption fails
+	 * @see io.calimero.knxnetip.SecureConnection#clearDerivedKeys()
+	 */
+	public Map<IndividualAddress, List<DecryptedInterface>> decryptInterfaces(final char[] keyringPwd) {
+		final var decrypted = new HashMap<IndividualAddress, List<DecryptedInterface>>();
+		interfaces.forEach((host, list) -> list.stream()
+				.filter(iface -> iface.password().isPresent() && iface.authentication().isPresent())
+				.forEach(iface -> decrypted.computeIfAbsent(host, __ -> new ArrayList<>()).add(iface.decrypt(keyringPwd))));
+		return decrypted;
+	}
+
 	public Map<GroupAddress, byte[]> groups() { return groups; }
 
 	public Map<IndividualAddress, Device> devices() { return devices; }
@@ -730,7 +753,7 @@ public final class Keyring {
 
 	private static byte[] hashKeyringPwd(final char[] keyringPwd) {
 		try {
-			return pbkdf2WithHmacSha256(keyringPwd, keyringSalt);
+			return DerivedKeyCache.shared().derive(keyringPwd, keyringSalt, Keyring::pbkdf2WithHmacSha256);
 		}
 		catch (final GeneralSecurityException e) {
 			throw new KnxSecureException("hashing keyring password", e);
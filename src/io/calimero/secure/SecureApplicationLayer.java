@@ -1,6 +1,6 @@
 /*
     Calimero - A library for KNX network access
-    Copyright (c) 2019, 2025 B. Malinowsky
+    Copyright (c) 2019, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -74,6 +74,7 @@ import io.calimero.DataUnitBuilder;
 import io.calimero.FrameEvent;
 import io.calimero.GroupAddress;
 import io.calimero.IndividualAddress;
+import io.calimero.IndividualAddressMap;
 import io.calimero.KNXAddress;
 import io.calimero.KNXException;
 import io.calimero.KNXFormatException;
@@ -137,8 +138,8 @@ public class SecureApplicationLayer implements AutoCloseable {
 	private volatile long sequenceNumber;
 	private volatile long sequenceNumberToolAccess;
 	// remote sequences
-	private final Map<IndividualAddress, Long> lastValidSequence = new ConcurrentHashMap<>();
-	private final Map<IndividualAddress, Long> lastValidSequenceToolAccess = new ConcurrentHashMap<>();
+	private final Map<IndividualAddress, Long> lastValidSequence = new IndividualAddressMap<>();
+	private final Map<IndividualAddress, Long> lastValidSequenceToolAccess = new IndividualAddressMap<>();
 
 	private final Security security;
 
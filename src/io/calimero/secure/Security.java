@@ -1,6 +1,6 @@
 /*
     Calimero - A library for KNX network access
-    Copyright (c) 2019, 2022 B. Malinowsky
+    Copyright (c) 2019, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -44,7 +44,9 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import io.calimero.GroupAddress;
+import io.calimero.GroupAddressMap;
 import io.calimero.IndividualAddress;
+import io.calimero.IndividualAddressMap;
 import io.calimero.SerialNumber;
 import io.calimero.secure.Keyring.Interface;
 
@@ -55,10 +57,10 @@ public final class Security {
 
 	private static final Security defInst = new Security();
 
-	private final Map<IndividualAddress, byte[]> deviceToolKeys = new ConcurrentHashMap<>();
-	private final Map<GroupAddress, byte[]> groupKeys = new ConcurrentHashMap<>();
-	private final Map<GroupAddress, Set<IndividualAddress>> groupSenders = new ConcurrentHashMap<>();
-	private final Map<IndividualAddress, Map<GroupAddress, Set<IndividualAddress>>> sendersByInterface = new ConcurrentHashMap<>();
+	private final Map<IndividualAddress, byte[]> deviceToolKeys = new IndividualAddressMap<>();
+	private final Map<GroupAddress, byte[]> groupKeys = new GroupAddressMap<>();
+	private final Map<GroupAddress, Set<IndividualAddress>> groupSenders = new GroupAddressMap<>();
+	private final Map<IndividualAddress, Map<GroupAddress, Set<IndividualAddress>>> sendersByInterface = new IndividualAddressMap<>();
 	private final Map<SerialNumber, byte[]> broadcastToolKeys = new ConcurrentHashMap<>();
 
 
@@ -128,10 +130,9 @@ public final class Security {
 		return set;
 	}
 
-	@SuppressWarnings("unchecked")
-	private static <K, V extends Set<T>, T> Map<K, V> mutableMapOf(final Map<K, V> m) {
-		final var map = new ConcurrentHashMap<K, V>();
-		m.forEach((k, v) -> map.put(k, (V) concurrentSetOf(v)));
+	private static <T> Map<GroupAddress, Set<T>> mutableMapOf(final Map<GroupAddress, Set<T>> m) {
+		final var map = new GroupAddressMap<Set<T>>();
+		m.forEach((k, v) -> map.put(k, concurrentSetOf(v)));
 		return map;
 	}
 
@@ -170,7 +171,7 @@ public final class Security {
 	 * @return modifiable mapping of group address to set of group senders, the map might be empty
 	 */
 	public Map<GroupAddress, Set<IndividualAddress>> groupSenders(final IndividualAddress interfaceAddress) {
-		return sendersByInterface.computeIfAbsent(interfaceAddress, __ -> new ConcurrentHashMap<>());
+		return sendersByInterface.computeIfAbsent(interfaceAddress, __ -> new GroupAddressMap<>());
 	}
 
 	Map<SerialNumber, byte[]> broadcastToolKeys() { return broadcastToolKeys; }
@@ -0,0 +1,201 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class GroupAddressMapTest {
+	private final GroupAddressMap<String> map = new GroupAddressMap<>();
+
+	@Test
+	void emptyMap() {
+		assertTrue(map.isEmpty());
+		assertEquals(0, map.size());
+		assertNull(map.get(GroupAddress.of(1)));
+		assertNull(map.get(0xffff));
+		assertFalse(map.entrySet().iterator().hasNext());
+	}
+
+	@Test
+	void putGetRemove() {
+		final var addr = GroupAddress.threeLevel(1, 2, 3);
+		assertNull(map.put(addr, "a"));
+		assertEquals("a", map.get(addr));
+		assertEquals("a", map.get(new GroupAddress(1, 2, 3)));
+		assertEquals("a", map.get(addr.getRawAddress()));
+		assertTrue(map.containsKey(addr));
+		assertEquals(1, map.size());
+
+		assertEquals("a", map.put(addr, "b"));
+		assertEquals(1, map.size());
+
+		assertEquals("b", map.remove(addr));
+		assertNull(map.remove(addr));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	void otherKeyTypes() {
+		map.put(GroupAddress.of(0x1203), "a");
+		assertNull(map.get(IndividualAddress.of(0x1203)));
+		assertNull(map.get("1/2/3"));
+		assertFalse(map.containsKey(IndividualAddress.of(0x1203)));
+		assertNull(map.remove(IndividualAddress.of(0x1203)));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	void atomicOperations() {
+		final var addr = GroupAddress.of(100);
+		assertNull(map.replace(addr, "x"));
+		assertNull(map.putIfAbsent(addr, "a"));
+		assertEquals("a", map.putIfAbsent(addr, "b"));
+		assertFalse(map.replace(addr, "b", "c"));
+		assertTrue(map.replace(addr, "a", "c"));
+		assertEquals("c", map.replace(addr, "d"));
+		assertFalse(map.remove(addr, "c"));
+		assertTrue(map.remove(addr, "d"));
+		assertEquals("e", map.computeIfAbsent(addr, k -> "e"));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	void nullsNotPermitted() {
+		assertThrows(NullPointerException.class, () -> map.put(GroupAddress.of(1), null));
+		assertThrows(NullPointerException.class, () -> map.put(null, "a"));
+		assertThrows(NullPointerException.class, () -> map.putIfAbsent(GroupAddress.of(1), null));
+		assertNull(map.get(null));
+	}
+
+	@Test
+	void rawAddressOutOfRange() {
+		assertThrows(KNXIllegalArgumentException.class, () -> map.get(-1));
+		assertThrows(KNXIllegalArgumentException.class, () -> map.get(0x10000));
+	}
+
+	@Test
+	void iterationIsOrderedByAddressWithCanonicalKeys() {
+		final var expected = new HashMap<GroupAddress, String>();
+		for (final int raw : new int[] { 0xffff, 0, 0x1203, 0x1204, 0x8000 }) {
+			map.put(new GroupAddress(raw), "v" + raw);
+			expected.put(GroupAddress.of(raw), "v" + raw);
+		}
+		assertEquals(expected, map);
+		assertEquals(map, expected);
+		assertEquals(expected.hashCode(), map.hashCode());
+
+		final List<Integer> keys = new ArrayList<>();
+		map.forEach((k, v) -> {
+			assertSame(GroupAddress.of(k.getRawAddress()), k);
+			keys.add(k.getRawAddress());
+		});
+		assertEquals(List.of(0, 0x1203, 0x1204, 0x8000, 0xffff), keys);
+		assertEquals(5, map.values().size());
+	}
+
+	@Test
+	void iteratorRemoveAndClear() {
+		for (int i = 0; i < 1000; i++)
+			map.put(GroupAddress.of(i * 37), "v");
+		final var it = map.entrySet().iterator();
+		it.next();
+		it.remove();
+		assertEquals(999, map.size());
+		map.keySet().removeIf(k -> k.getRawAddress() % 2 == 0);
+		assertEquals(500, map.size());
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.entrySet().iterator().hasNext());
+	}
+
+	@Test
+	void copyConstructor() {
+		final var m = new GroupAddressMap<>(Map.of(GroupAddress.of(1), "a", GroupAddress.of(2), "b"));
+		assertEquals(2, m.size());
+		assertEquals("b", m.get(2));
+	}
+
+	@Test
+	void concurrentPutIfAbsent() throws Exception {
+		final int threads = 4;
+		final var executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				final String value = "t" + t;
+				results.add(executor.submit(() -> {
+					int added = 0;
+					for (int raw = 0; raw <= 0xffff; raw++)
+						if (map.putIfAbsent(GroupAddress.of(raw), value) == null)
+							added++;
+					return added;
+				}));
+			}
+			int total = 0;
+			for (final var result : results)
+				total += result.get();
+			assertEquals(0x10000, total);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals(0x10000, map.size());
+	}
+
+	@Test
+	void individualAddressMap() throws KNXFormatException {
+		final var m = new IndividualAddressMap<String>();
+		m.put(IndividualAddress.of(1, 1, 5), "dev");
+		assertEquals("dev", m.get(new IndividualAddress("1.1.5")));
+		assertNull(m.get(GroupAddress.of(0x1105)));
+		m.forEach((k, v) -> assertSame(IndividualAddress.of(1, 1, 5), k));
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2014, 2022 B. Malinowsky
+    Copyright (c) 2014, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -37,6 +37,8 @@
 package io.calimero;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
@@ -69,4 +71,25 @@ class GroupAddressTest
 		}
 		catch (final KNXFormatException e) {}
 	}
+
+	@Test
+	void canonicalInstances() throws KNXFormatException
+	{
+		final GroupAddress g = GroupAddress.of(4611);
+		assertSame(g, GroupAddress.of(4611));
+		assertSame(g, GroupAddress.from("2/2/3"));
+		assertSame(g, GroupAddress.threeLevel(2, 2, 3));
+		assertSame(g, GroupAddress.twoLevel(2, 515));
+		assertSame(g, GroupAddress.freeStyle(4611));
+		assertSame(GroupAddress.Broadcast, GroupAddress.of(0));
+		assertSame(GroupAddress.of(0xffff), GroupAddress.of(0xffff));
+		assertEquals(new GroupAddress(4611), g);
+	}
+
+	@Test
+	void canonicalOutOfRange()
+	{
+		assertThrows(KNXIllegalArgumentException.class, () -> GroupAddress.of(-1));
+		assertThrows(KNXIllegalArgumentException.class, () -> GroupAddress.of(0x10000));
+	}
 }
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2014, 2022 B. Malinowsky
+    Copyright (c) 2014, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -37,6 +37,9 @@
 package io.calimero;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
@@ -65,4 +68,15 @@ class IndividualAddressTest {
 		}
 		catch (final KNXFormatException e) {}
 	}
+
+	@Test
+	void canonicalInstances() throws KNXFormatException {
+		final IndividualAddress a = IndividualAddress.of(0x1203);
+		assertSame(a, IndividualAddress.of(0x1203));
+		assertSame(a, IndividualAddress.of(1, 2, 3));
+		assertSame(a, IndividualAddress.from("1.2.3"));
+		assertEquals(new IndividualAddress(1, 2, 3), a);
+		assertNotEquals(GroupAddress.of(0x1203), a);
+		assertThrows(KNXIllegalArgumentException.class, () -> IndividualAddress.of(0x10000));
+	}
 }
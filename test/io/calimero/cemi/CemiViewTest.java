@@ -0,0 +1,154 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.cemi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXFormatException;
+import io.calimero.Priority;
+
+class CemiViewTest {
+	private final IndividualAddress src = new IndividualAddress(1, 2, 3);
+	private final GroupAddress dst = new GroupAddress(2, 4, 4);
+	// group value write of 2 bytes
+	private final byte[] tpdu = { 0, (byte) 0x80, 0x0c, 0x1a };
+
+	private final CEMILData ldata = new CEMILData(CEMILData.MC_LDATA_IND, src, dst, tpdu, Priority.URGENT, false,
+			true, false, 5);
+
+	private CemiView view(final CEMILData msg) throws KNXFormatException {
+		final byte[] frame = msg.toByteArray();
+		return CEMIFactory.view(frame, 0, frame.length);
+	}
+
+	@Test
+	void fields() throws KNXFormatException {
+		final var view = view(ldata);
+		assertEquals(CEMILData.MC_LDATA_IND, view.messageCode());
+		assertEquals(src.getRawAddress(), view.source());
+		assertEquals(dst.getRawAddress(), view.destination());
+		assertTrue(view.isGroupDestination());
+		assertEquals(Priority.URGENT, view.priority());
+		assertEquals(5, view.hopCount());
+		assertFalse(view.isRepetition());
+		assertFalse(view.isSystemBroadcast());
+		assertEquals(0, view.tpci());
+		assertEquals(0x80, view.apci());
+		assertEquals(4, view.tpduLength());
+		assertEquals(ByteBuffer.wrap(tpdu), view.tpduSlice());
+		assertEquals(ByteBuffer.wrap(tpdu, 2, 2), view.asdu());
+	}
+
+	@Test
+	void lengthOptimizedGroupValue() throws KNXFormatException {
+		final var view = view(new CEMILData(CEMILData.MC_LDATA_IND, src, dst, new byte[] { 0, (byte) 0x81 },
+				Priority.LOW));
+		assertEquals(0x80, view.apci());
+		assertEquals(1, view.apciData());
+		assertEquals(0, view.asdu().remaining());
+	}
+
+	@Test
+	void individualDestination() throws KNXFormatException {
+		final var device = new IndividualAddress(1, 1, 1);
+		final var view = view(new CEMILData(CEMILData.MC_LDATA_REQ, src, device, new byte[] { (byte) 0x80 },
+				Priority.SYSTEM));
+		assertFalse(view.isGroupDestination());
+		assertEquals(device.getRawAddress(), view.destination());
+		assertEquals(0x80, view.tpci());
+		assertEquals(-1, view.apci());
+	}
+
+	@Test
+	void additionalInfo() throws KNXFormatException {
+		final var ex = new CEMILDataEx(CEMILData.MC_LDATA_IND, src, dst, tpdu, Priority.LOW);
+		ex.additionalInfo().add(AdditionalInfo.of(AdditionalInfo.PlMedium, new byte[] { 0x10, 0x20 }));
+		final var view = view(ex);
+		assertEquals(dst.getRawAddress(), view.destination());
+		assertEquals(ByteBuffer.wrap(tpdu), view.tpduSlice());
+		assertArrayEquals(ex.toByteArray(), view.toCemi().toByteArray());
+	}
+
+	@Test
+	void viewIsReadOnly() throws KNXFormatException {
+		final var view = view(ldata);
+		assertTrue(view.frame().isReadOnly());
+		assertTrue(view.asdu().isReadOnly());
+	}
+
+	@Test
+	void frameWithinLargerBuffer() throws KNXFormatException {
+		final byte[] frame = ldata.toByteArray();
+		final byte[] data = new byte[frame.length + 10];
+		System.arraycopy(frame, 0, data, 5, frame.length);
+		final var view = CEMIFactory.view(data, 5, frame.length);
+		assertEquals(ByteBuffer.wrap(frame), view.frame());
+		assertEquals(ldata.toString(), view.toCemi().toString());
+	}
+
+	@Test
+	void toCemiIsCreatedOnce() throws KNXFormatException {
+		final var view = view(ldata);
+		assertSame(view.toCemi(), view.toCemi());
+		assertSame(ldata, CEMIFactory.view(ldata).toCemi());
+	}
+
+	@Test
+	void truncatedFrame() {
+		final byte[] frame = ldata.toByteArray();
+		assertThrows(KNXFormatException.class, () -> CEMIFactory.view(frame, 0, frame.length - 1));
+		assertThrows(KNXFormatException.class, () -> CEMIFactory.view(frame, 0, 5));
+	}
+
+	@Test
+	void noLData() {
+		final byte[] frame = ldata.toByteArray();
+		frame[0] = (byte) CEMIBusMon.MC_BUSMON_IND;
+		assertThrows(KNXFormatException.class, () -> CEMIFactory.view(frame, 0, frame.length));
+	}
+}
@@ -0,0 +1,185 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.dptxlator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.calimero.KNXException;
+import io.calimero.KNXFormatException;
+
+class DptCodecTest {
+	private static Stream<DPT> numericDpts() throws KNXException {
+		final var dpts = new ArrayList<DPT>();
+		for (final int main : new int[] { 1, 5, 6, 7, 8, 9, 12, 13, 14 })
+			dpts.addAll(TranslatorTypes.getMainType(main).getSubTypes().values());
+		// no numeric value range
+		dpts.remove(DPTXlator8BitSigned.DPT_STATUS_MODE3);
+		return dpts.stream();
+	}
+
+	@ParameterizedTest
+	@MethodSource("numericDpts")
+	void encodeDecodeEqualsTranslator(final DPT dpt) throws KNXException {
+		final var codec = DptCodec.of(dpt);
+		assertSame(dpt, codec.dpt());
+		final var t = TranslatorTypes.createTranslator(dpt);
+
+		// the 4-byte signed translator saturates values out of range, whereas the codec rejects them
+		final boolean saturates = t instanceof DPTXlator4ByteSigned;
+		for (final double value : sampleValues(dpt)) {
+			final byte[] encoded = new byte[codec.size() + 2];
+			boolean valid = !saturates || (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE);
+			try {
+				t.setValue(value);
+			}
+			catch (KNXFormatException | RuntimeException e) {
+				valid = false;
+			}
+			if (!valid) {
+				assertThrows(KNXFormatException.class, () -> codec.encode(value, encoded, 1), dpt + " value " + value);
+				continue;
+			}
+			codec.encode(value, encoded, 1);
+			final byte[] expected = new byte[encoded.length];
+			t.getData(expected, 1);
+			assertArrayEquals(expected, encoded, dpt + " value " + value);
+			assertEquals(t.getNumericValue(), codec.decodeDouble(encoded, 1), dpt + " value " + value);
+		}
+	}
+
+	@Test
+	void unknownDpt() {
+		assertThrows(KNXFormatException.class, () -> DptCodec.of("16.001"));
+		assertThrows(KNXFormatException.class, () -> DptCodec.of("9.999"));
+		assertThrows(KNXFormatException.class, () -> DptCodec.of("x.001"));
+	}
+
+	@Test
+	void booleanKeepsOtherBits() throws KNXFormatException {
+		final var codec = DptCodec.of(DPTXlatorBoolean.DPT_SWITCH);
+		final byte[] apdu = { 0, (byte) 0x80 };
+		codec.encodeBoolean(true, apdu, 1);
+		assertEquals((byte) 0x81, apdu[1]);
+		assertTrue(codec.decodeBoolean(apdu, 1));
+		assertEquals(1, codec.decodeInt(apdu, 1));
+		codec.encodeInt(0, apdu, 1);
+		assertEquals((byte) 0x80, apdu[1]);
+		assertFalse(codec.decodeBoolean(apdu, 1));
+		assertThrows(KNXFormatException.class, () -> codec.encodeInt(2, apdu, 1));
+	}
+
+	@Test
+	void scaledUnsigned() throws KNXFormatException {
+		final var codec = DptCodec.of("5.001");
+		final byte[] data = new byte[1];
+		codec.encode(100, data, 0);
+		assertEquals((byte) 255, data[0]);
+		codec.encodeInt(50, data, 0);
+		assertEquals(128, data[0] & 0xff);
+		assertEquals(50, codec.decodeInt(data, 0));
+		assertEquals(128 * 100d / 255, codec.decodeDouble(data, 0));
+		assertThrows(KNXFormatException.class, () -> codec.encode(Double.NaN, data, 0));
+	}
+
+	@Test
+	void unsigned4Byte() throws KNXFormatException {
+		final var codec = DptCodec.of("12.001");
+		final byte[] data = new byte[4];
+		codec.encodeLong(0xFFFFFFFFL, data, 0);
+		assertArrayEquals(new byte[] { -1, -1, -1, -1 }, data);
+		assertEquals(0xFFFFFFFFL, codec.decodeLong(data, 0));
+		assertThrows(ArithmeticException.class, () -> codec.decodeInt(data, 0));
+		assertThrows(KNXFormatException.class, () -> codec.encodeLong(0x1_0000_0000L, data, 0));
+		assertThrows(KNXFormatException.class, () -> codec.encodeInt(-1, data, 0));
+	}
+
+	@Test
+	void signed64Bit() throws KNXException {
+		final var codec = DptCodec.of(DPTXlator64BitSigned.DPT_ACTIVE_ENERGY);
+		final var t = new DPTXlator64BitSigned(DPTXlator64BitSigned.DPT_ACTIVE_ENERGY);
+		for (final long value : new long[] { Long.MIN_VALUE, -1, 0, 0x1234_5678_9abc_def0L, Long.MAX_VALUE }) {
+			final byte[] data = new byte[8];
+			codec.encodeLong(value, data, 0);
+			t.setValue(value);
+			assertArrayEquals(t.getData(), data);
+			assertEquals(value, codec.decodeLong(data, 0));
+		}
+		final byte[] data = new byte[8];
+		codec.encode(-1234.9, data, 0);
+		assertEquals(-1234, codec.decodeLong(data, 0));
+		assertThrows(KNXFormatException.class, () -> codec.encode(0x1p63, data, 0));
+	}
+
+	@Test
+	void float2ByteDecodesWithoutTranslator() throws KNXFormatException {
+		final var codec = DptCodec.of(DPTXlator2ByteFloat.DPT_TEMPERATURE);
+		final byte[] data = new byte[2];
+		codec.encode(21.5, data, 0);
+		assertEquals(21.5, codec.decodeDouble(data, 0), 0.01);
+		assertEquals(22, codec.decodeInt(data, 0));
+		assertThrows(KNXFormatException.class, () -> codec.encode(-274, data, 0));
+	}
+
+	private static List<Double> sampleValues(final DPT dpt) {
+		final double lower = parse(dpt.getLowerValue(), 0);
+		final double upper = parse(dpt.getUpperValue(), 1);
+		return List.of(lower, upper, (lower + upper) / 2, lower - 1, upper + 1, 0d, 1d, 1.5, -1.5, 27.3);
+	}
+
+	// boolean DPTs use names as range
+	private static double parse(final String limit, final double fallback) {
+		try {
+			return Double.parseDouble(limit);
+		}
+		catch (final NumberFormatException e) {
+			return fallback;
+		}
+	}
+}
@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2023 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -228,4 +228,103 @@ class TranslatorTypesTest
 		}
 		catch (final KNXException expected) {}
 	}
+
+	@Test
+	void factoryIsCached() throws KNXException
+	{
+		final TranslatorTypes.Factory f = TranslatorTypes.factory("9.001");
+		assertSame(f, TranslatorTypes.factory("9.001"));
+		assertSame(f, TranslatorTypes.factory(9, "9.001"));
+		assertSame(TranslatorTypes.factory(9, 1), TranslatorTypes.factory(9, 1));
+		assertEquals("9.001", TranslatorTypes.factory(9, 1).dptId());
+		assertEquals(9, f.mainType().getMainNumber());
+		// without DPT ID, the factory is cached by main number
+		assertSame(TranslatorTypes.factory(9, (String) null), TranslatorTypes.factory(9, ""));
+
+		final DPTXlator t = f.create();
+		assertNotSame(t, f.create());
+		assertEquals(DPTXlator2ByteFloat.DPT_TEMPERATURE, t.getType());
+	}
+
+	@Test
+	void factoryIsCachedByMainNumberAndDptId() throws KNXException
+	{
+		final Map<Integer, MainType> m = TranslatorTypes.getAllMainTypes();
+		final int custom = 1000;
+		final MainType type = new MainType(custom, DPTXlator2ByteFloat.class, "custom 2 byte float");
+		m.put(custom, type);
+		try {
+			final TranslatorTypes.Factory f = TranslatorTypes.factory(custom, "9.001");
+			assertSame(type, f.mainType());
+			assertSame(f, TranslatorTypes.factory(custom, "9.001"));
+			assertEquals(9, TranslatorTypes.factory("9.001").mainType().getMainNumber());
+			assertSame(type, TranslatorTypes.factory(custom, "9.001").mainType());
+		}
+		finally {
+			m.remove(custom);
+		}
+	}
+
+	@Test
+	void factoryFailsForUnknownDpt()
+	{
+		assertThrows(KNXFormatException.class, () -> TranslatorTypes.factory("9.999"));
+		assertThrows(KNXException.class, () -> TranslatorTypes.factory(9999, 1));
+		assertThrows(KNXException.class, () -> TranslatorTypes.factory("x"));
+	}
+
+	@Test
+	void factoryAppendsUnitOnlyWithSubNumber() throws KNXException
+	{
+		assertTrue(TranslatorTypes.factory(9, 1).create().getValue().endsWith("°C"));
+		assertFalse(TranslatorTypes.factory(9, 0).create().getValue().endsWith("°C"));
+		try (var lease = TranslatorTypes.factory(9, 0).lease()) {
+			assertFalse(lease.translator().getValue().endsWith("°C"));
+			lease.translator().setAppendUnit(true);
+		}
+		try (var lease = TranslatorTypes.factory(9, 0).lease()) {
+			assertFalse(lease.translator().getValue().endsWith("°C"));
+		}
+	}
+
+	@Test
+	void leaseReusesTranslator() throws KNXException
+	{
+		final TranslatorTypes.Factory f = TranslatorTypes.factory("5.001");
+		final DPTXlator first;
+		try (var lease = f.lease()) {
+			first = lease.translator();
+			first.setValue("50");
+			try (var concurrent = f.lease()) {
+				assertNotSame(first, concurrent.translator());
+			}
+		}
+		final var lease = f.lease();
+		final DPTXlator t = lease.translator();
+		assertTrue(t == first || t.getClass() == first.getClass());
+		lease.close();
+		lease.close();
+		assertThrows(IllegalStateException.class, lease::translator);
+	}
+
+	@Test
+	void factoryFollowsMainTypeChanges() throws KNXException
+	{
+		final Map<Integer, MainType> m = TranslatorTypes.getAllMainTypes();
+		final MainType original = m.get(TranslatorTypes.TYPE_BOOLEAN);
+		final TranslatorTypes.Factory f = TranslatorTypes.factory("1.001");
+		try {
+			final MainType replaced = new MainType(1, DPTXlatorBoolean.class, "replaced");
+			m.put(TranslatorTypes.TYPE_BOOLEAN, replaced);
+			final TranslatorTypes.Factory updated = TranslatorTypes.factory("1.001");
+			assertNotSame(f, updated);
+			assertSame(replaced, updated.mainType());
+
+			m.remove(TranslatorTypes.TYPE_BOOLEAN);
+			assertThrows(KNXException.class, () -> TranslatorTypes.factory("1.001"));
+		}
+		finally {
+			m.put(TranslatorTypes.TYPE_BOOLEAN, original);
+		}
+	}
 }
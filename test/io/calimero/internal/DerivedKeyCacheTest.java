@@ -0,0 +1,172 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.internal.DerivedKeyCache.Derivation;
+
+class DerivedKeyCacheTest {
+	private static final byte[] Salt = { 1, 2, 3 };
+
+	private final DerivedKeyCache cache = new DerivedKeyCache(2);
+	private final AtomicInteger derivations = new AtomicInteger();
+	private final Derivation derivation = (password, salt) -> {
+		derivations.incrementAndGet();
+		return new byte[] { (byte) password.length, (byte) password[0], salt[0] };
+	};
+
+	@Test
+	void capacityMustBePositive() {
+		assertThrows(IllegalArgumentException.class, () -> new DerivedKeyCache(0));
+	}
+
+	@Test
+	void derivesOnlyOnce() throws GeneralSecurityException {
+		final byte[] key = cache.derive("pwd".toCharArray(), Salt, derivation);
+		assertArrayEquals(new byte[] { 3, 'p', 1 }, key);
+		assertArrayEquals(key, cache.derive("pwd".toCharArray(), Salt, derivation));
+		assertEquals(1, derivations.get());
+	}
+
+	@Test
+	void returnsCopies() throws GeneralSecurityException {
+		final byte[] key = cache.derive("pwd".toCharArray(), Salt, derivation);
+		key[0] = 0;
+		final byte[] cached = cache.derive("pwd".toCharArray(), Salt, derivation);
+		assertNotSame(key, cached);
+		assertEquals(3, cached[0]);
+	}
+
+	@Test
+	void keepsPasswordAndSalt() throws GeneralSecurityException {
+		final char[] pwd = "pwd".toCharArray();
+		final byte[] salt = Salt.clone();
+		cache.derive(pwd, salt, derivation);
+		assertArrayEquals("pwd".toCharArray(), pwd);
+		assertArrayEquals(Salt, salt);
+	}
+
+	@Test
+	void saltIsPartOfIdentity() throws GeneralSecurityException {
+		cache.derive("pwd".toCharArray(), Salt, derivation);
+		cache.derive("pwd".toCharArray(), new byte[] { 9 }, derivation);
+		assertEquals(2, derivations.get());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() throws GeneralSecurityException {
+		cache.derive("a".toCharArray(), Salt, derivation);
+		cache.derive("b".toCharArray(), Salt, derivation);
+		cache.derive("a".toCharArray(), Salt, derivation);
+		cache.derive("c".toCharArray(), Salt, derivation);
+		assertEquals(2, cache.size());
+		assertEquals(3, derivations.get());
+
+		cache.derive("a".toCharArray(), Salt, derivation);
+		assertEquals(3, derivations.get());
+		cache.derive("b".toCharArray(), Salt, derivation);
+		assertEquals(4, derivations.get());
+	}
+
+	@Test
+	void clear() throws GeneralSecurityException {
+		cache.derive("a".toCharArray(), Salt, derivation);
+		cache.clear();
+		assertEquals(0, cache.size());
+		cache.derive("a".toCharArray(), Salt, derivation);
+		assertEquals(2, derivations.get());
+	}
+
+	@Test
+	void failedDerivationIsNotCached() throws GeneralSecurityException {
+		assertThrows(NoSuchAlgorithmException.class, () -> cache.derive("a".toCharArray(), Salt, (p, s) -> {
+			throw new NoSuchAlgorithmException();
+		}));
+		assertEquals(0, cache.size());
+		cache.derive("a".toCharArray(), Salt, derivation);
+		assertEquals(1, derivations.get());
+	}
+
+	@Test
+	void concurrentRequestsDeriveOnce() throws Exception {
+		final var started = new CountDownLatch(1);
+		final var proceed = new CountDownLatch(1);
+		final Derivation slow = (password, salt) -> {
+			started.countDown();
+			try {
+				proceed.await(5, TimeUnit.SECONDS);
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return derivation.derive(password, salt);
+		};
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final var results = new ArrayList<Future<byte[]>>();
+			results.add(executor.submit(() -> cache.derive("pwd".toCharArray(), Salt, slow)));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			for (int i = 0; i < 3; i++)
+				results.add(executor.submit(() -> cache.derive("pwd".toCharArray(), Salt, slow)));
+			proceed.countDown();
+			for (final var result : results)
+				assertArrayEquals(new byte[] { 3, 'p', 1 }, result.get(5, TimeUnit.SECONDS));
+			assertEquals(1, derivations.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
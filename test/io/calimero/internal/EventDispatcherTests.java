@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2021, 2022 B. Malinowsky
+    Copyright (c) 2021, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -37,6 +37,10 @@
 package io.calimero.internal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -77,4 +81,75 @@ class EventDispatcherTests {
 		assertEquals(0, ed.customEvents.get(Event.class).size());
 		assertEquals(0, ed.customEvents.get(AnotherEvent.class).size());
 	}
+
+	interface Listener {
+		@LinkEvent
+		default void event(final Event e) {}
+	}
+
+	static class Event {}
+
+	static class SubEvent extends Event {}
+
+	@Test
+	void overriddenDefaultMethodRegisteredOnce() {
+		final List<Object> received = new ArrayList<>();
+		class MyListener implements Listener {
+			@LinkEvent
+			@Override
+			public void event(final Event e) { received.add(e); }
+		}
+
+		ed.register(Event.class);
+		ed.registerCustomEvents(new MyListener());
+		assertEquals(1, ed.customEvents.get(Event.class).size());
+
+		final var event = new Event();
+		ed.dispatchCustomEvent(event);
+		assertEquals(List.of(event), received);
+	}
+
+	@Test
+	void dispatchSubtypeEvent() {
+		final List<Object> received = new ArrayList<>();
+		class MyListener {
+			@LinkEvent
+			void event(final Event e) { received.add(e); }
+		}
+
+		ed.register(Event.class);
+		final var listener = new MyListener();
+		ed.registerCustomEvents(listener);
+
+		final var event = new SubEvent();
+		ed.dispatchCustomEvent(event);
+		assertEquals(List.of(event), received);
+
+		ed.unregisterCustomEvents(listener);
+		ed.dispatchCustomEvent(event);
+		assertEquals(1, received.size());
+	}
+
+	@Test
+	void invokerCompiledOncePerListenerClass() {
+		final List<Object> received = new ArrayList<>();
+		class MyListener {
+			@LinkEvent
+			void event(final Event e) { received.add(this); }
+		}
+
+		ed.register(Event.class);
+		final var listener1 = new MyListener();
+		final var listener2 = new MyListener();
+		ed.registerCustomEvents(listener1);
+		ed.registerCustomEvents(listener2);
+
+		final var invokers = ed.customEvents.get(Event.class).stream().map(lmh -> lmh.invoker().getClass()).distinct()
+				.toList();
+		assertEquals(1, invokers.size());
+
+		ed.dispatchCustomEvent(new Event());
+		assertEquals(2, received.size());
+		assertTrue(received.containsAll(List.of(listener1, listener2)));
+	}
 }
@@ -0,0 +1,184 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.internal.EventListeners.DispatchMode;
+import io.calimero.log.LogService;
+
+class EventListenersTest {
+	private final EventListeners<IntConsumer> listeners = new EventListeners<>();
+
+	@Test
+	void sequentialDispatchByCaller() {
+		final var thread = new ArrayList<Thread>();
+		listeners.add(__ -> thread.add(Thread.currentThread()));
+		listeners.fire(l -> l.accept(0));
+		assertEquals(List.of(Thread.currentThread()), thread);
+		assertTrue(listeners.statistics().isEmpty());
+	}
+
+	@Test
+	void slowListenerDoesNotStallOthers() throws InterruptedException {
+		listeners.dispatchMode(DispatchMode.Isolated);
+
+		final var taken = new CountDownLatch(1);
+		final var blocked = new CountDownLatch(1);
+		final IntConsumer slow = __ -> {
+			taken.countDown();
+			await(blocked);
+		};
+		final var received = new CountDownLatch(10);
+		final var done = new CountDownLatch(1);
+		final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		final var delivered = new AtomicLong(-1);
+		final IntConsumer[] fast = new IntConsumer[1];
+		fast[0] = i -> {
+			if (i < 0) {
+				// statistics are updated after the listener returned, so this reads the previous events
+				delivered.set(listeners.statistics().get(fast[0]).delivered());
+				done.countDown();
+				return;
+			}
+			order.add(i);
+			received.countDown();
+		};
+		listeners.add(slow);
+		listeners.add(fast[0]);
+
+		for (int i = 0; i < 10; i++) {
+			final int event = i;
+			listeners.fire(l -> l.accept(event));
+		}
+		assertTrue(received.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), order);
+
+		assertTrue(taken.await(5, TimeUnit.SECONDS));
+		listeners.fire(l -> l.accept(-1));
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(10, delivered.get());
+
+		final var stats = listeners.statistics().get(slow);
+		assertEquals(0, stats.delivered());
+		assertEquals(10, stats.queueDepth());
+		blocked.countDown();
+	}
+
+	@Test
+	void removeListenerOnException() throws InterruptedException {
+		listeners.dispatchMode(DispatchMode.Isolated);
+		final var fired = new CountDownLatch(1);
+		final var second = new CountDownLatch(1);
+		final IntConsumer failing = i -> {
+			if (i == 0) {
+				await(fired);
+				throw new IllegalStateException("test");
+			}
+			second.countDown();
+		};
+		listeners.add(failing);
+		// both events are queued before the listener gets removed, and delivered one after another
+		listeners.fire(l -> l.accept(0));
+		listeners.fire(l -> l.accept(1));
+		fired.countDown();
+		assertTrue(second.await(5, TimeUnit.SECONDS));
+		assertFalse(listeners.listeners().contains(failing));
+	}
+
+	@Test
+	void terminalEventIsNotDropped() throws InterruptedException {
+		listeners.dispatchMode(DispatchMode.Isolated);
+		final var taken = new CountDownLatch(1);
+		final var blocked = new CountDownLatch(1);
+		final var closed = new CountDownLatch(1);
+		final var events = new AtomicInteger();
+		final IntConsumer slow = i -> {
+			if (i < 0) {
+				closed.countDown();
+				return;
+			}
+			taken.countDown();
+			await(blocked);
+			events.incrementAndGet();
+		};
+		listeners.add(slow);
+
+		listeners.fire(l -> l.accept(0));
+		assertTrue(taken.await(5, TimeUnit.SECONDS));
+		final int capacity = 1024;
+		for (int i = 0; i < capacity + 5; i++)
+			listeners.fire(l -> l.accept(1));
+		listeners.fireTerminal(l -> l.accept(-1));
+		assertEquals(5, listeners.statistics().get(slow).dropped());
+
+		blocked.countDown();
+		assertTrue(closed.await(5, TimeUnit.SECONDS));
+		// terminal event is delivered last
+		assertEquals(1 + capacity, events.get());
+	}
+
+	@Test
+	void restoreThreadName() {
+		final var thread = Thread.currentThread();
+		final String name = thread.getName();
+		new IsolatedListener<IntConsumer>(__ -> {}, listeners, LogService.getLogger("io.calimero.event")).run();
+		assertEquals(name, thread.getName());
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
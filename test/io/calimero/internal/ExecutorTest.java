@@ -0,0 +1,106 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+class ExecutorTest {
+
+	@Test
+	void executeNamedDaemonThread() throws InterruptedException, ExecutionException, TimeoutException {
+		final var name = new CompletableFuture<String>();
+		final var thread = Executor.execute(() -> name.complete(Thread.currentThread().getName()), "test thread");
+		assertEquals("test thread", name.get(5, TimeUnit.SECONDS));
+		assertTrue(thread.isDaemon());
+	}
+
+	@Test
+	void threadFactoryKeepsName() {
+		final var thread = Executor.threadFactory("named").newThread(() -> {});
+		assertEquals("named", thread.getName());
+		assertTrue(thread.isDaemon());
+	}
+
+	@Test
+	void virtualThreadsDisabledByDefault() {
+		assertNull(Executor.virtualThreadFactory(null));
+		assertNull(Executor.virtualThreadFactory("false"));
+	}
+
+	@Test
+	void virtualThreadMode() throws ReflectiveOperationException, InterruptedException, ExecutionException,
+			TimeoutException {
+		assumeTrue(Runtime.version().feature() >= 21, "virtual threads require Java 21");
+		final var factory = Executor.virtualThreadFactory("true");
+		assertNotNull(factory);
+
+		final var virtual = new CompletableFuture<Boolean>();
+		final var isVirtual = Thread.class.getMethod("isVirtual");
+		final var thread = Executor.newThread(factory, () -> {
+			try {
+				virtual.complete((Boolean) isVirtual.invoke(Thread.currentThread()));
+			}
+			catch (final ReflectiveOperationException e) {
+				virtual.completeExceptionally(e);
+			}
+		}, "virtual test thread");
+		assertEquals("virtual test thread", thread.getName());
+		assertTrue(thread.isDaemon());
+		thread.start();
+		assertTrue(virtual.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void platformThreadMode() throws ReflectiveOperationException {
+		final var thread = Executor.newThread(null, () -> {}, "platform test thread");
+		assertEquals("platform test thread", thread.getName());
+		if (Runtime.version().feature() >= 21)
+			assertFalse((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+	}
+}
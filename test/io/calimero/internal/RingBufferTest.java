@@ -0,0 +1,119 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+	@Test
+	void capacityIsPowerOfTwo() {
+		assertEquals(1, new RingBuffer<>(1).capacity());
+		assertEquals(8, new RingBuffer<>(5).capacity());
+		assertEquals(16, new RingBuffer<>(16).capacity());
+		assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+	}
+
+	@Test
+	void fifoOrder() {
+		final var rb = new RingBuffer<Integer>(4);
+		for (int i = 0; i < 4; i++)
+			assertTrue(rb.offer(i));
+		assertFalse(rb.offer(4));
+		assertEquals(4, rb.size());
+		for (int i = 0; i < 4; i++)
+			assertEquals(i, rb.poll());
+		assertNull(rb.poll());
+		assertTrue(rb.isEmpty());
+		assertEquals(4, rb.added());
+	}
+
+	@Test
+	void wrapAround() {
+		final var rb = new RingBuffer<Integer>(2);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(rb.offer(i));
+			assertEquals(i, rb.poll());
+		}
+	}
+
+	@Test
+	void multipleProducers() throws InterruptedException {
+		final var rb = new RingBuffer<Long>(64);
+		final int producers = 4;
+		final int perProducer = 10_000;
+		final var threads = new ArrayList<Thread>();
+		for (int p = 0; p < producers; p++) {
+			final long base = p * (long) perProducer;
+			final var t = new Thread(() -> {
+				for (long i = 0; i < perProducer; i++)
+					while (!rb.offer(base + i))
+						Thread.onSpinWait();
+			});
+			threads.add(t);
+			t.start();
+		}
+
+		final var sum = new AtomicLong();
+		final List<Long> last = new ArrayList<>(List.of(-1L, -1L, -1L, -1L));
+		for (int received = 0; received < producers * perProducer;) {
+			final Long v = rb.poll();
+			if (v == null)
+				continue;
+			// elements of one producer arrive in order
+			final int producer = (int) (v / perProducer);
+			assertTrue(v > last.get(producer));
+			last.set(producer, v);
+			sum.addAndGet(v);
+			received++;
+		}
+		for (final var t : threads)
+			t.join();
+		final long n = producers * (long) perProducer;
+		assertEquals(n * (n - 1) / 2, sum.get());
+	}
+}
@@ -0,0 +1,144 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+	private static final long tick = Duration.ofMillis(100).toNanos();
+
+	private final AtomicLong now = new AtomicLong();
+	private final List<String> expired = new ArrayList<>();
+	private final TimerWheel wheel = new TimerWheel(Duration.ofNanos(tick), 8, now::get, Runnable::run, null);
+
+	private void advance(final Duration d) {
+		now.addAndGet(d.toNanos());
+		wheel.advance();
+	}
+
+	@Test
+	void slotsArePowerOfTwo() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new TimerWheel(Duration.ofMillis(100), 6, now::get, Runnable::run, null));
+	}
+
+	@Test
+	void expiresAfterDelay() {
+		wheel.schedule(() -> expired.add("a"), Duration.ofMillis(250));
+		advance(Duration.ofMillis(200));
+		assertTrue(expired.isEmpty());
+		advance(Duration.ofMillis(100));
+		assertEquals(List.of("a"), expired);
+		assertEquals(0, wheel.pending());
+	}
+
+	@Test
+	void zeroDelayExpiresWithNextTick() {
+		wheel.schedule(() -> expired.add("a"), Duration.ZERO);
+		wheel.advance();
+		assertTrue(expired.isEmpty());
+		advance(Duration.ofMillis(100));
+		assertEquals(List.of("a"), expired);
+	}
+
+	@Test
+	void delayLongerThanWheelRotation() {
+		// 8 slots of 100 ms, delay spans several rotations
+		wheel.schedule(() -> expired.add("a"), Duration.ofMillis(2_500));
+		for (int i = 0; i < 24; i++)
+			advance(Duration.ofMillis(100));
+		assertTrue(expired.isEmpty());
+		advance(Duration.ofMillis(100));
+		assertEquals(List.of("a"), expired);
+	}
+
+	@Test
+	void expiresInOrderOfDeadline() {
+		wheel.schedule(() -> expired.add("c"), Duration.ofMillis(500));
+		wheel.schedule(() -> expired.add("a"), Duration.ofMillis(100));
+		wheel.schedule(() -> expired.add("b"), Duration.ofMillis(300));
+		advance(Duration.ofSeconds(1));
+		assertEquals(List.of("a", "b", "c"), expired);
+	}
+
+	@Test
+	void cancel() {
+		final var timeout = wheel.schedule(() -> expired.add("a"), Duration.ofMillis(100));
+		wheel.schedule(() -> expired.add("b"), Duration.ofMillis(100));
+		assertTrue(timeout.cancel());
+		assertFalse(timeout.cancel());
+		assertEquals(1, wheel.pending());
+		advance(Duration.ofMillis(100));
+		assertEquals(List.of("b"), expired);
+	}
+
+	@Test
+	void cancelExpired() {
+		final var timeout = wheel.schedule(() -> expired.add("a"), Duration.ofMillis(100));
+		advance(Duration.ofMillis(100));
+		assertFalse(timeout.cancel());
+	}
+
+	@Test
+	void idleWheelCatchesUp() {
+		advance(Duration.ofHours(1));
+		wheel.schedule(() -> expired.add("a"), Duration.ofMillis(200));
+		advance(Duration.ofMillis(100));
+		assertTrue(expired.isEmpty());
+		advance(Duration.ofMillis(100));
+		assertEquals(List.of("a"), expired);
+	}
+
+	@Test
+	void sharedWheelTicks() throws InterruptedException {
+		final var latch = new CountDownLatch(1);
+		TimerWheel.shared().schedule(latch::countDown, Duration.ofMillis(50));
+		assertTrue(latch.await(2, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,140 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UdpSocketLooperTest {
+	private static final int WarmUp = 2_000;
+	private static final int Measured = 2_000;
+
+	private DatagramSocket receiver;
+	private DatagramSocket sender;
+
+	private final class Looper extends UdpSocketLooper {
+		final CompletableFuture<Void> done = new CompletableFuture<>();
+		byte[] firstBuffer;
+		InetSocketAddress firstSource;
+		volatile int received;
+
+		Looper() { super(receiver, true, 512, 0, 0); }
+
+		@Override
+		protected void onReceive(final InetSocketAddress source, final byte[] data, final int offset, final int length) {
+			if (data[offset] != (byte) received || length != 10)
+				done.completeExceptionally(new AssertionError("unexpected datagram " + received));
+			if (received == WarmUp) {
+				firstBuffer = data;
+				firstSource = source;
+			}
+			else if (received > WarmUp && (data != firstBuffer || source != firstSource))
+				done.completeExceptionally(new AssertionError("new receive buffer or source address for datagram "
+						+ received));
+			received++;
+			if (received == WarmUp + Measured) {
+				done.complete(null);
+				quit();
+			}
+		}
+	}
+
+	@BeforeEach
+	void init() throws IOException {
+		receiver = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		receiver.setReceiveBufferSize(1 << 20);
+		sender = new DatagramSocket();
+	}
+
+	@AfterEach
+	void tearDown() {
+		sender.close();
+		receiver.close();
+	}
+
+	@Test
+	void steadyStateReceiveReusesBuffers() throws Exception {
+		final var looper = new Looper();
+		final var loop = CompletableFuture.runAsync(() -> {
+			try {
+				looper.loop();
+			}
+			catch (final IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		final byte[] data = new byte[10];
+		final var packet = new DatagramPacket(data, data.length, receiver.getLocalSocketAddress());
+		for (int i = 0; i < WarmUp + Measured; i++) {
+			data[0] = (byte) i;
+			sender.send(packet);
+			// don't overrun the socket receive buffer
+			while (i - looper.received > 500)
+				Thread.onSpinWait();
+		}
+
+		// the same receive buffer and source address instance are used for every datagram from the same sender
+		looper.done.get(10, TimeUnit.SECONDS);
+		loop.get(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void reuseByteBuffer() {
+		final var looper = new Looper();
+		final byte[] buf = new byte[100];
+		final var bb = looper.buffer(buf);
+		bb.position(10);
+		assertSame(bb, looper.buffer(buf));
+		assertEquals(0, bb.position());
+		assertEquals(buf.length, bb.limit());
+		assertTrue(looper.buffer(new byte[10]) != bb);
+	}
+}
@@ -0,0 +1,252 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.System.Logger.Level;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.calimero.CloseEvent;
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMI;
+import io.calimero.cemi.CEMILData;
+import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import io.calimero.log.LogService;
+
+class ConnectionBaseTest {
+	private final TestConnection conn = new TestConnection();
+
+	private static final class TestConnection extends ConnectionBase {
+		final List<CEMI> sent = new ArrayList<>();
+		volatile CountDownLatch gate = new CountDownLatch(0);
+		volatile CEMI failing;
+
+		TestConnection() {
+			super(KNXnetIPHeader.TUNNELING_REQ, KNXnetIPHeader.TUNNELING_ACK, 1, 1);
+			logger = LogService.getLogger("io.calimero.knxnetip.test");
+			setState(OK);
+		}
+
+		@Override
+		public void send(final CEMI frame, final BlockingMode mode) throws KNXTimeoutException, InterruptedException {
+			gate.await();
+			if (frame == failing)
+				throw new KNXTimeoutException("no confirmation");
+			synchronized (sent) {
+				sent.add(frame);
+			}
+		}
+
+		@Override
+		protected void close(final int initiator, final String reason, final Level level, final Throwable t) {
+			cleanup(initiator, reason, level, t);
+		}
+	}
+
+	// uses the real send path, only stubs sending the datagram
+	private static final class RoutingConnection extends ConnectionBase {
+		final List<ByteBuffer> sent = new ArrayList<>();
+		final CountDownLatch sending = new CountDownLatch(1);
+		final CountDownLatch gate = new CountDownLatch(1);
+
+		RoutingConnection() {
+			super(KNXnetIPHeader.ROUTING_IND, 0, 1, 1);
+			logger = LogService.getLogger("io.calimero.knxnetip.test");
+			setState(OK);
+		}
+
+		@Override
+		protected void send(final ByteBuffer packet, final InetSocketAddress dst) throws IOException {
+			sending.countDown();
+			try {
+				gate.await();
+			}
+			catch (final InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+			synchronized (sent) {
+				sent.add(ByteBuffer.wrap(toArray(packet)));
+			}
+		}
+
+		@Override
+		protected void close(final int initiator, final String reason, final Level level, final Throwable t) {
+			cleanup(initiator, reason, level, t);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		conn.gate.countDown();
+		conn.close();
+	}
+
+	@Test
+	void sendsInFifoOrder() throws Exception {
+		final var frames = new ArrayList<CEMI>();
+		final var futures = new ArrayList<CompletableFuture<Void>>();
+		for (int i = 0; i < 100; i++) {
+			final var frame = frame(i);
+			frames.add(frame);
+			futures.add(conn.sendAsync(frame));
+		}
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+		assertEquals(frames, conn.sent);
+		assertEquals(0, conn.queuedSends());
+	}
+
+	@Test
+	void failedSendCompletesExceptionally() throws Exception {
+		final var frame = frame(1);
+		conn.failing = frame;
+		final var failed = conn.sendAsync(frame);
+		final var next = conn.sendAsync(frame(2));
+		final var e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(KNXTimeoutException.class, e.getCause());
+		next.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void queueLimit() throws Exception {
+		conn.gate = new CountDownLatch(1);
+		conn.sendQueueLimit(2);
+		final var first = conn.sendAsync(frame(1));
+		// wait for first frame in progress, i.e., not queued anymore
+		while (conn.queuedSends() > 0)
+			Thread.sleep(1);
+		final var second = conn.sendAsync(frame(2));
+		final var third = conn.sendAsync(frame(3));
+		final var rejected = conn.sendAsync(frame(4));
+		final var e = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalStateException.class, e.getCause());
+
+		conn.gate.countDown();
+		CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void cancelQueuedSend() throws Exception {
+		conn.gate = new CountDownLatch(1);
+		final var first = conn.sendAsync(frame(1));
+		final var cancelled = conn.sendAsync(frame(2));
+		final var last = conn.sendAsync(frame(3));
+		assertTrue(cancelled.cancel(false));
+		conn.gate.countDown();
+		CompletableFuture.allOf(first, last).get(5, TimeUnit.SECONDS);
+		assertEquals(List.of(frame(1).toString(), frame(3).toString()), conn.sent.stream().map(CEMI::toString).toList());
+	}
+
+	@Test
+	void cancelledSendLeavesQueue() throws Exception {
+		final var routing = new RoutingConnection();
+		try {
+			routing.sendQueueLimit(2);
+			final var first = routing.sendAsync(frame(1));
+			// first frame is being sent, i.e., not queued anymore
+			assertTrue(routing.sending.await(5, TimeUnit.SECONDS));
+			final var cancelled = routing.sendAsync(frame(2));
+			final var third = routing.sendAsync(frame(3));
+			assertEquals(2, routing.queuedSends());
+			final var rejected = routing.sendAsync(frame(4));
+			assertInstanceOf(IllegalStateException.class,
+					assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS)).getCause());
+
+			assertTrue(cancelled.cancel(false));
+			assertEquals(1, routing.queuedSends());
+			final var fourth = routing.sendAsync(frame(4));
+			assertEquals(2, routing.queuedSends());
+
+			routing.gate.countDown();
+			CompletableFuture.allOf(first, third, fourth).get(5, TimeUnit.SECONDS);
+			assertEquals(0, routing.queuedSends());
+			assertEquals(List.of(1, 3, 4), routing.sent.stream().map(b -> b.get(b.limit() - 1) & 0x3f).toList());
+		}
+		finally {
+			routing.gate.countDown();
+			routing.close();
+		}
+	}
+
+	@Test
+	void closeFailsQueuedSends() {
+		conn.gate = new CountDownLatch(1);
+		conn.sendAsync(frame(1));
+		final var queued = conn.sendAsync(frame(2));
+		conn.close(CloseEvent.USER_REQUEST, "test", Level.DEBUG, null);
+		conn.gate.countDown();
+		final var e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(KNXConnectionClosedException.class, e.getCause());
+	}
+
+	@Test
+	void sendOnClosedConnection() {
+		conn.close();
+		final var e = assertThrows(ExecutionException.class, () -> conn.sendAsync(frame(1)).get());
+		assertInstanceOf(KNXConnectionClosedException.class, e.getCause());
+	}
+
+	@Test
+	void nonBlockingModeNotAllowed() {
+		assertThrows(KNXIllegalArgumentException.class,
+				() -> conn.sendAsync(frame(1), KNXnetIPConnection.BlockingMode.NonBlocking));
+	}
+
+	private static CEMI frame(final int value) {
+		return new CEMILData(CEMILData.MC_LDATA_REQ, new IndividualAddress(0), new GroupAddress(1, 1, 1),
+				new byte[] { 0, (byte) (0x80 | (value & 0x3f)) }, Priority.LOW);
+	}
+}
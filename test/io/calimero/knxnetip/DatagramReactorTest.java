@@ -0,0 +1,146 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DatagramReactorTest {
+	private final BlockingQueue<byte[]> received = new ArrayBlockingQueue<>(100);
+	private final DatagramReactor.Handler handler = new DatagramReactor.Handler() {
+		@Override
+		public void onReceive(final InetSocketAddress source, final byte[] data, final int offset, final int length) {
+			received.add(Arrays.copyOfRange(data, offset, offset + length));
+		}
+
+		@Override
+		public void onError(final IOException e) {}
+	};
+
+	private DatagramChannel server;
+	private DatagramChannel client;
+	private InetSocketAddress serverAddress;
+
+	@BeforeEach
+	void init() throws IOException {
+		server = DatagramChannel.open(StandardProtocolFamily.INET)
+				.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		client = DatagramChannel.open(StandardProtocolFamily.INET);
+		serverAddress = (InetSocketAddress) server.getLocalAddress();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		client.close();
+		server.close();
+	}
+
+	@Test
+	void receive() throws IOException, InterruptedException {
+		try (var registration = DatagramReactor.shared().register(server, handler)) {
+			assertFalse(server.isBlocking());
+			for (int i = 0; i < 10; i++)
+				DatagramReactor.send(client, ByteBuffer.wrap(new byte[] { (byte) i, 1, 2 }), serverAddress);
+			for (int i = 0; i < 10; i++)
+				assertArrayEquals(new byte[] { (byte) i, 1, 2 }, received.poll(2, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void closedRegistrationStopsReceiving() throws IOException, InterruptedException {
+		final var registration = DatagramReactor.shared().register(server, handler);
+		DatagramReactor.send(client, ByteBuffer.wrap(new byte[] { 1 }), serverAddress);
+		assertArrayEquals(new byte[] { 1 }, received.poll(2, TimeUnit.SECONDS));
+
+		registration.close();
+		DatagramReactor.send(client, ByteBuffer.wrap(new byte[] { 2 }), serverAddress);
+		assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void stoppedReactorNotifiesHandlers() throws IOException, InterruptedException {
+		final var reactor = new DatagramReactor(1);
+		final BlockingQueue<IOException> errors = new ArrayBlockingQueue<>(1);
+		reactor.register(server, new DatagramReactor.Handler() {
+			@Override
+			public void onReceive(final InetSocketAddress source, final byte[] data, final int offset,
+				final int length) {}
+
+			@Override
+			public void onError(final IOException e) { errors.add(e); }
+		});
+
+		// selecting fails after the selector got closed
+		reactor.loops[0].selector.close();
+		assertNotNull(errors.poll(2, TimeUnit.SECONDS));
+		assertThrows(IOException.class, () -> reactor.register(client, handler));
+		assertTrue(client.isBlocking());
+	}
+
+	@Test
+	void multipleChannels() throws IOException, InterruptedException {
+		try (var other = DatagramChannel.open(StandardProtocolFamily.INET)
+				.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+				var r1 = DatagramReactor.shared().register(server, handler);
+				var r2 = DatagramReactor.shared().register(other, handler)) {
+			DatagramReactor.send(client, ByteBuffer.wrap(new byte[] { 1 }), serverAddress);
+			DatagramReactor.send(client, ByteBuffer.wrap(new byte[] { 2 }), other.getLocalAddress());
+			final int sum = received.poll(2, TimeUnit.SECONDS)[0] + received.poll(2, TimeUnit.SECONDS)[0];
+			assertEquals(3, sum);
+		}
+	}
+}
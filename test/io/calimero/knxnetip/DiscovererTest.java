@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2006, 2024 B. Malinowsky
+    Copyright (c) 2006, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -41,6 +41,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -51,10 +53,14 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -146,6 +152,17 @@ class DiscovererTest
 		assertNotEquals(0, r.localEndpoint().getPort());
 	}
 
+	@Test
+	void cachedDescription() throws KNXException
+	{
+		final InetSocketAddress server = Util.getServer();
+		final Result<DescriptionResponse> r = ddef.cacheTimeToLive(Duration.ofMinutes(1)).getDescription(server, timeout);
+		final var cached = ddef.getDescription(server, timeout);
+		assertSame(r.response(), cached.response());
+		assertEquals(r.localEndpoint().getAddress(), cached.localEndpoint().getAddress());
+		assertNotSame(r.response(), ddef.cacheTimeToLive(Duration.ZERO).getDescription(server, timeout).response());
+	}
+
 	@Test
 	void getSearchResponses() throws InterruptedException
 	{
@@ -344,6 +361,28 @@ class DiscovererTest
 		assertFalse(result.isEmpty());
 	}
 
+	@Test
+	void searchPublisher() throws InterruptedException {
+		final List<Result<SearchResponse>> results = new CopyOnWriteArrayList<>();
+		final CountDownLatch completed = new CountDownLatch(1);
+		ddef.timeout(Duration.ofSeconds(timeout)).searchPublisher().subscribe(new Flow.Subscriber<>() {
+			@Override
+			public void onSubscribe(final Flow.Subscription subscription) { subscription.request(Long.MAX_VALUE); }
+
+			@Override
+			public void onNext(final Result<SearchResponse> item) { results.add(item); }
+
+			@Override
+			public void onError(final Throwable throwable) {}
+
+			@Override
+			public void onComplete() { completed.countDown(); }
+		});
+		assertTrue(completed.await(timeout + 1, TimeUnit.SECONDS));
+		assertFalse(results.isEmpty());
+		assertEquals(Set.copyOf(results).size(), results.size());
+	}
+
 	@Test
 	void searchAsyncTimeout() {
 		final Duration timeout = Duration.ofSeconds(10);
@@ -0,0 +1,126 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LoopbackFilterTest {
+	private final AtomicLong now = new AtomicLong();
+	private final LoopbackFilter filter = new LoopbackFilter(20, Duration.ofSeconds(2), now::get);
+
+	private static byte[] frame(final int i) {
+		return new byte[] { 0x29, 0, (byte) 0xbc, (byte) 0xe0, 0x11, 0x01, 0x08, (byte) i, 0x01, 0x00, (byte) 0x81 };
+	}
+
+	@Test
+	void discardLoopback() {
+		final byte[] sent = frame(1);
+		filter.add(sent, 0, sent.length);
+		assertTrue(filter.discard(sent.clone(), 0, sent.length));
+		assertEquals(0, filter.size());
+	}
+
+	@Test
+	void discardOncePerSentFrame() {
+		final byte[] sent = frame(1);
+		filter.add(sent, 0, sent.length);
+		filter.add(sent, 0, sent.length);
+		assertTrue(filter.discard(sent, 0, sent.length));
+		assertTrue(filter.discard(sent, 0, sent.length));
+		assertFalse(filter.discard(sent, 0, sent.length));
+	}
+
+	@Test
+	void keepOtherFrames() {
+		final byte[] sent = frame(1);
+		filter.add(sent, 0, sent.length);
+		final byte[] other = frame(2);
+		assertFalse(filter.discard(other, 0, other.length));
+		assertEquals(1, filter.size());
+	}
+
+	@Test
+	void discardWithOffset() {
+		final byte[] sent = frame(3);
+		filter.add(sent, 0, sent.length);
+		final byte[] packet = new byte[6 + sent.length];
+		System.arraycopy(sent, 0, packet, 6, sent.length);
+		assertTrue(filter.discard(packet, 6, sent.length));
+	}
+
+	@Test
+	void expiry() {
+		final byte[] sent = frame(1);
+		filter.add(sent, 0, sent.length);
+		now.addAndGet(Duration.ofSeconds(2).toNanos());
+		assertFalse(filter.discard(sent, 0, sent.length));
+		assertEquals(0, filter.size());
+	}
+
+	@Test
+	void boundedSize() {
+		for (int i = 0; i < 50; i++) {
+			final byte[] sent = frame(i);
+			filter.add(sent, 0, sent.length);
+			now.incrementAndGet();
+		}
+		assertEquals(20, filter.size());
+		// oldest frames got removed
+		for (int i = 0; i < 30; i++)
+			assertFalse(filter.discard(frame(i), 0, frame(i).length));
+		for (int i = 30; i < 50; i++)
+			assertTrue(filter.discard(frame(i), 0, frame(i).length), "frame " + i);
+		assertEquals(0, filter.size());
+	}
+
+	@Test
+	void fingerprint() {
+		final byte[] a = frame(1);
+		final byte[] b = frame(2);
+		assertEquals(LoopbackFilter.fingerprint(a, 0, a.length), LoopbackFilter.fingerprint(a.clone(), 0, a.length));
+		assertNotEquals(LoopbackFilter.fingerprint(a, 0, a.length), LoopbackFilter.fingerprint(b, 0, b.length));
+		assertNotEquals(LoopbackFilter.fingerprint(a, 0, a.length), LoopbackFilter.fingerprint(a, 0, a.length - 1));
+	}
+}
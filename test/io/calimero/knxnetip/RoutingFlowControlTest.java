@@ -0,0 +1,208 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.calimero.log.LogService;
+
+class RoutingFlowControlTest {
+	private final AtomicLong now = new AtomicLong(1_000_000_000);
+	private final AtomicInteger rateLimit = new AtomicInteger();
+	private final AtomicInteger sent = new AtomicInteger();
+	private final RoutingFlowControl fc = new RoutingFlowControl(LogService.getLogger("io.calimero.knxnetip.test"),
+			rateLimit::incrementAndGet, now::get, () -> 0.5);
+
+	@AfterEach
+	void close() {
+		fc.close();
+	}
+
+	@Test
+	void sendImmediately() {
+		final var result = fc.submit(sent::incrementAndGet, true);
+		assertTrue(result.isDone());
+		assertEquals(1, sent.get());
+		assertEquals(1, fc.metrics().currentRate());
+		assertEquals(0, fc.metrics().queueDepth());
+	}
+
+	@Test
+	void minInterval() throws InterruptedException, ExecutionException {
+		fc.submit(sent::incrementAndGet, true);
+		final var second = fc.submit(sent::incrementAndGet, true);
+		assertFalse(second.isDone());
+		assertEquals(1, fc.metrics().queueDepth());
+
+		advance(5);
+		assertTimely(second);
+		assertEquals(2, sent.get());
+	}
+
+	@Test
+	void rateLimit() {
+		int immediate = 0;
+		while (fc.submit(sent::incrementAndGet, true).isDone()) {
+			immediate++;
+			advance(5);
+		}
+		assertEquals(KNXnetIPRouting.MaxDatagramsPerSecond, immediate);
+		assertEquals(1, rateLimit.get());
+		for (int i = 0; i < 50; i++)
+			fc.submit(sent::incrementAndGet, true);
+		assertEquals(1, rateLimit.get());
+	}
+
+	@Test
+	void slidingWindow() throws InterruptedException, ExecutionException {
+		for (int i = 0; i < KNXnetIPRouting.MaxDatagramsPerSecond; i++) {
+			assertTrue(fc.submit(sent::incrementAndGet, true).isDone());
+			advance(5);
+		}
+		// first datagram of the window was sent 250 ms ago
+		advance(1000 - 250 - 1);
+		final var result = fc.submit(sent::incrementAndGet, true);
+		assertFalse(result.isDone());
+		Thread.sleep(20);
+		assertFalse(result.isDone());
+		advance(1);
+		assertTimely(result);
+		assertEquals(KNXnetIPRouting.MaxDatagramsPerSecond + 1, sent.get());
+	}
+
+	@Test
+	void averageRate() {
+		// send at min. interval for 2 s
+		for (int i = 0; i < 400; i++) {
+			fc.submit(() -> {}, false).thenRun(sent::incrementAndGet);
+			advance(5);
+		}
+		assertTrue(sent.get() <= 2 * KNXnetIPRouting.MaxDatagramsPerSecond, "sent " + sent.get());
+	}
+
+	@Test
+	void routingBusyPausesSending() throws InterruptedException, ExecutionException {
+		assertTrue(fc.routingBusy(Duration.ofMillis(100)));
+		assertEquals(1, fc.metrics().busyCounter());
+
+		final var result = fc.submit(sent::incrementAndGet, true);
+		assertFalse(result.isDone());
+		// random wait 0.5 * 1 * 50 ms
+		advance(100 + 25 - 1);
+		Thread.sleep(20);
+		assertFalse(result.isDone());
+		advance(1);
+		assertTimely(result);
+	}
+
+	@Test
+	void systemBroadcastNotFlowControlled() {
+		fc.routingBusy(Duration.ofMillis(100));
+		assertTrue(fc.submit(sent::incrementAndGet, false).isDone());
+	}
+
+	@Test
+	void busyCounterDecrements() {
+		fc.routingBusy(Duration.ofMillis(20));
+		advance(11);
+		fc.routingBusy(Duration.ofMillis(20));
+		assertEquals(2, fc.metrics().busyCounter());
+
+		// wait time 20 ms + random wait 0.5 * 2 * 50 ms + throttle 2 * 100 ms, decrement every 5 ms thereafter
+		advance(20 + 50 + 200 + 5);
+		assertEquals(1, fc.metrics().busyCounter());
+		advance(5);
+		assertEquals(0, fc.metrics().busyCounter());
+	}
+
+	@Test
+	void routingBusyWithinCountedIntervalDoesNotIncrementCounter() {
+		fc.routingBusy(Duration.ofMillis(20));
+		advance(5);
+		assertTrue(fc.routingBusy(Duration.ofMillis(20)));
+		assertEquals(1, fc.metrics().busyCounter());
+		assertFalse(fc.routingBusy(Duration.ofMillis(10)));
+	}
+
+	@Test
+	void queueLimit() {
+		for (int i = 0; i < RoutingFlowControl.QueueLimit + 1; i++)
+			fc.submit(() -> {}, true);
+		final var result = fc.submit(() -> {}, true);
+		final var e = assertThrows(ExecutionException.class, result::get);
+		assertInstanceOf(IllegalStateException.class, e.getCause());
+	}
+
+	@Test
+	void closeFailsQueued() {
+		fc.submit(sent::incrementAndGet, true);
+		final var queued = fc.submit(sent::incrementAndGet, true);
+		fc.close();
+		final var e = assertThrows(ExecutionException.class, queued::get);
+		assertInstanceOf(KNXConnectionClosedException.class, e.getCause());
+		assertEquals(1, sent.get());
+	}
+
+	private void advance(final long millis) {
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+	private static void assertTimely(final Future<Void> result)
+			throws InterruptedException, ExecutionException {
+		try {
+			result.get(1, TimeUnit.SECONDS);
+		}
+		catch (final TimeoutException e) {
+			throw new AssertionError("not sent", e);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.function.LongConsumer;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.calimero.SerialNumber;
+import io.calimero.Util;
+import performance.base.PerfTestCase;
+import tag.Slow;
+
+/**
+ * Compares wrapping KNX IP Secure packets using a new cipher per packet against a cipher kept per session key.
+ */
+@Slow
+class SecureWrapTest extends PerfTestCase {
+	private final int iterations = 20_000;
+	private final SerialNumber sno = SerialNumber.of(0x00fa12345678L);
+	private final byte[] packet = SessionCipherTest.knxipPacket(11);
+	private Key key;
+
+	@BeforeEach
+	void init() {
+		key = SecureConnection.createSecretKey(HexFormat.of().parseHex("000102030405060708090a0b0c0d0e0f"));
+	}
+
+	@Test
+	void wrapWithCipherPerPacket() {
+		assertArrayEquals(new SessionCipher(key).wrap(1, 4, sno, 0, packet), wrapPerPacket(1, 4, sno, 0, packet, key));
+		run("cipher per packet", seq -> wrapPerPacket(1, seq, sno, 0, packet, key));
+	}
+
+	@Test
+	void wrapWithSessionCipher() {
+		final var cipher = new SessionCipher(key);
+		run("session cipher", seq -> cipher.wrap(1, seq, sno, 0, packet));
+	}
+
+	private void run(final String name, final LongConsumer wrap) {
+		for (int lap = 0; lap < warmups; lap++)
+			for (int i = 0; i < iterations; i++)
+				wrap.accept(i);
+
+		long best = Long.MAX_VALUE;
+		for (int lap = 0; lap < measure; lap++) {
+			final long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++)
+				wrap.accept(i);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		Util.out(name + ": " + (iterations * 1_000_000_000L / best) + " packets/s (best of " + measure + " laps)");
+	}
+
+	// former secure wrapper implementation, which gets a new CBC and ECB cipher instance for every packet
+	private static byte[] wrapPerPacket(final long sessionId, final long seq, final SerialNumber sno,
+		final int msgTag, final byte[] knxipPacket, final Key secretKey) {
+		final int macSize = 16;
+		final ByteBuffer buffer = ByteBuffer.allocate(6 + 2 + 6 + 6 + 2 + knxipPacket.length + macSize);
+		buffer.put((byte) 6).put((byte) 0x10).putShort((short) 0x0950).putShort((short) buffer.capacity());
+		buffer.putShort((short) sessionId).putShort((short) (seq >> 32)).putInt((int) seq);
+		buffer.put(sno.array()).putShort((short) msgTag).put(knxipPacket);
+		final byte[] data = buffer.array();
+
+		try {
+			final Cipher cbc = Cipher.getInstance("AES/CBC/NoPadding");
+			cbc.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(new byte[16]));
+			cbc.update(SecureConnection.securityInfo(data, 8, knxipPacket.length));
+			cbc.update(new byte[] { 0, 6 + 2 });
+			cbc.update(data, 0, 6 + 2);
+			final int checkLength = 16 + 2 + 6 + 2 + knxipPacket.length;
+			final byte[] padded = Arrays.copyOf(knxipPacket, knxipPacket.length + 15 - (checkLength + 15) % 16);
+			final byte[] result = cbc.doFinal(padded);
+			buffer.put(result, result.length - macSize, macSize);
+
+			final int offset = 6 + 2 + 6 + 6 + 2;
+			final int blocks = (data.length - offset + 0xf) >> 4;
+			final Cipher ecb = Cipher.getInstance("AES/ECB/NoPadding");
+			ecb.init(Cipher.ENCRYPT_MODE, secretKey);
+			final byte[] secInfo = SecureConnection.securityInfo(data, 8, 0xff00);
+			final byte[] stream = new byte[blocks * 16];
+			for (int i = 0; i < blocks; i++) {
+				ecb.update(secInfo, 0, 16, stream, i * 16);
+				++secInfo[15];
+			}
+			// block 0 of the stream encrypts the MAC, the following blocks the packet
+			final int macOffset = data.length - macSize;
+			for (int i = offset; i < macOffset; i++)
+				data[i] ^= stream[macSize + i - offset];
+			for (int i = 0; i < macSize; i++)
+				data[macOffset + i] ^= stream[i];
+			return data;
+		}
+		catch (final GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
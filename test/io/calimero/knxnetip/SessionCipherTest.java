@@ -0,0 +1,148 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.KNXFormatException;
+import io.calimero.SerialNumber;
+import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import io.calimero.secure.KnxSecureException;
+
+class SessionCipherTest {
+	private static final SerialNumber Sno = SerialNumber.of(0x00fa12345678L);
+
+	private final SessionCipher cipher = new SessionCipher(SecureConnection.createSecretKey(key()));
+	private final byte[] packet = knxipPacket(21);
+
+	// secure wrapper of knxipPacket(21), session 1, sequence 4, message tag 0xabcd, as created by the former
+	// implementation using a new AES cipher instance per packet
+	private static final String KnownAnswer = "061009500041000100000000000400fa12345678abcd"
+			+ "8c66ac1737b45cc59d4504bf66a30e77cb5a640791867bf426c649750f24c43be4bcdcb76bc11ba68fd822";
+
+	@Test
+	void wrapKnownAnswer() {
+		final byte[] expected = HexFormat.of().parseHex(KnownAnswer);
+		assertArrayEquals(expected, cipher.wrap(1, 4, Sno, 0xabcd, packet));
+		// second use of the cached cipher yields the same result
+		assertArrayEquals(expected, cipher.wrap(1, 4, Sno, 0xabcd, packet));
+	}
+
+	@Test
+	void newSecurePacketKnownAnswer() {
+		final byte[] wrapped = SecureConnection.newSecurePacket(1, 4, Sno, 0xabcd, packet,
+				SecureConnection.createSecretKey(key()));
+		assertArrayEquals(HexFormat.of().parseHex(KnownAnswer), wrapped);
+	}
+
+	@Test
+	void unwrapWrapped() throws KNXFormatException {
+		final Object[] fields = unwrap(cipher.wrap(7, 0x123456789aL, Sno, 0x55, packet));
+		assertEquals(7, fields[0]);
+		assertEquals(0x123456789aL, fields[1]);
+		assertEquals(Sno, fields[2]);
+		assertEquals(0x55, fields[3]);
+		assertArrayEquals(packet, (byte[]) fields[4]);
+	}
+
+	@Test
+	void unwrapWithWrongKey() {
+		final var other = new SessionCipher(SecureConnection.createSecretKey(new byte[16]));
+		final byte[] wrapped = other.wrap(7, 1, Sno, 0, packet);
+		assertThrows(KnxSecureException.class, () -> unwrap(wrapped));
+	}
+
+	@Test
+	void unwrapTamperedPacket() {
+		final byte[] wrapped = cipher.wrap(7, 1, Sno, 0, packet);
+		wrapped[wrapped.length - 20] ^= 1;
+		assertThrows(KnxSecureException.class, () -> unwrap(wrapped));
+	}
+
+	@Test
+	void encryptIsInvolution() {
+		final byte[] secInfo = new byte[16];
+		final byte[] data = knxipPacket(40);
+		final byte[] copy = data.clone();
+		cipher.encrypt(data, 0, data.length, secInfo);
+		cipher.encrypt(data, 0, data.length, secInfo);
+		assertArrayEquals(copy, data);
+	}
+
+	@Test
+	void concurrentWrap() throws Exception {
+		final byte[] expected = cipher.wrap(1, 2, Sno, 3, packet);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final var results = new ArrayList<Future<byte[]>>();
+			for (int i = 0; i < 64; i++)
+				results.add(executor.submit(() -> cipher.wrap(1, 2, Sno, 3, packet)));
+			for (final var result : results)
+				assertArrayEquals(expected, result.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Object[] unwrap(final byte[] wrapped) throws KNXFormatException {
+		final var h = new KNXnetIPHeader(wrapped, 0);
+		return cipher.unwrap(h, wrapped, h.getStructLength());
+	}
+
+	// createSecretKey clears the key material it gets passed
+	private static byte[] key() { return HexFormat.of().parseHex("000102030405060708090a0b0c0d0e0f"); }
+
+	static byte[] knxipPacket(final int bodyLength) {
+		final var h = new KNXnetIPHeader(KNXnetIPHeader.TUNNELING_REQ, bodyLength);
+		final ByteBuffer buffer = ByteBuffer.allocate(h.getTotalLength()).put(h.toByteArray());
+		for (int i = 0; buffer.hasRemaining(); i++)
+			buffer.put((byte) i);
+		return buffer.array();
+	}
+}
@@ -0,0 +1,206 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import io.calimero.log.LogService;
+
+class StreamConnectionTest {
+	private static final int ChannelId = 7;
+
+	@TempDir
+	Path dir;
+
+	private ServerSocketChannel server;
+	private SocketChannel peer;
+	private UnixDomainSocketConnection conn;
+	private final BlockingQueue<byte[]> received = new LinkedBlockingQueue<>();
+
+	private final class RecordingConnection extends ClientConnection {
+		RecordingConnection(final StreamConnection connection) {
+			super(KNXnetIPHeader.TUNNELING_REQ, KNXnetIPHeader.TUNNELING_ACK, 1, 1, connection);
+			logger = LogService.getLogger("io.calimero.knxnetip.test");
+			channelId = ChannelId;
+			setState(OK);
+		}
+
+		@Override
+		boolean handleServiceType(final KNXnetIPHeader h, final byte[] data, final int offset,
+				final SocketAddress source) {
+			received.add(Arrays.copyOfRange(data, offset, offset + h.getTotalLength() - h.getStructLength()));
+			return true;
+		}
+
+		@Override
+		protected void close(final int initiator, final String reason, final Level level, final Throwable t) {
+			cleanup(initiator, reason, level, t);
+		}
+	}
+
+	@BeforeEach
+	void init() throws IOException {
+		final var path = dir.resolve("knx.sock");
+		server = ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(UnixDomainSocketAddress.of(path));
+		conn = UnixDomainSocketConnection.newConnection(path);
+		conn.connect();
+		peer = server.accept();
+		conn.registerConnection(new RecordingConnection(conn));
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		conn.close();
+		peer.close();
+		server.close();
+		Files.deleteIfExists(dir.resolve("knx.sock"));
+	}
+
+	@Test
+	void singleFrame() throws Exception {
+		final byte[] body = body(10);
+		write(frame(body));
+		assertReceived(body);
+	}
+
+	@Test
+	void multipleFramesInOneRead() throws Exception {
+		final byte[] body1 = body(10);
+		final byte[] body2 = body(20);
+		final byte[] body3 = body(5);
+		write(concat(frame(body1), frame(body2), frame(body3)));
+		assertReceived(body1);
+		assertReceived(body2);
+		assertReceived(body3);
+	}
+
+	@Test
+	void frameSplitAcrossReads() throws Exception {
+		final byte[] body = body(30);
+		final byte[] frame = frame(body);
+		for (int i = 0; i < frame.length; i += 4) {
+			write(Arrays.copyOfRange(frame, i, Math.min(frame.length, i + 4)));
+			Thread.sleep(5);
+		}
+		assertReceived(body);
+	}
+
+	@Test
+	void frameLargerThanInitialBuffer() throws Exception {
+		final byte[] body = body(2000);
+		write(concat(frame(body(3)), frame(body)));
+		assertReceived(body(3));
+		assertReceived(body);
+	}
+
+	@Test
+	void skipOversizedFrame() throws Exception {
+		final byte[] oversized = body(20_000);
+		final byte[] body = body(8);
+		write(concat(frame(oversized), frame(body)));
+		assertReceived(body);
+	}
+
+	@Test
+	void resyncAfterInvalidHeader() throws Exception {
+		write(new byte[] { 0x07, 0x10, 0x04, 0x20, 0x00, 0x08, 0, 0 });
+		Thread.sleep(50);
+		final byte[] body = body(8);
+		write(frame(body));
+		assertReceived(body);
+	}
+
+	private void assertReceived(final byte[] body) throws InterruptedException {
+		final byte[] actual = received.poll(2, TimeUnit.SECONDS);
+		assertNotNull(actual, "no frame received");
+		assertEquals(body.length, actual.length);
+		assertArrayEquals(body, actual);
+	}
+
+	private void write(final byte[] data) throws IOException {
+		final var buffer = ByteBuffer.wrap(data);
+		while (buffer.hasRemaining())
+			peer.write(buffer);
+	}
+
+	// connection header with our channel ID, followed by dummy data
+	private static byte[] body(final int length) {
+		final byte[] body = new byte[4 + length];
+		body[0] = 4;
+		body[1] = ChannelId;
+		for (int i = 4; i < body.length; i++)
+			body[i] = (byte) (length + i);
+		return body;
+	}
+
+	private static byte[] frame(final byte[] body) {
+		final int total = 6 + body.length;
+		final var frame = ByteBuffer.allocate(total).put((byte) 6).put((byte) 0x10)
+				.putShort((short) KNXnetIPHeader.TUNNELING_REQ).putShort((short) total).put(body);
+		return frame.array();
+	}
+
+	private static byte[] concat(final byte[]... arrays) {
+		final var buffer = ByteBuffer.allocate(Arrays.stream(arrays).mapToInt(a -> a.length).sum());
+		for (final byte[] a : arrays)
+			buffer.put(a);
+		return buffer.array();
+	}
+}
@@ -0,0 +1,308 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static io.calimero.knxnetip.KNXnetIPConnection.BlockingMode.WaitForCon;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXException;
+import io.calimero.KNXRemoteException;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.knxnetip.KNXnetIPTunnel.TunnelingLayer;
+import io.calimero.knxnetip.servicetype.ConnectResponse;
+import io.calimero.knxnetip.servicetype.DisconnectResponse;
+import io.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import io.calimero.knxnetip.servicetype.PacketHelper;
+import io.calimero.knxnetip.util.HPAI;
+import io.calimero.knxnetip.util.TunnelCRD;
+import io.calimero.link.medium.KNXMediumSettings;
+
+// pipelined cEMI confirmations of a tunnel over a stream connection, with the test acting as server
+class TunnelPipeliningTest {
+	private static final int ChannelId = 3;
+
+	@TempDir
+	Path dir;
+
+	private ServerSocketChannel server;
+	private SocketChannel peer;
+	private Selector selector;
+	private UnixDomainSocketConnection conn;
+	private KNXnetIPTunnel tunnel;
+
+	@BeforeEach
+	void init() throws Exception {
+		final var path = dir.resolve("knx.sock");
+		server = ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(UnixDomainSocketAddress.of(path));
+		conn = UnixDomainSocketConnection.newConnection(path);
+
+		final var accept = CompletableFuture.runAsync(() -> {
+			try {
+				peer = server.accept();
+				readFrame(peer, KNXnetIPHeader.CONNECT_REQ);
+				write(PacketHelper.toPacket(new ConnectResponse(ChannelId, 0, HPAI.Tcp,
+						new TunnelCRD(new IndividualAddress(1, 1, 5)))));
+			}
+			catch (final IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		tunnel = KNXnetIPTunnel.newTcpTunnel(TunnelingLayer.LinkLayer, conn, KNXMediumSettings.BackboneRouter);
+		accept.get(5, TimeUnit.SECONDS);
+
+		peer.configureBlocking(false);
+		selector = Selector.open();
+		peer.register(selector, SelectionKey.OP_READ);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (tunnel != null && peer != null) {
+			final var disconnect = CompletableFuture.runAsync(() -> {
+				try {
+					if (readFrame(KNXnetIPHeader.DISCONNECT_REQ, 5_000) != null)
+						write(PacketHelper.toPacket(new DisconnectResponse(ChannelId, 0)));
+				}
+				catch (final IOException e) {
+					throw new RuntimeException(e);
+				}
+			});
+			tunnel.close();
+			disconnect.get(5, TimeUnit.SECONDS);
+		}
+		conn.close();
+		if (selector != null)
+			selector.close();
+		if (peer != null)
+			peer.close();
+		server.close();
+	}
+
+	@Test
+	void outOfOrderConfirmations() throws Exception {
+		tunnel.confirmationWindow(3);
+		final var futures = new ArrayList<CompletableFuture<Void>>();
+		final var sent = new ArrayList<byte[]>();
+		for (int i = 0; i < 3; i++) {
+			futures.add(tunnel.sendAsync(frame(i)));
+			sent.add(receiveRequest());
+		}
+
+		confirm(sent.get(2), true);
+		futures.get(2).get(5, TimeUnit.SECONDS);
+		assertFalse(futures.get(0).isDone());
+		assertFalse(futures.get(1).isDone());
+
+		confirm(sent.get(0), true);
+		confirm(sent.get(1), true);
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void negativeConfirmation() throws Exception {
+		tunnel.confirmationWindow(2);
+		final var failed = tunnel.sendAsync(frame(1));
+		final var next = tunnel.sendAsync(frame(2));
+		final byte[] first = receiveRequest();
+		final byte[] second = receiveRequest();
+
+		confirm(first, false);
+		final var e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(KNXRemoteException.class, e.getCause());
+
+		confirm(second, true);
+		next.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void confirmationTimeout() throws Exception {
+		tunnel.confirmationWindow(2);
+		tunnel.confirmationTimeout = Duration.ofMillis(100);
+		final var timedOut = tunnel.sendAsync(frame(1));
+		receiveRequest();
+		final var e = assertThrows(ExecutionException.class, () -> timedOut.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(KNXTimeoutException.class, e.getCause());
+
+		// the window is available again
+		final var next = tunnel.sendAsync(frame(2));
+		confirm(receiveRequest(), true);
+		next.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void windowExhaustion() throws Exception {
+		tunnel.confirmationWindow(2);
+		final var futures = new ArrayList<CompletableFuture<Void>>();
+		for (int i = 0; i < 3; i++)
+			futures.add(tunnel.sendAsync(frame(i)));
+		final byte[] first = receiveRequest();
+		final byte[] second = receiveRequest();
+		// third frame waits for a free slot in the confirmation window
+		assertNull(readFrame(KNXnetIPHeader.TUNNELING_REQ, 200));
+
+		confirm(second, true);
+		final byte[] third = receiveRequest();
+		assertEquals(List.of(false, true, false), futures.stream().map(CompletableFuture::isDone).toList());
+
+		confirm(first, true);
+		confirm(third, true);
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void blockingSendKeepsItsConfirmation() throws Exception {
+		tunnel.confirmationWindow(2);
+		final var pipelined = tunnel.sendAsync(frame(1));
+		receiveRequest();
+
+		// blocking send of the same frame, while the pipelined frame waits for its confirmation
+		final var blocking = CompletableFuture.runAsync(() -> {
+			try {
+				tunnel.send(frame(1), WaitForCon);
+			}
+			catch (KNXException | InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		final byte[] second = receiveRequest();
+		confirm(second, true);
+		blocking.get(5, TimeUnit.SECONDS);
+		assertFalse(pipelined.isDone());
+
+		confirm(second, true);
+		pipelined.get(5, TimeUnit.SECONDS);
+	}
+
+	private static CEMILData frame(final int value) {
+		return new CEMILData(CEMILData.MC_LDATA_REQ, new IndividualAddress(0), new GroupAddress(1, 1, value),
+				new byte[] { 0, (byte) (0x80 | (value & 0x3f)) }, Priority.LOW);
+	}
+
+	// returns the cEMI frame of a received tunneling request
+	private byte[] receiveRequest() throws IOException {
+		final byte[] frame = readFrame(KNXnetIPHeader.TUNNELING_REQ, 5_000);
+		assertNotNull(frame, "no tunneling request received");
+		// skip KNXnet/IP header and connection header
+		return Arrays.copyOfRange(frame, 6 + 4, frame.length);
+	}
+
+	// sends the L-Data.con of a cEMI L-Data.req, with the source address assigned by the server
+	private void confirm(final byte[] req, final boolean positive) throws IOException {
+		final byte[] con = req.clone();
+		final int ctrl1 = 2 + con[1];
+		con[0] = (byte) CEMILData.MC_LDATA_CON;
+		con[ctrl1] = (byte) (positive ? con[ctrl1] & ~1 : con[ctrl1] | 1);
+		con[ctrl1 + 2] = 0x11;
+		con[ctrl1 + 3] = 5;
+
+		final int total = 6 + 4 + con.length;
+		write(ByteBuffer.allocate(total).put((byte) 6).put((byte) 0x10).putShort((short) KNXnetIPHeader.TUNNELING_REQ)
+				.putShort((short) total).put((byte) 4).put((byte) ChannelId).put((byte) 0).put((byte) 0).put(con)
+				.array());
+	}
+
+	// reads the next frame of the expected service type, or returns null on timeout
+	private byte[] readFrame(final int serviceType, final long timeout) throws IOException {
+		final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+		final var header = ByteBuffer.allocate(6);
+		while (header.hasRemaining()) {
+			final long remaining = TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime());
+			if (remaining <= 0)
+				return null;
+			selector.select(remaining);
+			selector.selectedKeys().clear();
+			if (peer.read(header) < 0)
+				return null;
+		}
+		final var frame = ByteBuffer.allocate(header.getShort(4) & 0xffff).put(header.flip());
+		while (frame.hasRemaining()) {
+			selector.select(1000);
+			selector.selectedKeys().clear();
+			if (peer.read(frame) < 0)
+				return null;
+		}
+		assertEquals(serviceType, frame.getShort(2) & 0xffff);
+		return frame.array();
+	}
+
+	private static void readFrame(final SocketChannel channel, final int serviceType) throws IOException {
+		final var header = ByteBuffer.allocate(6);
+		while (header.hasRemaining())
+			channel.read(header);
+		final var body = ByteBuffer.allocate((header.getShort(4) & 0xffff) - 6);
+		while (body.hasRemaining())
+			channel.read(body);
+		assertEquals(serviceType, header.getShort(2) & 0xffff);
+	}
+
+	private void write(final byte[] data) throws IOException {
+		final var buffer = ByteBuffer.wrap(data);
+		while (buffer.hasRemaining())
+			peer.write(buffer);
+	}
+}
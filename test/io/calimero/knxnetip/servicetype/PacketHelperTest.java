@@ -0,0 +1,136 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.knxnetip.servicetype;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.Priority;
+import io.calimero.cemi.AdditionalInfo;
+import io.calimero.cemi.CEMILData;
+import io.calimero.cemi.CEMILDataEx;
+
+class PacketHelperTest {
+	private final IndividualAddress src = new IndividualAddress(1, 1, 5);
+	private final GroupAddress dst = new GroupAddress(1, 2, 3);
+	private final CEMILData ldata = new CEMILData(CEMILData.MC_LDATA_REQ, src, dst, new byte[] { 0, (byte) 0x81 },
+			Priority.LOW);
+
+	@Test
+	void serviceRequestEqualsServiceType() {
+		try (var packet = PacketHelper.serviceRequest(KNXnetIPHeader.TUNNELING_REQ, 7, 42, ldata)) {
+			final byte[] expected = PacketHelper
+					.toPacket(new ServiceRequest<>(KNXnetIPHeader.TUNNELING_REQ, 7, 42, ldata));
+			assertArrayEquals(expected, packet.toByteArray());
+			assertEquals(expected.length, packet.length());
+			assertEquals(expected.length, packet.buffer().remaining());
+		}
+	}
+
+	@Test
+	void routingIndicationEqualsServiceType() {
+		final var ind = new CEMILDataEx(CEMILData.MC_LDATA_IND, src, dst, new byte[] { 0, (byte) 0x80, 1, 2, 3 },
+				Priority.URGENT);
+		ind.additionalInfo().add(AdditionalInfo.of(AdditionalInfo.RfMedium,
+				new byte[] { 0x02, 0x05, 0x00, 0x01, 0x02, 0x03, 0x04, 0x05 }));
+		try (var packet = PacketHelper.routingIndication(ind)) {
+			assertArrayEquals(PacketHelper.toPacket(new RoutingIndication(ind)), packet.toByteArray());
+		}
+	}
+
+	@Test
+	void pooledBufferIsReused() {
+		final var packet = PacketHelper.routingIndication(ldata);
+		final var buffer = packet.buffer();
+		packet.release();
+		// pool might be used concurrently, so search for our buffer
+		boolean reused = false;
+		for (int i = 0; i < 100 && !reused; i++) {
+			try (var other = PacketHelper.allocate(20, false)) {
+				reused = other.buffer() == buffer;
+			}
+		}
+		assertTrue(reused);
+	}
+
+	@Test
+	void referenceCounting() {
+		final var packet = PacketHelper.allocate(10, false);
+		assertSame(packet, packet.retain());
+		packet.release();
+		packet.release();
+		assertThrows(IllegalStateException.class, packet::release);
+		assertThrows(IllegalStateException.class, packet::retain);
+	}
+
+	@Test
+	void allocateLimit() {
+		try (var packet = PacketHelper.allocate(30, false)) {
+			assertEquals(30, packet.buffer().limit());
+			assertTrue(packet.buffer().hasArray());
+			assertEquals(0, packet.buffer().arrayOffset());
+		}
+	}
+
+	@Test
+	void allocateDirect() {
+		try (var packet = PacketHelper.allocate(30, true)) {
+			assertTrue(packet.buffer().isDirect());
+		}
+	}
+
+	@Test
+	void allocateLargeBuffer() {
+		try (var packet = PacketHelper.allocate(2000, false)) {
+			assertEquals(2000, packet.buffer().capacity());
+		}
+	}
+
+	@Test
+	void invalidServiceRequest() {
+		assertThrows(KNXIllegalArgumentException.class,
+				() -> PacketHelper.serviceRequest(KNXnetIPHeader.TUNNELING_REQ, 256, 0, ldata));
+	}
+}
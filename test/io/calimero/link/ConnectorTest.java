@@ -0,0 +1,227 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.KNXException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.medium.KNXMediumSettings;
+import io.calimero.link.medium.TPSettings;
+
+class ConnectorTest {
+	private static final GroupAddress group = new GroupAddress(1, 0, 1);
+	private static final byte[] nsdu = { 0, (byte) 0x81 };
+
+	private final StubLink primary = new StubLink();
+	private final BlockingQueue<StubLink> standbys = new LinkedBlockingQueue<>();
+	private final List<FrameEvent> indications = new CopyOnWriteArrayList<>();
+	private final List<Boolean> status = new CopyOnWriteArrayList<>();
+	private KNXNetworkLink link;
+
+	private static final class StubLink implements KNXNetworkLink {
+		private final List<NetworkLinkListener> listeners = new CopyOnWriteArrayList<>();
+		final List<KNXAddress> sent = new CopyOnWriteArrayList<>();
+		volatile boolean open = true;
+		volatile boolean failSend;
+
+		void receive() {
+			final var ldata = new CEMILData(CEMILData.MC_LDATA_IND, new IndividualAddress(1, 1, 5), group, nsdu,
+					Priority.LOW);
+			final var e = new FrameEvent(this, ldata);
+			listeners.forEach(l -> l.indication(e));
+		}
+
+		void closeByServer() {
+			open = false;
+			final var e = new CloseEvent(this, CloseEvent.SERVER_REQUEST, "server request");
+			listeners.forEach(l -> l.linkClosed(e));
+		}
+
+		@Override
+		public void setKNXMedium(final KNXMediumSettings settings) {}
+
+		@Override
+		public KNXMediumSettings getKNXMedium() { return new TPSettings(); }
+
+		@Override
+		public void addLinkListener(final NetworkLinkListener l) { listeners.add(l); }
+
+		@Override
+		public void removeLinkListener(final NetworkLinkListener l) { listeners.remove(l); }
+
+		@Override
+		public void setHopCount(final int count) {}
+
+		@Override
+		public int getHopCount() { return 6; }
+
+		@Override
+		public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
+				throws KNXLinkClosedException {
+			if (failSend) {
+				open = false;
+				throw new KNXLinkClosedException("closed while sending");
+			}
+			if (!open)
+				throw new KNXLinkClosedException("closed");
+			sent.add(dst);
+		}
+
+		@Override
+		public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
+				throws KNXLinkClosedException {
+			sendRequest(dst, p, nsdu);
+		}
+
+		@Override
+		public void send(final CEMILData msg, final boolean waitForCon) throws KNXLinkClosedException {
+			sendRequest(msg.getDestination(), msg.getPriority(), msg.getPayload());
+		}
+
+		@Override
+		public String getName() { return "stub"; }
+
+		@Override
+		public boolean isOpen() { return open; }
+
+		@Override
+		public void close() { open = false; }
+	}
+
+	ConnectorTest() throws KNXException, InterruptedException {
+		link = new Connector().reconnectDelay(Duration.ofMillis(50)).connectionStatusNotifier(status::add)
+				.warmStandby(() -> {
+					final var standby = new StubLink();
+					standbys.add(standby);
+					return standby;
+				}).newLink(() -> primary);
+		link.addLinkListener(new NetworkLinkListener() {
+			@Override
+			public void indication(final FrameEvent e) { indications.add(e); }
+		});
+	}
+
+	@AfterEach
+	void close() {
+		link.close();
+	}
+
+	private StubLink awaitStandby() throws InterruptedException {
+		final var standby = standbys.poll(5, TimeUnit.SECONDS);
+		// give the connector a moment to take the standby link
+		for (int i = 0; i < 100 && standby.listeners.isEmpty(); i++)
+			Thread.sleep(10);
+		return standby;
+	}
+
+	@Test
+	void standbyDoesNotNotify() throws InterruptedException {
+		final var standby = awaitStandby();
+		standby.receive();
+		assertTrue(indications.isEmpty());
+		primary.receive();
+		assertEquals(1, indications.size());
+	}
+
+	@Test
+	void failoverOnClose() throws InterruptedException {
+		final var standby = awaitStandby();
+		primary.closeByServer();
+		assertSame(standby, ((Connector.Link<?>) link).target());
+		assertEquals(List.of(true, false, true), status);
+
+		standby.receive();
+		assertEquals(1, indications.size());
+	}
+
+	@Test
+	void sendUsesStandbyAfterFailover() throws KNXException, InterruptedException {
+		final var standby = awaitStandby();
+		primary.closeByServer();
+		link.sendRequest(group, Priority.LOW, nsdu);
+		assertTrue(primary.sent.isEmpty());
+		assertEquals(List.of(group), standby.sent);
+	}
+
+	@Test
+	void replayFrameOfFailedSend() throws KNXException, InterruptedException {
+		final var standby = awaitStandby();
+		primary.failSend = true;
+		link.sendRequest(group, Priority.LOW, nsdu);
+		assertEquals(List.of(group), standby.sent);
+		assertSame(standby, ((Connector.Link<?>) link).target());
+	}
+
+	@Test
+	void newStandbyAfterFailover() throws InterruptedException {
+		final var standby = awaitStandby();
+		primary.closeByServer();
+		final var next = awaitStandby();
+		next.closeByServer();
+		assertSame(standby, ((Connector.Link<?>) link).target());
+		// a closed standby link is replaced as well
+		awaitStandby();
+	}
+
+	@Test
+	void closeClosesStandby() throws InterruptedException {
+		final var standby = awaitStandby();
+		link.close();
+		assertFalse(standby.isOpen());
+		assertFalse(primary.isOpen());
+	}
+}
@@ -0,0 +1,118 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+
+class DuplicateFilterTest {
+	private final AtomicLong now = new AtomicLong();
+	private final DuplicateFilter filter = new DuplicateFilter(Duration.ofMillis(500), 4, now::get);
+
+	private static CEMILData frame(final int value) {
+		return frame(value, false, 6);
+	}
+
+	private static CEMILData frame(final int value, final boolean repeat, final int hopCount) {
+		return new CEMILData(CEMILData.MC_LDATA_IND, new IndividualAddress(1, 1, 5), new GroupAddress(1, 0, 7),
+				new byte[] { 0, (byte) (0x80 | value) }, Priority.LOW, repeat, hopCount);
+	}
+
+	@Test
+	void firstFrameIsNoDuplicate() {
+		assertFalse(filter.isDuplicate(frame(1)));
+	}
+
+	@Test
+	void suppressDuplicate() {
+		filter.isDuplicate(frame(1));
+		assertTrue(filter.isDuplicate(frame(1)));
+		assertFalse(filter.isDuplicate(frame(0)));
+	}
+
+	@Test
+	void repetitionAndOtherPathAreDuplicates() {
+		filter.isDuplicate(frame(1, false, 6));
+		assertTrue(filter.isDuplicate(frame(1, true, 6)));
+		assertTrue(filter.isDuplicate(frame(1, false, 5)));
+	}
+
+	@Test
+	void differentDestinationIsNoDuplicate() {
+		filter.isDuplicate(frame(1));
+		final var other = new CEMILData(CEMILData.MC_LDATA_IND, new IndividualAddress(1, 1, 5),
+				new IndividualAddress(1, 0, 7), new byte[] { 0, (byte) 0x81 }, Priority.LOW);
+		assertFalse(filter.isDuplicate(other));
+		assertNotEquals(DuplicateFilter.fingerprint(frame(1)), DuplicateFilter.fingerprint(other));
+	}
+
+	@Test
+	void windowExpires() {
+		filter.isDuplicate(frame(1));
+		now.addAndGet(Duration.ofMillis(499).toNanos());
+		assertTrue(filter.isDuplicate(frame(1)));
+		now.addAndGet(Duration.ofMillis(1).toNanos());
+		assertFalse(filter.isDuplicate(frame(1)));
+		assertTrue(filter.isDuplicate(frame(1)));
+	}
+
+	@Test
+	void boundedSize() {
+		for (int i = 0; i < 6; i++)
+			assertFalse(filter.isDuplicate(frame(i)));
+		// oldest frames were removed to stay within max. size
+		assertFalse(filter.isDuplicate(frame(0)));
+		assertTrue(filter.isDuplicate(frame(5)));
+	}
+
+	@Test
+	void invalidWindow() {
+		assertThrows(IllegalArgumentException.class, () -> new DuplicateFilter(Duration.ZERO, 4));
+	}
+}
@@ -0,0 +1,209 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.GroupAddress;
+import io.calimero.internal.Executor;
+import io.calimero.link.EventNotifier.OverflowPolicy;
+import io.calimero.log.LogService;
+
+class EventNotifierTest {
+	private final EventNotifier<NetworkLinkListener> notifier = new EventNotifier<>(this,
+			LogService.getLogger("calimero.test")) {
+		@Override
+		public void frameReceived(final FrameEvent e) {}
+	};
+
+	// default capacity
+	private final int capacity = 4096;
+
+	@Test
+	void dropNewest() {
+		notifier.overflowPolicy(OverflowPolicy.DropNewest);
+		for (int i = 0; i < capacity + 10; i++)
+			notifier.addEvent(l -> {});
+		final var stats = notifier.statistics();
+		assertEquals(capacity, stats.queued());
+		assertEquals(10, stats.dropped());
+		assertEquals(capacity, stats.maxDepth());
+	}
+
+	@Test
+	void dropOldest() {
+		notifier.overflowPolicy(OverflowPolicy.DropOldest);
+		final List<Integer> received = new ArrayList<>();
+		for (int i = 0; i < capacity + 10; i++) {
+			final int event = i;
+			notifier.addEvent(l -> received.add(event));
+		}
+		assertEquals(10, notifier.statistics().dropped());
+
+		fireAll();
+		assertEquals(capacity, received.size());
+		assertEquals(10, received.get(0));
+	}
+
+	@Test
+	void coalesceByDestination() {
+		notifier.overflowPolicy(OverflowPolicy.CoalesceByDestination);
+		final var dst = new GroupAddress(1, 1, 1);
+		final List<Integer> received = new ArrayList<>();
+		notifier.addEvent(l -> received.add(-1), dst);
+		for (int i = 1; i < capacity; i++)
+			notifier.addEvent(l -> {});
+		notifier.addEvent(l -> received.add(1), dst);
+		notifier.addEvent(l -> received.add(2), dst);
+		notifier.addEvent(l -> received.add(3), new GroupAddress(1, 1, 2));
+
+		final var stats = notifier.statistics();
+		assertEquals(2, stats.coalesced());
+		assertEquals(1, stats.dropped());
+
+		fireAll();
+		assertEquals(List.of(2), received);
+	}
+
+	@Test
+	void noCoalescingWithFreeCapacity() {
+		notifier.overflowPolicy(OverflowPolicy.CoalesceByDestination);
+		final var dst = new GroupAddress(1, 1, 1);
+		final List<Integer> received = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			final int event = i;
+			notifier.addEvent(l -> received.add(event), dst);
+		}
+		assertEquals(0, notifier.statistics().coalesced());
+
+		fireAll();
+		assertEquals(List.of(0, 1, 2), received);
+	}
+
+	@Test
+	void dispatchedIndicationIsNotCoalesced() throws InterruptedException {
+		notifier.overflowPolicy(OverflowPolicy.CoalesceByDestination);
+		final var dst = new GroupAddress(1, 1, 1);
+		final var received = new LinkedBlockingQueue<Integer>();
+		notifier.addListener(new NetworkLinkListener() {});
+		notifier.start();
+		for (int i = 0; i < 3; i++) {
+			final int event = i;
+			notifier.addEvent(l -> received.add(event), dst);
+			assertEquals(event, received.poll(1, TimeUnit.SECONDS));
+		}
+		notifier.connectionClosed(new CloseEvent(this, CloseEvent.USER_REQUEST, "test"));
+		assertEquals(0, notifier.statistics().coalesced());
+		assertEquals(3, notifier.statistics().queued());
+	}
+
+	@Test
+	void defaultPolicyBlocksProducer() throws InterruptedException {
+		assertEquals(OverflowPolicy.Block, notifier.overflowPolicy());
+		final var producer = new Thread(() -> {
+			for (int i = 0; i < capacity + 1; i++)
+				notifier.addEvent(l -> {});
+		}, "test producer");
+		producer.start();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+
+		notifier.addListener(new NetworkLinkListener() {});
+		notifier.start();
+		producer.join(5_000);
+		assertFalse(producer.isAlive());
+		notifier.connectionClosed(new CloseEvent(this, CloseEvent.USER_REQUEST, "test"));
+		assertEquals(0, notifier.statistics().dropped());
+		assertEquals(capacity + 1, notifier.statistics().queued());
+	}
+
+	@Test
+	void blockNeverBlocksEventLoop() throws InterruptedException {
+		notifier.overflowPolicy(OverflowPolicy.Block);
+		final var thread = Executor.executeEventLoop(() -> {
+			for (int i = 0; i < capacity + 1; i++)
+				notifier.addEvent(l -> {});
+		}, "test event loop");
+		thread.join(5_000);
+		assertFalse(thread.isAlive());
+		assertEquals(1, notifier.statistics().dropped());
+	}
+
+	@Test
+	void eventLoopHandsOffToNotifierThread() throws InterruptedException {
+		final var thread = new LinkedBlockingQueue<Thread>();
+		notifier.addListener(new NetworkLinkListener() {});
+		notifier.start();
+		final var eventLoop = Executor.executeEventLoop(
+				() -> notifier.addEvent(l -> thread.add(Thread.currentThread())), "test event loop");
+		assertSame(notifier, thread.poll(5, TimeUnit.SECONDS));
+		eventLoop.join(5_000);
+		notifier.connectionClosed(new CloseEvent(this, CloseEvent.USER_REQUEST, "test"));
+	}
+
+	@Test
+	void closeEventAfterQueuedEvents() {
+		final List<String> received = new ArrayList<>();
+		notifier.addListener(new NetworkLinkListener() {
+			@Override
+			public void linkClosed(final CloseEvent e) { received.add("closed"); }
+		});
+		notifier.addEvent(l -> received.add("event"));
+		notifier.start();
+		notifier.connectionClosed(new CloseEvent(this, CloseEvent.USER_REQUEST, "test"));
+		assertEquals(List.of("event", "closed"), received);
+	}
+
+	// notifier drains all queued events on close
+	private void fireAll() {
+		notifier.addListener(new NetworkLinkListener() {});
+		notifier.start();
+		notifier.connectionClosed(new CloseEvent(this, CloseEvent.USER_REQUEST, "test"));
+	}
+}
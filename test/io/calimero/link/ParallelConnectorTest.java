@@ -0,0 +1,226 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.calimero.KNXAddress;
+import io.calimero.KNXException;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.KNXTimeoutException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.Connector.TSupplier;
+import io.calimero.link.medium.KNXMediumSettings;
+import io.calimero.link.medium.TPSettings;
+
+class ParallelConnectorTest {
+	private static final Duration stagger = Duration.ofMillis(50);
+
+	private static final class StubLink implements KNXNetworkLink {
+		private final String name;
+		volatile boolean open = true;
+
+		StubLink(final String name) { this.name = name; }
+
+		@Override
+		public void setKNXMedium(final KNXMediumSettings settings) {}
+
+		@Override
+		public KNXMediumSettings getKNXMedium() { return new TPSettings(); }
+
+		@Override
+		public void addLinkListener(final NetworkLinkListener l) {}
+
+		@Override
+		public void removeLinkListener(final NetworkLinkListener l) {}
+
+		@Override
+		public void setHopCount(final int count) {}
+
+		@Override
+		public int getHopCount() { return 6; }
+
+		@Override
+		public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu) {}
+
+		@Override
+		public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu) {}
+
+		@Override
+		public void send(final CEMILData msg, final boolean waitForCon) {}
+
+		@Override
+		public String getName() { return name; }
+
+		@Override
+		public boolean isOpen() { return open; }
+
+		@Override
+		public void close() { open = false; }
+	}
+
+	private static TSupplier<StubLink> failing(final String msg) {
+		return () -> { throw new KNXTimeoutException(msg); };
+	}
+
+	private static TSupplier<StubLink> blocking(final CountDownLatch cancelled) {
+		return () -> {
+			try {
+				Thread.sleep(10_000);
+			}
+			catch (final InterruptedException e) {
+				cancelled.countDown();
+				throw e;
+			}
+			return new StubLink("blocking");
+		};
+	}
+
+	// ignores cancellation
+	private static TSupplier<StubLink> uninterruptible(final CountDownLatch proceed, final StubLink link) {
+		return () -> {
+			while (true) {
+				try {
+					proceed.await(10, TimeUnit.SECONDS);
+					return link;
+				}
+				catch (final InterruptedException ignore) {}
+			}
+		};
+	}
+
+	@Test
+	void noCandidates() {
+		assertThrows(KNXIllegalArgumentException.class, () -> ParallelConnector.newLink(stagger, List.of()));
+	}
+
+	@Test
+	void negativeStagger() {
+		assertThrows(KNXIllegalArgumentException.class,
+				() -> ParallelConnector.creator(Duration.ofMillis(-1), List.of(() -> new StubLink("a"))));
+	}
+
+	@Test
+	void firstEstablishedLinkWins() throws KNXException, InterruptedException {
+		final var cancelled = new CountDownLatch(1);
+		final var fast = new StubLink("fast");
+		final var link = ParallelConnector.newLink(stagger, List.of(blocking(cancelled), () -> fast));
+		assertSame(fast, link);
+		assertTrue(fast.isOpen());
+		// connection attempt still in progress is cancelled
+		assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void supersededLinkIsClosed() throws KNXException, InterruptedException {
+		final var proceed = new CountDownLatch(1);
+		final var slow = new StubLink("slow");
+		final var fast = new StubLink("fast");
+		final var link = ParallelConnector.newLink(stagger, List.of(uninterruptible(proceed, slow), () -> fast));
+		assertSame(fast, link);
+
+		// connection attempt succeeding later is closed again
+		proceed.countDown();
+		for (int i = 0; i < 100 && slow.isOpen(); i++)
+			Thread.sleep(10);
+		assertFalse(slow.isOpen());
+	}
+
+	@Test
+	void skipAttemptsNotStarted() throws KNXException, InterruptedException {
+		final var started = new AtomicBoolean();
+		final var first = new StubLink("first");
+		final var link = ParallelConnector.newLink(Duration.ofSeconds(5), List.of(() -> first, () -> {
+			started.set(true);
+			return new StubLink("second");
+		}));
+		assertSame(first, link);
+		assertFalse(started.get());
+	}
+
+	@Test
+	void failedAttemptStartsNextAttempt() throws KNXException, InterruptedException {
+		final var second = new StubLink("second");
+		final long start = System.nanoTime();
+		final var link = ParallelConnector.newLink(Duration.ofSeconds(10), List.of(failing("first"), () -> second));
+		assertSame(second, link);
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+	}
+
+	@Test
+	void noLinkIsFailedAttempt() throws KNXException, InterruptedException {
+		final var second = new StubLink("second");
+		final var link = ParallelConnector.newLink(Duration.ofSeconds(10), List.of(() -> null, () -> second));
+		assertSame(second, link);
+
+		final var e = assertThrows(KNXException.class, () -> ParallelConnector.newLink(stagger, List.of(() -> null)));
+		assertNotNull(e.getCause());
+	}
+
+	@Test
+	void allAttemptsFail() {
+		final var e = assertThrows(KNXException.class,
+				() -> ParallelConnector.newLink(stagger, List.of(failing("first"), failing("second"), failing("third"))));
+		assertEquals("first", e.getCause().getMessage());
+		assertEquals(2, e.getSuppressed().length);
+	}
+
+	@Test
+	void creatorRacesOnEveryInvocation() throws KNXException, InterruptedException {
+		final var creator = ParallelConnector.creator(stagger, List.of(failing("first"), () -> new StubLink("second")));
+		final var link1 = creator.get();
+		final var link2 = creator.get();
+		assertEquals("second", link1.getName());
+		assertEquals("second", link2.getName());
+		assertNotSame(link1, link2);
+	}
+}
@@ -0,0 +1,373 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.link;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.KNXIllegalArgumentException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.cemi.CemiView;
+import io.calimero.link.medium.KNXMediumSettings;
+import io.calimero.link.medium.TPSettings;
+
+class TunnelingLinkPoolTest {
+	private static final GroupAddress group1 = new GroupAddress(1, 0, 1);
+	private static final GroupAddress group2 = new GroupAddress(1, 0, 2);
+	private static final byte[] nsdu = { 0, (byte) 0x81 };
+
+	private final List<StubLink> links = List.of(new StubLink(1), new StubLink(2), new StubLink(3));
+	private final TunnelingLinkPool pool = new TunnelingLinkPool(links, new TPSettings());
+
+	private final List<FrameEvent> indications = new CopyOnWriteArrayList<>();
+	private final List<Thread> notifiedBy = new CopyOnWriteArrayList<>();
+	private final List<CloseEvent> closed = new CopyOnWriteArrayList<>();
+
+	private static final class StubLink implements KNXNetworkLink {
+		private final KNXMediumSettings settings;
+		private final List<NetworkLinkListener> listeners = new ArrayList<>();
+		final List<KNXAddress> sent = new CopyOnWriteArrayList<>();
+		volatile CountDownLatch blockSend = new CountDownLatch(0);
+		volatile boolean open = true;
+
+		StubLink(final int tunnel) { settings = new TPSettings(new IndividualAddress(1, 1, 250 + tunnel)); }
+
+		void receive(final CEMILData ldata) {
+			final var e = new FrameEvent(this, ldata);
+			listeners.forEach(l -> l.indication(e));
+		}
+
+		void closeByServer() {
+			open = false;
+			final var e = new CloseEvent(this, CloseEvent.SERVER_REQUEST, "server request");
+			listeners.forEach(l -> l.linkClosed(e));
+		}
+
+		@Override
+		public void setKNXMedium(final KNXMediumSettings settings) {}
+
+		@Override
+		public KNXMediumSettings getKNXMedium() { return settings; }
+
+		@Override
+		public void addLinkListener(final NetworkLinkListener l) { listeners.add(l); }
+
+		@Override
+		public void removeLinkListener(final NetworkLinkListener l) { listeners.remove(l); }
+
+		@Override
+		public void setHopCount(final int count) {}
+
+		@Override
+		public int getHopCount() { return 6; }
+
+		@Override
+		public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
+				throws KNXLinkClosedException {
+			if (!open)
+				throw new KNXLinkClosedException("closed");
+			sent.add(dst);
+			try {
+				blockSend.await();
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
+				throws KNXLinkClosedException {
+			sendRequest(dst, p, nsdu);
+		}
+
+		@Override
+		public void send(final CEMILData msg, final boolean waitForCon) throws KNXLinkClosedException {
+			sendRequest(msg.getDestination(), msg.getPriority(), msg.getPayload());
+		}
+
+		@Override
+		public String getName() { return "stub"; }
+
+		@Override
+		public boolean isOpen() { return open; }
+
+		@Override
+		public void close() { open = false; }
+	}
+
+	TunnelingLinkPoolTest() {
+		pool.addLinkListener(new NetworkLinkListener() {
+			@Override
+			public void indication(final FrameEvent e) {
+				indications.add(e);
+				notifiedBy.add(Thread.currentThread());
+			}
+
+			@Override
+			public void linkClosed(final CloseEvent e) { closed.add(e); }
+		});
+	}
+
+	@AfterEach
+	void release() {
+		links.forEach(l -> l.blockSend.countDown());
+	}
+
+	private static CEMILData indication(final IndividualAddress src, final int value) {
+		return new CEMILData(CEMILData.MC_LDATA_IND, src, group1, new byte[] { 0, (byte) (0x80 | value) },
+				Priority.LOW);
+	}
+
+	private Thread sendAsync(final KNXAddress dst) {
+		final var t = new Thread(() -> {
+			try {
+				pool.sendRequest(dst, Priority.LOW, nsdu);
+			}
+			catch (final Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		t.start();
+		return t;
+	}
+
+	// closing the pool delivers all queued events
+	private List<FrameEvent> delivered() {
+		pool.close();
+		return indications;
+	}
+
+	private static void awaitSent(final StubLink link, final int frames) throws InterruptedException {
+		final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (link.sent.size() < frames && System.nanoTime() < end)
+			Thread.sleep(5);
+		assertEquals(frames, link.sent.size());
+	}
+
+	@Test
+	void invalidNumberOfTunnels() {
+		assertThrows(KNXIllegalArgumentException.class, () -> new TunnelingLinkPool(List.of(), new TPSettings()));
+		assertThrows(KNXIllegalArgumentException.class,
+				() -> TunnelingLinkPool.newTunnelingLinkPool(null, 33, new TPSettings()));
+	}
+
+	@Test
+	void idleTunnelsAreUsedInTurn() throws Exception {
+		for (int i = 0; i < 6; i++)
+			pool.sendRequest(group1, Priority.LOW, nsdu);
+		for (final var link : links)
+			assertEquals(2, link.sent.size());
+	}
+
+	@Test
+	void busyTunnelIsAvoided() throws Exception {
+		final var first = links.get(0);
+		first.blockSend = new CountDownLatch(1);
+		final var t = sendAsync(group1);
+		awaitSent(first, 1);
+
+		pool.sendRequest(group2, Priority.LOW, nsdu);
+		pool.sendRequest(group2, Priority.LOW, nsdu);
+		assertEquals(1, first.sent.size());
+
+		first.blockSend.countDown();
+		t.join();
+	}
+
+	@Test
+	void framesToSameDestinationStayOnTunnel() throws Exception {
+		final var first = links.get(0);
+		first.blockSend = new CountDownLatch(1);
+		final var t1 = sendAsync(group1);
+		awaitSent(first, 1);
+		final var t2 = sendAsync(group1);
+		awaitSent(first, 2);
+
+		assertTrue(links.get(1).sent.isEmpty());
+		assertTrue(links.get(2).sent.isEmpty());
+		first.blockSend.countDown();
+		t1.join();
+		t2.join();
+	}
+
+	@Test
+	void closedTunnelIsSkipped() throws Exception {
+		links.get(0).closeByServer();
+		for (int i = 0; i < 4; i++)
+			pool.sendRequest(group1, Priority.LOW, nsdu);
+		assertTrue(links.get(0).sent.isEmpty());
+		assertTrue(pool.isOpen());
+	}
+
+	@Test
+	void indicationOnSeveralTunnelsIsDeliveredOnce() {
+		final var src = new IndividualAddress(1, 1, 5);
+		for (final var link : links)
+			link.receive(indication(src, 1));
+		links.get(1).receive(indication(src, 0));
+		links.get(0).receive(indication(src, 0));
+		assertEquals(2, delivered().size());
+	}
+
+	@Test
+	void repeatedIndicationIsDeliveredAgain() {
+		final var src = new IndividualAddress(1, 1, 5);
+		for (final var link : links)
+			link.receive(indication(src, 1));
+		links.get(2).receive(indication(src, 1));
+		links.get(0).receive(indication(src, 1));
+		links.get(1).receive(indication(src, 1));
+		assertEquals(2, delivered().size());
+	}
+
+	@Test
+	void framesOfPoolTunnelsAreNotDelivered() {
+		links.get(1).receive(indication(links.get(0).getKNXMedium().getDeviceAddress(), 1));
+		assertTrue(delivered().isEmpty());
+	}
+
+	@Test
+	void indicationsOfAllTunnelsAreDeliveredByOneThread() throws InterruptedException {
+		final var receivers = new ArrayList<Thread>();
+		for (int i = 0; i < links.size(); i++) {
+			final var link = links.get(i);
+			final var src = new IndividualAddress(1, 1, 10 + i);
+			final var t = new Thread(() -> {
+				for (int value = 0; value < 20; value++)
+					link.receive(indication(src, value));
+			});
+			receivers.add(t);
+			t.start();
+		}
+		for (final var t : receivers)
+			t.join();
+		assertEquals(3 * 20, delivered().size());
+		assertEquals(1, notifiedBy.stream().distinct().count());
+		assertFalse(receivers.contains(notifiedBy.get(0)));
+	}
+
+	@Test
+	void viewListenerReceivesIndication() {
+		final var views = new CopyOnWriteArrayList<Integer>();
+		pool.addLinkListener(new CemiViewListener() {
+			@Override
+			public void indication(final CemiView frame) { views.add(frame.destination()); }
+		});
+		links.get(0).receive(indication(new IndividualAddress(1, 1, 5), 1));
+		assertEquals(1, delivered().size());
+		assertEquals(List.of(group1.getRawAddress()), views);
+	}
+
+	@Test
+	void routeLeavesClosedTunnel() throws Exception {
+		final var first = links.get(0);
+		first.blockSend = new CountDownLatch(1);
+		final var t = sendAsync(group1);
+		awaitSent(first, 1);
+
+		first.closeByServer();
+		pool.sendRequest(group1, Priority.LOW, nsdu);
+		assertEquals(1, first.sent.size());
+		assertEquals(1, links.get(1).sent.size() + links.get(2).sent.size());
+
+		first.blockSend.countDown();
+		t.join();
+	}
+
+	@Test
+	void closeClosesAllTunnels() {
+		pool.close();
+		assertFalse(pool.isOpen());
+		links.forEach(link -> assertFalse(link.isOpen()));
+		assertEquals(1, closed.size());
+		assertEquals(CloseEvent.USER_REQUEST, closed.get(0).getInitiator());
+		assertThrows(KNXLinkClosedException.class, () -> pool.sendRequest(group1, Priority.LOW, nsdu));
+	}
+
+	@Test
+	void concurrentCloseNotifiesOnce() throws InterruptedException {
+		final var start = new CountDownLatch(1);
+		final var threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			final var t = new Thread(() -> {
+				try {
+					start.await();
+					pool.close();
+				}
+				catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			t.start();
+			threads.add(t);
+		}
+		start.countDown();
+		for (final var t : threads)
+			t.join();
+		assertEquals(1, closed.size());
+		assertThrows(KNXLinkClosedException.class, () -> pool.sendRequest(group1, Priority.LOW, nsdu));
+	}
+
+	@Test
+	void poolClosesAfterLastTunnelClosed() {
+		links.get(0).closeByServer();
+		links.get(1).closeByServer();
+		assertTrue(closed.isEmpty());
+		links.get(2).closeByServer();
+		assertFalse(pool.isOpen());
+		assertEquals(1, closed.size());
+		assertEquals(CloseEvent.SERVER_REQUEST, closed.get(0).getInitiator());
+	}
+}
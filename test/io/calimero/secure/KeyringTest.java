@@ -1,6 +1,6 @@
 /*
     Calimero 2 - A library for KNX network access
-    Copyright (c) 2019, 2023 B. Malinowsky
+    Copyright (c) 2019, 2026 B. Malinowsky
 
     This program is free software; you can redistribute it and/or modify
     it under the terms of the GNU General Public License as published by
@@ -278,4 +278,16 @@ class KeyringTest {
 		assertEquals(tunnelInterface.userKey().length, 16);
 		assertEquals(tunnelInterface.deviceAuthCode().length, 16);
 	}
+
+	@Test
+	void decryptInterfaces() {
+		final var keyring = Keyring.load(keyringUri);
+		final var decrypted = keyring.decryptInterfaces(keyringPwd);
+		final var tunnelInterface = decrypted.get(host).get(0);
+
+		final var expected = keyring.interfaces().get(host).get(0).decrypt(keyringPwd);
+		assertEquals(expected.address(), tunnelInterface.address());
+		assertArrayEquals(expected.userKey(), tunnelInterface.userKey());
+		assertArrayEquals(expected.deviceAuthCode(), tunnelInterface.deviceAuthCode());
+	}
 }